@@ -0,0 +1,93 @@
+-- =====================================================
+-- VERIFICAÇÃO DE LATÊNCIA DO CATÁLOGO DE PATOS
+-- Descrição: Gera 5 milhões de patos e mede as consultas de GET /api/ducks/catalog
+-- =====================================================
+--
+-- Executar em um banco de teste, já migrado até a V12:
+--   psql -d duck_farm_benchmark -f database/duck_catalog_benchmark.sql
+--
+-- As consultas abaixo são as geradas pelo Hibernate para a primeira página e para
+-- uma página distante (com cursor). Em cada plano, conferir que:
+--   - o índice composto da ordenação é usado (Index Scan / Index Scan Backward),
+--     sem nó Sort nem Seq Scan sobre ducks;
+--   - a página com cursor lê a mesma quantidade de linhas que a primeira página;
+--   - o Execution Time fica na casa de poucos milissegundos.
+
+\timing on
+
+-- -----------------------------------------------------
+-- Massa de dados: 5 milhões de patos cadastrados ao longo de dois anos
+-- -----------------------------------------------------
+TRUNCATE sales, ducks RESTART IDENTITY CASCADE;
+
+INSERT INTO ducks (name, mother_id, price, status, registration_date, version)
+SELECT 'Pato ' || lpad(n::text, 7, '0'),
+       CASE WHEN n > 1000 THEN n / 2 END,
+       round((50 + random() * 950)::numeric, 2),
+       CASE WHEN n % 10 < 6 THEN 'AVAILABLE' WHEN n % 10 < 9 THEN 'SOLD' ELSE 'RESERVED' END,
+       TIMESTAMP '2024-01-01' + (n * INTERVAL '12 seconds'),
+       0
+FROM generate_series(1, 5000000) AS n;
+
+VACUUM ANALYZE ducks;
+
+-- -----------------------------------------------------
+-- Ordenação padrão (cadastro mais recente primeiro), sem filtros
+-- -----------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+ORDER BY d.registration_date DESC, d.id DESC
+FETCH FIRST 51 ROWS ONLY;
+
+-- Página próxima do fim do resultado
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+WHERE d.registration_date <= TIMESTAMP '2024-01-02 00:00:00'
+  AND (d.registration_date < TIMESTAMP '2024-01-02 00:00:00' OR d.id < 7200)
+ORDER BY d.registration_date DESC, d.id DESC
+FETCH FIRST 51 ROWS ONLY;
+
+-- -----------------------------------------------------
+-- Disponíveis por preço, com faixa de preço
+-- -----------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+WHERE d.status = 'AVAILABLE'
+  AND d.price >= 100 AND d.price <= 800
+  AND d.price >= 750.00 AND (d.price > 750.00 OR d.id > 2500000)
+ORDER BY d.price, d.id
+FETCH FIRST 51 ROWS ONLY;
+
+-- -----------------------------------------------------
+-- Disponíveis cadastrados em um período
+-- -----------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+WHERE d.status = 'AVAILABLE'
+  AND d.registration_date >= TIMESTAMP '2024-06-01' AND d.registration_date < TIMESTAMP '2024-07-01'
+ORDER BY d.registration_date DESC, d.id DESC
+FETCH FIRST 51 ROWS ONLY;
+
+-- -----------------------------------------------------
+-- Início do nome, ordenado por nome
+-- -----------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+WHERE d.name LIKE 'Pato 12345%' ESCAPE '\'
+ORDER BY d.name, d.id
+FETCH FIRST 51 ROWS ONLY;
+
+-- -----------------------------------------------------
+-- Filhotes de uma mãe
+-- -----------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id, d.name, d.mother_id, d.price, d.status, d.registration_date
+FROM ducks d
+WHERE d.mother_id = 1234567
+ORDER BY d.registration_date DESC, d.id DESC
+FETCH FIRST 51 ROWS ONLY;
@@ -2,6 +2,7 @@ package com.granja;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação do Sistema de Gerenciamento da Granja de Patos.
@@ -14,6 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2024-01-01
  */
 @SpringBootApplication
+@EnableScheduling
 public class DuckFarmApplication {
     
     public static void main(String[] args) {
@@ -1,6 +1,7 @@
 package com.granja.config;
 
 import com.granja.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,6 +34,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.and())
             .authorizeHttpRequests(auth -> auth
+                // Despachos assíncronos (respostas em streaming) já foram autorizados na requisição original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Rotas públicas (sem autenticação)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
@@ -0,0 +1,51 @@
+package com.granja.controller;
+
+import com.granja.dto.ConcurrencyStatsDTO;
+import com.granja.service.ConcurrencyRetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para acompanhar os conflitos de concorrência.
+ *
+ * <p>Mostra, por endpoint, quantas requisições disputaram os mesmos patos com outras
+ * transações e quantas falharam mesmo após as novas tentativas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/concurrency")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Concorrência", description = "Estatísticas de conflitos entre transações concorrentes")
+public class ConcurrencyController {
+
+    private final ConcurrencyRetryService concurrencyRetryService;
+
+    /**
+     * Obtém as estatísticas de conflitos de cada endpoint.
+     *
+     * @return estatísticas por endpoint, dos mais disputados para os menos disputados
+     */
+    @Operation(summary = "Estatísticas de conflitos", description = "Retorna requisições, conflitos e falhas por endpoint desde a subida da aplicação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<ConcurrencyStatsDTO>> getStats() {
+        return ResponseEntity.ok(concurrencyRetryService.getStats());
+    }
+}
@@ -1,15 +1,27 @@
 package com.granja.controller;
 
 import com.granja.dto.CustomerDTO;
+import com.granja.dto.CustomerImportResultDTO;
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.dto.CustomerSearchResultDTO;
+import com.granja.service.CustomerPurchaseSummaryService;
 import com.granja.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller para gerenciamento de clientes da granja.
@@ -25,6 +37,7 @@ import java.util.List;
 public class CustomerController {
     
     private final CustomerService customerService;
+    private final CustomerPurchaseSummaryService customerPurchaseSummaryService;
     
     /**
      * Lista todos os clientes.
@@ -38,6 +51,64 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
     
+    /**
+     * Lista todos os clientes em NDJSON, um por linha, à medida que são lidos do banco.
+     * 
+     * <p>Atende requisições com {@code Accept: application/x-ndjson}.</p>
+     * 
+     * @return corpo da resposta escrito em streaming
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        log.info("Listando todos os clientes em NDJSON");
+        StreamingResponseBody body = customerService::writeAllCustomers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Busca clientes pelo nome, sem diferenciar maiúsculas, minúsculas e acentos.
+     * 
+     * <p>Todas as palavras de {@code q} devem aparecer no nome; os resultados vêm
+     * dos mais relevantes para os menos relevantes.</p>
+     * 
+     * @param q texto buscado
+     * @param limit quantidade máxima de clientes
+     * @return clientes encontrados
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerSearchResultDTO>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Buscando clientes pelo nome: {}", q);
+        return ResponseEntity.ok(customerService.searchCustomers(q, limit));
+    }
+    
+    /**
+     * Obtém os clientes que mais gastaram, do maior valor para o menor.
+     * 
+     * @param limit quantidade máxima de clientes
+     * @return resumos de compras dos clientes
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<CustomerPurchaseSummaryDTO>> getTopCustomers(@RequestParam(required = false) Integer limit) {
+        log.info("Buscando clientes que mais gastaram, limite: {}", limit);
+        return ResponseEntity.ok(customerService.getTopCustomers(limit));
+    }
+    
+    /**
+     * Recalcula o resumo de compras de todos os clientes a partir das vendas.
+     * 
+     * @return quantidade de clientes reconciliados
+     */
+    @PostMapping("/purchase-summary/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcilePurchaseSummary() {
+        log.info("Reconciliando resumo de compras dos clientes");
+        Map<String, Object> response = new HashMap<>();
+        response.put("customers", customerPurchaseSummaryService.reconcile());
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Obtém um cliente por ID.
      * 
@@ -51,6 +122,18 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
     
+    /**
+     * Obtém o resumo de compras de um cliente.
+     * 
+     * @param id ID do cliente
+     * @return quantidade de compras, valor gasto, descontos e datas da primeira e da última compra
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerPurchaseSummaryDTO> getPurchaseSummary(@PathVariable Long id) {
+        log.info("Buscando resumo de compras do cliente com ID: {}", id);
+        return ResponseEntity.ok(customerService.getPurchaseSummary(id));
+    }
+    
     /**
      * Cria um novo cliente.
      * 
@@ -64,6 +147,23 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(customer);
     }
     
+    /**
+     * Cadastra clientes em lote a partir de um arquivo CSV ou XLSX.
+     * 
+     * @param file o arquivo com as colunas name, cpf, phone, address e discountEligible (opcional)
+     * @return as quantidades de clientes cadastrados e de linhas rejeitadas, com o erro de cada linha
+     * @throws IOException se a leitura do arquivo falhar
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<CustomerImportResultDTO> importCustomers(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        log.info("Importando clientes do arquivo {}", file.getOriginalFilename());
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(customerService.importCustomers(file.getOriginalFilename(), input));
+        }
+    }
+    
     /**
      * Atualiza um cliente existente.
      * 
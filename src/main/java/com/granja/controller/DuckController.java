@@ -1,7 +1,15 @@
 package com.granja.controller;
 
+import com.granja.dto.DuckCatalogCriteria;
+import com.granja.dto.DuckCatalogPageDTO;
+import com.granja.dto.DuckCatalogSort;
 import com.granja.dto.DuckDTO;
+import com.granja.dto.DuckImportResultDTO;
+import com.granja.dto.DuckLineageDTO;
+import com.granja.dto.DuckOffspringDTO;
 import com.granja.entity.Duck.DuckStatus;
+import com.granja.service.ConcurrencyRetryService;
+import com.granja.service.DuckLineageService;
 import com.granja.service.DuckService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +18,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -46,6 +63,8 @@ import java.util.List;
 public class DuckController {
     
     private final DuckService duckService;
+    private final ConcurrencyRetryService concurrencyRetryService;
+    private final DuckLineageService duckLineageService;
     
     /**
      * Cria um novo pato no sistema.
@@ -72,6 +91,32 @@ public class DuckController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdDuck);
     }
     
+    /**
+     * Cadastra patos em lote a partir de um arquivo CSV ou XLSX.
+     * 
+     * @param file o arquivo com as colunas name, price e motherId (opcional)
+     * @return as quantidades de patos cadastrados e de linhas rejeitadas, com o erro de cada linha
+     * @throws IOException se a leitura do arquivo falhar
+     */
+    @Operation(summary = "Importar patos", description = "Cadastra patos a partir de um arquivo CSV ou XLSX, informando o erro de cada linha rejeitada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Arquivo processado"),
+        @ApiResponse(responseCode = "400", description = "Formato de arquivo ou cabeçalho inválido"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<DuckImportResultDTO> importDucks(
+            @Parameter(description = "Arquivo CSV ou XLSX", required = true)
+            @RequestParam("file") MultipartFile file) throws IOException {
+        
+        log.info("Recebida solicitação para importar patos do arquivo {}", file.getOriginalFilename());
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(duckService.importDucks(file.getOriginalFilename(), input));
+        }
+    }
+    
     /**
      * Atualiza um registro de pato existente.
      * 
@@ -85,7 +130,8 @@ public class DuckController {
         @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
         @ApiResponse(responseCode = "404", description = "Pato não encontrado"),
         @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
-        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes"),
+        @ApiResponse(responseCode = "409", description = "Pato alterado por outra requisição mesmo após novas tentativas")
     })
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
@@ -96,7 +142,9 @@ public class DuckController {
             @Valid @RequestBody DuckDTO duckDTO) {
         
         log.info("Recebida solicitação para atualizar pato com ID: {}", id);
-        DuckDTO updatedDuck = duckService.updateDuck(id, duckDTO);
+        // Uma venda ou edição concorrente muda a versão do pato: a edição é refeita sobre o registro atual
+        DuckDTO updatedDuck = concurrencyRetryService.execute("PUT /api/ducks/{id}",
+                () -> duckService.updateDuck(id, duckDTO));
         
         return ResponseEntity.ok(updatedDuck);
     }
@@ -144,6 +192,86 @@ public class DuckController {
         return ResponseEntity.ok(ducks);
     }
     
+    /**
+     * Recupera todos os patos em NDJSON, um por linha, à medida que são lidos do banco.
+     * 
+     * <p>Atende requisições com {@code Accept: application/x-ndjson}.</p>
+     * 
+     * @return corpo da resposta escrito em streaming
+     */
+    @Operation(summary = "Obter todos os patos em NDJSON", description = "Envia todos os patos um por linha, sem carregar a lista completa em memória")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Patos enviados com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamAllDucks() {
+        log.debug("Recuperando todos os patos em NDJSON");
+        StreamingResponseBody body = duckService::writeAllDucks;
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Consulta o catálogo de patos página a página.
+     * 
+     * <p>A página seguinte é pedida com os mesmos filtros, a mesma ordenação e o
+     * {@code nextCursor} da página atual.</p>
+     * 
+     * @param status apenas patos neste status
+     * @param minPrice preço mínimo
+     * @param maxPrice preço máximo
+     * @param motherId apenas filhotes desta mãe
+     * @param registeredFrom patos cadastrados a partir deste momento
+     * @param registeredTo patos cadastrados antes deste momento
+     * @param namePrefix início do nome do pato
+     * @param sort campo de ordenação
+     * @param direction direção da ordenação
+     * @param cursor cursor retornado pela página anterior
+     * @param size quantidade máxima de patos na página
+     * @return a página e o cursor da seguinte
+     */
+    @Operation(summary = "Consultar catálogo de patos", description = "Filtra e ordena os patos, retornando-os em páginas com um cursor opaco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página recuperada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor, tamanho de página ou filtros inválidos"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping("/catalog")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<DuckCatalogPageDTO> getCatalog(
+            @Parameter(description = "Status do pato") @RequestParam(required = false) DuckStatus status,
+            @Parameter(description = "Preço mínimo") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Preço máximo") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "ID da mãe") @RequestParam(required = false) Long motherId,
+            @Parameter(description = "Patos cadastrados a partir deste momento")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredFrom,
+            @Parameter(description = "Patos cadastrados antes deste momento")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredTo,
+            @Parameter(description = "Início do nome (diferencia maiúsculas e minúsculas)")
+            @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Campo de ordenação") @RequestParam(defaultValue = "REGISTRATION_DATE") DuckCatalogSort sort,
+            @Parameter(description = "Direção da ordenação") @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @Parameter(description = "nextCursor da página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de patos na página") @RequestParam(defaultValue = "50") int size) {
+        
+        DuckCatalogCriteria criteria = DuckCatalogCriteria.builder()
+                .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .motherId(motherId)
+                .registeredFrom(registeredFrom)
+                .registeredTo(registeredTo)
+                .namePrefix(namePrefix)
+                .sort(sort)
+                .descending(direction.isDescending())
+                .build();
+        log.debug("Consultando catálogo de patos: {}", criteria);
+        
+        return ResponseEntity.ok(duckService.getCatalog(criteria, cursor, size));
+    }
+    
     /**
      * Recupera patos filtrados por seu status atual.
      * 
@@ -187,6 +315,123 @@ public class DuckController {
         return ResponseEntity.ok(ducks);
     }
     
+    /**
+     * Recupera os patos disponíveis mais baratos.
+     * 
+     * @param limit a quantidade máxima de patos
+     * @return os patos disponíveis do menor para o maior preço
+     */
+    @Operation(summary = "Obter patos disponíveis mais baratos", description = "Recupera os N patos disponíveis de menor preço")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Patos disponíveis recuperados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Quantidade inválida"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping("/available/cheapest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<List<DuckDTO>> getCheapestAvailableDucks(
+            @Parameter(description = "Quantidade máxima de patos")
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        log.debug("Recuperando os {} patos disponíveis mais baratos", limit);
+        return ResponseEntity.ok(duckService.getCheapestAvailableDucks(limit));
+    }
+    
+    /**
+     * Recupera os patos disponíveis dentro de uma faixa de preço.
+     * 
+     * @param minPrice o preço mínimo
+     * @param maxPrice o preço máximo
+     * @return os patos disponíveis na faixa, do menor para o maior preço
+     */
+    @Operation(summary = "Obter patos disponíveis por faixa de preço", description = "Recupera os patos disponíveis com preço entre os valores informados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Patos disponíveis recuperados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Faixa de preço inválida"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping("/available/price-range")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<List<DuckDTO>> getAvailableDucksByPriceRange(
+            @Parameter(description = "Preço mínimo", required = true) @RequestParam BigDecimal minPrice,
+            @Parameter(description = "Preço máximo", required = true) @RequestParam BigDecimal maxPrice) {
+        
+        log.debug("Recuperando patos disponíveis entre {} e {}", minPrice, maxPrice);
+        return ResponseEntity.ok(duckService.getAvailableDucksByPriceRange(minPrice, maxPrice));
+    }
+    
+    /**
+     * Recupera os ancestrais de um pato (mãe, avó e assim por diante).
+     * 
+     * @param id o identificador único do pato
+     * @param depth a quantidade máxima de gerações
+     * @return os ancestrais do pato, por geração
+     */
+    @Operation(summary = "Obter ancestrais de um pato", description = "Recupera a linhagem materna do pato até a profundidade informada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ancestrais recuperados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Profundidade inválida"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "404", description = "Pato não encontrado")
+    })
+    @GetMapping("/{id}/ancestors")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<DuckLineageDTO> getAncestors(
+            @Parameter(description = "ID do pato", required = true) @PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de gerações") @RequestParam(defaultValue = "10") int depth) {
+        
+        log.debug("Recuperando ancestrais do pato {} até {} gerações", id, depth);
+        return ResponseEntity.ok(duckLineageService.getAncestors(id, depth));
+    }
+    
+    /**
+     * Recupera os descendentes de um pato (filhotes, netos e assim por diante).
+     * 
+     * @param id o identificador único do pato
+     * @param depth a quantidade máxima de gerações
+     * @return os descendentes do pato, por geração
+     */
+    @Operation(summary = "Obter descendentes de um pato", description = "Recupera os descendentes do pato até a profundidade informada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Descendentes recuperados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Profundidade inválida"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "404", description = "Pato não encontrado")
+    })
+    @GetMapping("/{id}/descendants")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<DuckLineageDTO> getDescendants(
+            @Parameter(description = "ID do pato", required = true) @PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de gerações") @RequestParam(defaultValue = "10") int depth) {
+        
+        log.debug("Recuperando descendentes do pato {} até {} gerações", id, depth);
+        return ResponseEntity.ok(duckLineageService.getDescendants(id, depth));
+    }
+    
+    /**
+     * Conta os filhotes e os descendentes de um pato.
+     * 
+     * @param id o identificador único do pato
+     * @param depth a quantidade máxima de gerações contadas
+     * @return as quantidades de filhotes e descendentes
+     */
+    @Operation(summary = "Contar descendentes de um pato", description = "Conta os filhotes diretos e os descendentes do pato até a profundidade informada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Descendentes contados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Profundidade inválida"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "404", description = "Pato não encontrado")
+    })
+    @GetMapping("/{id}/offspring-count")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<DuckOffspringDTO> getOffspringCount(
+            @Parameter(description = "ID do pato", required = true) @PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de gerações") @RequestParam(defaultValue = "10") int depth) {
+        
+        log.debug("Contando descendentes do pato {} até {} gerações", id, depth);
+        return ResponseEntity.ok(duckLineageService.getOffspringCount(id, depth));
+    }
+    
     /**
      * Remove um registro de pato do sistema.
      * 
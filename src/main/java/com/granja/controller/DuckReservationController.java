@@ -0,0 +1,138 @@
+package com.granja.controller;
+
+import com.granja.dto.DuckReservationDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.service.DuckReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+/**
+ * Controlador REST para reservas de patos.
+ *
+ * <p>Uma reserva segura os patos para um cliente por um prazo limitado. Dentro do
+ * prazo a reserva pode ser confirmada, gerando a venda, ou liberada. Ao vencer,
+ * os patos voltam automaticamente a ficar disponíveis.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Reservas de Patos", description = "Operações para reservar patos antes da venda")
+public class DuckReservationController {
+
+    private final DuckReservationService reservationService;
+
+    /**
+     * Reserva patos para um cliente.
+     *
+     * @param reservationDTO os dados da reserva
+     * @return a reserva criada
+     */
+    @Operation(summary = "Reservar patos", description = "Reserva patos disponíveis para um cliente até o vencimento do prazo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Reserva criada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes"),
+        @ApiResponse(responseCode = "409", description = "Algum pato não está disponível")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<DuckReservationDTO> reserve(
+            @Parameter(description = "Dados da reserva", required = true)
+            @Valid @RequestBody DuckReservationDTO reservationDTO) {
+
+        log.info("Recebida requisição de reserva para o cliente ID: {}", reservationDTO.getCustomerId());
+        DuckReservationDTO reservation = reservationService.reserve(reservationDTO);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    /**
+     * Consulta uma reserva.
+     *
+     * @param id o ID da reserva
+     * @return a reserva
+     */
+    @Operation(summary = "Consultar reserva", description = "Retorna a situação e o vencimento de uma reserva")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reserva encontrada"),
+        @ApiResponse(responseCode = "400", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<DuckReservationDTO> getReservation(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable Long id) {
+
+        return ResponseEntity.ok(reservationService.getReservation(id));
+    }
+
+    /**
+     * Confirma uma reserva, gerando a venda dos patos reservados.
+     *
+     * @param id o ID da reserva
+     * @return a venda criada
+     */
+    @Operation(summary = "Confirmar reserva", description = "Gera a venda dos patos reservados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Venda criada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes"),
+        @ApiResponse(responseCode = "409", description = "Reserva vencida ou já encerrada")
+    })
+    @PostMapping("/{id}/confirm")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<SaleDTO> confirm(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable Long id) {
+
+        log.info("Recebida requisição de confirmação da reserva ID: {}", id);
+        SaleDTO sale = reservationService.confirm(id);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(sale);
+    }
+
+    /**
+     * Libera uma reserva, devolvendo os patos ao estoque.
+     *
+     * @param id o ID da reserva
+     * @return a reserva liberada
+     */
+    @Operation(summary = "Liberar reserva", description = "Cancela a reserva e devolve os patos ao estoque")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reserva liberada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Reserva não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes"),
+        @ApiResponse(responseCode = "409", description = "Reserva já encerrada")
+    })
+    @PostMapping("/{id}/release")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<DuckReservationDTO> release(
+            @Parameter(description = "ID da reserva", required = true)
+            @PathVariable Long id) {
+
+        log.info("Recebida requisição de liberação da reserva ID: {}", id);
+        return ResponseEntity.ok(reservationService.release(id));
+    }
+}
@@ -0,0 +1,48 @@
+package com.granja.controller;
+
+import com.granja.dto.EntityCacheStatsDTO;
+import com.granja.service.EntityCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para acompanhar o cache de patos, clientes e vendedores.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/entity-cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Cache de Entidades", description = "Estatísticas do cache de leitura de patos, clientes e vendedores")
+public class EntityCacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * Obtém as estatísticas de cada cache de entidades.
+     *
+     * @return acertos, leituras, remoções e ocupação de patos, clientes e vendedores
+     */
+    @Operation(summary = "Estatísticas do cache de entidades", description = "Retorna taxa de acertos, tempo de leitura, remoções por tamanho, expirações e invalidações de cada cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<EntityCacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(entityCacheService.getStats());
+    }
+}
@@ -1,6 +1,9 @@
 package com.granja.controller;
 
+import com.granja.dto.ReportCacheStatsDTO;
+import com.granja.service.ReportCacheService;
 import com.granja.service.ReportService;
+import com.granja.service.SalesRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,8 +17,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Controlador REST para operações de geração de relatórios.
@@ -44,6 +51,8 @@ import java.time.LocalDateTime;
 public class ReportController {
     
     private final ReportService reportService;
+    private final ReportCacheService reportCacheService;
+    private final SalesRollupService salesRollupService;
     
     /**
      * Gera e faz download de um relatório de vendas em formato Excel (período atual).
@@ -108,6 +117,52 @@ public class ReportController {
                 .body(reportBytes);
     }
     
+    /**
+     * Faz download de um relatório de vendas em formato Excel gerado em streaming.
+     * 
+     * <p>O arquivo é escrito diretamente na resposta à medida que as vendas são lidas,
+     * liberando a thread da requisição e mantendo o uso de memória constante.
+     * Sem datas, considera o último mês.</p>
+     * 
+     * @param startDate a data de início para o período do relatório (opcional)
+     * @param endDate a data de fim para o período do relatório (opcional)
+     * @return corpo da resposta escrito em streaming
+     */
+    @Operation(summary = "Gerar relatório de vendas em streaming", description = "Gera o relatório de vendas em formato Excel escrevendo diretamente na resposta, indicado para períodos longos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros de data inválidos"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/sales/stream")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamSalesReport(
+            @Parameter(description = "Data de início para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Data de fim para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : end.minusMonths(1);
+        
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Data de fim do relatório não pode ser anterior à data de início");
+        }
+        
+        log.info("Gerando relatório de vendas em streaming de {} até {}", start, end);
+        
+        StreamingResponseBody body = outputStream -> reportService.writeSalesReport(start, end, outputStream);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "sales_report.xlsx");
+        
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+    
     /**
      * Gera e faz download de um relatório de ranking de vendedores em formato Excel (período atual).
      * 
@@ -170,4 +225,56 @@ public class ReportController {
                 .headers(headers)
                 .body(reportBytes);
     }
+    
+    /**
+     * Obtém as estatísticas do cache de relatórios.
+     * 
+     * @return acertos, falhas, remoções e ocupação do cache
+     */
+    @Operation(summary = "Estatísticas do cache de relatórios", description = "Retorna acertos, falhas, remoções, invalidações e ocupação do cache de relatórios gerados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReportCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(reportCacheService.getStats());
+    }
+    
+    /**
+     * Reconstrói o consolidado diário de vendas a partir das vendas registradas.
+     * 
+     * @param startDay o primeiro dia a reconstruir (opcional)
+     * @param endDay o último dia a reconstruir (opcional)
+     * @return quantidade de linhas do consolidado recriadas
+     */
+    @Operation(summary = "Reconstruir consolidado diário de vendas", description = "Recalcula o consolidado diário usado nos rankings a partir das vendas. Sem datas, reconstrói todo o histórico")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consolidado reconstruído com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Intervalo de dias inválido"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildSalesRollup(
+            @Parameter(description = "Primeiro dia a reconstruir")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDay,
+            @Parameter(description = "Último dia a reconstruir")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDay) {
+        
+        log.info("Reconstruindo consolidado diário de vendas de {} até {}", startDay, endDay);
+        
+        int rows = startDay == null && endDay == null
+                ? salesRollupService.rebuildAll()
+                : salesRollupService.rebuild(startDay, endDay != null ? endDay : LocalDate.now());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("startDay", startDay);
+        response.put("endDay", endDay);
+        response.put("rows", rows);
+        return ResponseEntity.ok(response);
+    }
 }
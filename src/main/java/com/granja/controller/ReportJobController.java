@@ -0,0 +1,201 @@
+package com.granja.controller;
+
+import com.granja.dto.ReportJobDTO;
+import com.granja.dto.ReportJobDTO.Priority;
+import com.granja.service.ReportJobService;
+import com.granja.service.ReportService.ReportType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST para geração assíncrona de relatórios.
+ *
+ * <p>Este controlador permite enfileirar relatórios longos, acompanhar o progresso
+ * e fazer o download quando estiverem prontos, sem manter a requisição aberta
+ * durante a geração.</p>
+ *
+ * <p>Principais características:
+ * <ul>
+ *   <li>Submissão de relatórios com prioridade</li>
+ *   <li>Consulta de situação e progresso</li>
+ *   <li>Download do arquivo Excel gerado</li>
+ *   <li>Cancelamento de jobs</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Relatórios Assíncronos", description = "Operações para gerar relatórios em segundo plano")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Enfileira a geração de um relatório de vendas.
+     *
+     * @param startDate a data de início para o período do relatório (opcional)
+     * @param endDate a data de fim para o período do relatório (opcional)
+     * @param priority a prioridade do job na fila
+     * @param authentication o usuário autenticado
+     * @return o job criado
+     */
+    @Operation(summary = "Enfileirar relatório de vendas", description = "Enfileira a geração de um relatório de vendas e retorna o identificador do job. Sem datas, considera o último mês")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Relatório enfileirado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros inválidos ou fila cheia"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PostMapping("/sales")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReportJobDTO> submitSalesReport(
+            @Parameter(description = "Data de início para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Data de fim para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Prioridade do job na fila")
+            @RequestParam(defaultValue = "NORMAL") Priority priority,
+            Authentication authentication) {
+
+        return submit(ReportType.SALES, startDate, endDate, priority, authentication);
+    }
+
+    /**
+     * Enfileira a geração de um relatório de ranking de vendedores.
+     *
+     * @param startDate a data de início para o período do relatório (opcional)
+     * @param endDate a data de fim para o período do relatório (opcional)
+     * @param priority a prioridade do job na fila
+     * @param authentication o usuário autenticado
+     * @return o job criado
+     */
+    @Operation(summary = "Enfileirar relatório de ranking de vendedores", description = "Enfileira a geração de um relatório de ranking de vendedores e retorna o identificador do job. Sem datas, considera o último mês")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Relatório enfileirado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Parâmetros inválidos ou fila cheia"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PostMapping("/seller-ranking")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReportJobDTO> submitSellerRankingReport(
+            @Parameter(description = "Data de início para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Data de fim para o período do relatório")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Prioridade do job na fila")
+            @RequestParam(defaultValue = "NORMAL") Priority priority,
+            Authentication authentication) {
+
+        return submit(ReportType.SELLER_RANKING, startDate, endDate, priority, authentication);
+    }
+
+    /**
+     * Consulta a situação e o progresso de um job de relatório.
+     *
+     * @param id o identificador do job
+     * @return o job com situação atual
+     */
+    @Operation(summary = "Consultar job de relatório", description = "Retorna situação (QUEUED, RUNNING, DONE, FAILED, CANCELLED) e progresso de um job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job encontrado"),
+        @ApiResponse(responseCode = "400", description = "Job não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReportJobDTO> getJob(
+            @Parameter(description = "ID do job", required = true)
+            @PathVariable String id) {
+
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    /**
+     * Faz download do arquivo gerado por um job concluído.
+     *
+     * @param id o identificador do job
+     * @return arquivo Excel gerado
+     */
+    @Operation(summary = "Download do relatório", description = "Faz download do arquivo Excel de um job concluído")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Arquivo retornado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Job não encontrado ou ainda não concluído"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @GetMapping("/{id}/download")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<Resource> downloadReport(
+            @Parameter(description = "ID do job", required = true)
+            @PathVariable String id) {
+
+        ReportJobDTO job = reportJobService.getJob(id);
+        Path file = reportJobService.getJobResult(id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", job.getFileName());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(file));
+    }
+
+    /**
+     * Cancela um job na fila ou em execução.
+     *
+     * @param id o identificador do job
+     * @return o job após o pedido de cancelamento
+     */
+    @Operation(summary = "Cancelar job de relatório", description = "Cancela um job que ainda está na fila ou em execução")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cancelamento solicitado"),
+        @ApiResponse(responseCode = "400", description = "Job não encontrado ou já finalizado"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado")
+    })
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ReportJobDTO> cancelJob(
+            @Parameter(description = "ID do job", required = true)
+            @PathVariable String id) {
+
+        log.info("Cancelando job de relatório {}", id);
+        return ResponseEntity.ok(reportJobService.cancel(id));
+    }
+
+    private ResponseEntity<ReportJobDTO> submit(ReportType type, LocalDateTime startDate, LocalDateTime endDate,
+                                                Priority priority, Authentication authentication) {
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : end.minusMonths(1);
+
+        log.info("Enfileirando relatório {} de {} até {}", type, start, end);
+        ReportJobDTO job = reportJobService.submit(type, start, end, priority,
+                authentication != null ? authentication.getName() : null);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+}
@@ -1,6 +1,12 @@
 package com.granja.controller;
 
+import com.granja.dto.SaleBatchResultDTO;
 import com.granja.dto.SaleDTO;
+import com.granja.dto.SalePageDTO;
+import com.granja.dto.SaleSearchCriteria;
+import com.granja.service.ConcurrencyRetryService;
+import com.granja.service.IdempotencyService;
+import com.granja.service.SaleIngestionService;
 import com.granja.service.SaleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,12 +15,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -44,32 +55,72 @@ import java.util.List;
 public class SaleController {
     
     private final SaleService saleService;
+    private final SaleIngestionService saleIngestionService;
+    private final IdempotencyService idempotencyService;
+    private final ConcurrencyRetryService concurrencyRetryService;
     
     /**
      * Creates a new sale transaction.
      * 
+     * <p>When an Idempotency-Key is sent, retries with the same key and body
+     * return the original sale instead of creating a new one.</p>
+     * 
+     * @param idempotencyKey optional client-generated key identifying the request
      * @param saleDTO the sale data to create
      * @return the created sale with generated ID
      */
-    @Operation(summary = "Create a new sale", description = "Creates a new sale transaction in the system")
+    @Operation(summary = "Create a new sale", description = "Creates a new sale transaction in the system. Retries with the same Idempotency-Key return the original sale")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Sale created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or Idempotency-Key reused with a different body"),
         @ApiResponse(responseCode = "401", description = "Unauthorized access"),
-        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+        @ApiResponse(responseCode = "409", description = "Ducks still disputed by concurrent sales after retrying")
     })
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
     public ResponseEntity<SaleDTO> createSale(
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Parameter(description = "Sale data to create", required = true)
             @Valid @RequestBody SaleDTO saleDTO) {
         
         log.info("Received request to create sale for customer ID: {}", saleDTO.getCustomerId());
-        SaleDTO createdSale = saleService.createSale(saleDTO);
+        // Idempotent requests stay synchronous: the key is stored in the same transaction as the sale
+        SaleDTO createdSale = concurrencyRetryService.execute("POST /api/sales", () -> idempotencyKey == null
+                ? saleIngestionService.createSale(saleDTO)
+                : idempotencyService.execute(idempotencyKey, saleDTO, SaleDTO.class, () -> saleService.createSale(saleDTO)));
         
         return ResponseEntity.status(HttpStatus.CREATED).body(createdSale);
     }
     
+    /**
+     * Creates several sales in a single request.
+     * 
+     * @param saleDTOs the sales to create
+     * @return the per-item outcome of the batch
+     */
+    @Operation(summary = "Create sales in bulk", description = "Creates several sales at once and reports the outcome of each item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed; see each item for its outcome"),
+        @ApiResponse(responseCode = "400", description = "Empty batch or batch above the limit"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+        @ApiResponse(responseCode = "409", description = "Ducks still disputed by concurrent sales after retrying")
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<SaleBatchResultDTO> createSales(
+            @Parameter(description = "Sales to create", required = true)
+            @RequestBody List<SaleDTO> saleDTOs) {
+        
+        log.info("Received request to create {} sales in bulk", saleDTOs.size());
+        SaleBatchResultDTO result = concurrencyRetryService.execute("POST /api/sales/batch",
+                () -> saleService.createSales(saleDTOs));
+        
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Retrieves all sales in the system.
      * 
@@ -89,6 +140,80 @@ public class SaleController {
         return ResponseEntity.ok(sales);
     }
     
+    /**
+     * Retrieves all sales as NDJSON, one per line, as they are read from the database.
+     * 
+     * <p>Served for requests with {@code Accept: application/x-ndjson}.</p>
+     * 
+     * @return the response body, written as a stream
+     */
+    @Operation(summary = "Get all sales as NDJSON", description = "Streams every sale one per line without loading the whole list into memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sales streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamAllSales() {
+        log.debug("Streaming all sales as NDJSON");
+        StreamingResponseBody body = saleService::writeAllSales;
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Searches sales page by page.
+     * 
+     * <p>Sales are returned from the most recent to the oldest. The next page is
+     * requested with the same filters and the {@code nextCursor} of the current one.</p>
+     * 
+     * @param customerId only sales of this customer
+     * @param sellerId only sales of this seller
+     * @param from sales made at or after this moment
+     * @param to sales made before this moment
+     * @param minPrice minimum final price
+     * @param maxPrice maximum final price
+     * @param discounted only sales with or without a discount
+     * @param cursor cursor returned by the previous page
+     * @param size maximum number of sales in the page
+     * @return the page and the cursor of the next one
+     */
+    @Operation(summary = "Search sales", description = "Filters sales and returns them in pages, most recent first, using an opaque cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or filters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER') or hasRole('MANAGER')")
+    public ResponseEntity<SalePageDTO> searchSales(
+            @Parameter(description = "Customer ID") @RequestParam(required = false) Long customerId,
+            @Parameter(description = "Seller ID") @RequestParam(required = false) Long sellerId,
+            @Parameter(description = "Sales made at or after this moment")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Sales made before this moment")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Minimum final price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum final price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Only sales with (true) or without (false) a discount")
+            @RequestParam(required = false) Boolean discounted,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of sales in the page") @RequestParam(defaultValue = "50") int size) {
+        
+        SaleSearchCriteria criteria = SaleSearchCriteria.builder()
+                .customerId(customerId)
+                .sellerId(sellerId)
+                .from(from)
+                .to(to)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .discounted(discounted)
+                .build();
+        log.debug("Searching sales: {}", criteria);
+        
+        return ResponseEntity.ok(saleService.searchSales(criteria, cursor, size));
+    }
+    
     /**
      * Retrieves a sale by its unique identifier.
      * 
@@ -1,15 +1,22 @@
 package com.granja.controller;
 
 import com.granja.dto.SellerDTO;
+import com.granja.dto.SellerRankingDTO;
+import com.granja.service.SellerMetricsService;
 import com.granja.service.SellerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller para gerenciamento de vendedores da granja.
@@ -25,6 +32,7 @@ import java.util.List;
 public class SellerController {
     
     private final SellerService sellerService;
+    private final SellerMetricsService sellerMetricsService;
     
     /**
      * Lista todos os vendedores.
@@ -38,6 +46,20 @@ public class SellerController {
         return ResponseEntity.ok(sellers);
     }
     
+    /**
+     * Lista todos os vendedores em NDJSON, um por linha, à medida que são lidos do banco.
+     * 
+     * <p>Atende requisições com {@code Accept: application/x-ndjson}.</p>
+     * 
+     * @return corpo da resposta escrito em streaming
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSellers() {
+        log.info("Listando todos os vendedores em NDJSON");
+        StreamingResponseBody body = sellerService::writeAllSellers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Obtém um vendedor por ID.
      * 
@@ -91,15 +113,45 @@ public class SellerController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Lista vendedores com uma quantidade mínima de vendas.
+     * 
+     * @param minSalesCount quantidade mínima de vendas
+     * @return vendedores ordenados pela quantidade de vendas
+     */
+    @GetMapping("/performance")
+    public ResponseEntity<List<SellerDTO>> getSellersByPerformance(@RequestParam(defaultValue = "0") Integer minSalesCount) {
+        log.info("Listando vendedores com pelo menos {} vendas", minSalesCount);
+        List<SellerDTO> sellers = sellerService.getSellersByPerformance(minSalesCount);
+        return ResponseEntity.ok(sellers);
+    }
+    
     /**
      * Obtém ranking de vendedores por performance.
      * 
-     * @return lista de vendedores ordenados por receita
+     * @param limit quantidade máxima de vendedores (opcional; todos quando ausente)
+     * @return lista de vendedores com suas métricas, ordenados por receita
      */
     @GetMapping("/ranking")
-    public ResponseEntity<List<SellerDTO>> getSellerRanking() {
-        log.info("Gerando ranking de vendedores");
-        List<SellerDTO> ranking = sellerService.getSellerRanking();
+    public ResponseEntity<List<SellerRankingDTO>> getSellerRanking(@RequestParam(required = false) Integer limit) {
+        log.info("Gerando ranking de vendedores, limite: {}", limit);
+        List<SellerRankingDTO> ranking = limit != null
+                ? sellerService.getTopSellers(limit)
+                : sellerService.getSellerRanking();
         return ResponseEntity.ok(ranking);
     }
+    
+    /**
+     * Recalcula as métricas de todos os vendedores a partir das vendas.
+     * 
+     * @return quantidade de vendedores reconciliados
+     */
+    @PostMapping("/metrics/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcileMetrics() {
+        log.info("Reconciliando métricas de vendedores");
+        Map<String, Object> response = new HashMap<>();
+        response.put("sellers", sellerMetricsService.reconcile());
+        return ResponseEntity.ok(response);
+    }
 }
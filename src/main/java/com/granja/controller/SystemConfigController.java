@@ -0,0 +1,96 @@
+package com.granja.controller;
+
+import com.granja.service.SystemConfigService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para as configurações do sistema.
+ *
+ * <p>Permite consultar as configurações em uso, alterar um valor e forçar a
+ * recarga após alterações feitas direto no banco.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/config")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Configurações", description = "Configurações de preço, desconto e manutenção do sistema")
+public class SystemConfigController {
+
+    private final SystemConfigService systemConfigService;
+
+    /**
+     * Obtém as configurações em uso.
+     *
+     * @return a cópia atual das configurações
+     */
+    @Operation(summary = "Consultar configurações", description = "Retorna as configurações em uso pela aplicação e a versão carregada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Configurações recuperadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemConfigService.Snapshot> getConfig() {
+        return ResponseEntity.ok(systemConfigService.current());
+    }
+
+    /**
+     * Altera o valor de uma configuração.
+     *
+     * @param key a chave da configuração
+     * @param value o novo valor
+     * @return as configurações após a alteração
+     */
+    @Operation(summary = "Alterar configuração", description = "Valida e grava o novo valor; a alteração vale imediatamente nesta instância e nas demais após a próxima verificação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Configuração alterada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Configuração inexistente ou valor inválido"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PutMapping("/{key}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemConfigService.Snapshot> updateConfig(
+            @Parameter(description = "Chave da configuração", required = true)
+            @PathVariable String key,
+            @Parameter(description = "Novo valor", required = true)
+            @RequestParam String value) {
+
+        log.info("Recebida solicitação para alterar a configuração {}", key);
+        systemConfigService.updateValue(key, value);
+
+        return ResponseEntity.ok(systemConfigService.current());
+    }
+
+    /**
+     * Recarrega as configurações do banco.
+     *
+     * @return a nova cópia das configurações
+     */
+    @Operation(summary = "Recarregar configurações", description = "Relê a tabela system_config, para aplicar alterações feitas direto no banco sem esperar a próxima verificação")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Configurações recarregadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @PostMapping("/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemConfigService.Snapshot> reloadConfig() {
+        return ResponseEntity.ok(systemConfigService.reload());
+    }
+}
@@ -0,0 +1,48 @@
+package com.granja.controller;
+
+import com.granja.dto.UniqueKeyFilterStatsDTO;
+import com.granja.service.UniqueKeyFilterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para acompanhar os filtros de Bloom de CPF e matrícula.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/unique-key-filters")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Filtros de Chave Única", description = "Estatísticas dos filtros de Bloom usados na verificação de CPF e matrícula repetidos")
+public class UniqueKeyFilterController {
+
+    private final UniqueKeyFilterService uniqueKeyFilterService;
+
+    /**
+     * Obtém as estatísticas de cada filtro de chave única.
+     *
+     * @return tamanho, memória, taxas de falsos positivos e consultas dispensadas de cada filtro
+     */
+    @Operation(summary = "Estatísticas dos filtros de chave única", description = "Retorna capacidade, memória, funções de hash, taxa de falsos positivos configurada, estimada e observada, e consultas ao banco dispensadas de cada filtro")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Acesso não autorizado"),
+        @ApiResponse(responseCode = "403", description = "Permissões insuficientes")
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<UniqueKeyFilterStatsDTO>> getStats() {
+        return ResponseEntity.ok(uniqueKeyFilterService.getStats());
+    }
+}
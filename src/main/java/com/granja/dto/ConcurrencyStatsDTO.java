@@ -0,0 +1,45 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados para os conflitos de concorrência de um endpoint.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConcurrencyStatsDTO {
+
+    /**
+     * Endpoint monitorado, no formato "MÉTODO caminho"
+     */
+    private String endpoint;
+
+    /**
+     * Requisições atendidas pelo endpoint
+     */
+    private Long requests;
+
+    /**
+     * Tentativas que encontraram um conflito com outra transação
+     */
+    private Long conflicts;
+
+    /**
+     * Requisições que falharam após esgotar as novas tentativas
+     */
+    private Long exhausted;
+
+    /**
+     * Conflitos por requisição (pode passar de 1 quando há várias tentativas)
+     */
+    private Double conflictRate;
+}
@@ -0,0 +1,63 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Objeto de Transferência de Dados para o resumo de compras de um cliente.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPurchaseSummaryDTO {
+
+    /**
+     * ID do cliente
+     */
+    private Long customerId;
+
+    /**
+     * Nome do cliente
+     */
+    private String customerName;
+
+    /**
+     * Quantidade de compras
+     */
+    private Long purchaseCount;
+
+    /**
+     * Valor total gasto (soma dos preços finais)
+     */
+    private BigDecimal lifetimeSpend;
+
+    /**
+     * Soma dos descontos recebidos
+     */
+    private BigDecimal totalDiscount;
+
+    /**
+     * Valor médio por compra
+     */
+    private BigDecimal averageTicket;
+
+    /**
+     * Data e hora da primeira compra; ausente se o cliente nunca comprou
+     */
+    private LocalDateTime firstPurchaseDate;
+
+    /**
+     * Data e hora da compra mais recente; ausente se o cliente nunca comprou
+     */
+    private LocalDateTime lastPurchaseDate;
+}
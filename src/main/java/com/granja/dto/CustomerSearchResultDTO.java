@@ -0,0 +1,35 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados para um cliente encontrado na busca por nome.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSearchResultDTO {
+
+    /**
+     * ID do cliente
+     */
+    private Long id;
+
+    /**
+     * Nome do cliente, como cadastrado
+     */
+    private String name;
+
+    /**
+     * Pontuação da busca; maior é mais relevante
+     */
+    private Integer score;
+}
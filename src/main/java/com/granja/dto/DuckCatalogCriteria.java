@@ -0,0 +1,73 @@
+package com.granja.dto;
+
+import com.granja.entity.Duck.DuckStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros e ordenação do catálogo paginado de patos.
+ * 
+ * <p>Todos os filtros são opcionais; apenas os informados restringem o resultado.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckCatalogCriteria {
+    
+    /**
+     * Apenas patos neste status
+     */
+    private DuckStatus status;
+    
+    /**
+     * Preço mínimo (inclusivo)
+     */
+    private BigDecimal minPrice;
+    
+    /**
+     * Preço máximo (inclusivo)
+     */
+    private BigDecimal maxPrice;
+    
+    /**
+     * Apenas filhotes desta mãe
+     */
+    private Long motherId;
+    
+    /**
+     * Patos cadastrados a partir deste momento
+     */
+    private LocalDateTime registeredFrom;
+    
+    /**
+     * Patos cadastrados antes deste momento
+     */
+    private LocalDateTime registeredTo;
+    
+    /**
+     * Início do nome do pato, diferenciando maiúsculas e minúsculas
+     */
+    private String namePrefix;
+    
+    /**
+     * Campo de ordenação (padrão: data de cadastro)
+     */
+    @Builder.Default
+    private DuckCatalogSort sort = DuckCatalogSort.REGISTRATION_DATE;
+    
+    /**
+     * Ordem decrescente (padrão) ou crescente
+     */
+    @Builder.Default
+    private boolean descending = true;
+}
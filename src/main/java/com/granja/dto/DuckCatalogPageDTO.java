@@ -0,0 +1,82 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados para uma página do catálogo de patos.
+ * 
+ * <p>Para buscar a página seguinte, repita a requisição com os mesmos filtros e a
+ * mesma ordenação, informando o {@code nextCursor} retornado.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckCatalogPageDTO {
+    
+    /**
+     * Patos desta página
+     */
+    private List<Item> items;
+    
+    /**
+     * Quantidade de patos nesta página
+     */
+    private Integer size;
+    
+    /**
+     * Token opaco que aponta para depois do último pato desta página (nulo na última página)
+     */
+    private String nextCursor;
+    
+    /**
+     * Pato do catálogo, sem as vendas associadas.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        /**
+         * Identificador único do pato
+         */
+        private Long id;
+        
+        /**
+         * Nome do pato
+         */
+        private String name;
+        
+        /**
+         * ID da mãe do pato (nulo para patos fundadores)
+         */
+        private Long motherId;
+        
+        /**
+         * Preço atual do pato
+         */
+        private BigDecimal price;
+        
+        /**
+         * Status atual do pato
+         */
+        private String status;
+        
+        /**
+         * Data e hora do cadastro do pato
+         */
+        private LocalDateTime registrationDate;
+    }
+}
@@ -0,0 +1,36 @@
+package com.granja.dto;
+
+/**
+ * Campos de ordenação do catálogo de patos.
+ * 
+ * <p>Em todas as ordenações o ID desempata patos com o mesmo valor, de modo que a
+ * posição de cada pato no catálogo é única e pode ser usada como cursor.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public enum DuckCatalogSort {
+    
+    /** Data de cadastro */
+    REGISTRATION_DATE("registrationDate"),
+    /** Preço */
+    PRICE("price"),
+    /** Nome */
+    NAME("name"),
+    /** Apenas o ID */
+    ID("id");
+    
+    private final String attribute;
+    
+    DuckCatalogSort(String attribute) {
+        this.attribute = attribute;
+    }
+    
+    /**
+     * @return o atributo da entidade Duck ordenado
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+}
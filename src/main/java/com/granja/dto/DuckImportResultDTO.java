@@ -0,0 +1,70 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados com o resultado de uma importação de patos.
+ * 
+ * <p>Linhas rejeitadas não impedem a gravação das linhas válidas. Os erros são
+ * informados pelo número da linha no arquivo, contando o cabeçalho como linha 1.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckImportResultDTO {
+    
+    /**
+     * Quantidade de linhas de dados lidas do arquivo
+     */
+    private Long total;
+    
+    /**
+     * Quantidade de patos cadastrados
+     */
+    private Long succeeded;
+    
+    /**
+     * Quantidade de linhas rejeitadas
+     */
+    private Long failed;
+    
+    /**
+     * Erros por linha, limitados aos primeiros encontrados
+     */
+    private List<RowError> errors;
+    
+    /**
+     * Indica que houve mais erros do que os listados em {@link #errors}
+     */
+    private Boolean errorsTruncated;
+    
+    /**
+     * Erro de uma linha do arquivo.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        
+        /**
+         * Número da linha no arquivo
+         */
+        private Long row;
+        
+        /**
+         * Motivo da rejeição
+         */
+        private String error;
+    }
+}
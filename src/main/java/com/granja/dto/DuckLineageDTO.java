@@ -0,0 +1,86 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados com os ancestrais ou descendentes de um pato.
+ * 
+ * <p>Os patos são listados por geração e, dentro da geração, por ID. Cada um traz
+ * o ID da mãe, o que permite ao cliente montar a árvore.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckLineageDTO {
+    
+    /**
+     * Pato a partir do qual a linhagem foi percorrida
+     */
+    private Long duckId;
+    
+    /**
+     * Quantidade máxima de gerações percorridas
+     */
+    private Integer depth;
+    
+    /**
+     * Indica que a linhagem tem mais patos do que o limite retornado
+     */
+    private Boolean truncated;
+    
+    /**
+     * Patos da linhagem, sem o pato consultado
+     */
+    private List<Node> ducks;
+    
+    /**
+     * Pato da linhagem com a geração em que aparece.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Node {
+        
+        /**
+         * Identificador do pato
+         */
+        private Long id;
+        
+        /**
+         * Nome do pato
+         */
+        private String name;
+        
+        /**
+         * Identificador da mãe do pato
+         */
+        private Long motherId;
+        
+        /**
+         * Preço do pato
+         */
+        private BigDecimal price;
+        
+        /**
+         * Status atual do pato
+         */
+        private String status;
+        
+        /**
+         * Distância em gerações até o pato consultado (1 para mãe ou filhotes)
+         */
+        private Integer generation;
+    }
+}
@@ -0,0 +1,40 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados com a quantidade de descendentes de um pato.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckOffspringDTO {
+    
+    /**
+     * Pato consultado
+     */
+    private Long duckId;
+    
+    /**
+     * Quantidade de filhotes diretos
+     */
+    private Long children;
+    
+    /**
+     * Quantidade de descendentes até a profundidade informada
+     */
+    private Long descendants;
+    
+    /**
+     * Quantidade máxima de gerações contadas em {@link #descendants}
+     */
+    private Integer depth;
+}
@@ -0,0 +1,80 @@
+package com.granja.dto;
+
+import com.granja.entity.DuckReservation.ReservationStatus;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Objeto de Transferência de Dados para reservas de patos.
+ *
+ * <p>Na criação, informa o cliente, o vendedor, os patos e opcionalmente o prazo
+ * da reserva. Nas respostas, traz também a situação, o vencimento e a venda
+ * gerada pela confirmação.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckReservationDTO {
+
+    /**
+     * Identificador único da reserva (nulo na criação)
+     */
+    private Long id;
+
+    /**
+     * IDs dos patos reservados
+     */
+    @NotEmpty(message = "At least one duck must be selected for reservation")
+    private List<Long> duckIds;
+
+    /**
+     * ID do cliente para quem os patos são reservados
+     */
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    /**
+     * ID do vendedor que cria a reserva
+     */
+    @NotNull(message = "Seller ID is required")
+    private Long sellerId;
+
+    /**
+     * Prazo da reserva em minutos (opcional; usa o padrão configurado)
+     */
+    @Min(value = 1, message = "Reservation TTL must be at least 1 minute")
+    private Integer ttlMinutes;
+
+    /**
+     * Situação atual da reserva
+     */
+    private ReservationStatus status;
+
+    /**
+     * Momento em que a reserva expira
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Venda gerada pela confirmação
+     */
+    private Long saleId;
+
+    /**
+     * Data e hora de criação da reserva
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,70 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados para as estatísticas de um cache de entidades.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntityCacheStatsDTO {
+
+    /**
+     * Nome do cache (ducks, customers ou sellers)
+     */
+    private String cache;
+
+    /**
+     * Consultas atendidas pelo cache
+     */
+    private Long hits;
+
+    /**
+     * Consultas que precisaram ler o banco
+     */
+    private Long misses;
+
+    /**
+     * Proporção de consultas atendidas pelo cache (0 a 1)
+     */
+    private Double hitRate;
+
+    /**
+     * Leituras feitas no banco
+     */
+    private Long loads;
+
+    /**
+     * Tempo médio de cada leitura no banco, em milissegundos
+     */
+    private Double averageLoadMillis;
+
+    /**
+     * Entradas removidas pelo limite de tamanho
+     */
+    private Long evictions;
+
+    /**
+     * Entradas descartadas por terem passado do tempo de vida
+     */
+    private Long expirations;
+
+    /**
+     * Entradas descartadas por alterações no registro
+     */
+    private Long invalidations;
+
+    /**
+     * Quantidade de entidades em cache
+     */
+    private Integer entries;
+}
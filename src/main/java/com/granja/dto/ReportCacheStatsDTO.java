@@ -0,0 +1,55 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados para as estatísticas do cache de relatórios.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportCacheStatsDTO {
+
+    /**
+     * Consultas atendidas pelo cache
+     */
+    private Long hits;
+
+    /**
+     * Consultas que precisaram gerar o relatório
+     */
+    private Long misses;
+
+    /**
+     * Entradas removidas pelo limite de tamanho
+     */
+    private Long evictions;
+
+    /**
+     * Entradas descartadas por vendas criadas ou removidas no período
+     */
+    private Long invalidations;
+
+    /**
+     * Quantidade de relatórios em cache
+     */
+    private Integer entries;
+
+    /**
+     * Espaço ocupado em disco pelos relatórios em cache
+     */
+    private Long sizeBytes;
+
+    /**
+     * Proporção de consultas atendidas pelo cache (0 a 1)
+     */
+    private Double hitRate;
+}
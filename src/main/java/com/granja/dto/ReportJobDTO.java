@@ -0,0 +1,119 @@
+package com.granja.dto;
+
+import com.granja.service.ReportService.ReportType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Objeto de Transferência de Dados para acompanhamento de jobs de relatório.
+ *
+ * <p>Este DTO expõe o estado de um relatório gerado de forma assíncrona,
+ * permitindo que o cliente consulte o progresso e faça o download ao final.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobDTO {
+
+    /**
+     * Identificador único do job
+     */
+    private String id;
+
+    /**
+     * Tipo de relatório solicitado
+     */
+    private ReportType type;
+
+    /**
+     * Prioridade do job na fila
+     */
+    private Priority priority;
+
+    /**
+     * Situação atual do job
+     */
+    private JobStatus status;
+
+    /**
+     * Percentual de conclusão (0 a 100)
+     */
+    private Integer progress;
+
+    /**
+     * Data de início do período do relatório
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * Data de fim do período do relatório
+     */
+    private LocalDateTime endDate;
+
+    /**
+     * Usuário que solicitou o relatório
+     */
+    private String requestedBy;
+
+    /**
+     * Data e hora em que o job entrou na fila
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Data e hora em que a geração começou
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Data e hora em que o job terminou (com sucesso ou não)
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Nome sugerido para o arquivo gerado
+     */
+    private String fileName;
+
+    /**
+     * Mensagem de erro quando o job falha
+     */
+    private String errorMessage;
+
+    /**
+     * Enumeração representando as possíveis situações de um job de relatório
+     */
+    public enum JobStatus {
+        /** Aguardando um worker livre */
+        QUEUED,
+        /** Relatório em geração */
+        RUNNING,
+        /** Relatório pronto para download */
+        DONE,
+        /** Geração falhou */
+        FAILED,
+        /** Job cancelado antes de terminar */
+        CANCELLED
+    }
+
+    /**
+     * Enumeração representando a prioridade de um job na fila
+     */
+    public enum Priority {
+        /** Atendido antes dos demais */
+        HIGH,
+        /** Prioridade padrão */
+        NORMAL,
+        /** Atendido apenas quando não há jobs mais prioritários */
+        LOW
+    }
+}
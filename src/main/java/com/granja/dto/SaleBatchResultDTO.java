@@ -0,0 +1,82 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk sale creation.
+ *
+ * <p>Each item of the request is reported in its original position, either
+ * with the created sale or with the reason it was rejected. Rejected items do
+ * not prevent the valid ones from being created.</p>
+ *
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleBatchResultDTO {
+
+    /**
+     * Number of sales received in the request
+     */
+    private Integer total;
+
+    /**
+     * Number of sales created
+     */
+    private Integer succeeded;
+
+    /**
+     * Number of sales rejected
+     */
+    private Integer failed;
+
+    /**
+     * Per-item results, in the same order as the request
+     */
+    private List<Item> items;
+
+    /**
+     * Result of a single sale of the batch.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        /**
+         * Zero-based position of the sale in the request
+         */
+        private Integer index;
+
+        /**
+         * Whether the sale was created
+         */
+        private Boolean success;
+
+        /**
+         * The created sale (null when rejected)
+         */
+        private SaleDTO sale;
+
+        /**
+         * Reason the sale was rejected (null when created)
+         */
+        private String error;
+
+        /**
+         * Code of a rejection the client may retry, e.g. DUCK_ALREADY_SOLD when a duck was
+         * taken by another sale (null when created or rejected by validation)
+         */
+        private String errorCode;
+    }
+}
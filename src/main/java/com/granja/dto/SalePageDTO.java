@@ -0,0 +1,41 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of the sale search.
+ * 
+ * <p>Pages are ordered from the most recent sale to the oldest. To fetch the
+ * next page, repeat the request with the same filters and the returned
+ * {@code nextCursor}.</p>
+ * 
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalePageDTO {
+    
+    /**
+     * Sales of this page
+     */
+    private List<SaleDTO> items;
+    
+    /**
+     * Number of sales in this page
+     */
+    private Integer size;
+    
+    /**
+     * Opaque token pointing after the last sale of this page (null on the last page)
+     */
+    private String nextCursor;
+}
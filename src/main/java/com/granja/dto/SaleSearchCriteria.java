@@ -0,0 +1,60 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of the paginated sale search.
+ * 
+ * <p>Every filter is optional; only the informed ones restrict the result.</p>
+ * 
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleSearchCriteria {
+    
+    /**
+     * Only sales of this customer
+     */
+    private Long customerId;
+    
+    /**
+     * Only sales of this seller
+     */
+    private Long sellerId;
+    
+    /**
+     * Sales made at or after this moment
+     */
+    private LocalDateTime from;
+    
+    /**
+     * Sales made before this moment
+     */
+    private LocalDateTime to;
+    
+    /**
+     * Minimum final price (inclusive)
+     */
+    private BigDecimal minPrice;
+    
+    /**
+     * Maximum final price (inclusive)
+     */
+    private BigDecimal maxPrice;
+    
+    /**
+     * Only sales with ({@code true}) or without ({@code false}) a discount
+     */
+    private Boolean discounted;
+}
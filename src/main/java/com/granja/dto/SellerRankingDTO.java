@@ -0,0 +1,65 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a seller's position in the performance ranking.
+ *
+ * <p>This DTO combines the seller identification with the aggregated
+ * sales metrics used to order the ranking.</p>
+ *
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerRankingDTO {
+
+    /**
+     * Position in the ranking (1 for the highest revenue)
+     */
+    private Integer position;
+
+    /**
+     * Unique identifier for the seller
+     */
+    private Long id;
+
+    /**
+     * Full name of the seller
+     */
+    private String name;
+
+    /**
+     * Brazilian CPF (Individual Taxpayer Registration)
+     */
+    private String cpf;
+
+    /**
+     * Employee identification number
+     */
+    private String employeeId;
+
+    /**
+     * Number of sales made by the seller
+     */
+    private Long totalSales;
+
+    /**
+     * Sum of the final price of all sales
+     */
+    private BigDecimal totalRevenue;
+
+    /**
+     * Average final price per sale
+     */
+    private BigDecimal averageTicket;
+}
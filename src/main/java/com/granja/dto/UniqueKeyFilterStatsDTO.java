@@ -0,0 +1,80 @@
+package com.granja.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Objeto de Transferência de Dados para as estatísticas de um filtro de chave única.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniqueKeyFilterStatsDTO {
+
+    /**
+     * Chave filtrada (CUSTOMER_CPF, SELLER_CPF ou SELLER_EMPLOYEE_ID)
+     */
+    private String key;
+
+    /**
+     * Capacidade para a qual o filtro foi dimensionado
+     */
+    private Long expectedInsertions;
+
+    /**
+     * Valores incluídos desde a última montagem
+     */
+    private Long insertions;
+
+    /**
+     * Tamanho do filtro em bits
+     */
+    private Long bitSize;
+
+    /**
+     * Memória ocupada pelos bits do filtro, em bytes
+     */
+    private Long memoryBytes;
+
+    /**
+     * Funções de hash por valor
+     */
+    private Integer hashFunctions;
+
+    /**
+     * Taxa de falsos positivos configurada
+     */
+    private Double configuredFalsePositiveRate;
+
+    /**
+     * Taxa de falsos positivos esperada com os valores já incluídos
+     */
+    private Double estimatedFalsePositiveRate;
+
+    /**
+     * Verificações de existência feitas
+     */
+    private Long checks;
+
+    /**
+     * Verificações respondidas pelo filtro, sem consulta ao banco
+     */
+    private Long skippedQueries;
+
+    /**
+     * Verificações em que o filtro indicou presença e o banco não encontrou o valor
+     */
+    private Long falsePositives;
+
+    /**
+     * Proporção de falsos positivos entre as verificações de valores não cadastrados
+     */
+    private Double observedFalsePositiveRate;
+}
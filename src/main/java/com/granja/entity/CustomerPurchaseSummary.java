@@ -0,0 +1,73 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa os totais de compras de um cliente.
+ *
+ * <p>Existe uma linha por cliente que já comprou, atualizada na mesma transação de
+ * cada venda criada ou removida. Responde o resumo do cliente e o ranking de
+ * clientes sem percorrer as vendas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "customer_purchase_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPurchaseSummary {
+
+    /**
+     * Cliente ao qual o resumo pertence
+     */
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    /**
+     * Quantidade total de compras
+     */
+    @Column(name = "purchase_count", nullable = false)
+    private Long purchaseCount;
+
+    /**
+     * Valor total gasto (soma dos preços finais)
+     */
+    @Column(name = "lifetime_spend", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeSpend;
+
+    /**
+     * Soma dos descontos recebidos
+     */
+    @Column(name = "total_discount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalDiscount;
+
+    /**
+     * Data e hora da primeira compra
+     */
+    @Column(name = "first_purchase_date")
+    private LocalDateTime firstPurchaseDate;
+
+    /**
+     * Data e hora da compra mais recente
+     */
+    @Column(name = "last_purchase_date")
+    private LocalDateTime lastPurchaseDate;
+
+    /**
+     * Data e hora da última atualização
+     */
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
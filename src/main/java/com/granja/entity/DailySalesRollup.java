@@ -0,0 +1,89 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa o consolidado diário de vendas de um vendedor.
+ *
+ * <p>Cada linha acumula as vendas de um dia para um vendedor, separando as vendas
+ * com e sem desconto. Os totais são atualizados junto com cada venda criada ou
+ * removida, permitindo calcular rankings e resumos de qualquer período sem
+ * percorrer as vendas individuais.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "daily_sales_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_rollup",
+               columnNames = {"sale_day", "seller_id", "discount_eligible"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesRollup {
+
+    /**
+     * Identificador único do consolidado
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Dia das vendas consolidadas
+     */
+    @Column(name = "sale_day", nullable = false)
+    private LocalDate saleDay;
+
+    /**
+     * Vendedor responsável pelas vendas
+     */
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    /**
+     * Indica se as vendas tiveram desconto para o cliente
+     */
+    @Column(name = "discount_eligible", nullable = false)
+    private Boolean discountEligible;
+
+    /**
+     * Quantidade de vendas no dia
+     */
+    @Column(name = "sales_count", nullable = false)
+    private Long salesCount;
+
+    /**
+     * Soma dos preços originais
+     */
+    @Column(name = "original_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal originalTotal;
+
+    /**
+     * Soma dos descontos concedidos
+     */
+    @Column(name = "discount_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal discountTotal;
+
+    /**
+     * Soma dos preços finais
+     */
+    @Column(name = "final_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal finalTotal;
+
+    /**
+     * Data e hora da última atualização do consolidado
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
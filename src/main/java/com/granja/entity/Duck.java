@@ -40,7 +40,8 @@ public class Duck {
      * Identificador único do pato
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ducks_id_seq")
+    @SequenceGenerator(name = "ducks_id_seq", sequenceName = "ducks_id_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -75,6 +76,14 @@ public class Duck {
     @Column(name = "registration_date", nullable = false)
     private LocalDateTime registrationDate;
     
+    /**
+     * Versão do registro para controle de concorrência otimista.
+     * Alterações concorrentes sobre a mesma versão são rejeitadas em vez de sobrescritas.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     /**
      * Coleção de transações de venda envolvendo este pato
      */
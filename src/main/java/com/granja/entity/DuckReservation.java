@@ -0,0 +1,115 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entidade que representa a reserva temporária de patos para um cliente.
+ *
+ * <p>Enquanto a reserva está ativa, seus patos ficam com status RESERVED e não podem
+ * ser vendidos nem reservados por outro cliente. A reserva termina quando é confirmada
+ * em uma venda, liberada pelo vendedor ou quando o prazo expira.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "duck_reservations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuckReservation {
+
+    /**
+     * Identificador único da reserva
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Cliente para quem os patos estão reservados
+     */
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    /**
+     * Vendedor que criou a reserva
+     */
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    /**
+     * Patos reservados
+     */
+    @ElementCollection
+    @CollectionTable(name = "duck_reservation_items", joinColumns = @JoinColumn(name = "reservation_id"))
+    @Column(name = "duck_id", nullable = false)
+    @Builder.Default
+    private Set<Long> duckIds = new HashSet<>();
+
+    /**
+     * Situação atual da reserva
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    /**
+     * Momento em que a reserva expira se não for confirmada
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Venda gerada pela confirmação da reserva
+     */
+    @Column(name = "sale_id")
+    private Long saleId;
+
+    /**
+     * Data e hora de criação da reserva
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora em que a reserva foi confirmada, liberada ou expirou
+     */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    /**
+     * Callback de ciclo de vida para definir valores padrão antes da persistência
+     */
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = ReservationStatus.ACTIVE;
+        }
+    }
+
+    /**
+     * Enumeração representando os possíveis estados de uma reserva
+     */
+    public enum ReservationStatus {
+        /** Patos reservados aguardando confirmação */
+        ACTIVE,
+        /** Reserva convertida em venda */
+        CONFIRMED,
+        /** Reserva desfeita pelo vendedor */
+        RELEASED,
+        /** Prazo da reserva esgotado */
+        EXPIRED
+    }
+}
@@ -0,0 +1,59 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que guarda a resposta de uma requisição identificada por Idempotency-Key.
+ *
+ * <p>A linha é criada e recebe a resposta na mesma transação da operação, de modo
+ * que uma chave gravada sempre corresponde a uma operação concluída.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    /**
+     * Chave informada pelo cliente no cabeçalho Idempotency-Key
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    /**
+     * SHA-256 do corpo da requisição original
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * Resposta original em JSON
+     */
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    /**
+     * Data e hora da requisição original
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Momento a partir do qual a chave pode ser descartada
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
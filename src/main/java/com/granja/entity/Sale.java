@@ -39,7 +39,8 @@ public class Sale {
      * Identificador único da transação de venda
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_id_seq")
+    @SequenceGenerator(name = "sales_id_seq", sequenceName = "sales_id_seq", allocationSize = 50)
     private Long id;
     
     /**
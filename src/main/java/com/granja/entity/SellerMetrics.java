@@ -0,0 +1,79 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa as métricas acumuladas de vendas de um vendedor.
+ *
+ * <p>Existe uma linha por vendedor, atualizada na mesma transação de cada venda
+ * criada ou removida. Serve de fonte para o ranking de vendedores e para a
+ * filtragem por performance sem percorrer as vendas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "seller_metrics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerMetrics {
+
+    /**
+     * Identificador único das métricas
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Vendedor ao qual as métricas pertencem
+     */
+    @Column(name = "seller_id", nullable = false, unique = true)
+    private Long sellerId;
+
+    /**
+     * Quantidade total de vendas
+     */
+    @Column(name = "total_sales", nullable = false)
+    private Long totalSales;
+
+    /**
+     * Receita total (soma dos preços finais)
+     */
+    @Column(name = "total_revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalRevenue;
+
+    /**
+     * Valor médio por venda
+     */
+    @Column(name = "average_sale_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal averageSaleValue;
+
+    /**
+     * Data e hora da venda mais recente
+     */
+    @Column(name = "last_sale_date")
+    private LocalDateTime lastSaleDate;
+
+    /**
+     * Data e hora de criação das métricas
+     */
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização (mantida por trigger)
+     */
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
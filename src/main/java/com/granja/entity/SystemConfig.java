@@ -0,0 +1,74 @@
+package com.granja.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa uma configuração do sistema.
+ *
+ * <p>As configurações são lidas pelo SystemConfigService, que mantém uma cópia
+ * em memória usada pelas regras de preço e desconto.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Entity
+@Table(name = "system_config")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SystemConfig {
+
+    /**
+     * Identificador único da configuração
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Chave da configuração (ex.: DISCOUNT_PERCENTAGE)
+     */
+    @Column(name = "config_key", nullable = false, unique = true, length = 100)
+    private String configKey;
+
+    /**
+     * Valor da configuração em texto
+     */
+    @Column(name = "config_value", nullable = false, columnDefinition = "TEXT")
+    private String configValue;
+
+    /**
+     * Descrição da configuração
+     */
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Usuário que fez a última alteração
+     */
+    @Column(name = "updated_by")
+    private Long updatedBy;
+
+    /**
+     * Data e hora da última alteração
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Callback de ciclo de vida para registrar a data da alteração
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
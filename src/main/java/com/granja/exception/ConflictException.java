@@ -0,0 +1,25 @@
+package com.granja.exception;
+
+/**
+ * Exception for operations that lost a race against a concurrent change.
+ * 
+ * <p>Thrown when the data an operation relied on was modified by another
+ * transaction before it could be applied, e.g. a duck sold by a concurrent
+ * sale. The client may reload the data and retry.</p>
+ * 
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class ConflictException extends BusinessException {
+    
+    /**
+     * Constructs a new conflict exception with the specified detail message and error code.
+     * 
+     * @param message the detail message
+     * @param errorCode the specific error code for this exception
+     */
+    public ConflictException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -61,6 +61,52 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
+    /**
+     * Handles operations rejected because of a concurrent change.
+     * 
+     * @param ex the conflict exception
+     * @param request the web request
+     * @return HTTP 409 response with error details
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex, WebRequest request) {
+        log.warn("Concurrent modification conflict: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message(ex.getMessage())
+                .errorCode(ex.getErrorCode())
+                .path(request.getDescription(false))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    /**
+     * Handles invalid arguments detected by services and controllers.
+     * 
+     * @param ex the illegal argument exception
+     * @param request the web request
+     * @return HTTP 400 response with error details
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        log.warn("Invalid argument: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Invalid Argument")
+                .message(ex.getMessage())
+                .errorCode("INVALID_ARGUMENT")
+                .path(request.getDescription(false))
+                .build();
+        
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+    
     /**
      * Handles validation errors from DTO validation.
      * 
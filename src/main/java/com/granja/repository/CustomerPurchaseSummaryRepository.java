@@ -0,0 +1,157 @@
+package com.granja.repository;
+
+import com.granja.entity.CustomerPurchaseSummary;
+import com.granja.repository.projection.CustomerPurchaseTotals;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface de repositório para o resumo de compras dos clientes.
+ *
+ * <p>As escritas são feitas em uma única instrução SQL por cliente, com o incremento
+ * calculado pelo próprio banco sobre a linha bloqueada, de modo que vendas
+ * simultâneas para o mesmo cliente não perdem atualizações.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface CustomerPurchaseSummaryRepository extends JpaRepository<CustomerPurchaseSummary, Long> {
+
+    /**
+     * Soma compras ao resumo do cliente, criando a linha se necessário.
+     *
+     * @param customerId o ID do cliente
+     * @param purchaseCount a quantidade de compras
+     * @param amount a soma dos preços finais das compras
+     * @param discount a soma dos descontos das compras
+     * @param firstPurchaseDate a data da compra mais antiga
+     * @param lastPurchaseDate a data da compra mais recente
+     */
+    @Modifying
+    @Query(value = "INSERT INTO customer_purchase_summary (customer_id, purchase_count, lifetime_spend, total_discount, " +
+                   "first_purchase_date, last_purchase_date) " +
+                   "VALUES (:customerId, :purchaseCount, :amount, :discount, :firstPurchaseDate, :lastPurchaseDate) " +
+                   "ON CONFLICT (customer_id) DO UPDATE SET " +
+                   "purchase_count = customer_purchase_summary.purchase_count + EXCLUDED.purchase_count, " +
+                   "lifetime_spend = customer_purchase_summary.lifetime_spend + EXCLUDED.lifetime_spend, " +
+                   "total_discount = customer_purchase_summary.total_discount + EXCLUDED.total_discount, " +
+                   "first_purchase_date = LEAST(customer_purchase_summary.first_purchase_date, EXCLUDED.first_purchase_date), " +
+                   "last_purchase_date = GREATEST(customer_purchase_summary.last_purchase_date, EXCLUDED.last_purchase_date), " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void addPurchases(
+            @Param("customerId") Long customerId,
+            @Param("purchaseCount") long purchaseCount,
+            @Param("amount") BigDecimal amount,
+            @Param("discount") BigDecimal discount,
+            @Param("firstPurchaseDate") LocalDateTime firstPurchaseDate,
+            @Param("lastPurchaseDate") LocalDateTime lastPurchaseDate);
+
+    /**
+     * Retira uma compra removida do resumo do cliente.
+     *
+     * <p>As datas da primeira e da última compra são recalculadas a partir das vendas
+     * restantes (pelo índice de vendas por cliente e data), por isso a remoção da venda
+     * é enviada ao banco antes desta instrução.</p>
+     *
+     * @param customerId o ID do cliente
+     * @param amount o preço final da venda removida
+     * @param discount o desconto da venda removida
+     * @return quantidade de linhas atualizadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE customer_purchase_summary SET " +
+                   "purchase_count = purchase_count - 1, " +
+                   "lifetime_spend = lifetime_spend - :amount, " +
+                   "total_discount = total_discount - :discount, " +
+                   "first_purchase_date = (SELECT MIN(s.sale_date) FROM sales s WHERE s.customer_id = :customerId), " +
+                   "last_purchase_date = (SELECT MAX(s.sale_date) FROM sales s WHERE s.customer_id = :customerId), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE customer_id = :customerId",
+           nativeQuery = true)
+    int removePurchase(
+            @Param("customerId") Long customerId,
+            @Param("amount") BigDecimal amount,
+            @Param("discount") BigDecimal discount);
+
+    /**
+     * Bloqueia as escritas do resumo até o fim da transação.
+     *
+     * <p>Aguarda as vendas em andamento terminarem e impede novas atualizações
+     * enquanto a reconciliação recalcula os valores.</p>
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE customer_purchase_summary IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconcile();
+
+    /**
+     * Recalcula o resumo de todos os clientes com compras a partir das vendas.
+     *
+     * @return quantidade de clientes reconciliados
+     */
+    @Modifying
+    @Query(value = "INSERT INTO customer_purchase_summary (customer_id, purchase_count, lifetime_spend, total_discount, " +
+                   "first_purchase_date, last_purchase_date) " +
+                   "SELECT s.customer_id, COUNT(*), SUM(s.final_price), SUM(COALESCE(s.discount_amount, 0)), " +
+                   "MIN(s.sale_date), MAX(s.sale_date) " +
+                   "FROM sales s " +
+                   "GROUP BY s.customer_id " +
+                   "ON CONFLICT (customer_id) DO UPDATE SET " +
+                   "purchase_count = EXCLUDED.purchase_count, " +
+                   "lifetime_spend = EXCLUDED.lifetime_spend, " +
+                   "total_discount = EXCLUDED.total_discount, " +
+                   "first_purchase_date = EXCLUDED.first_purchase_date, " +
+                   "last_purchase_date = EXCLUDED.last_purchase_date, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int rebuildFromSales();
+
+    /**
+     * Remove o resumo dos clientes que não têm mais vendas.
+     *
+     * @return quantidade de linhas removidas
+     */
+    @Modifying
+    @Query(value = "DELETE FROM customer_purchase_summary p " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM sales s WHERE s.customer_id = p.customer_id)",
+           nativeQuery = true)
+    int deleteWithoutSales();
+
+    /**
+     * Obtém o resumo de compras de um cliente.
+     *
+     * @param customerId o ID do cliente
+     * @return os totais do cliente, vazio se ele nunca comprou
+     */
+    @Query("SELECT p.customerId AS customerId, c.name AS customerName, p.purchaseCount AS purchaseCount, " +
+           "p.lifetimeSpend AS lifetimeSpend, p.totalDiscount AS totalDiscount, " +
+           "p.firstPurchaseDate AS firstPurchaseDate, p.lastPurchaseDate AS lastPurchaseDate " +
+           "FROM CustomerPurchaseSummary p JOIN Customer c ON c.id = p.customerId " +
+           "WHERE p.customerId = :customerId")
+    Optional<CustomerPurchaseTotals> findTotals(@Param("customerId") Long customerId);
+
+    /**
+     * Obtém os clientes que mais gastaram (maior valor primeiro).
+     *
+     * @param limit a quantidade máxima de clientes
+     * @return os totais de cada cliente
+     */
+    @Query("SELECT p.customerId AS customerId, c.name AS customerName, p.purchaseCount AS purchaseCount, " +
+           "p.lifetimeSpend AS lifetimeSpend, p.totalDiscount AS totalDiscount, " +
+           "p.firstPurchaseDate AS firstPurchaseDate, p.lastPurchaseDate AS lastPurchaseDate " +
+           "FROM CustomerPurchaseSummary p JOIN Customer c ON c.id = p.customerId " +
+           "WHERE p.purchaseCount > 0 " +
+           "ORDER BY p.lifetimeSpend DESC, p.customerId")
+    List<CustomerPurchaseTotals> findTop(Limit limit);
+}
@@ -1,13 +1,19 @@
 package com.granja.repository;
 
 import com.granja.entity.Customer;
+import com.granja.repository.projection.CustomerNameEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Customer entity operations.
@@ -20,7 +26,7 @@ import java.util.Optional;
  *   <li>Standard CRUD operations inherited from JpaRepository</li>
  *   <li>CPF-based queries for unique identification</li>
  *   <li>Discount eligibility filtering</li>
- *   <li>Customer search capabilities</li>
+ *   <li>Name streaming for the in-memory customer search index</li>
  * </ul></p>
  * 
  * @author Granja System
@@ -30,6 +36,21 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
+    /**
+     * Iterates over all customers through a database cursor, in ID order.
+     * 
+     * <p>Rows are fetched in fixed-size chunks without materializing the whole
+     * result. Must be consumed within a transaction and closed afterwards.</p>
+     * 
+     * @return stream of all customers
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c ORDER BY c.id")
+    Stream<Customer> streamAll();
+    
     /**
      * Finds a customer by CPF for unique identification.
      * 
@@ -38,6 +59,21 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     Optional<Customer> findByCpf(String cpf);
     
+    /**
+     * Iterates over the CPF of every customer through a database cursor.
+     * 
+     * <p>Used to build the CPF Bloom filter. Must be consumed within a transaction
+     * and closed afterwards.</p>
+     * 
+     * @return stream of all customer CPFs
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.cpf FROM Customer c")
+    Stream<String> streamCpfs();
+    
     /**
      * Checks if a customer with the specified CPF exists.
      * 
@@ -46,6 +82,15 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     boolean existsByCpf(String cpf);
     
+    /**
+     * Finds which of the given CPFs are already registered, with a single query.
+     * 
+     * @param cpfs the CPFs to check
+     * @return the registered CPFs among the given ones
+     */
+    @Query("SELECT c.cpf FROM Customer c WHERE c.cpf IN :cpfs")
+    List<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+    
     /**
      * Finds customers filtered by discount eligibility.
      * 
@@ -55,11 +100,17 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByDiscountEligible(Boolean discountEligible);
     
     /**
-     * Finds customers by name for search purposes.
+     * Iterates over the ID and name of every customer through a database cursor.
+     * 
+     * <p>Used to build the in-memory name search index. Must be consumed within
+     * a transaction and closed afterwards.</p>
      * 
-     * @param name the name to search for (partial match)
-     * @return list of customers with matching names
+     * @return stream with the ID and name of each customer
      */
-    @Query("SELECT c FROM Customer c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Customer> findByNameContainingIgnoreCase(@Param("name") String name);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id AS id, c.name AS name FROM Customer c ORDER BY c.id")
+    Stream<CustomerNameEntry> streamNames();
 }
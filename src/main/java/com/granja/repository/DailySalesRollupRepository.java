@@ -0,0 +1,144 @@
+package com.granja.repository;
+
+import com.granja.entity.DailySalesRollup;
+import com.granja.repository.projection.SellerSalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface de repositório para o consolidado diário de vendas.
+ *
+ * <p>As atualizações são feitas com upsert atômico do PostgreSQL, de modo que vendas
+ * simultâneas do mesmo vendedor no mesmo dia somam seus valores sem perder
+ * atualizações.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long> {
+
+    /**
+     * Soma os valores informados ao consolidado do dia, criando a linha se necessário.
+     *
+     * <p>Valores negativos desfazem uma venda removida.</p>
+     *
+     * @param saleDay o dia da venda
+     * @param sellerId o ID do vendedor
+     * @param discountEligible se a venda teve desconto
+     * @param salesCount variação na quantidade de vendas
+     * @param originalTotal variação na soma dos preços originais
+     * @param discountTotal variação na soma dos descontos
+     * @param finalTotal variação na soma dos preços finais
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sale_day, seller_id, discount_eligible, sales_count, " +
+                   "original_total, discount_total, final_total, updated_at) " +
+                   "VALUES (:saleDay, :sellerId, :discountEligible, :salesCount, " +
+                   ":originalTotal, :discountTotal, :finalTotal, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (sale_day, seller_id, discount_eligible) DO UPDATE SET " +
+                   "sales_count = daily_sales_rollup.sales_count + EXCLUDED.sales_count, " +
+                   "original_total = daily_sales_rollup.original_total + EXCLUDED.original_total, " +
+                   "discount_total = daily_sales_rollup.discount_total + EXCLUDED.discount_total, " +
+                   "final_total = daily_sales_rollup.final_total + EXCLUDED.final_total, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void applyDelta(
+            @Param("saleDay") LocalDate saleDay,
+            @Param("sellerId") Long sellerId,
+            @Param("discountEligible") boolean discountEligible,
+            @Param("salesCount") long salesCount,
+            @Param("originalTotal") BigDecimal originalTotal,
+            @Param("discountTotal") BigDecimal discountTotal,
+            @Param("finalTotal") BigDecimal finalTotal);
+
+    /**
+     * Remove o consolidado do dia quando não restam vendas.
+     *
+     * @param saleDay o dia da venda
+     * @param sellerId o ID do vendedor
+     * @param discountEligible se a venda teve desconto
+     */
+    @Modifying
+    @Query("DELETE FROM DailySalesRollup r WHERE r.saleDay = :saleDay AND r.sellerId = :sellerId " +
+           "AND r.discountEligible = :discountEligible AND r.salesCount <= 0")
+    void deleteIfEmpty(
+            @Param("saleDay") LocalDate saleDay,
+            @Param("sellerId") Long sellerId,
+            @Param("discountEligible") boolean discountEligible);
+
+    /**
+     * Bloqueia as escritas do consolidado até o fim da transação.
+     *
+     * <p>Aguarda as vendas em andamento terminarem e impede novos upserts enquanto a
+     * reconstrução apaga e recria as linhas; sem o bloqueio, uma venda gravada entre o
+     * DELETE e o INSERT recria a linha do dia e a reconstrução falha por chave duplicada.</p>
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE daily_sales_rollup IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Remove os consolidados de um intervalo de dias.
+     *
+     * @param startDay o primeiro dia (inclusivo)
+     * @param endDay o último dia (inclusivo)
+     * @return quantidade de linhas removidas
+     */
+    @Modifying
+    @Query("DELETE FROM DailySalesRollup r WHERE r.saleDay BETWEEN :startDay AND :endDay")
+    int deleteBySaleDayBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Recalcula os consolidados a partir das vendas de um intervalo de datas.
+     *
+     * <p>Deve ser executado após {@link #lockForRebuild} e {@link #deleteBySaleDayBetween}
+     * na mesma transação.</p>
+     *
+     * @param startDate início do intervalo (inclusivo)
+     * @param endDate fim do intervalo (exclusivo)
+     * @return quantidade de linhas criadas
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sale_day, seller_id, discount_eligible, sales_count, " +
+                   "original_total, discount_total, final_total, updated_at) " +
+                   "SELECT CAST(s.sale_date AS DATE), s.seller_id, COALESCE(s.discount_amount, 0) > 0, COUNT(*), " +
+                   "SUM(s.original_price), SUM(COALESCE(s.discount_amount, 0)), SUM(s.final_price), CURRENT_TIMESTAMP " +
+                   "FROM sales s WHERE s.sale_date >= :startDate AND s.sale_date < :endDate " +
+                   "GROUP BY CAST(s.sale_date AS DATE), s.seller_id, COALESCE(s.discount_amount, 0) > 0",
+           nativeQuery = true)
+    int rebuildFromSales(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Encontra o dia da venda mais antiga registrada.
+     *
+     * @return o dia da primeira venda, ou null se não houver vendas
+     */
+    @Query(value = "SELECT CAST(MIN(sale_date) AS DATE) FROM sales", nativeQuery = true)
+    LocalDate findFirstSaleDay();
+
+    /**
+     * Agrega os consolidados de um intervalo de dias por vendedor.
+     *
+     * @param startDay o primeiro dia (inclusivo)
+     * @param endDay o último dia (inclusivo)
+     * @return quantidade e receita de cada vendedor com vendas no intervalo
+     */
+    @Query("SELECT se.id AS sellerId, se.name AS sellerName, se.cpf AS cpf, se.employeeId AS employeeId, " +
+           "SUM(r.salesCount) AS totalSales, SUM(r.finalTotal) AS totalRevenue " +
+           "FROM DailySalesRollup r JOIN Seller se ON se.id = r.sellerId " +
+           "WHERE r.saleDay BETWEEN :startDay AND :endDay " +
+           "GROUP BY se.id, se.name, se.cpf, se.employeeId")
+    List<SellerSalesSummary> summarizeBySellerInDays(
+            @Param("startDay") LocalDate startDay,
+            @Param("endDay") LocalDate endDay);
+}
@@ -0,0 +1,33 @@
+package com.granja.repository;
+
+import com.granja.entity.Duck;
+import com.granja.repository.projection.DuckCatalogRow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas do catálogo de patos que selecionam apenas as colunas da projeção.
+ * 
+ * <p>Implementada por {@link DuckCatalogRepositoryImpl} e exposta por {@link DuckRepository}.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface DuckCatalogRepository {
+    
+    /**
+     * Busca patos do catálogo sem carregar as entidades.
+     * 
+     * <p>A consulta seleciona apenas as colunas de {@link DuckCatalogRow}: nenhuma
+     * entidade entra no contexto de persistência e as vendas dos patos não são lidas.</p>
+     * 
+     * @param spec os filtros, ou {@code null} para todos os patos
+     * @param sort a ordenação
+     * @param limit a quantidade máxima de patos
+     * @return os patos encontrados, na ordem pedida
+     */
+    List<DuckCatalogRow> findCatalogRows(Specification<Duck> spec, Sort sort, int limit);
+}
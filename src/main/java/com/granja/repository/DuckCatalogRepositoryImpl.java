@@ -0,0 +1,55 @@
+package com.granja.repository;
+
+import com.granja.entity.Duck;
+import com.granja.repository.projection.DuckCatalogRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Implementação de {@link DuckCatalogRepository} com a Criteria API.
+ * 
+ * <p>Os filtros são os mesmos {@link Specification} de {@link DuckSpecifications};
+ * apenas a seleção muda, de entidade para a projeção.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public class DuckCatalogRepositoryImpl implements DuckCatalogRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<DuckCatalogRow> findCatalogRows(Specification<Duck> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DuckCatalogRow> query = cb.createQuery(DuckCatalogRow.class);
+        Root<Duck> root = query.from(Duck.class);
+        
+        query.select(cb.construct(DuckCatalogRow.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("motherId"),
+                root.get("price"),
+                root.get("status"),
+                root.get("registrationDate")));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
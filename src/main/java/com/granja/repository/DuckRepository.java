@@ -2,13 +2,21 @@ package com.granja.repository;
 
 import com.granja.entity.Duck;
 import com.granja.entity.Duck.DuckStatus;
+import com.granja.repository.projection.DuckLineageNode;
+import com.granja.repository.projection.DuckParentLink;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface de repositório para operações da entidade Duck.
@@ -22,6 +30,7 @@ import java.util.Optional;
  *   <li>Consultas personalizadas para requisitos de lógica de negócio</li>
  *   <li>Capacidades de filtragem baseadas em status</li>
  *   <li>Consultas de rastreamento de linhagem</li>
+ *   <li>Catálogo paginado com filtros dinâmicos via {@link DuckSpecifications} e {@link DuckCatalogRepository}</li>
  * </ul></p>
  * 
  * @author Sistema Granja
@@ -29,7 +38,22 @@ import java.util.Optional;
  * @since 2024-01-01
  */
 @Repository
-public interface DuckRepository extends JpaRepository<Duck, Long> {
+public interface DuckRepository extends JpaRepository<Duck, Long>, DuckCatalogRepository {
+    
+    /**
+     * Percorre todos os patos através de um cursor do banco de dados, em ordem de ID.
+     * 
+     * <p>As linhas são buscadas em lotes de tamanho fixo, sem materializar o resultado
+     * completo. Deve ser consumido dentro de uma transação e fechado ao final.</p>
+     * 
+     * @return stream de todos os patos
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Duck d ORDER BY d.id")
+    Stream<Duck> streamAll();
     
     /**
      * Encontra patos por seu status atual.
@@ -39,6 +63,15 @@ public interface DuckRepository extends JpaRepository<Duck, Long> {
      */
     List<Duck> findByStatus(DuckStatus status);
     
+    /**
+     * Lista apenas os IDs dos patos em um status, sem carregar as entidades.
+     * 
+     * @param status o status para filtrar
+     * @return IDs dos patos no status informado
+     */
+    @Query("SELECT d.id FROM Duck d WHERE d.status = :status")
+    List<Long> findIdsByStatus(@Param("status") DuckStatus status);
+    
     /**
      * Encontra patos pelo ID da mãe para rastreamento de linhagem.
      * 
@@ -47,6 +80,96 @@ public interface DuckRepository extends JpaRepository<Duck, Long> {
      */
     List<Duck> findByMotherId(Long motherId);
     
+    /**
+     * Conta os filhotes diretos de um pato.
+     * 
+     * @param motherId o ID da mãe
+     * @return quantidade de filhotes
+     */
+    long countByMotherId(Long motherId);
+    
+    /**
+     * Percorre os ancestrais de um pato com uma CTE recursiva, subindo pela mãe.
+     * 
+     * <p>O próprio pato vem na geração 0; se não existir, o resultado é vazio. A cláusula
+     * CYCLE descarta o pato que reaparece caso o cadastro tenha um ciclo.</p>
+     * 
+     * <p>As linhas não são ordenadas: sem ORDER BY o LIMIT encerra a recursão assim que
+     * atinge o limite, e a CTE produz as gerações em ordem crescente. Quem chama ordena.</p>
+     * 
+     * @param id o ID do pato
+     * @param maxDepth a quantidade máxima de gerações
+     * @param limit a quantidade máxima de linhas, incluindo o próprio pato
+     * @return o pato e seus ancestrais, sem ordem garantida dentro de uma geração
+     */
+    @Query(value = "WITH RECURSIVE lineage (id, name, mother_id, price, status, generation) AS (" +
+                   "  SELECT id, name, mother_id, price, status, 0 FROM ducks WHERE id = :id " +
+                   "  UNION ALL " +
+                   "  SELECT d.id, d.name, d.mother_id, d.price, d.status, l.generation + 1 " +
+                   "  FROM ducks d JOIN lineage l ON d.id = l.mother_id " +
+                   "  WHERE l.generation < :maxDepth) " +
+                   "  CYCLE id SET is_cycle USING path " +
+                   "SELECT id, name, mother_id AS \"motherId\", price, status, generation FROM lineage " +
+                   "WHERE NOT is_cycle LIMIT :limit",
+           nativeQuery = true)
+    List<DuckLineageNode> findAncestors(@Param("id") Long id, @Param("maxDepth") int maxDepth, @Param("limit") int limit);
+    
+    /**
+     * Percorre os descendentes de um pato com uma CTE recursiva, descendo pelos filhotes.
+     * 
+     * <p>O próprio pato vem na geração 0; se não existir, o resultado é vazio. Cada
+     * nível usa o índice de {@code mother_id}. Como em {@link #findAncestors}, o LIMIT
+     * sem ORDER BY interrompe a recursão e a cláusula CYCLE protege contra ciclos.</p>
+     * 
+     * @param id o ID do pato
+     * @param maxDepth a quantidade máxima de gerações
+     * @param limit a quantidade máxima de linhas, incluindo o próprio pato
+     * @return o pato e seus descendentes, sem ordem garantida dentro de uma geração
+     */
+    @Query(value = "WITH RECURSIVE lineage (id, name, mother_id, price, status, generation) AS (" +
+                   "  SELECT id, name, mother_id, price, status, 0 FROM ducks WHERE id = :id " +
+                   "  UNION ALL " +
+                   "  SELECT d.id, d.name, d.mother_id, d.price, d.status, l.generation + 1 " +
+                   "  FROM ducks d JOIN lineage l ON d.mother_id = l.id " +
+                   "  WHERE l.generation < :maxDepth) " +
+                   "  CYCLE id SET is_cycle USING path " +
+                   "SELECT id, name, mother_id AS \"motherId\", price, status, generation FROM lineage " +
+                   "WHERE NOT is_cycle LIMIT :limit",
+           nativeQuery = true)
+    List<DuckLineageNode> findDescendants(@Param("id") Long id, @Param("maxDepth") int maxDepth, @Param("limit") int limit);
+    
+    /**
+     * Conta os descendentes de um pato até a profundidade informada.
+     * 
+     * @param id o ID do pato
+     * @param maxDepth a quantidade máxima de gerações
+     * @return quantidade de descendentes, sem contar o próprio pato
+     */
+    @Query(value = "WITH RECURSIVE lineage (id, generation) AS (" +
+                   "  SELECT id, 0 FROM ducks WHERE id = :id " +
+                   "  UNION ALL " +
+                   "  SELECT d.id, l.generation + 1 FROM ducks d JOIN lineage l ON d.mother_id = l.id " +
+                   "  WHERE l.generation < :maxDepth) " +
+                   "  CYCLE id SET is_cycle USING path " +
+                   "SELECT COUNT(*) FROM lineage WHERE generation > 0 AND NOT is_cycle",
+           nativeQuery = true)
+    long countDescendants(@Param("id") Long id, @Param("maxDepth") int maxDepth);
+    
+    /**
+     * Percorre a ligação de cada pato com sua mãe, em ordem de ID, através de um cursor.
+     * 
+     * <p>Usado para montar o índice de genealogia em memória. Deve ser consumido dentro
+     * de uma transação e fechado ao final.</p>
+     * 
+     * @return stream com o ID de cada pato e de sua mãe
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d.id AS id, d.motherId AS motherId FROM Duck d ORDER BY d.id")
+    Stream<DuckParentLink> streamParentLinks();
+    
     /**
      * Encontra patos que estão disponíveis para venda (não foram vendidos).
      * 
@@ -67,6 +190,50 @@ public interface DuckRepository extends JpaRepository<Duck, Long> {
            "(SELECT s.duck.id FROM Sale s WHERE s.customer.id = :customerId)")
     List<Duck> findByCustomerId(@Param("customerId") Long customerId);
     
+    /**
+     * Altera o status de vários patos em um único UPDATE.
+     * 
+     * <p>Apenas os patos que ainda estão no status esperado são alterados. A
+     * verificação e a alteração acontecem no mesmo comando, então duas transações
+     * concorrentes nunca alteram o mesmo pato: a segunda espera o bloqueio da linha
+     * e, após o commit da primeira, não encontra mais o status esperado.</p>
+     * 
+     * <p>A versão dos patos alterados é incrementada, de modo que uma atualização
+     * feita sobre uma cópia lida antes deste comando é rejeitada.</p>
+     * 
+     * @param ids os IDs dos patos
+     * @param expected o status atual esperado
+     * @param status o novo status
+     * @return quantidade de patos alterados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Duck d SET d.status = :status, d.version = d.version + 1 WHERE d.id IN :ids AND d.status = :expected")
+    int updateStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("expected") DuckStatus expected,
+            @Param("status") DuckStatus status);
+    
+    /**
+     * Altera o status de vários patos em um único UPDATE e informa quais foram alterados.
+     * 
+     * <p>Mesma garantia de {@link #updateStatus}, incluindo o incremento da versão, mas
+     * devolve os IDs alterados: um lote de vendas descobre quais patos foram tomados por
+     * outra transação sem bloquear as linhas antes. O UPDATE ... RETURNING é executado
+     * como consulta, por isso o método não é {@code @Modifying}.</p>
+     * 
+     * @param ids os IDs dos patos
+     * @param expected o nome do status atual esperado
+     * @param status o nome do novo status
+     * @return IDs dos patos alterados
+     */
+    @Query(value = "UPDATE ducks SET status = :status, version = version + 1 " +
+                   "WHERE id IN (:ids) AND status = :expected RETURNING id",
+           nativeQuery = true)
+    List<Long> updateStatusReturningIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("expected") String expected,
+            @Param("status") String status);
+    
     /**
      * Encontra um pato pelo nome para fins de identificação.
      * 
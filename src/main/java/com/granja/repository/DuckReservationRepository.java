@@ -0,0 +1,107 @@
+package com.granja.repository;
+
+import com.granja.entity.DuckReservation;
+import com.granja.entity.DuckReservation.ReservationStatus;
+import com.granja.repository.projection.ReservationExpiration;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface de repositório para as reservas de patos.
+ *
+ * <p>A expiração é feita por comandos únicos que encerram as reservas vencidas e
+ * devolvem seus patos para AVAILABLE, processando várias reservas de uma vez.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface DuckReservationRepository extends JpaRepository<DuckReservation, Long> {
+
+    /**
+     * Busca uma reserva bloqueando a linha até o fim da transação, para que
+     * confirmação, liberação e expiração da mesma reserva não se sobreponham.
+     *
+     * @param id o ID da reserva
+     * @return opcional contendo a reserva se encontrada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DuckReservation r WHERE r.id = :id")
+    Optional<DuckReservation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Lista o vencimento das reservas em uma situação.
+     *
+     * @param status a situação das reservas
+     * @return ID e vencimento de cada reserva
+     */
+    List<ReservationExpiration> findByStatus(ReservationStatus status);
+
+    /**
+     * Lista os patos das reservas informadas.
+     *
+     * @param ids os IDs das reservas
+     * @return IDs dos patos reservados
+     */
+    @Query("SELECT d FROM DuckReservation r JOIN r.duckIds d WHERE r.id IN :ids")
+    List<Long> findDuckIdsByReservationIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Expira as reservas informadas que ainda estão ativas e já venceram,
+     * devolvendo seus patos para AVAILABLE.
+     *
+     * <p>A versão dos patos liberados é incrementada, como em
+     * {@link DuckRepository#updateStatus}: uma edição feita sobre uma cópia lida com o
+     * pato ainda reservado é rejeitada, em vez de gravar RESERVED de volta.</p>
+     *
+     * @param ids os IDs das reservas
+     * @param now o momento atual
+     * @return quantidade de patos liberados
+     */
+    @Modifying
+    @Query(value = "WITH expired AS (" +
+                   "  UPDATE duck_reservations SET status = 'EXPIRED', closed_at = :now " +
+                   "  WHERE id IN (:ids) AND status = 'ACTIVE' AND expires_at <= :now " +
+                   "  RETURNING id) " +
+                   "UPDATE ducks SET status = 'AVAILABLE', version = version + 1 " +
+                   "WHERE status = 'RESERVED' AND id IN (" +
+                   "  SELECT i.duck_id FROM duck_reservation_items i JOIN expired e ON e.id = i.reservation_id)",
+           nativeQuery = true)
+    int expireByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Expira as reservas vencidas mais antigas, até o limite informado,
+     * devolvendo seus patos para AVAILABLE.
+     *
+     * <p>Reservas bloqueadas por outra transação (sendo confirmadas, por exemplo)
+     * são puladas e ficam para a próxima varredura. A versão dos patos liberados é
+     * incrementada, como em {@link #expireByIds}.</p>
+     *
+     * @param now o momento atual
+     * @param limit a quantidade máxima de reservas expiradas
+     * @return quantidade de patos liberados
+     */
+    @Modifying
+    @Query(value = "WITH expired AS (" +
+                   "  UPDATE duck_reservations SET status = 'EXPIRED', closed_at = :now " +
+                   "  WHERE id IN (SELECT id FROM duck_reservations " +
+                   "               WHERE status = 'ACTIVE' AND expires_at <= :now " +
+                   "               ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "  RETURNING id) " +
+                   "UPDATE ducks SET status = 'AVAILABLE', version = version + 1 " +
+                   "WHERE status = 'RESERVED' AND id IN (" +
+                   "  SELECT i.duck_id FROM duck_reservation_items i JOIN expired e ON e.id = i.reservation_id)",
+           nativeQuery = true)
+    int expireOverdue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
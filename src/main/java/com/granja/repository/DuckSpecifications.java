@@ -0,0 +1,115 @@
+package com.granja.repository;
+
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Critérios dinâmicos para o catálogo paginado de patos.
+ * 
+ * <p>Cada filtro é um {@link Specification} independente; filtros não informados
+ * devolvem {@code null} e são ignorados na composição, de modo que a consulta
+ * gerada contém apenas as condições pedidas.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class DuckSpecifications {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    private DuckSpecifications() {
+    }
+    
+    /**
+     * Ordenação do catálogo pelo atributo informado, com o ID desempatando na mesma direção.
+     * 
+     * @param attribute o atributo ordenado
+     * @param descending {@code true} para ordem decrescente
+     * @return a ordenação
+     */
+    public static Sort keysetOrder(String attribute, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if ("id".equals(attribute)) {
+            return Sort.by(direction, "id");
+        }
+        return Sort.by(new Sort.Order(direction, attribute), new Sort.Order(direction, "id"));
+    }
+    
+    public static Specification<Duck> status(DuckStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    public static Specification<Duck> minPrice(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+    
+    public static Specification<Duck> maxPrice(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+    
+    public static Specification<Duck> motherId(Long motherId) {
+        return motherId == null ? null : (root, query, cb) -> cb.equal(root.get("motherId"), motherId);
+    }
+    
+    public static Specification<Duck> registeredFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("registrationDate"), from);
+    }
+    
+    public static Specification<Duck> registeredTo(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("registrationDate"), to);
+    }
+    
+    /**
+     * Filtra patos cujo nome começa com o prefixo informado.
+     * 
+     * <p>Gera {@code name LIKE 'prefixo%'}, com {@code %} e {@code _} do prefixo
+     * escapados. A comparação diferencia maiúsculas e minúsculas para que o banco
+     * possa usar o índice {@code varchar_pattern_ops} de {@code name}.</p>
+     * 
+     * @param prefix o início do nome
+     * @return a especificação, ou {@code null} quando o filtro não foi informado
+     */
+    public static Specification<Duck> namePrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, LIKE_ESCAPE);
+    }
+    
+    /**
+     * Restringe o catálogo aos patos posteriores ao cursor na ordem de {@link #keysetOrder}.
+     * 
+     * <p>Em ordem decrescente equivale a {@code (atributo, id) < (:value, :id)}; em ordem
+     * crescente, a {@code (atributo, id) > (:value, :id)}. A condição redundante sobre o
+     * atributo sozinho permite ao banco iniciar a varredura do índice
+     * {@code (atributo, id)} diretamente na posição do cursor, sem percorrer as
+     * páginas anteriores.</p>
+     * 
+     * @param attribute o atributo ordenado
+     * @param value o valor do atributo no último pato da página anterior
+     * @param id o ID do último pato da página anterior
+     * @param descending {@code true} para ordem decrescente
+     * @return a especificação
+     */
+    public static <T extends Comparable<? super T>> Specification<Duck> after(String attribute, T value, Long id,
+                                                                             boolean descending) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            if ("id".equals(attribute)) {
+                return descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            }
+            Path<T> path = root.get(attribute);
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(path, value), cb.or(cb.lessThan(path, value), cb.lessThan(idPath, id)))
+                    : cb.and(cb.greaterThanOrEqualTo(path, value), cb.or(cb.greaterThan(path, value), cb.greaterThan(idPath, id)));
+        };
+    }
+}
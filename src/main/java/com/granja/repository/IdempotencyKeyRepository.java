@@ -0,0 +1,69 @@
+package com.granja.repository;
+
+import com.granja.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface de repositório para as chaves de idempotência.
+ *
+ * <p>A reserva da chave é um INSERT na chave primária: uma segunda requisição com a
+ * mesma chave fica bloqueada no índice até a primeira terminar, e então encontra a
+ * resposta gravada ou, se a primeira foi desfeita, reserva a chave para si.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Reserva a chave para a transação atual, reaproveitando a linha se a chave já venceu.
+     *
+     * @param key a chave de idempotência
+     * @param requestHash o SHA-256 do corpo da requisição
+     * @param now o momento da requisição
+     * @param expiresAt o momento a partir do qual a chave pode ser descartada
+     * @return 1 se a chave foi reservada, 0 se já existe uma resposta válida para ela
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) " +
+                   "VALUES (:key, :requestHash, :now, :expiresAt) " +
+                   "ON CONFLICT (idempotency_key) DO UPDATE SET " +
+                   "request_hash = EXCLUDED.request_hash, response_body = NULL, " +
+                   "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_keys.expires_at <= EXCLUDED.created_at",
+           nativeQuery = true)
+    int claim(
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Grava a resposta de uma chave reservada pela transação atual.
+     *
+     * @param key a chave de idempotência
+     * @param responseBody a resposta em JSON
+     * @return quantidade de linhas atualizadas
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseBody = :responseBody WHERE k.key = :key")
+    int saveResponse(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    /**
+     * Remove as chaves vencidas.
+     *
+     * @param now o momento atual
+     * @return quantidade de chaves removidas
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,13 +1,19 @@
 package com.granja.repository;
 
 import com.granja.entity.Sale;
+import com.granja.repository.projection.SellerSalesSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface de repositório para operações da entidade Sale.
@@ -21,6 +27,7 @@ import java.util.List;
  *   <li>Consultas de vendas baseadas em período</li>
  *   <li>Filtragem por cliente e vendedor</li>
  *   <li>Análise e relatórios de vendas</li>
+ *   <li>Busca com filtros dinâmicos via {@link SaleSpecifications}</li>
  * </ul></p>
  * 
  * @author Sistema Granja
@@ -28,7 +35,7 @@ import java.util.List;
  * @since 2024-01-01
  */
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends JpaRepository<Sale, Long>, JpaSpecificationExecutor<Sale> {
     
     /**
      * Encontra vendas dentro de um intervalo de datas específico.
@@ -39,6 +46,52 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
      */
     List<Sale> findBySaleDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * Conta as vendas dentro de um intervalo de datas específico.
+     * 
+     * @param startDate a data de início do período
+     * @param endDate a data de fim do período
+     * @return quantidade de vendas no período
+     */
+    long countBySaleDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Percorre as vendas de um período através de um cursor do banco de dados.
+     * 
+     * <p>Pato, cliente e vendedor são carregados na mesma consulta e as linhas são
+     * buscadas em lotes de tamanho fixo, sem materializar o resultado completo.
+     * Deve ser consumido dentro de uma transação e fechado ao final.</p>
+     * 
+     * @param startDate a data de início do período
+     * @param endDate a data de fim do período
+     * @return stream das vendas do período ordenadas por data
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Sale s JOIN FETCH s.duck JOIN FETCH s.customer JOIN FETCH s.seller " +
+           "WHERE s.saleDate BETWEEN :startDate AND :endDate ORDER BY s.saleDate, s.id")
+    Stream<Sale> streamBySaleDateBetween(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Percorre todas as vendas através de um cursor do banco de dados, em ordem de ID.
+     * 
+     * <p>Pato, cliente e vendedor são carregados na mesma consulta e as linhas são
+     * buscadas em lotes de tamanho fixo. Deve ser consumido dentro de uma transação
+     * e fechado ao final.</p>
+     * 
+     * @return stream de todas as vendas
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Sale s JOIN FETCH s.duck JOIN FETCH s.customer JOIN FETCH s.seller ORDER BY s.id")
+    Stream<Sale> streamAll();
+    
     /**
      * Encontra vendas por ID do cliente.
      * 
@@ -89,4 +142,43 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
             @Param("sellerId") Long sellerId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Agrega as vendas de um período por vendedor em uma única consulta.
+     * 
+     * <p>Retorna apenas vendedores com vendas no período, ordenados pela receita total
+     * (maior primeiro).</p>
+     * 
+     * @param startDate a data de início do período
+     * @param endDate a data de fim do período
+     * @return quantidade, receita e ticket médio de cada vendedor
+     */
+    @Query("SELECT se.id AS sellerId, se.name AS sellerName, se.cpf AS cpf, se.employeeId AS employeeId, " +
+           "COUNT(s.id) AS totalSales, SUM(s.finalPrice) AS totalRevenue " +
+           "FROM Sale s JOIN s.seller se " +
+           "WHERE s.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY se.id, se.name, se.cpf, se.employeeId " +
+           "ORDER BY SUM(s.finalPrice) DESC, se.id")
+    List<SellerSalesSummary> summarizeBySellerInPeriod(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Agrega as vendas de um intervalo semiaberto por vendedor.
+     * 
+     * <p>Usado para as frações de dia nas bordas de um período cujos dias completos
+     * são lidos do consolidado diário.</p>
+     * 
+     * @param startDate início do intervalo (inclusivo)
+     * @param endDate fim do intervalo (exclusivo)
+     * @return quantidade e receita de cada vendedor com vendas no intervalo
+     */
+    @Query("SELECT se.id AS sellerId, se.name AS sellerName, se.cpf AS cpf, se.employeeId AS employeeId, " +
+           "COUNT(s.id) AS totalSales, SUM(s.finalPrice) AS totalRevenue " +
+           "FROM Sale s JOIN s.seller se " +
+           "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate " +
+           "GROUP BY se.id, se.name, se.cpf, se.employeeId")
+    List<SellerSalesSummary> summarizeBySellerInRange(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
 }
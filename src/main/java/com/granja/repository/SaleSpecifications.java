@@ -0,0 +1,108 @@
+package com.granja.repository;
+
+import com.granja.entity.Sale;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Critérios dinâmicos para a busca paginada de vendas.
+ * 
+ * <p>Cada filtro é um {@link Specification} independente; filtros não informados
+ * devolvem {@code null} e são ignorados na composição, de modo que a consulta
+ * gerada contém apenas as condições pedidas.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public final class SaleSpecifications {
+    
+    /**
+     * Ordenação da busca: mais recentes primeiro, com o ID desempatando vendas do mesmo instante
+     */
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("saleDate"), Sort.Order.desc("id"));
+    
+    private SaleSpecifications() {
+    }
+    
+    /**
+     * Carrega pato, cliente e vendedor na mesma consulta.
+     * 
+     * @return especificação sem condição que apenas adiciona os JOIN FETCH
+     */
+    public static Specification<Sale> fetchAssociations() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("duck", JoinType.INNER);
+                root.fetch("customer", JoinType.INNER);
+                root.fetch("seller", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+    
+    public static Specification<Sale> customerId(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+    
+    public static Specification<Sale> sellerId(Long sellerId) {
+        return sellerId == null ? null : (root, query, cb) -> cb.equal(root.get("seller").get("id"), sellerId);
+    }
+    
+    public static Specification<Sale> saleDateFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("saleDate"), from);
+    }
+    
+    public static Specification<Sale> saleDateTo(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("saleDate"), to);
+    }
+    
+    public static Specification<Sale> minFinalPrice(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("finalPrice"), minPrice);
+    }
+    
+    public static Specification<Sale> maxFinalPrice(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("finalPrice"), maxPrice);
+    }
+    
+    /**
+     * Filtra vendas com ou sem desconto.
+     * 
+     * @param discounted {@code true} para vendas com desconto, {@code false} para vendas sem desconto
+     * @return a especificação, ou {@code null} quando o filtro não foi informado
+     */
+    public static Specification<Sale> discounted(Boolean discounted) {
+        if (discounted == null) {
+            return null;
+        }
+        return (root, query, cb) -> discounted
+                ? cb.greaterThan(root.get("discountAmount"), BigDecimal.ZERO)
+                : cb.or(cb.isNull(root.get("discountAmount")), cb.equal(root.get("discountAmount"), BigDecimal.ZERO));
+    }
+    
+    /**
+     * Restringe a busca às vendas posteriores ao cursor na ordem {@link #KEYSET_ORDER}.
+     * 
+     * <p>Equivale a {@code (sale_date, id) < (:saleDate, :id)}. A condição redundante
+     * {@code sale_date <= :saleDate} permite ao banco iniciar a varredura do índice
+     * {@code (sale_date, id)} diretamente na posição do cursor, sem percorrer as
+     * páginas anteriores.</p>
+     * 
+     * @param saleDate data da última venda da página anterior
+     * @param id ID da última venda da página anterior
+     * @return a especificação, ou {@code null} na primeira página
+     */
+    public static Specification<Sale> after(LocalDateTime saleDate, Long id) {
+        if (saleDate == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("saleDate"), saleDate),
+                cb.or(cb.lessThan(root.get("saleDate"), saleDate),
+                        cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,144 @@
+package com.granja.repository;
+
+import com.granja.entity.Seller;
+import com.granja.entity.SellerMetrics;
+import com.granja.repository.projection.SellerSalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface de repositório para as métricas de vendedores.
+ *
+ * <p>As escritas são feitas em uma única instrução SQL por venda, com o incremento
+ * calculado pelo próprio banco sobre a linha bloqueada, de modo que vendas
+ * simultâneas do mesmo vendedor não perdem atualizações.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface SellerMetricsRepository extends JpaRepository<SellerMetrics, Long> {
+
+    /**
+     * Cria as métricas zeradas de um vendedor, se ainda não existirem.
+     *
+     * @param sellerId o ID do vendedor
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_metrics (seller_id, total_sales, total_revenue, average_sale_value) " +
+                   "VALUES (:sellerId, 0, 0, 0) ON CONFLICT (seller_id) DO NOTHING",
+           nativeQuery = true)
+    void insertIfAbsent(@Param("sellerId") Long sellerId);
+
+    /**
+     * Soma vendas às métricas do vendedor, criando a linha se necessário.
+     *
+     * @param sellerId o ID do vendedor
+     * @param salesCount a quantidade de vendas
+     * @param amount a soma dos preços finais das vendas
+     * @param saleDate a data da venda mais recente
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_metrics (seller_id, total_sales, total_revenue, average_sale_value, last_sale_date) " +
+                   "VALUES (:sellerId, :salesCount, :amount, ROUND(:amount / :salesCount, 2), :saleDate) " +
+                   "ON CONFLICT (seller_id) DO UPDATE SET " +
+                   "total_sales = seller_metrics.total_sales + EXCLUDED.total_sales, " +
+                   "total_revenue = seller_metrics.total_revenue + EXCLUDED.total_revenue, " +
+                   "average_sale_value = ROUND((seller_metrics.total_revenue + EXCLUDED.total_revenue) " +
+                   "/ (seller_metrics.total_sales + EXCLUDED.total_sales), 2), " +
+                   "last_sale_date = GREATEST(seller_metrics.last_sale_date, EXCLUDED.last_sale_date)",
+           nativeQuery = true)
+    void addSales(
+            @Param("sellerId") Long sellerId,
+            @Param("salesCount") long salesCount,
+            @Param("amount") BigDecimal amount,
+            @Param("saleDate") LocalDateTime saleDate);
+
+    /**
+     * Retira uma venda removida das métricas do vendedor.
+     *
+     * <p>A data da última venda é recalculada a partir das vendas restantes, por isso
+     * a remoção da venda é enviada ao banco antes desta instrução.</p>
+     *
+     * @param sellerId o ID do vendedor
+     * @param amount o preço final da venda removida
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE seller_metrics SET " +
+                   "total_sales = total_sales - 1, " +
+                   "total_revenue = total_revenue - :amount, " +
+                   "average_sale_value = CASE WHEN total_sales > 1 " +
+                   "THEN ROUND((total_revenue - :amount) / (total_sales - 1), 2) ELSE 0 END, " +
+                   "last_sale_date = (SELECT MAX(s.sale_date) FROM sales s WHERE s.seller_id = :sellerId) " +
+                   "WHERE seller_id = :sellerId",
+           nativeQuery = true)
+    int removeSale(@Param("sellerId") Long sellerId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Remove as métricas de um vendedor.
+     *
+     * @param sellerId o ID do vendedor
+     */
+    @Modifying
+    @Query("DELETE FROM SellerMetrics m WHERE m.sellerId = :sellerId")
+    void deleteBySellerId(@Param("sellerId") Long sellerId);
+
+    /**
+     * Bloqueia as escritas de métricas até o fim da transação.
+     *
+     * <p>Aguarda as vendas em andamento terminarem e impede novas atualizações
+     * enquanto a reconciliação recalcula os valores.</p>
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE seller_metrics IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconcile();
+
+    /**
+     * Recalcula as métricas de todos os vendedores a partir das vendas.
+     *
+     * @return quantidade de vendedores reconciliados
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_metrics (seller_id, total_sales, total_revenue, average_sale_value, last_sale_date) " +
+                   "SELECT se.id, COUNT(s.id), COALESCE(SUM(s.final_price), 0), " +
+                   "COALESCE(ROUND(AVG(s.final_price), 2), 0), MAX(s.sale_date) " +
+                   "FROM sellers se LEFT JOIN sales s ON s.seller_id = se.id " +
+                   "GROUP BY se.id " +
+                   "ON CONFLICT (seller_id) DO UPDATE SET " +
+                   "total_sales = EXCLUDED.total_sales, " +
+                   "total_revenue = EXCLUDED.total_revenue, " +
+                   "average_sale_value = EXCLUDED.average_sale_value, " +
+                   "last_sale_date = EXCLUDED.last_sale_date",
+           nativeQuery = true)
+    int rebuildFromSales();
+
+    /**
+     * Obtém o ranking de vendedores pela receita total (maior primeiro).
+     *
+     * @return quantidade, receita e ticket médio de cada vendedor
+     */
+    @Query("SELECT se.id AS sellerId, se.name AS sellerName, se.cpf AS cpf, se.employeeId AS employeeId, " +
+           "m.totalSales AS totalSales, m.totalRevenue AS totalRevenue " +
+           "FROM SellerMetrics m JOIN Seller se ON se.id = m.sellerId " +
+           "ORDER BY m.totalRevenue DESC, se.id")
+    List<SellerSalesSummary> findRanking();
+
+    /**
+     * Encontra vendedores com uma quantidade mínima de vendas.
+     *
+     * @param minSalesCount a quantidade mínima de vendas
+     * @return vendedores ordenados pela quantidade de vendas (maior primeiro)
+     */
+    @Query("SELECT se FROM SellerMetrics m JOIN Seller se ON se.id = m.sellerId " +
+           "WHERE m.totalSales >= :minSalesCount " +
+           "ORDER BY m.totalSales DESC, se.id")
+    List<Seller> findSellersWithMinSales(@Param("minSalesCount") long minSalesCount);
+}
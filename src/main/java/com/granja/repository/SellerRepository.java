@@ -1,13 +1,17 @@
 package com.granja.repository;
 
 import com.granja.entity.Seller;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Seller entity operations.
@@ -30,6 +34,21 @@ import java.util.Optional;
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
     
+    /**
+     * Iterates over all sellers through a database cursor, in ID order.
+     * 
+     * <p>Rows are fetched in fixed-size chunks without materializing the whole
+     * result. Must be consumed within a transaction and closed afterwards.</p>
+     * 
+     * @return stream of all sellers
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Seller s ORDER BY s.id")
+    Stream<Seller> streamAll();
+    
     /**
      * Finds a seller by CPF for unique identification.
      * 
@@ -46,6 +65,36 @@ public interface SellerRepository extends JpaRepository<Seller, Long> {
      */
     Optional<Seller> findByEmployeeId(String employeeId);
     
+    /**
+     * Iterates over the CPF of every seller through a database cursor.
+     * 
+     * <p>Used to build the CPF Bloom filter. Must be consumed within a transaction
+     * and closed afterwards.</p>
+     * 
+     * @return stream of all seller CPFs
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.cpf FROM Seller s")
+    Stream<String> streamCpfs();
+    
+    /**
+     * Iterates over the employee ID of every seller through a database cursor.
+     * 
+     * <p>Used to build the employee ID Bloom filter. Must be consumed within a
+     * transaction and closed afterwards.</p>
+     * 
+     * @return stream of all seller employee IDs
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.employeeId FROM Seller s")
+    Stream<String> streamEmployeeIds();
+    
     /**
      * Checks if a seller with the specified CPF exists.
      * 
@@ -62,15 +111,6 @@ public interface SellerRepository extends JpaRepository<Seller, Long> {
      */
     boolean existsByEmployeeId(String employeeId);
     
-    /**
-     * Finds sellers with minimum sales count for performance tracking.
-     * 
-     * @param minSalesCount the minimum number of sales required
-     * @return list of sellers meeting the performance criteria
-     */
-    // TODO: Implement proper performance query when sales relationship is stable
-    // List<Seller> findByMinSalesCount(@Param("minSalesCount") Integer minSalesCount);
-    
     /**
      * Finds all sellers ordered by registration date (newest first).
      * 
@@ -0,0 +1,42 @@
+package com.granja.repository;
+
+import com.granja.entity.SystemConfig;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Interface de repositório para as configurações do sistema.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Repository
+public interface SystemConfigRepository extends JpaRepository<SystemConfig, Long> {
+
+    /**
+     * Encontra uma configuração pela chave.
+     *
+     * @param configKey a chave da configuração
+     * @return opcional contendo a configuração se encontrada
+     */
+    Optional<SystemConfig> findByConfigKey(String configKey);
+
+    /**
+     * Obtém a versão atual das configurações, consultada periodicamente para
+     * detectar alterações sem reler a tabela inteira.
+     *
+     * <p>A versão é um hash do conteúdo e não da data de alteração: o gatilho grava
+     * o início da transação, e uma transação antiga confirmada depois de uma mais
+     * nova não mudaria a data mais recente.</p>
+     *
+     * @return hash MD5 das chaves e valores, em ordem de chave
+     */
+    @Query(value = "SELECT md5(COALESCE(string_agg(config_key || '=' || COALESCE(config_value, ''), chr(10) " +
+                   "ORDER BY config_key), '')) FROM system_config",
+           nativeQuery = true)
+    String findVersion();
+}
@@ -0,0 +1,21 @@
+package com.granja.repository.projection;
+
+/**
+ * Projeção com o ID e o nome de um cliente, usada na montagem do índice de busca.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface CustomerNameEntry {
+    
+    /**
+     * @return identificador do cliente
+     */
+    Long getId();
+    
+    /**
+     * @return nome do cliente
+     */
+    String getName();
+}
@@ -0,0 +1,49 @@
+package com.granja.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com os totais de compras de um cliente e o seu nome.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface CustomerPurchaseTotals {
+    
+    /**
+     * @return identificador do cliente
+     */
+    Long getCustomerId();
+    
+    /**
+     * @return nome do cliente
+     */
+    String getCustomerName();
+    
+    /**
+     * @return quantidade de compras
+     */
+    Long getPurchaseCount();
+    
+    /**
+     * @return soma dos preços finais das compras
+     */
+    BigDecimal getLifetimeSpend();
+    
+    /**
+     * @return soma dos descontos recebidos
+     */
+    BigDecimal getTotalDiscount();
+    
+    /**
+     * @return data e hora da primeira compra
+     */
+    LocalDateTime getFirstPurchaseDate();
+    
+    /**
+     * @return data e hora da compra mais recente
+     */
+    LocalDateTime getLastPurchaseDate();
+}
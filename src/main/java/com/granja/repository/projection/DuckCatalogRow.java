@@ -0,0 +1,24 @@
+package com.granja.repository.projection;
+
+import com.granja.entity.Duck.DuckStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um pato no catálogo, apenas com as colunas da tabela ducks.
+ * 
+ * @param id identificador do pato
+ * @param name nome do pato
+ * @param motherId identificador da mãe do pato (nulo quando não informada)
+ * @param price preço do pato
+ * @param status status do pato
+ * @param registrationDate data e hora do cadastro
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public record DuckCatalogRow(Long id, String name, Long motherId, BigDecimal price, DuckStatus status,
+                             LocalDateTime registrationDate) {
+}
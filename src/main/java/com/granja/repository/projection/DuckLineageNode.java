@@ -0,0 +1,43 @@
+package com.granja.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção de um pato encontrado ao percorrer a linhagem, com a geração em que aparece.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface DuckLineageNode {
+    
+    /**
+     * @return identificador do pato
+     */
+    Long getId();
+    
+    /**
+     * @return nome do pato
+     */
+    String getName();
+    
+    /**
+     * @return identificador da mãe do pato
+     */
+    Long getMotherId();
+    
+    /**
+     * @return preço do pato
+     */
+    BigDecimal getPrice();
+    
+    /**
+     * @return status do pato
+     */
+    String getStatus();
+    
+    /**
+     * @return distância em gerações até o pato consultado (0 para o próprio pato)
+     */
+    Integer getGeneration();
+}
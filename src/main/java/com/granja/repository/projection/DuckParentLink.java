@@ -0,0 +1,21 @@
+package com.granja.repository.projection;
+
+/**
+ * Projeção com a ligação entre um pato e sua mãe.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface DuckParentLink {
+    
+    /**
+     * @return identificador do pato
+     */
+    Long getId();
+    
+    /**
+     * @return identificador da mãe do pato (nulo quando não informada)
+     */
+    Long getMotherId();
+}
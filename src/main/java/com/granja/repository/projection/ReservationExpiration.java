@@ -0,0 +1,23 @@
+package com.granja.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com o vencimento de uma reserva ativa.
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface ReservationExpiration {
+    
+    /**
+     * @return identificador da reserva
+     */
+    Long getId();
+    
+    /**
+     * @return momento em que a reserva expira
+     */
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,61 @@
+package com.granja.repository.projection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Projeção com as vendas agregadas de um vendedor.
+ * 
+ * <p>Preenchida diretamente por consultas com {@code GROUP BY}, sem carregar
+ * as entidades Sale envolvidas.</p>
+ * 
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SellerSalesSummary {
+    
+    /**
+     * @return identificador do vendedor
+     */
+    Long getSellerId();
+    
+    /**
+     * @return nome do vendedor
+     */
+    String getSellerName();
+    
+    /**
+     * @return CPF do vendedor
+     */
+    String getCpf();
+    
+    /**
+     * @return matrícula do vendedor
+     */
+    String getEmployeeId();
+    
+    /**
+     * @return quantidade de vendas realizadas
+     */
+    Long getTotalSales();
+    
+    /**
+     * @return soma dos preços finais das vendas
+     */
+    BigDecimal getTotalRevenue();
+    
+    /**
+     * Calculado a partir da receita e da quantidade, sem passar por ponto flutuante.
+     * 
+     * @return valor médio das vendas (ticket médio) arredondado em centavos, ou zero sem vendas
+     */
+    default BigDecimal getAverageTicket() {
+        Long sales = getTotalSales();
+        BigDecimal revenue = getTotalRevenue();
+        if (sales == null || sales == 0 || revenue == null) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.divide(BigDecimal.valueOf(sales), 2, RoundingMode.HALF_UP);
+    }
+}
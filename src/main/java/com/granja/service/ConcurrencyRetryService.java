@@ -0,0 +1,41 @@
+package com.granja.service;
+
+import com.granja.dto.ConcurrencyStatsDTO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Interface de serviço para novas tentativas de operações em conflito de concorrência.
+ *
+ * <p>Uma operação que perde a disputa com outra transação (versão desatualizada de um
+ * pato ou pato vendido entre a leitura e a gravação) é executada novamente após uma
+ * espera aleatória e crescente. Cada tentativa precisa abrir a própria transação,
+ * por isso a operação deve ser chamada fora de qualquer transação.</p>
+ *
+ * <p>Os conflitos são contados por endpoint para identificar pontos de disputa.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface ConcurrencyRetryService {
+
+    /**
+     * Executa a operação, repetindo-a enquanto houver conflito e o limite de tentativas permitir.
+     *
+     * @param endpoint o endpoint que originou a operação, usado nas estatísticas
+     * @param operation a operação a executar
+     * @param <T> o tipo do resultado
+     * @return o resultado da operação
+     * @throws com.granja.exception.ConflictException se o conflito persistir após todas as tentativas
+     */
+    <T> T execute(String endpoint, Supplier<T> operation);
+
+    /**
+     * Obtém as estatísticas de conflitos de cada endpoint.
+     *
+     * @return estatísticas ordenadas pela quantidade de conflitos, da maior para a menor
+     */
+    List<ConcurrencyStatsDTO> getStats();
+}
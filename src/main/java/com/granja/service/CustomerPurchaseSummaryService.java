@@ -0,0 +1,69 @@
+package com.granja.service;
+
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.entity.Sale;
+
+import java.util.List;
+
+/**
+ * Interface de serviço para o resumo de compras dos clientes.
+ *
+ * <p>Os totais da tabela customer_purchase_summary (quantidade, valor gasto, descontos,
+ * primeira e última compra) são atualizados junto com cada venda, de modo que o resumo
+ * de um cliente e o ranking de clientes não percorrem as vendas. A reconciliação
+ * recalcula todas as linhas a partir das vendas, corrigindo divergências.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface CustomerPurchaseSummaryService {
+
+    /**
+     * Soma uma venda recém-criada ao resumo do cliente.
+     * Deve ser chamado dentro da transação que grava a venda.
+     *
+     * @param sale a venda persistida
+     */
+    void recordSale(Sale sale);
+
+    /**
+     * Soma um lote de vendas recém-criadas aos resumos, com uma atualização por cliente.
+     * Deve ser chamado dentro da transação que grava as vendas.
+     *
+     * @param sales as vendas persistidas
+     */
+    void recordSales(List<Sale> sales);
+
+    /**
+     * Retira uma venda removida do resumo do cliente.
+     * Deve ser chamado dentro da transação que remove a venda.
+     *
+     * @param sale a venda removida
+     */
+    void removeSale(Sale sale);
+
+    /**
+     * Obtém o resumo de compras de um cliente; um cliente sem compras tem os totais zerados.
+     *
+     * @param customerId o ID do cliente
+     * @return o resumo do cliente
+     */
+    CustomerPurchaseSummaryDTO getSummary(Long customerId);
+
+    /**
+     * Obtém os clientes que mais gastaram, do maior valor para o menor.
+     *
+     * @param limit a quantidade máxima de clientes (nulo usa o padrão configurado)
+     * @return os resumos dos clientes
+     * @throws IllegalArgumentException se o limite estiver fora da faixa aceita
+     */
+    List<CustomerPurchaseSummaryDTO> getTopCustomers(Integer limit);
+
+    /**
+     * Recalcula o resumo de todos os clientes a partir das vendas.
+     *
+     * @return quantidade de clientes reconciliados
+     */
+    int reconcile();
+}
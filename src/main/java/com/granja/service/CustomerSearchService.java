@@ -0,0 +1,52 @@
+package com.granja.service;
+
+import com.granja.dto.CustomerSearchResultDTO;
+import com.granja.entity.Customer;
+
+import java.util.List;
+
+/**
+ * Interface de serviço para a busca de clientes por nome.
+ *
+ * <p>Mantém em memória um índice de trigramas dos nomes normalizados (minúsculas e
+ * sem acentos), de modo que "Joao" encontre "João" sem percorrer a tabela de clientes.
+ * O índice é carregado na subida e atualizado pelos cadastros de clientes após o
+ * commit da transação que os gravou.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface CustomerSearchService {
+
+    /**
+     * Inclui ou atualiza um cliente no índice após o commit da transação atual.
+     *
+     * @param customer o cliente persistido
+     */
+    void recordCustomer(Customer customer);
+
+    /**
+     * Retira um cliente do índice após o commit da transação atual.
+     *
+     * @param customerId o ID do cliente removido
+     */
+    void removeCustomer(Long customerId);
+
+    /**
+     * Busca clientes cujo nome contém todas as palavras da consulta.
+     *
+     * @param query o texto buscado
+     * @param limit a quantidade máxima de clientes (nulo usa o padrão configurado)
+     * @return os clientes encontrados, do mais relevante para o menos relevante
+     * @throws IllegalArgumentException se a consulta estiver vazia ou o limite for inválido
+     */
+    List<CustomerSearchResultDTO> search(String query, Integer limit);
+
+    /**
+     * Reconstrói o índice a partir dos clientes do banco.
+     *
+     * @return quantidade de clientes carregados
+     */
+    int reload();
+}
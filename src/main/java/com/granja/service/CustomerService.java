@@ -1,7 +1,13 @@
 package com.granja.service;
 
 import com.granja.dto.CustomerDTO;
+import com.granja.dto.CustomerImportResultDTO;
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.dto.CustomerSearchResultDTO;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -61,6 +67,33 @@ public interface CustomerService {
      */
     List<CustomerDTO> getAllCustomers();
     
+    /**
+     * Writes all customers to the given stream as NDJSON, one per line.
+     * 
+     * <p>Customers are read from a database cursor and written as they arrive,
+     * without loading the whole list into memory.</p>
+     * 
+     * @param outputStream the target stream
+     * @throws IOException if writing to the stream fails
+     */
+    void writeAllCustomers(OutputStream outputStream) throws IOException;
+    
+    /**
+     * Registers customers from a CSV or XLSX file.
+     * 
+     * <p>The file is read as a stream and customers are saved in chunks, each chunk
+     * in its own transaction. CPFs repeated in the file or already registered are
+     * rejected, with one lookup per chunk; invalid rows are reported in the result
+     * without stopping the others.</p>
+     * 
+     * @param fileName the original file name, whose extension defines the format
+     * @param input the file content
+     * @return the numbers of registered customers and rejected rows, with each row's error
+     * @throws IOException if reading the file fails
+     * @throws IllegalArgumentException if the file format or header is invalid
+     */
+    CustomerImportResultDTO importCustomers(String fileName, InputStream input) throws IOException;
+    
     /**
      * Retrieves customers filtered by discount eligibility.
      * 
@@ -69,6 +102,35 @@ public interface CustomerService {
      */
     List<CustomerDTO> getCustomersByDiscountEligibility(Boolean discountEligible);
     
+    /**
+     * Searches customers by name, ignoring case and accents.
+     * 
+     * @param query the words to search for; every word must appear in the name
+     * @param limit the maximum number of customers (null uses the configured default)
+     * @return the matching customers, most relevant first
+     * @throws IllegalArgumentException if the query is blank or the limit is out of range
+     */
+    List<CustomerSearchResultDTO> searchCustomers(String query, Integer limit);
+    
+    /**
+     * Retrieves a customer's purchase summary: purchase count, lifetime spend,
+     * total discount and first/last purchase dates.
+     * 
+     * @param id the unique identifier of the customer
+     * @return the summary, with zeroed totals if the customer has not bought yet
+     * @throws RuntimeException if the customer is not found
+     */
+    CustomerPurchaseSummaryDTO getPurchaseSummary(Long id);
+    
+    /**
+     * Retrieves the customers with the highest lifetime spend.
+     * 
+     * @param limit the maximum number of customers (null uses the configured default)
+     * @return the customers' purchase summaries, highest spend first
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    List<CustomerPurchaseSummaryDTO> getTopCustomers(Integer limit);
+    
     /**
      * Deletes a customer record from the system.
      * 
@@ -0,0 +1,69 @@
+package com.granja.service;
+
+import com.granja.dto.DuckLineageDTO;
+import com.granja.dto.DuckOffspringDTO;
+
+/**
+ * Interface de serviço para consultas de linhagem (genealogia) dos patos.
+ *
+ * <p>A linhagem é formada pelo ID da mãe de cada pato. As consultas sobem até os
+ * ancestrais ou descem até os descendentes de um pato, limitadas por profundidade
+ * e por quantidade de patos retornados.</p>
+ *
+ * <p>Por padrão cada consulta é resolvida no banco com uma CTE recursiva. Quando o
+ * índice de genealogia está habilitado, as consultas percorrem um grafo em memória
+ * e o banco é usado apenas para carregar os dados dos patos encontrados.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface DuckLineageService {
+
+    /**
+     * Recupera os ancestrais de um pato: mãe, avó e assim por diante.
+     *
+     * @param duckId o ID do pato
+     * @param depth a quantidade máxima de gerações
+     * @return os ancestrais, por geração
+     * @throws IllegalArgumentException se a profundidade for inválida
+     * @throws RuntimeException se o pato não for encontrado
+     */
+    DuckLineageDTO getAncestors(Long duckId, int depth);
+
+    /**
+     * Recupera os descendentes de um pato: filhotes, netos e assim por diante.
+     *
+     * @param duckId o ID do pato
+     * @param depth a quantidade máxima de gerações
+     * @return os descendentes, por geração e ID
+     * @throws IllegalArgumentException se a profundidade for inválida
+     * @throws RuntimeException se o pato não for encontrado
+     */
+    DuckLineageDTO getDescendants(Long duckId, int depth);
+
+    /**
+     * Conta os filhotes diretos e os descendentes de um pato.
+     *
+     * @param duckId o ID do pato
+     * @param depth a quantidade máxima de gerações contadas
+     * @return as quantidades de filhotes e descendentes
+     * @throws IllegalArgumentException se a profundidade for inválida
+     * @throws RuntimeException se o pato não for encontrado
+     */
+    DuckOffspringDTO getOffspringCount(Long duckId, int depth);
+
+    /**
+     * Informa que a linhagem foi alterada pela transação atual.
+     *
+     * <p>Após o commit, o índice de genealogia deixa de ser usado até ser reconstruído.</p>
+     */
+    void lineageChanged();
+
+    /**
+     * Reconstrói o índice de genealogia em memória, se estiver habilitado.
+     *
+     * @return quantidade de patos no índice (0 quando desabilitado)
+     */
+    int rebuildIndex();
+}
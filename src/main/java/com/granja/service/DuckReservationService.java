@@ -0,0 +1,82 @@
+package com.granja.service;
+
+import com.granja.dto.DuckReservationDTO;
+import com.granja.dto.SaleDTO;
+
+import java.util.Collection;
+
+/**
+ * Interface de serviço para reservas temporárias de patos.
+ *
+ * <p>Uma reserva separa patos para um cliente por um prazo limitado, enquanto o
+ * vendedor monta a venda. Os patos reservados ficam com status RESERVED, e a
+ * finalização se resume a confirmar a reserva, sem disputar os patos novamente.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Reserva de patos com prazo de expiração</li>
+ *   <li>Confirmação da reserva em uma venda</li>
+ *   <li>Liberação antecipada da reserva</li>
+ *   <li>Expiração em lote das reservas vencidas</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface DuckReservationService {
+
+    /**
+     * Reserva patos disponíveis para um cliente.
+     *
+     * @param reservationDTO cliente, vendedor, patos e prazo opcional da reserva
+     * @return a reserva criada
+     * @throws RuntimeException se algum pato não estiver disponível ou o prazo exceder o máximo
+     */
+    DuckReservationDTO reserve(DuckReservationDTO reservationDTO);
+
+    /**
+     * Confirma uma reserva ativa, vendendo os patos reservados.
+     *
+     * @param id o ID da reserva
+     * @return a venda criada
+     * @throws RuntimeException se a reserva não estiver ativa ou já tiver vencido
+     */
+    SaleDTO confirm(Long id);
+
+    /**
+     * Libera uma reserva ativa, devolvendo os patos para AVAILABLE.
+     *
+     * @param id o ID da reserva
+     * @return a reserva liberada
+     * @throws RuntimeException se a reserva não estiver ativa
+     */
+    DuckReservationDTO release(Long id);
+
+    /**
+     * Obtém uma reserva pelo ID.
+     *
+     * @param id o ID da reserva
+     * @return a reserva
+     * @throws RuntimeException se a reserva não for encontrada
+     */
+    DuckReservationDTO getReservation(Long id);
+
+    /**
+     * Expira as reservas informadas que ainda estão ativas e já venceram.
+     *
+     * @param ids os IDs das reservas
+     * @return quantidade de patos liberados
+     */
+    int expireReservations(Collection<Long> ids);
+
+    /**
+     * Expira um lote das reservas vencidas ainda ativas no banco.
+     *
+     * <p>Complementa a fila em memória para reservas criadas por outras instâncias
+     * da aplicação ou que venceram enquanto a aplicação estava parada.</p>
+     *
+     * @return quantidade de patos liberados (zero quando não há mais reservas vencidas)
+     */
+    int expireOverdue();
+}
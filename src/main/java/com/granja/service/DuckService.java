@@ -1,8 +1,15 @@
 package com.granja.service;
 
+import com.granja.dto.DuckCatalogCriteria;
+import com.granja.dto.DuckCatalogPageDTO;
 import com.granja.dto.DuckDTO;
+import com.granja.dto.DuckImportResultDTO;
 import com.granja.entity.Duck.DuckStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -62,6 +69,32 @@ public interface DuckService {
      */
     List<DuckDTO> getAllDucks();
     
+    /**
+     * Escreve todos os patos no stream informado em formato NDJSON, um por linha.
+     * 
+     * <p>Os patos são lidos de um cursor do banco e escritos à medida que chegam,
+     * sem carregar a lista completa em memória.</p>
+     * 
+     * @param outputStream o stream de destino
+     * @throws IOException se a escrita no stream falhar
+     */
+    void writeAllDucks(OutputStream outputStream) throws IOException;
+    
+    /**
+     * Cadastra patos a partir de um arquivo CSV ou XLSX.
+     * 
+     * <p>O arquivo é lido em streaming e os patos são gravados em lotes, cada lote
+     * em sua própria transação. Cada linha passa pelas mesmas validações do cadastro
+     * individual; linhas inválidas são informadas no resultado sem impedir as demais.</p>
+     * 
+     * @param fileName o nome original do arquivo, que define o formato pela extensão
+     * @param input o conteúdo do arquivo
+     * @return as quantidades de patos cadastrados e de linhas rejeitadas, com o erro de cada linha
+     * @throws IOException se a leitura do arquivo falhar
+     * @throws IllegalArgumentException se o formato do arquivo ou o cabeçalho forem inválidos
+     */
+    DuckImportResultDTO importDucks(String fileName, InputStream input) throws IOException;
+    
     /**
      * Recupera patos filtrados por seu status atual.
      * 
@@ -77,6 +110,38 @@ public interface DuckService {
      */
     List<DuckDTO> getAvailableDucksForSale();
     
+    /**
+     * Recupera os patos disponíveis mais baratos.
+     * 
+     * @param limit a quantidade máxima de patos
+     * @return os patos disponíveis do menor para o maior preço
+     */
+    List<DuckDTO> getCheapestAvailableDucks(int limit);
+    
+    /**
+     * Recupera os patos disponíveis dentro de uma faixa de preço.
+     * 
+     * @param minPrice o preço mínimo (inclusivo)
+     * @param maxPrice o preço máximo (inclusivo)
+     * @return os patos disponíveis na faixa, do menor para o maior preço
+     */
+    List<DuckDTO> getAvailableDucksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    
+    /**
+     * Consulta o catálogo de patos com paginação por cursor.
+     * 
+     * <p>Os patos são ordenados pelo campo escolhido e pelo ID. O cursor identifica o
+     * último pato da página anterior, então o custo de uma página não depende de quão
+     * longe ela está do início do resultado.</p>
+     * 
+     * @param criteria os filtros opcionais e a ordenação
+     * @param cursor o {@code nextCursor} da página anterior, ou nulo para a primeira página
+     * @param size a quantidade máxima de patos na página
+     * @return a página e o cursor da seguinte
+     * @throws IllegalArgumentException se o cursor, o tamanho ou os filtros forem inválidos
+     */
+    DuckCatalogPageDTO getCatalog(DuckCatalogCriteria criteria, String cursor, int size);
+    
     /**
      * Remove um registro de pato do sistema.
      * 
@@ -0,0 +1,86 @@
+package com.granja.service;
+
+import com.granja.dto.EntityCacheStatsDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Seller;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface de serviço para o cache de leitura de patos, clientes e vendedores.
+ *
+ * <p>As consultas por ID passam pelo cache: uma entidade ausente é lida do banco e
+ * guardada para as próximas consultas. Cada cache tem limite de entradas (remoção
+ * LRU) e tempo de vida. As entidades devolvidas pelo cache são cópias desanexadas,
+ * sem as vendas associadas, e não devem ser alteradas para gravação.</p>
+ *
+ * <p>Quem altera ou remove um registro deve descartá-lo do cache. Dentro de uma
+ * transação, o descarte acontece após o commit, e uma leitura em andamento nesse
+ * momento não é guardada, para que dados antigos não voltem ao cache.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface EntityCacheService {
+
+    /**
+     * Busca um pato pelo ID, lendo o banco apenas se não estiver em cache.
+     *
+     * @param id o ID do pato
+     * @return o pato, ou vazio se não existir
+     */
+    Optional<Duck> findDuck(Long id);
+
+    /**
+     * Busca um cliente pelo ID, lendo o banco apenas se não estiver em cache.
+     *
+     * @param id o ID do cliente
+     * @return o cliente, ou vazio se não existir
+     */
+    Optional<Customer> findCustomer(Long id);
+
+    /**
+     * Busca um vendedor pelo ID, lendo o banco apenas se não estiver em cache.
+     *
+     * @param id o ID do vendedor
+     * @return o vendedor, ou vazio se não existir
+     */
+    Optional<Seller> findSeller(Long id);
+
+    /**
+     * Descarta patos alterados ou removidos.
+     *
+     * @param ids os IDs dos patos
+     */
+    void evictDucks(Collection<Long> ids);
+
+    /**
+     * Descarta todos os patos, para alterações em massa sem a lista de IDs.
+     */
+    void evictAllDucks();
+
+    /**
+     * Descarta um cliente alterado ou removido.
+     *
+     * @param id o ID do cliente
+     */
+    void evictCustomer(Long id);
+
+    /**
+     * Descarta um vendedor alterado ou removido.
+     *
+     * @param id o ID do vendedor
+     */
+    void evictSeller(Long id);
+
+    /**
+     * Obtém as estatísticas de uso de cada cache.
+     *
+     * @return acertos, leituras, remoções e ocupação de patos, clientes e vendedores
+     */
+    List<EntityCacheStatsDTO> getStats();
+}
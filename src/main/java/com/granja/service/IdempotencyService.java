@@ -0,0 +1,49 @@
+package com.granja.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface de serviço para requisições idempotentes.
+ *
+ * <p>Uma operação executada com um Idempotency-Key tem a resposta guardada por um
+ * prazo configurado. Repetições com a mesma chave e o mesmo corpo recebem a resposta
+ * original sem executar a operação novamente; repetições simultâneas aguardam a
+ * primeira execução.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Execução com reaproveitamento da resposta original</li>
+ *   <li>Remoção periódica das chaves vencidas</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface IdempotencyService {
+
+    /**
+     * Executa a operação uma única vez por chave e retorna a resposta guardada nas repetições.
+     *
+     * <p>A operação roda na mesma transação que grava a chave, de modo que a resposta
+     * só fica registrada se a operação for confirmada. Se a operação falhar, a chave
+     * fica livre para uma nova tentativa.</p>
+     *
+     * @param key a chave informada pelo cliente
+     * @param request o corpo da requisição, comparado com o da requisição original
+     * @param responseType o tipo da resposta
+     * @param operation a operação a executar
+     * @param <T> o tipo da resposta
+     * @return a resposta da operação, original ou recém-executada
+     * @throws com.granja.exception.BusinessException se a chave for inválida ou já
+     *         tiver sido usada com outro corpo
+     */
+    <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> operation);
+
+    /**
+     * Remove do banco as chaves vencidas.
+     *
+     * @return quantidade de chaves removidas
+     */
+    int purgeExpired();
+}
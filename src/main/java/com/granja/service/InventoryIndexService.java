@@ -0,0 +1,93 @@
+package com.granja.service;
+
+import com.granja.dto.DuckDTO;
+import com.granja.entity.Duck;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface de serviço para o índice em memória dos patos disponíveis.
+ *
+ * <p>Mantém, dentro da aplicação, os patos com status AVAILABLE, de modo que a
+ * vitrine de patos disponíveis seja atendida sem acessar o banco de dados. As
+ * alterações feitas pelos cadastros de patos, vendas e reservas são aplicadas
+ * após o commit da transação que as gravou.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Consulta dos patos disponíveis, dos N mais baratos e por faixa de preço</li>
+ *   <li>Atualização a cada pato cadastrado, alterado, vendido, reservado ou liberado</li>
+ *   <li>Recarga na subida e conferência periódica contra o banco</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface InventoryIndexService {
+
+    /**
+     * Inclui ou atualiza um pato no índice após o commit da transação atual.
+     *
+     * <p>Patos que não estão com status AVAILABLE são retirados do índice.</p>
+     *
+     * @param duck o pato persistido
+     */
+    void recordDuck(Duck duck);
+
+    /**
+     * Retira patos do índice após o commit da transação atual.
+     *
+     * @param duckIds os IDs dos patos vendidos, reservados ou removidos
+     */
+    void removeDucks(Collection<Long> duckIds);
+
+    /**
+     * Relê do banco os patos informados após o commit da transação atual.
+     *
+     * <p>Usado quando a transação altera o status dos patos sem carregá-los,
+     * como na liberação e na expiração de reservas.</p>
+     *
+     * @param duckIds os IDs dos patos alterados
+     */
+    void refreshDucks(Collection<Long> duckIds);
+
+    /**
+     * @return os patos disponíveis, em ordem de ID
+     */
+    List<DuckDTO> getAvailable();
+
+    /**
+     * @param limit a quantidade máxima de patos
+     * @return os patos disponíveis mais baratos, do menor para o maior preço
+     */
+    List<DuckDTO> getCheapest(int limit);
+
+    /**
+     * @param minPrice o preço mínimo (inclusivo)
+     * @param maxPrice o preço máximo (inclusivo)
+     * @return os patos disponíveis na faixa de preço, do menor para o maior preço
+     */
+    List<DuckDTO> getByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+
+    /**
+     * @param duckId o ID do pato
+     * @return se o pato está disponível para venda
+     */
+    boolean isAvailable(Long duckId);
+
+    /**
+     * Reconstrói o índice a partir dos patos disponíveis no banco.
+     */
+    void reload();
+
+    /**
+     * Confere os IDs do índice contra os patos disponíveis no banco e reconstrói
+     * o índice quando divergem.
+     *
+     * @return quantidade de patos divergentes encontrados (0 quando o índice estava correto)
+     */
+    int reconcile();
+}
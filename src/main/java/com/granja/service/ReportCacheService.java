@@ -0,0 +1,64 @@
+package com.granja.service;
+
+import com.granja.dto.ReportCacheStatsDTO;
+import com.granja.service.ReportService.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Interface de serviço para cache dos relatórios gerados.
+ *
+ * <p>Os arquivos Excel são guardados por tipo de relatório e período, de modo que
+ * consultas repetidas a um período fechado não reconstroem a planilha. Uma entrada
+ * só é descartada quando uma venda do seu período é criada ou removida, ou quando
+ * o cache atinge o limite de tamanho.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Consulta com geração sob demanda</li>
+ *   <li>Invalidação pelos períodos que contêm uma venda</li>
+ *   <li>Estatísticas de acertos, falhas e remoções</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface ReportCacheService {
+
+    /**
+     * Retorna o relatório em cache ou gera e armazena um novo.
+     *
+     * @param type o tipo de relatório
+     * @param startDate a data de início do período
+     * @param endDate a data de fim do período
+     * @param generator função que gera o relatório quando não está em cache
+     * @return array de bytes contendo o arquivo Excel
+     */
+    byte[] getOrGenerate(ReportType type, LocalDateTime startDate, LocalDateTime endDate, Supplier<byte[]> generator);
+
+    /**
+     * Descarta os relatórios cujo período contém a data de venda informada.
+     *
+     * <p>Dentro de uma transação, a remoção acontece após o commit, para que um
+     * relatório gerado antes disso não volte ao cache com dados antigos.</p>
+     *
+     * @param saleDate a data da venda criada ou removida
+     */
+    void invalidate(LocalDateTime saleDate);
+
+    /**
+     * Descarta todos os relatórios em cache.
+     *
+     * <p>Dentro de uma transação, a remoção também acontece após o commit.</p>
+     */
+    void clear();
+
+    /**
+     * Obtém as estatísticas de uso do cache.
+     *
+     * @return contadores e ocupação atuais
+     */
+    ReportCacheStatsDTO getStats();
+}
@@ -0,0 +1,72 @@
+package com.granja.service;
+
+import com.granja.dto.ReportJobDTO;
+import com.granja.dto.ReportJobDTO.Priority;
+import com.granja.service.ReportService.ReportType;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Interface de serviço para geração assíncrona de relatórios.
+ *
+ * <p>Os relatórios são enfileirados e gerados por um conjunto limitado de workers,
+ * liberando as threads das requisições HTTP e as conexões do banco para as
+ * operações de venda.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Submissão de relatórios com prioridade</li>
+ *   <li>Consulta de situação e progresso</li>
+ *   <li>Download do arquivo gerado</li>
+ *   <li>Cancelamento de jobs na fila ou em execução</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface ReportJobService {
+
+    /**
+     * Enfileira a geração de um relatório.
+     *
+     * @param type o tipo de relatório
+     * @param startDate a data de início do período
+     * @param endDate a data de fim do período
+     * @param priority a prioridade do job na fila
+     * @param requestedBy o usuário que solicitou o relatório
+     * @return o job criado, na situação QUEUED
+     * @throws IllegalArgumentException se o período for inválido
+     * @throws com.granja.exception.BusinessException se a fila estiver cheia
+     */
+    ReportJobDTO submit(ReportType type, LocalDateTime startDate, LocalDateTime endDate,
+                        Priority priority, String requestedBy);
+
+    /**
+     * Consulta a situação de um job.
+     *
+     * @param jobId o identificador do job
+     * @return o job com situação e progresso atuais
+     * @throws com.granja.exception.BusinessException se o job não existir
+     */
+    ReportJobDTO getJob(String jobId);
+
+    /**
+     * Obtém o arquivo gerado por um job concluído.
+     *
+     * @param jobId o identificador do job
+     * @return caminho do arquivo Excel gerado
+     * @throws com.granja.exception.BusinessException se o job não existir ou não estiver concluído
+     */
+    Path getJobResult(String jobId);
+
+    /**
+     * Cancela um job que ainda está na fila ou em execução.
+     *
+     * @param jobId o identificador do job
+     * @return o job após o pedido de cancelamento
+     * @throws com.granja.exception.BusinessException se o job não existir ou já tiver terminado
+     */
+    ReportJobDTO cancel(String jobId);
+}
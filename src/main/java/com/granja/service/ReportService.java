@@ -1,6 +1,8 @@
 package com.granja.service;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.function.LongConsumer;
 
 /**
  * Interface de serviço para operações de geração de relatórios.
@@ -37,6 +39,29 @@ public interface ReportService {
      */
     byte[] generateSalesReport(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * Escreve um relatório de vendas em formato Excel diretamente no stream informado.
+     * 
+     * <p>As vendas são lidas por cursor e gravadas em uma planilha com janela de linhas
+     * limitada, mantendo o uso de memória constante independente do volume do período.</p>
+     * 
+     * @param startDate a data de início para o período do relatório
+     * @param endDate a data de fim para o período do relatório
+     * @param outputStream o stream de destino do arquivo Excel
+     */
+    void writeSalesReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream);
+    
+    /**
+     * Escreve um relatório de vendas em streaming informando o progresso da geração.
+     * 
+     * @param startDate a data de início para o período do relatório
+     * @param endDate a data de fim para o período do relatório
+     * @param outputStream o stream de destino do arquivo Excel
+     * @param progressListener recebe a quantidade de vendas já gravadas na planilha
+     */
+    void writeSalesReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream,
+                          LongConsumer progressListener);
+    
     /**
      * Gera um relatório de ranking de vendedores em formato Excel para o período atual.
      * 
@@ -52,4 +77,14 @@ public interface ReportService {
      * @return array de bytes contendo o arquivo Excel
      */
     byte[] generateSellerRankingReport(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Tipos de relatório disponíveis no sistema
+     */
+    enum ReportType {
+        /** Relatório de vendas do período */
+        SALES,
+        /** Ranking de vendedores do período */
+        SELLER_RANKING
+    }
 }
@@ -0,0 +1,40 @@
+package com.granja.service;
+
+import com.granja.dto.SaleDTO;
+
+/**
+ * Service interface for sale ingestion with optional group commit.
+ * 
+ * <p>When group commit is enabled, sales are queued and a single writer
+ * creates them in micro-batches, one transaction per batch, so many sales
+ * share one commit. Each caller still only gets its sale back after the
+ * batch holding it has been committed. When disabled, sales are created
+ * synchronously through {@link SaleService#createSale(SaleDTO)}.</p>
+ * 
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SaleIngestionService {
+    
+    /**
+     * Creates a sale, through the group commit queue when enabled.
+     * 
+     * <p>Must not be called within a transaction: with group commit the sale is
+     * created by the writer thread in its own transaction. Concurrency conflicts
+     * are thrown to the caller, which is expected to retry.</p>
+     * 
+     * @param saleDTO the sale data to create
+     * @return the created sale DTO with generated ID, once committed
+     * @throws com.granja.exception.BusinessException if the sale is rejected, the queue is full,
+     *         the writer has stopped or the commit takes longer than the configured timeout
+     */
+    SaleDTO createSale(SaleDTO saleDTO);
+    
+    /**
+     * Returns whether sales are being created through group commit.
+     * 
+     * @return true when group commit is enabled
+     */
+    boolean isGroupCommitEnabled();
+}
@@ -1,7 +1,12 @@
 package com.granja.service;
 
+import com.granja.dto.SaleBatchResultDTO;
 import com.granja.dto.SaleDTO;
+import com.granja.dto.SalePageDTO;
+import com.granja.dto.SaleSearchCriteria;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -34,6 +39,33 @@ public interface SaleService {
      */
     SaleDTO createSale(SaleDTO saleDTO);
     
+    /**
+     * Creates several sales in a single transaction.
+     * 
+     * <p>All referenced customers, sellers and ducks are loaded at once and each
+     * sale is validated individually: invalid items are reported as failures
+     * while the valid ones are created. A duck taken by a concurrent sale or
+     * reservation after being read fails only the sales that include it.</p>
+     * 
+     * @param saleDTOs the sales to create
+     * @return the per-item outcome of the batch
+     * @throws RuntimeException if the batch is empty or exceeds the configured limit
+     */
+    SaleBatchResultDTO createSales(List<SaleDTO> saleDTOs);
+    
+    /**
+     * Creates a sale for ducks held by a reservation.
+     * 
+     * <p>Works like {@link #createSale(SaleDTO)}, but expects the ducks to be
+     * RESERVED instead of AVAILABLE. Must be called within the transaction
+     * that confirms the reservation.</p>
+     * 
+     * @param saleDTO the sale data, with the reserved ducks
+     * @return the created sale DTO with generated ID
+     * @throws RuntimeException if the ducks are no longer reserved or business rules are violated
+     */
+    SaleDTO createSaleForReservedDucks(SaleDTO saleDTO);
+    
     /**
      * Updates an existing sale record.
      * 
@@ -61,6 +93,32 @@ public interface SaleService {
      */
     List<SaleDTO> getAllSales();
     
+    /**
+     * Writes all sales to the given stream as NDJSON, one per line.
+     * 
+     * <p>Sales are read from a database cursor and written as they arrive,
+     * without loading the whole list into memory.</p>
+     * 
+     * @param outputStream the target stream
+     * @throws IOException if writing to the stream fails
+     */
+    void writeAllSales(OutputStream outputStream) throws IOException;
+    
+    /**
+     * Searches sales with keyset pagination.
+     * 
+     * <p>Sales are ordered by sale date and ID, most recent first. The cursor
+     * identifies the last sale of the previous page, so the cost of a page
+     * does not depend on how deep into the result it is.</p>
+     * 
+     * @param criteria the optional filters
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size the maximum number of sales in the page
+     * @return the page and the cursor of the next one
+     * @throws RuntimeException if the cursor, the size or the filters are invalid
+     */
+    SalePageDTO searchSales(SaleSearchCriteria criteria, String cursor, int size);
+    
     /**
      * Retrieves sales filtered by customer ID.
      * 
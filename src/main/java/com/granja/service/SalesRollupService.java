@@ -0,0 +1,84 @@
+package com.granja.service;
+
+import com.granja.entity.Sale;
+import com.granja.repository.projection.SellerSalesSummary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface de serviço para o consolidado diário de vendas.
+ *
+ * <p>O consolidado guarda, por dia e vendedor, a quantidade e os totais das vendas.
+ * Ele é atualizado na mesma transação de cada venda criada ou removida, e os
+ * rankings de qualquer período são calculados a partir dele, com custo
+ * proporcional a dias × vendedores em vez da quantidade de vendas.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Atualização incremental a cada venda criada ou removida</li>
+ *   <li>Agregação por vendedor de qualquer período</li>
+ *   <li>Reconstrução a partir das vendas para corrigir divergências</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SalesRollupService {
+
+    /**
+     * Soma uma venda recém-criada ao consolidado do seu dia.
+     * Deve ser chamado dentro da transação que grava a venda.
+     *
+     * @param sale a venda persistida
+     */
+    void recordSale(Sale sale);
+
+    /**
+     * Soma um lote de vendas recém-criadas ao consolidado, com uma atualização
+     * por dia, vendedor e tipo de cliente.
+     * Deve ser chamado dentro da transação que grava as vendas.
+     *
+     * @param sales as vendas persistidas
+     */
+    void recordSales(List<Sale> sales);
+
+    /**
+     * Retira uma venda removida do consolidado do seu dia.
+     * Deve ser chamado dentro da transação que remove a venda.
+     *
+     * @param sale a venda removida
+     */
+    void removeSale(Sale sale);
+
+    /**
+     * Agrega as vendas de um período por vendedor.
+     *
+     * <p>Os dias completos do período são lidos do consolidado e apenas as frações
+     * de dia nas bordas são lidas das vendas.</p>
+     *
+     * @param startDate a data de início do período (inclusiva)
+     * @param endDate a data de fim do período (inclusiva)
+     * @return quantidade, receita e ticket médio de cada vendedor com vendas no período,
+     *         ordenados pela receita total (maior primeiro)
+     */
+    List<SellerSalesSummary> summarizeBySellerInPeriod(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Reconstrói o consolidado de um intervalo de dias a partir das vendas.
+     *
+     * @param startDay o primeiro dia (inclusivo)
+     * @param endDay o último dia (inclusivo)
+     * @return quantidade de linhas do consolidado recriadas
+     */
+    int rebuild(LocalDate startDay, LocalDate endDay);
+
+    /**
+     * Reconstrói todo o consolidado a partir das vendas.
+     *
+     * @return quantidade de linhas do consolidado recriadas
+     */
+    int rebuildAll();
+}
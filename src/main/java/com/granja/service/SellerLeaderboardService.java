@@ -0,0 +1,86 @@
+package com.granja.service;
+
+import com.granja.dto.SellerRankingDTO;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+
+import java.util.List;
+
+/**
+ * Interface de serviço para o ranking de vendedores em memória.
+ *
+ * <p>Mantém, dentro da aplicação, a quantidade e a receita de vendas de cada
+ * vendedor, atualizadas a cada venda confirmada. Painéis que consultam o ranking
+ * com frequência são atendidos sem acessar o banco de dados.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Atualização a cada venda criada ou removida</li>
+ *   <li>Consulta dos N primeiros colocados</li>
+ *   <li>Recarga a partir das métricas persistidas</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SellerLeaderboardService {
+
+    /**
+     * Soma uma venda ao ranking após o commit da transação atual.
+     *
+     * <p>Deve ser chamado depois de a venda ser gravada em seller_metrics na mesma
+     * transação, para que uma recarga concorrente não a conte duas vezes.</p>
+     *
+     * @param sale a venda persistida
+     */
+    void recordSale(Sale sale);
+
+    /**
+     * Soma um lote de vendas ao ranking após o commit da transação atual.
+     *
+     * <p>Deve ser chamado depois de o lote ser gravado em seller_metrics.</p>
+     *
+     * @param sales as vendas persistidas
+     */
+    void recordSales(List<Sale> sales);
+
+    /**
+     * Retira uma venda do ranking após o commit da transação atual.
+     *
+     * <p>Deve ser chamado depois de a venda ser retirada de seller_metrics.</p>
+     *
+     * @param sale a venda removida
+     */
+    void removeSale(Sale sale);
+
+    /**
+     * Inclui um vendedor no ranking ou atualiza seus dados cadastrais.
+     *
+     * @param seller o vendedor cadastrado ou atualizado
+     */
+    void registerSeller(Seller seller);
+
+    /**
+     * Remove um vendedor do ranking após o commit da transação atual.
+     *
+     * @param sellerId o ID do vendedor removido
+     */
+    void removeSeller(Long sellerId);
+
+    /**
+     * Obtém os vendedores mais bem colocados.
+     *
+     * @param limit a quantidade máxima de vendedores
+     * @return vendedores ordenados pela receita total (maior primeiro)
+     */
+    List<SellerRankingDTO> getTop(int limit);
+
+    /**
+     * Recarrega o ranking a partir das métricas persistidas dos vendedores.
+     *
+     * <p>Lê apenas valores confirmados, em transação própria; vendas confirmadas
+     * durante a recarga não são perdidas nem contadas duas vezes.</p>
+     */
+    void reload();
+}
@@ -0,0 +1,66 @@
+package com.granja.service;
+
+import com.granja.entity.Sale;
+
+import java.util.List;
+
+/**
+ * Interface de serviço para as métricas acumuladas de vendedores.
+ *
+ * <p>As métricas da tabela seller_metrics são atualizadas junto com cada venda e
+ * alimentam o ranking de vendedores. A reconciliação recalcula todas as linhas a
+ * partir das vendas, corrigindo divergências.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SellerMetricsService {
+
+    /**
+     * Cria as métricas zeradas de um vendedor recém-cadastrado.
+     * Deve ser chamado dentro da transação que grava o vendedor.
+     *
+     * @param sellerId o ID do vendedor
+     */
+    void registerSeller(Long sellerId);
+
+    /**
+     * Remove as métricas de um vendedor antes da sua exclusão.
+     * Deve ser chamado dentro da transação que remove o vendedor.
+     *
+     * @param sellerId o ID do vendedor
+     */
+    void removeSeller(Long sellerId);
+
+    /**
+     * Soma uma venda recém-criada às métricas do vendedor.
+     * Deve ser chamado dentro da transação que grava a venda.
+     *
+     * @param sale a venda persistida
+     */
+    void recordSale(Sale sale);
+
+    /**
+     * Soma um lote de vendas recém-criadas às métricas, com uma atualização por vendedor.
+     * Deve ser chamado dentro da transação que grava as vendas.
+     *
+     * @param sales as vendas persistidas
+     */
+    void recordSales(List<Sale> sales);
+
+    /**
+     * Retira uma venda removida das métricas do vendedor.
+     * Deve ser chamado dentro da transação que remove a venda.
+     *
+     * @param sale a venda removida
+     */
+    void removeSale(Sale sale);
+
+    /**
+     * Recalcula as métricas de todos os vendedores a partir das vendas.
+     *
+     * @return quantidade de vendedores reconciliados
+     */
+    int reconcile();
+}
@@ -1,7 +1,10 @@
 package com.granja.service;
 
 import com.granja.dto.SellerDTO;
+import com.granja.dto.SellerRankingDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -61,6 +64,17 @@ public interface SellerService {
      */
     List<SellerDTO> getAllSellers();
     
+    /**
+     * Writes all sellers to the given stream as NDJSON, one per line.
+     * 
+     * <p>Sellers are read from a database cursor and written as they arrive,
+     * without loading the whole list into memory.</p>
+     * 
+     * @param outputStream the target stream
+     * @throws IOException if writing to the stream fails
+     */
+    void writeAllSellers(OutputStream outputStream) throws IOException;
+    
     /**
      * Retrieves sellers filtered by performance metrics.
      * 
@@ -80,7 +94,19 @@ public interface SellerService {
     /**
      * Retrieves sellers ranked by performance (total sales revenue).
      * 
-     * @return a list of sellers ordered by total revenue (highest first)
+     * <p>Served from the in-memory leaderboard, which is seeded from the stored
+     * seller metrics at startup and updated on every committed sale.</p>
+     * 
+     * @return a list of sellers with their metrics ordered by total revenue (highest first)
+     */
+    List<SellerRankingDTO> getSellerRanking();
+    
+    /**
+     * Retrieves the best ranked sellers from the in-memory leaderboard.
+     * 
+     * @param limit the maximum number of sellers to return
+     * @return up to {@code limit} sellers ordered by total revenue (highest first)
+     * @throws RuntimeException if the limit is not positive
      */
-    List<SellerDTO> getSellerRanking();
+    List<SellerRankingDTO> getTopSellers(int limit);
 }
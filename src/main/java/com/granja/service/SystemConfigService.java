@@ -0,0 +1,93 @@
+package com.granja.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Interface de serviço para as configurações do sistema.
+ *
+ * <p>As configurações da tabela system_config ficam em memória em uma cópia imutável,
+ * lida pelas regras de preço sem consultar o banco. Quando a tabela muda, uma nova
+ * cópia é montada e substitui a anterior de uma só vez, de modo que uma operação
+ * nunca enxerga metade de uma alteração.</p>
+ *
+ * <p>Principais operações:
+ * <ul>
+ *   <li>Leitura da cópia atual</li>
+ *   <li>Recarga ao detectar uma nova versão da tabela ou sob demanda</li>
+ *   <li>Alteração de uma configuração com validação do valor</li>
+ * </ul></p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface SystemConfigService {
+
+    /** Percentual de desconto para clientes elegíveis */
+    String DISCOUNT_PERCENTAGE = "DISCOUNT_PERCENTAGE";
+
+    /** Preço mínimo de um pato */
+    String MIN_DUCK_PRICE = "MIN_DUCK_PRICE";
+
+    /** Preço máximo de um pato */
+    String MAX_DUCK_PRICE = "MAX_DUCK_PRICE";
+
+    /** Modo de manutenção: bloqueia novas vendas */
+    String SYSTEM_MAINTENANCE_MODE = "SYSTEM_MAINTENANCE_MODE";
+
+    /**
+     * Obtém a cópia atual das configurações, sem acessar o banco.
+     *
+     * @return a cópia atual
+     */
+    Snapshot current();
+
+    /**
+     * Recarrega as configurações se a versão da tabela mudou desde a última carga.
+     *
+     * @return true se uma nova cópia foi carregada
+     */
+    boolean refresh();
+
+    /**
+     * Recarrega as configurações do banco incondicionalmente.
+     *
+     * @return a nova cópia
+     */
+    Snapshot reload();
+
+    /**
+     * Altera o valor de uma configuração existente.
+     *
+     * <p>O valor é validado antes de ser gravado e a nova cópia passa a valer
+     * após o commit.</p>
+     *
+     * @param key a chave da configuração
+     * @param value o novo valor
+     * @throws com.granja.exception.BusinessException se a chave não existir ou o valor for inválido
+     */
+    void updateValue(String key, String value);
+
+    /**
+     * Cópia imutável das configurações.
+     *
+     * @param version versão da tabela quando a cópia foi carregada
+     * @param loadedAt momento da carga
+     * @param discountRate fração de desconto para clientes elegíveis (0.20 para 20%)
+     * @param minDuckPrice preço mínimo de um pato (nulo sem limite)
+     * @param maxDuckPrice preço máximo de um pato (nulo sem limite)
+     * @param maintenanceMode se o sistema está em manutenção
+     * @param values todos os valores, por chave
+     */
+    record Snapshot(
+            String version,
+            LocalDateTime loadedAt,
+            BigDecimal discountRate,
+            BigDecimal minDuckPrice,
+            BigDecimal maxDuckPrice,
+            boolean maintenanceMode,
+            Map<String, String> values) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.granja.service;
+
+import com.granja.dto.UniqueKeyFilterStatsDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Interface de serviço para os filtros de Bloom das chaves únicas de clientes e vendedores.
+ *
+ * <p>Antes de cada cadastro, a verificação de CPF ou matrícula repetidos consulta
+ * primeiro um filtro em memória. Quando o filtro responde "com certeza ausente", a
+ * consulta ao banco é dispensada; quando responde "talvez presente", o banco decide.
+ * Os filtros são montados na subida e recebem cada valor cadastrado.</p>
+ *
+ * <p>Valores gravados por outra instância ou durante a montagem podem faltar no
+ * filtro, então a restrição UNIQUE do banco continua sendo a garantia final e quem
+ * grava deve tratar a violação como valor repetido.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+public interface UniqueKeyFilterService {
+
+    /**
+     * Chaves únicas com filtro.
+     */
+    enum Key {
+        /** CPF do cliente */
+        CUSTOMER_CPF,
+        /** CPF do vendedor */
+        SELLER_CPF,
+        /** Matrícula do vendedor */
+        SELLER_EMPLOYEE_ID
+    }
+
+    /**
+     * Verifica se um valor já está cadastrado, consultando o banco apenas quando o
+     * filtro não descarta o valor.
+     *
+     * @param key a chave única
+     * @param value o valor verificado
+     * @param query a consulta de existência no banco
+     * @return se o valor já está cadastrado
+     */
+    boolean exists(Key key, String value, Predicate<String> query);
+
+    /**
+     * Verifica quais valores de um lote já estão cadastrados, com uma única consulta
+     * ao banco para os valores que o filtro não descarta.
+     *
+     * @param key a chave única
+     * @param values os valores verificados, sem repetição
+     * @param query a consulta que devolve os valores cadastrados entre os informados
+     * @return os valores já cadastrados
+     */
+    Set<String> existing(Key key, Collection<String> values, Function<Collection<String>, Collection<String>> query);
+
+    /**
+     * Inclui no filtro um valor cadastrado.
+     *
+     * @param key a chave única
+     * @param value o valor gravado
+     */
+    void record(Key key, String value);
+
+    /**
+     * @return as estatísticas de cada filtro
+     */
+    List<UniqueKeyFilterStatsDTO> getStats();
+
+    /**
+     * Remonta a partir do banco os filtros que ultrapassaram a capacidade.
+     *
+     * @return quantidade de filtros remontados
+     */
+    int rebuildSaturated();
+}
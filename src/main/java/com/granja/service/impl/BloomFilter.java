@@ -0,0 +1,135 @@
+package com.granja.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de textos, seguro para inclusões e consultas concorrentes.
+ *
+ * <p>Responde "com certeza ausente" ou "talvez presente": um texto incluído nunca é
+ * dado como ausente, e um texto nunca incluído é dado como presente com a taxa de
+ * falsos positivos calculada na criação. O tamanho em bits e a quantidade de funções
+ * de hash seguem as fórmulas usuais para a capacidade e a taxa pedidas; um limite de
+ * memória reduz os bits e aumenta a taxa.</p>
+ *
+ * <p>As posições vêm de um hash de 64 bits do texto em UTF-8, dividido em dois hashes
+ * combinados linearmente (h1 + i·h2). Os bits ficam em um {@link AtomicLongArray}, então
+ * inclusões concorrentes não se perdem e nenhuma consulta precisa de lock.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class BloomFilter {
+
+    private final long expectedInsertions;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLongArray bits;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param expectedInsertions a quantidade de textos prevista
+     * @param falsePositiveRate a taxa de falsos positivos desejada com essa quantidade
+     * @param maxBits o limite de tamanho do filtro, em bits
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate, long maxBits) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Capacidade do filtro deve ser maior que zero");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long words = (Math.max(64, Math.min(optimalBits, maxBits)) + 63) / 64;
+        this.expectedInsertions = expectedInsertions;
+        this.bitSize = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+    }
+
+    /**
+     * Inclui um texto no filtro.
+     *
+     * @param value o texto
+     */
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = position(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * @param value o texto
+     * @return {@code false} se o texto com certeza não foi incluído
+     */
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = position(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    long insertions() {
+        return insertions.get();
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return a taxa de falsos positivos esperada com os textos já incluídos
+     */
+    double estimatedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitSize), hashFunctions);
+    }
+
+    private long position(int combined) {
+        // Descarta o sinal antes do módulo, como faz a combinação de hashes usual
+        return (combined & Integer.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da mistura final do MurmurHash3, para espalhar os bits
+     * de textos curtos e parecidos como CPFs e matrículas.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
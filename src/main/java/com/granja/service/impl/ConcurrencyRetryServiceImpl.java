@@ -0,0 +1,107 @@
+package com.granja.service.impl;
+
+import com.granja.dto.ConcurrencyStatsDTO;
+import com.granja.exception.ConflictException;
+import com.granja.service.ConcurrencyRetryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Implementação do ConcurrencyRetryService com espera exponencial e aleatória.
+ *
+ * <p>São tratados como conflito a {@link OptimisticLockingFailureException}, lançada
+ * quando a versão de um pato mudou desde a leitura, e a {@link ConflictException},
+ * lançada quando um pato foi vendido entre a leitura e a gravação. A espera antes
+ * de cada nova tentativa é sorteada entre zero e um teto que dobra a cada conflito,
+ * para que as requisições em disputa não tentem de novo ao mesmo tempo.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+public class ConcurrencyRetryServiceImpl implements ConcurrencyRetryService {
+
+    @Value("${concurrency.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${concurrency.retry.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${concurrency.retry.max-backoff-ms:200}")
+    private long maxBackoffMs;
+
+    private final Map<String, EndpointCounters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T execute(String endpoint, Supplier<T> operation) {
+        EndpointCounters endpointCounters = counters.computeIfAbsent(endpoint, key -> new EndpointCounters());
+        endpointCounters.requests.increment();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException | ConflictException e) {
+                endpointCounters.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    endpointCounters.exhausted.increment();
+                    log.warn("Conflito em {} persistiu após {} tentativas: {}", endpoint, attempt, e.getMessage());
+                    throw e instanceof ConflictException conflict ? conflict
+                            : new ConflictException("The duck was changed by another request, please reload and try again",
+                                    "CONCURRENT_UPDATE");
+                }
+                log.debug("Conflito em {} na tentativa {}: {}", endpoint, attempt, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    @Override
+    public List<ConcurrencyStatsDTO> getStats() {
+        return counters.entrySet().stream()
+                .map(entry -> {
+                    long requests = entry.getValue().requests.sum();
+                    long conflicts = entry.getValue().conflicts.sum();
+                    return ConcurrencyStatsDTO.builder()
+                            .endpoint(entry.getKey())
+                            .requests(requests)
+                            .conflicts(conflicts)
+                            .exhausted(entry.getValue().exhausted.sum())
+                            .conflictRate(requests > 0 ? (double) conflicts / requests : 0.0)
+                            .build();
+                })
+                .sorted(Comparator.comparing(ConcurrencyStatsDTO::getConflicts).reversed()
+                        .thenComparing(ConcurrencyStatsDTO::getEndpoint))
+                .toList();
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Request interrupted while waiting to retry a conflicting update",
+                    "CONCURRENT_UPDATE");
+        }
+    }
+
+    private static final class EndpointCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,99 @@
+package com.granja.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Leitura em streaming das planilhas de importação de clientes, em CSV ou XLSX.
+ *
+ * <p>As linhas são entregues uma a uma ao consumidor, à medida que são lidas pelo
+ * {@link SpreadsheetReader}, sem carregar o arquivo inteiro.</p>
+ *
+ * <p>A primeira linha é o cabeçalho e deve conter as colunas {@code name}, {@code cpf},
+ * {@code phone} e {@code address}; {@code discountEligible} é opcional. A ordem das
+ * colunas é livre e colunas desconhecidas são ignoradas. Linhas em branco são ignoradas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class CustomerImportReader {
+
+    /**
+     * Linha de dados do arquivo, com os valores ainda como texto.
+     *
+     * @param number número da linha no arquivo, contando o cabeçalho como linha 1
+     * @param name o nome do cliente
+     * @param cpf o CPF do cliente
+     * @param phone o telefone do cliente
+     * @param address o endereço do cliente
+     * @param discountEligible a elegibilidade a desconto (nulo ou vazio quando não informada)
+     */
+    record Row(long number, String name, String cpf, String phone, String address, String discountEligible) {
+    }
+
+    private CustomerImportReader() {
+    }
+
+    /**
+     * Lê um arquivo CSV em UTF-8, separado por vírgula ou ponto e vírgula.
+     *
+     * @param input o conteúdo do arquivo
+     * @param consumer recebe cada linha de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o cabeçalho for inválido
+     */
+    static void readCsv(InputStream input, Consumer<Row> consumer) throws IOException {
+        SpreadsheetReader.readCsv(input, header -> Columns.of(header).handler(consumer));
+    }
+
+    /**
+     * Lê a primeira aba de um arquivo XLSX.
+     *
+     * @param file o arquivo XLSX
+     * @param consumer recebe cada linha de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o arquivo não for um XLSX válido ou o cabeçalho for inválido
+     */
+    static void readXlsx(File file, Consumer<Row> consumer) throws IOException {
+        SpreadsheetReader.readXlsx(file, header -> Columns.of(header).handler(consumer));
+    }
+
+    /**
+     * Posição de cada coluna conhecida, definida pelo cabeçalho.
+     */
+    private record Columns(int name, int cpf, int phone, int address, int discountEligible) {
+
+        static Columns of(List<String> header) {
+            int name = -1;
+            int cpf = -1;
+            int phone = -1;
+            int address = -1;
+            int discountEligible = -1;
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> name = i;
+                    case "cpf" -> cpf = i;
+                    case "phone" -> phone = i;
+                    case "address" -> address = i;
+                    case "discounteligible", "discount_eligible" -> discountEligible = i;
+                    default -> { }
+                }
+            }
+            if (name < 0 || cpf < 0 || phone < 0 || address < 0) {
+                throw new IllegalArgumentException("Header must contain the columns name, cpf, phone and address");
+            }
+            return new Columns(name, cpf, phone, address, discountEligible);
+        }
+
+        SpreadsheetReader.RowHandler handler(Consumer<Row> consumer) {
+            return (number, cells) -> consumer.accept(new Row(number, SpreadsheetReader.value(cells, name),
+                    SpreadsheetReader.value(cells, cpf), SpreadsheetReader.value(cells, phone),
+                    SpreadsheetReader.value(cells, address), SpreadsheetReader.value(cells, discountEligible)));
+        }
+    }
+}
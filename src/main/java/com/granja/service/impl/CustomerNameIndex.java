@@ -0,0 +1,479 @@
+package com.granja.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice invertido de trigramas sobre os nomes dos clientes.
+ *
+ * <p>Cada cliente ocupa uma posição nos vetores {@code ids}, {@code names} e
+ * {@code normalized}; o nome normalizado está em minúsculas, sem acentos e com
+ * qualquer caractere que não seja letra ou dígito trocado por espaço. Cada trigrama
+ * de cada palavra do nome aponta para a lista das posições que o contêm, e o primeiro
+ * trigrama de cada palavra também aponta para uma segunda lista, a de início de palavra.
+ * As posições só crescem, então as listas ficam ordenadas sem reordenação. O mapa de
+ * ID para posição usa vetores de tipos primitivos, sem objetos por cliente.</p>
+ *
+ * <p>Alterar um cliente ocupa uma posição nova e marca a antiga como removida; as
+ * posições removidas são ignoradas na busca e descartadas por {@link #compact()}.</p>
+ *
+ * <p>Não é thread-safe: o chamador protege o acesso.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class CustomerNameIndex {
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::score).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparingLong(Match::id);
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] normalized = new String[1024];
+    private int slots;
+    private int removed;
+
+    private final SlotMap slotById = new SlotMap();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Postings> wordStarts = new HashMap<>();
+
+    /**
+     * Inclui ou substitui o nome de um cliente.
+     *
+     * @param id o ID do cliente
+     * @param name o nome do cliente
+     */
+    void put(long id, String name) {
+        remove(id);
+        String folded = normalize(name);
+        if (slots == ids.length) {
+            ids = Arrays.copyOf(ids, slots * 2);
+            names = Arrays.copyOf(names, slots * 2);
+            normalized = Arrays.copyOf(normalized, slots * 2);
+        }
+        int slot = slots++;
+        ids[slot] = id;
+        names[slot] = name;
+        normalized[slot] = folded;
+        slotById.put(id, slot);
+        for (long trigram : trigrams(folded)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+        for (long trigram : wordStartTrigrams(folded)) {
+            wordStarts.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Retira um cliente do índice.
+     *
+     * @param id o ID do cliente
+     * @return se o cliente estava no índice
+     */
+    boolean remove(long id) {
+        int slot = slotById.remove(id);
+        if (slot < 0) {
+            return false;
+        }
+        names[slot] = null;
+        normalized[slot] = null;
+        removed++;
+        return true;
+    }
+
+    /**
+     * @return quantidade de clientes no índice
+     */
+    int size() {
+        return slotById.size();
+    }
+
+    /**
+     * @return se as posições removidas já superam as ocupadas
+     */
+    boolean needsCompaction() {
+        return removed > 1024 && removed > size();
+    }
+
+    /**
+     * @return um novo índice apenas com os clientes atuais
+     */
+    CustomerNameIndex compact() {
+        CustomerNameIndex compacted = new CustomerNameIndex();
+        for (int slot = 0; slot < slots; slot++) {
+            if (names[slot] != null) {
+                compacted.put(ids[slot], names[slot]);
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Busca os clientes cujo nome contém todas as palavras da consulta.
+     *
+     * <p>As palavras com três ou mais letras selecionam os candidatos pela interseção
+     * das listas de trigramas, percorrendo a menor; cada candidato é conferido pelo
+     * nome normalizado. Consultas só com palavras menores percorrem todos os nomes.
+     * O resultado é ordenado pela pontuação, pelo tamanho do nome e pelo ID.</p>
+     *
+     * <p>Primeiro são avaliados os nomes em que todas as palavras começam uma palavra
+     * do nome, pelas listas de início de palavra. Os demais têm ao menos uma palavra
+     * com pontuação 1 e só são percorridos se ainda puderem entrar no resultado, o que
+     * evita pontuar todos os clientes de um sobrenome comum.</p>
+     *
+     * @param query o texto buscado
+     * @param limit a quantidade máxima de clientes
+     * @return os clientes encontrados, do mais relevante para o menos relevante
+     */
+    List<Match> search(String query, int limit) {
+        String[] words = words(normalize(query));
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        List<Postings> startLists = new ArrayList<>();
+        for (String word : words) {
+            long[] wordTrigrams = trigrams(word);
+            for (long trigram : wordTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            if (wordTrigrams.length > 0) {
+                startLists.add(wordStarts.getOrDefault(firstTrigram(word), Postings.EMPTY));
+            }
+        }
+
+        // Fila com o pior resultado no topo, limitada a 'limit' clientes
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        if (lists.isEmpty()) {
+            for (int slot = 0; slot < slots; slot++) {
+                offer(best, slot, words, limit, null);
+            }
+        } else {
+            List<Postings> starting = new ArrayList<>(lists);
+            starting.addAll(startLists);
+            intersect(starting, slot -> offer(best, slot, words, limit, true));
+
+            // Fora da primeira passada, a pontuação máxima é 3 por palavra menos 2
+            int maxRemaining = 3 * words.length - 2;
+            if (best.size() < limit || best.peek().score() <= maxRemaining) {
+                intersect(lists, slot -> offer(best, slot, words, limit, false));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    /**
+     * Converte o texto para minúsculas, sem acentos, com palavras separadas por um espaço.
+     *
+     * @param text o texto original
+     * @return o texto normalizado
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                folded.append(' ');
+                space = true;
+            }
+        }
+        int length = folded.length();
+        return space && length > 0 ? folded.substring(0, length - 1) : folded.toString();
+    }
+
+    /**
+     * Pontua o nome e o coloca na fila se estiver entre os melhores.
+     *
+     * @param wordStarts {@code true} aceita só os nomes em que todas as palavras começam
+     *                   uma palavra do nome, {@code false} só os demais e nulo aceita todos
+     */
+    private void offer(PriorityQueue<Match> best, int slot, String[] words, int limit, Boolean wordStarts) {
+        String name = normalized[slot];
+        if (name == null) {
+            return;
+        }
+        int score = 0;
+        boolean allWordStarts = true;
+        for (String word : words) {
+            int wordScore = score(name, word);
+            if (wordScore == 0) {
+                return;
+            }
+            allWordStarts &= wordScore >= 2;
+            score += wordScore;
+        }
+        if (wordStarts != null && wordStarts != allWordStarts) {
+            return;
+        }
+        if (best.size() == limit && !ranksBefore(score, names[slot].length(), ids[slot], best.peek())) {
+            return;
+        }
+        best.add(new Match(ids[slot], names[slot], score));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static boolean ranksBefore(int score, int nameLength, long id, Match worst) {
+        if (score != worst.score()) {
+            return score > worst.score();
+        }
+        if (nameLength != worst.name().length()) {
+            return nameLength < worst.name().length();
+        }
+        return id < worst.id();
+    }
+
+    /**
+     * Pontua uma palavra da consulta: 3 quando é uma palavra inteira do nome, 2 quando
+     * começa uma palavra do nome, 1 quando aparece no meio e 0 quando não aparece.
+     */
+    private static int score(String name, String word) {
+        int best = 0;
+        for (int at = name.indexOf(word); at >= 0 && best < 3; at = name.indexOf(word, at + 1)) {
+            if (at == 0 || name.charAt(at - 1) == ' ') {
+                int end = at + word.length();
+                best = Math.max(best, end == name.length() || name.charAt(end) == ' ' ? 3 : 2);
+            } else {
+                best = Math.max(best, 1);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Percorre a menor lista e avança um cursor em cada uma das demais, entregando as
+     * posições presentes em todas.
+     */
+    private static void intersect(List<Postings> lists, IntConsumer action) {
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings smallest = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int slot = smallest.slots[i];
+            for (int l = 1; l < lists.size(); l++) {
+                Postings list = lists.get(l);
+                cursors[l] = list.seek(cursors[l], slot);
+                if (cursors[l] == list.size) {
+                    return;
+                }
+                if (list.slots[cursors[l]] != slot) {
+                    continue candidates;
+                }
+            }
+            action.accept(slot);
+        }
+    }
+
+    private static String[] words(String folded) {
+        return folded.isEmpty() ? new String[0] : Arrays.stream(folded.split(" ")).distinct().toArray(String[]::new);
+    }
+
+    /**
+     * @return os trigramas que iniciam as palavras do texto
+     */
+    private static long[] wordStartTrigrams(String folded) {
+        long[] trigrams = new long[folded.length() / 2 + 1];
+        int count = 0;
+        for (int start = 0; start < folded.length(); ) {
+            int end = folded.indexOf(' ', start);
+            end = end < 0 ? folded.length() : end;
+            if (end - start >= 3) {
+                trigrams[count++] = firstTrigram(folded.substring(start, start + 3));
+            }
+            start = end + 1;
+        }
+        return Arrays.copyOf(trigrams, count);
+    }
+
+    private static long firstTrigram(String word) {
+        return ((long) word.charAt(0) << 32) | ((long) word.charAt(1) << 16) | word.charAt(2);
+    }
+
+    /**
+     * @return os trigramas distintos das palavras do texto, cada um com três caracteres em um long
+     */
+    private static long[] trigrams(String folded) {
+        long[] trigrams = new long[Math.max(0, folded.length() - 2)];
+        int count = 0;
+        for (int i = 0; i + 2 < folded.length(); i++) {
+            char a = folded.charAt(i);
+            char b = folded.charAt(i + 1);
+            char c = folded.charAt(i + 2);
+            if (a != ' ' && b != ' ' && c != ' ') {
+                trigrams[count++] = ((long) a << 32) | ((long) b << 16) | c;
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Cliente encontrado na busca.
+     *
+     * @param id o ID do cliente
+     * @param name o nome original do cliente
+     * @param score a pontuação da busca
+     */
+    record Match(long id, String name, int score) {
+    }
+
+    /**
+     * Posições que contêm um trigrama, em ordem crescente.
+     */
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings();
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Busca exponencial a partir de {@code from}.
+         *
+         * @return a primeira posição a partir de {@code from} com valor maior ou igual a
+         *         {@code slot}, ou {@code size} quando não existe
+         */
+        int seek(int from, int slot) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(slots, low, high, slot);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Mapa de ID do cliente para posição, com endereçamento aberto e sondagem linear.
+     */
+    private static final class SlotMap {
+
+        private long[] keys = new long[2048];
+        private int[] values = filled(2048);
+        private int size;
+
+        void put(long key, int value) {
+            if (size * 2 >= keys.length) {
+                resize();
+            }
+            int i = index(key, keys.length);
+            while (values[i] >= 0 && keys[i] != key) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            if (values[i] < 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        /**
+         * @return a posição removida, ou -1 quando o ID não estava no mapa
+         */
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = index(key, keys.length);
+            while (values[i] >= 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+            if (removed < 0) {
+                return -1;
+            }
+            // Puxa para trás as chaves seguintes do mesmo agrupamento, sem deixar lápides
+            int hole = i;
+            for (int next = (i + 1) & mask; values[next] >= 0; next = (next + 1) & mask) {
+                int home = index(keys[next], keys.length);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            values[hole] = -1;
+            size--;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = filled(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] >= 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int capacity) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+        }
+
+        private static int[] filled(int capacity) {
+            int[] values = new int[capacity];
+            Arrays.fill(values, -1);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.granja.service.impl;
+
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Sale;
+import com.granja.exception.BusinessException;
+import com.granja.repository.CustomerPurchaseSummaryRepository;
+import com.granja.repository.projection.CustomerPurchaseTotals;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do CustomerPurchaseSummaryService sobre a tabela customer_purchase_summary.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerPurchaseSummaryServiceImpl implements CustomerPurchaseSummaryService {
+
+    private final CustomerPurchaseSummaryRepository customerPurchaseSummaryRepository;
+    private final EntityCacheService entityCacheService;
+
+    @Value("${customers.purchase-summary.top-default-limit:10}")
+    private int topDefaultLimit;
+
+    @Value("${customers.purchase-summary.top-max-limit:100}")
+    private int topMaxLimit;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSale(Sale sale) {
+        customerPurchaseSummaryRepository.addPurchases(sale.getCustomer().getId(), 1, sale.getFinalPrice(),
+                discountOf(sale), sale.getSaleDate(), sale.getSaleDate());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSales(List<Sale> sales) {
+        Map<Long, List<Sale>> salesByCustomer = sales.stream()
+                .collect(Collectors.groupingBy(sale -> sale.getCustomer().getId(), TreeMap::new, Collectors.toList()));
+
+        // Clientes em ordem de ID para que lotes concorrentes bloqueiem as linhas na mesma ordem
+        salesByCustomer.forEach((customerId, customerSales) -> {
+            BigDecimal amount = customerSales.stream()
+                    .map(Sale::getFinalPrice)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal discount = customerSales.stream()
+                    .map(this::discountOf)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            LocalDateTime firstPurchaseDate = customerSales.stream()
+                    .map(Sale::getSaleDate)
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            LocalDateTime lastPurchaseDate = customerSales.stream()
+                    .map(Sale::getSaleDate)
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+            customerPurchaseSummaryRepository.addPurchases(customerId, customerSales.size(), amount, discount,
+                    firstPurchaseDate, lastPurchaseDate);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSale(Sale sale) {
+        int updated = customerPurchaseSummaryRepository.removePurchase(sale.getCustomer().getId(),
+                sale.getFinalPrice(), discountOf(sale));
+        if (updated == 0) {
+            // Sem linha de resumo para o cliente: a próxima reconciliação corrige
+            log.warn("Resumo de compras do cliente {} não encontrado ao remover a venda {}",
+                    sale.getCustomer().getId(), sale.getId());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerPurchaseSummaryDTO getSummary(Long customerId) {
+        return customerPurchaseSummaryRepository.findTotals(customerId)
+                .map(this::mapToDTO)
+                .orElseGet(() -> {
+                    // Sem linha de resumo: o cliente existe e ainda não comprou, ou não existe
+                    Customer customer = entityCacheService.findCustomer(customerId)
+                            .orElseThrow(() -> new BusinessException("Customer not found"));
+                    return CustomerPurchaseSummaryDTO.builder()
+                            .customerId(customer.getId())
+                            .customerName(customer.getName())
+                            .purchaseCount(0L)
+                            .lifetimeSpend(BigDecimal.ZERO)
+                            .totalDiscount(BigDecimal.ZERO)
+                            .averageTicket(BigDecimal.ZERO)
+                            .build();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerPurchaseSummaryDTO> getTopCustomers(Integer limit) {
+        int max = limit != null ? limit : topDefaultLimit;
+        if (max < 1 || max > topMaxLimit) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + topMaxLimit);
+        }
+        return customerPurchaseSummaryRepository.findTop(Limit.of(max)).stream()
+                .map(this::mapToDTO)
+                .toList();
+    }
+
+    /**
+     * Reconcilia diariamente o resumo com as vendas, corrigindo divergências
+     * causadas por alterações feitas diretamente no banco.
+     */
+    @Override
+    @Scheduled(cron = "${customers.purchase-summary.reconcile-cron:0 45 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        customerPurchaseSummaryRepository.lockForReconcile();
+        int customers = customerPurchaseSummaryRepository.rebuildFromSales();
+        int removed = customerPurchaseSummaryRepository.deleteWithoutSales();
+        log.info("Resumo de compras reconciliado: {} clientes com compras, {} linhas sem vendas removidas",
+                customers, removed);
+        return customers;
+    }
+
+    private BigDecimal discountOf(Sale sale) {
+        return sale.getDiscountAmount() != null ? sale.getDiscountAmount() : BigDecimal.ZERO;
+    }
+
+    private CustomerPurchaseSummaryDTO mapToDTO(CustomerPurchaseTotals totals) {
+        long count = totals.getPurchaseCount();
+        return CustomerPurchaseSummaryDTO.builder()
+                .customerId(totals.getCustomerId())
+                .customerName(totals.getCustomerName())
+                .purchaseCount(count)
+                .lifetimeSpend(totals.getLifetimeSpend())
+                .totalDiscount(totals.getTotalDiscount())
+                .averageTicket(count > 0
+                        ? totals.getLifetimeSpend().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO)
+                .firstPurchaseDate(totals.getFirstPurchaseDate())
+                .lastPurchaseDate(totals.getLastPurchaseDate())
+                .build();
+    }
+}
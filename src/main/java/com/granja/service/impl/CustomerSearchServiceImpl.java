@@ -0,0 +1,125 @@
+package com.granja.service.impl;
+
+import com.granja.dto.CustomerSearchResultDTO;
+import com.granja.entity.Customer;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.projection.CustomerNameEntry;
+import com.granja.service.CustomerSearchService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementação do CustomerSearchService com um {@link CustomerNameIndex}.
+ *
+ * <p>As alterações usam o lock de escrita e as buscas o de leitura. A recarga monta
+ * um índice novo fora do lock e o troca de uma vez; quando as remoções acumuladas
+ * superam os clientes ativos, o índice é compactado na própria alteração.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerSearchServiceImpl implements CustomerSearchService {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${customers.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${customers.search.max-limit:100}")
+    private int maxLimit;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private CustomerNameIndex index = new CustomerNameIndex();
+
+    /**
+     * Carrega o índice antes de a aplicação começar a receber requisições.
+     */
+    @PostConstruct
+    public void start() {
+        reload();
+    }
+
+    @Override
+    public void recordCustomer(Customer customer) {
+        long id = customer.getId();
+        String name = customer.getName();
+        TransactionHooks.afterCommit(() -> update(current -> current.put(id, name)));
+    }
+
+    @Override
+    public void removeCustomer(Long customerId) {
+        TransactionHooks.afterCommit(() -> update(current -> current.remove(customerId)));
+    }
+
+    @Override
+    public List<CustomerSearchResultDTO> search(String query, Integer limit) {
+        if (query == null || CustomerNameIndex.normalize(query).isEmpty()) {
+            throw new IllegalArgumentException("Informe o nome a ser buscado");
+        }
+        int max = limit != null ? limit : defaultLimit;
+        if (max < 1 || max > maxLimit) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + maxLimit);
+        }
+
+        List<CustomerNameIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(query, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.stream()
+                .map(match -> CustomerSearchResultDTO.builder()
+                        .id(match.id())
+                        .name(match.name())
+                        .score(match.score())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public int reload() {
+        CustomerNameIndex loaded = new CustomerNameIndex();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CustomerNameEntry> customers = customerRepository.streamNames()) {
+                customers.forEach(customer -> loaded.put(customer.getId(), customer.getName()));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de busca de clientes carregado com {} clientes", loaded.size());
+        return loaded.size();
+    }
+
+    private void update(Consumer<CustomerNameIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (index.needsCompaction()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.granja.service.impl;
 
 import com.granja.dto.CustomerDTO;
+import com.granja.dto.CustomerImportResultDTO;
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.dto.CustomerSearchResultDTO;
 import com.granja.entity.Customer;
 import com.granja.exception.BusinessException;
 import com.granja.repository.CustomerRepository;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.CustomerSearchService;
 import com.granja.service.CustomerService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.UniqueKeyFilterService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of CustomerService for managing customer operations.
@@ -24,14 +52,35 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
     
+    /** Sizes of the customers.name, cpf and phone columns */
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_CPF_LENGTH = 14;
+    private static final int MAX_PHONE_LENGTH = 20;
+    
     private final CustomerRepository customerRepository;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final EntityCacheService entityCacheService;
+    private final CustomerSearchService customerSearchService;
+    private final UniqueKeyFilterService uniqueKeyFilterService;
+    private final CustomerPurchaseSummaryService customerPurchaseSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${customers.import.chunk-size:1000}")
+    private int importChunkSize;
+    
+    @Value("${customers.import.max-errors:1000}")
+    private int importMaxErrors;
     
     @Override
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
         log.info("Creating customer: {}", customerDTO);
         
-        // Check if CPF already exists
-        if (customerRepository.existsByCpf(customerDTO.getCpf())) {
+        // Check if CPF already exists (skipped when the Bloom filter rules it out)
+        if (uniqueKeyFilterService.exists(UniqueKeyFilterService.Key.CUSTOMER_CPF, customerDTO.getCpf(),
+                customerRepository::existsByCpf)) {
             throw new BusinessException("CPF already registered");
         }
         
@@ -44,7 +93,18 @@ public class CustomerServiceImpl implements CustomerService {
                 .registrationDate(LocalDateTime.now())
                 .build();
         
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            // The unique constraint is the final guard for CPFs missing from the filter
+            if (violates(e, "cpf")) {
+                throw new BusinessException("CPF already registered");
+            }
+            throw e;
+        }
+        uniqueKeyFilterService.record(UniqueKeyFilterService.Key.CUSTOMER_CPF, savedCustomer.getCpf());
+        customerSearchService.recordCustomer(savedCustomer);
         
         return CustomerDTO.builder()
                 .id(savedCustomer.getId())
@@ -69,6 +129,8 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setDiscountEligible(customerDTO.getDiscountEligible());
         
         Customer savedCustomer = customerRepository.save(customer);
+        entityCacheService.evictCustomer(id);
+        customerSearchService.recordCustomer(savedCustomer);
         
         return CustomerDTO.builder()
                 .id(savedCustomer.getId())
@@ -83,7 +145,7 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public CustomerDTO getCustomerById(Long id) {
         log.info("Fetching customer by id: {}", id);
-        Customer customer = customerRepository.findById(id)
+        Customer customer = entityCacheService.findCustomer(id)
                 .orElseThrow(() -> new BusinessException("Customer not found"));
         
         return CustomerDTO.builder()
@@ -104,6 +166,53 @@ public class CustomerServiceImpl implements CustomerService {
                 .toList();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllCustomers(OutputStream outputStream) throws IOException {
+        log.info("Streaming all customers as NDJSON");
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            long total = ndjsonStreamWriter.write(customers, this::mapToDTO, outputStream);
+            log.info("Streamed {} customers", total);
+        }
+    }
+    
+    /**
+     * Imports customers reading the file as a stream and saving in chunks.
+     * 
+     * <p>Each chunk is saved and committed on its own and the persistence context is
+     * cleared afterwards, so memory does not grow with the file size. CPFs repeated
+     * within a chunk are caught while reading it; repeats of earlier chunks are already
+     * committed and are found by the chunk's lookup, like CPFs registered before the
+     * import. An XLSX file is copied to a temporary file, from which POI reads the sheet
+     * without unzipping it in memory.</p>
+     */
+    @Override
+    public CustomerImportResultDTO importCustomers(String fileName, InputStream input) throws IOException {
+        log.info("Importing customers from file {}", fileName);
+        
+        CustomerImport customerImport = new CustomerImport();
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            CustomerImportReader.readCsv(input, customerImport::add);
+        } else if (name.endsWith(".xlsx")) {
+            Path file = Files.createTempFile("customer-import-", ".xlsx");
+            try {
+                Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+                CustomerImportReader.readXlsx(file.toFile(), customerImport::add);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported file format: upload a CSV or XLSX file");
+        }
+        customerImport.flush();
+        
+        CustomerImportResultDTO result = customerImport.result();
+        log.info("Import of {} finished: {} customers registered, {} rows rejected ({} duplicated CPFs)",
+                fileName, result.getSucceeded(), result.getFailed(), result.getDuplicates());
+        return result;
+    }
+    
     @Override
     public List<CustomerDTO> getCustomersByDiscountEligibility(Boolean discountEligible) {
         log.info("Fetching customers by discount eligibility: {}", discountEligible);
@@ -112,12 +221,77 @@ public class CustomerServiceImpl implements CustomerService {
                 .toList();
     }
     
+    @Override
+    public List<CustomerSearchResultDTO> searchCustomers(String query, Integer limit) {
+        log.info("Searching customers by name: {}", query);
+        return customerSearchService.search(query, limit);
+    }
+    
+    @Override
+    public CustomerPurchaseSummaryDTO getPurchaseSummary(Long id) {
+        log.info("Fetching purchase summary of customer: {}", id);
+        return customerPurchaseSummaryService.getSummary(id);
+    }
+    
+    @Override
+    public List<CustomerPurchaseSummaryDTO> getTopCustomers(Integer limit) {
+        log.info("Fetching top {} customers by lifetime spend", limit);
+        return customerPurchaseSummaryService.getTopCustomers(limit);
+    }
+    
     @Override
     public void deleteCustomer(Long id) {
         log.info("Deleting customer: {}", id);
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Customer not found"));
         customerRepository.delete(customer);
+        entityCacheService.evictCustomer(id);
+        customerSearchService.removeCustomer(id);
+    }
+    
+    /**
+     * Converts an import file row into a customer, with the rules of the single create request.
+     * 
+     * @param row the row read from the file
+     * @return the customer ready to be saved
+     * @throws IllegalArgumentException if the row is invalid
+     */
+    private Customer buildCustomerFromRow(CustomerImportReader.Row row) {
+        return Customer.builder()
+                .name(requireText(row.name(), "Customer name", MAX_NAME_LENGTH))
+                .cpf(requireText(row.cpf(), "CPF", MAX_CPF_LENGTH))
+                .phone(requireText(row.phone(), "Phone number", MAX_PHONE_LENGTH))
+                .address(requireText(row.address(), "Address", Integer.MAX_VALUE))
+                .discountEligible(parseBoolean(row.discountEligible()))
+                .registrationDate(LocalDateTime.now())
+                .build();
+    }
+    
+    private String requireText(String value, String field, int maxLength) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " must have at most " + maxLength + " characters");
+        }
+        return value;
+    }
+    
+    private Boolean parseBoolean(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        // Also accepts the Portuguese answers common in spreadsheets filled in by hand
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "sim", "s" -> true;
+            case "false", "0", "no", "não", "nao", "n" -> false;
+            default -> throw new IllegalArgumentException("Invalid discount eligibility: " + value);
+        };
+    }
+    
+    private boolean violates(DataIntegrityViolationException e, String column) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(column);
     }
     
     private CustomerDTO mapToDTO(Customer customer) {
@@ -130,4 +304,123 @@ public class CustomerServiceImpl implements CustomerService {
                 .discountEligible(customer.getDiscountEligible())
                 .build();
     }
+    
+    /**
+     * State of an import: the pending chunk, keyed by CPF, and the accumulated totals and errors.
+     */
+    private final class CustomerImport {
+        
+        private final Map<String, PendingCustomer> pending = new LinkedHashMap<>();
+        private final List<CustomerImportResultDTO.RowError> errors = new ArrayList<>();
+        private long total;
+        private long succeeded;
+        private long failed;
+        private long duplicates;
+        
+        void add(CustomerImportReader.Row row) {
+            total++;
+            Customer customer;
+            try {
+                customer = buildCustomerFromRow(row);
+            } catch (IllegalArgumentException e) {
+                reject(row.number(), e.getMessage());
+                return;
+            }
+            PendingCustomer first = pending.putIfAbsent(customer.getCpf(), new PendingCustomer(row.number(), customer));
+            if (first != null) {
+                duplicates++;
+                reject(row.number(), "CPF repeated in the file (row " + first.row() + ")");
+                return;
+            }
+            if (pending.size() >= importChunkSize) {
+                flush();
+            }
+        }
+        
+        /**
+         * Saves the pending chunk in its own transaction.
+         * 
+         * <p>A CPF registered by another request between the lookup and the commit makes
+         * the database reject the chunk; it is then checked against the database, skipping
+         * the CPF filter that missed it, and saved once more. If the database rejects it
+         * again, every row of the chunk is rejected and the import goes on with the next
+         * chunk.</p>
+         */
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                save(uniqueKeyFilterService.existing(UniqueKeyFilterService.Key.CUSTOMER_CPF,
+                        pending.keySet(), customerRepository::findExistingCpfs));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Chunk of {} imported customers hit a CPF registered concurrently, retrying", pending.size());
+                entityManager.clear();
+                // The failed attempt assigned ids; new entities are needed so they are inserted, not merged
+                pending.values().forEach(entry -> entry.customer().setId(null));
+                try {
+                    save(new HashSet<>(customerRepository.findExistingCpfs(pending.keySet())));
+                } catch (DataAccessException | TransactionException retryError) {
+                    rejectPending(retryError);
+                }
+            } catch (DataAccessException | TransactionException e) {
+                rejectPending(e);
+            } finally {
+                pending.clear();
+                entityManager.clear();
+            }
+        }
+        
+        /**
+         * Drops the already registered CPFs, found with one lookup for the whole chunk, and saves the others.
+         */
+        private void save(Set<String> registered) {
+            for (String cpf : registered) {
+                duplicates++;
+                reject(pending.remove(cpf).row(), "CPF already registered");
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            
+            List<Customer> customers = pending.values().stream().map(PendingCustomer::customer).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                // INSERTs are grouped into JDBC batches (hibernate.jdbc.batch_size)
+                customerRepository.saveAll(customers);
+                customers.forEach(customerSearchService::recordCustomer);
+            });
+            customers.forEach(customer ->
+                    uniqueKeyFilterService.record(UniqueKeyFilterService.Key.CUSTOMER_CPF, customer.getCpf()));
+            succeeded += customers.size();
+        }
+        
+        private void rejectPending(RuntimeException e) {
+            log.error("Failed to save chunk of {} imported customers", pending.size(), e);
+            pending.values().forEach(entry -> reject(entry.row(), "Failed to save the row's chunk"));
+        }
+        
+        private void reject(long row, String error) {
+            failed++;
+            if (errors.size() < importMaxErrors) {
+                errors.add(CustomerImportResultDTO.RowError.builder().row(row).error(error).build());
+            }
+        }
+        
+        CustomerImportResultDTO result() {
+            return CustomerImportResultDTO.builder()
+                    .total(total)
+                    .succeeded(succeeded)
+                    .failed(failed)
+                    .duplicates(duplicates)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+    
+    /**
+     * Customer waiting to be saved and its row in the file.
+     */
+    private record PendingCustomer(long row, Customer customer) {
+    }
 }
@@ -0,0 +1,246 @@
+package com.granja.service.impl;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Textos compartilhados de um XLSX guardados em arquivo temporário.
+ *
+ * <p>O {@code ReadOnlySharedStringsTable} do POI mantém todos os textos em memória; numa
+ * planilha com um milhão de nomes distintos isso passa de uma centena de MB. Aqui os
+ * textos são lidos uma vez, em streaming, e gravados em disco junto com um índice de
+ * posições de tamanho fixo, de modo que cada consulta lê só o texto pedido. Os textos
+ * consultados por último ficam num cache pequeno, já que colunas com poucos valores
+ * repetem sempre os mesmos índices.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class DiskSharedStrings extends DefaultHandler implements SharedStrings, Closeable {
+
+    /** Quantidade de textos mantidos em memória */
+    private static final int CACHE_SIZE = 1024;
+
+    private final Path data;
+    private final Path index;
+    private final DataOutputStream dataOutput;
+    private final DataOutputStream indexOutput;
+    private final StringBuilder text = new StringBuilder();
+    private final Map<Integer, String> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final ByteBuffer slot = ByteBuffer.allocate(Long.BYTES);
+
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+    private long position;
+    private int count = -1;
+    private int uniqueCount;
+    private boolean inItem;
+    private boolean inText;
+    private boolean inPhonetic;
+
+    private DiskSharedStrings() throws IOException {
+        data = Files.createTempFile("xlsx-strings-", ".bin");
+        index = Files.createTempFile("xlsx-strings-", ".idx");
+        dataOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(data), 64 * 1024));
+        indexOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index), 64 * 1024));
+    }
+
+    /**
+     * Lê os textos compartilhados do pacote para os arquivos temporários.
+     *
+     * <p>Os trechos de pronúncia (phonetic runs) são ignorados, como no POI por padrão.</p>
+     *
+     * @param pkg o pacote XLSX aberto
+     * @return os textos, que devem ser fechados para apagar os arquivos temporários
+     * @throws IOException se a leitura ou a gravação em disco falhar
+     * @throws SAXException se o XML dos textos for inválido
+     */
+    static DiskSharedStrings load(OPCPackage pkg) throws IOException, SAXException, ParserConfigurationException {
+        DiskSharedStrings strings = new DiskSharedStrings();
+        try {
+            List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+            if (!parts.isEmpty()) {
+                try (InputStream input = parts.get(0).getInputStream()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(strings);
+                    parser.parse(new InputSource(input));
+                } catch (SAXException e) {
+                    // Falha de disco durante a leitura chega embrulhada pelo parser
+                    if (e.getException() instanceof IOException io) {
+                        throw io;
+                    }
+                    throw e;
+                }
+            }
+            strings.finishWriting();
+            return strings;
+        } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+            strings.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        if (idx < 0 || idx >= uniqueCount) {
+            throw new IllegalArgumentException("Texto compartilhado inexistente na planilha: " + idx);
+        }
+        String value = cache.get(idx);
+        if (value == null) {
+            try {
+                value = read(idx);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            cache.put(idx, value);
+        }
+        return new XSSFRichTextString(value);
+    }
+
+    @Override
+    public int getCount() {
+        return count >= 0 ? count : uniqueCount;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * Fecha os arquivos temporários e os apaga.
+     */
+    @Override
+    public void close() throws IOException {
+        try (dataOutput; indexOutput; FileChannel d = dataChannel; FileChannel i = indexChannel) {
+            cache.clear();
+        } finally {
+            Files.deleteIfExists(data);
+            Files.deleteIfExists(index);
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (name(localName, qName)) {
+            case "sst" -> {
+                String total = attributes.getValue("count");
+                if (total != null) {
+                    count = Integer.parseInt(total);
+                }
+            }
+            case "si" -> {
+                inItem = true;
+                text.setLength(0);
+            }
+            case "rPh" -> inPhonetic = true;
+            case "t" -> inText = inItem && !inPhonetic;
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (name(localName, qName)) {
+            case "si" -> {
+                inItem = false;
+                try {
+                    write(text);
+                } catch (IOException e) {
+                    throw new SAXException(e);
+                }
+            }
+            case "rPh" -> inPhonetic = false;
+            case "t" -> inText = false;
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inText) {
+            text.append(ch, start, length);
+        }
+    }
+
+    private static String name(String localName, String qName) {
+        return localName != null && !localName.isEmpty() ? localName : qName.substring(qName.indexOf(':') + 1);
+    }
+
+    /**
+     * Grava o texto no fim do arquivo de dados e a sua posição no índice.
+     */
+    private void write(CharSequence value) throws IOException {
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        indexOutput.writeLong(position);
+        dataOutput.writeInt(bytes.length);
+        dataOutput.write(bytes);
+        position += Integer.BYTES + bytes.length;
+        uniqueCount++;
+    }
+
+    private void finishWriting() throws IOException {
+        dataOutput.close();
+        indexOutput.close();
+        dataChannel = FileChannel.open(data, StandardOpenOption.READ);
+        indexChannel = FileChannel.open(index, StandardOpenOption.READ);
+    }
+
+    private String read(int idx) throws IOException {
+        slot.clear();
+        readFully(indexChannel, slot, (long) idx * Long.BYTES);
+        long offset = slot.getLong(0);
+        slot.clear().limit(Integer.BYTES);
+        readFully(dataChannel, slot, offset);
+        ByteBuffer bytes = ByteBuffer.allocate(slot.getInt(0));
+        readFully(dataChannel, bytes, offset + Integer.BYTES);
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long from) throws IOException {
+        long at = from;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                throw new EOFException("Arquivo temporário de textos compartilhados incompleto");
+            }
+            at += read;
+        }
+    }
+}
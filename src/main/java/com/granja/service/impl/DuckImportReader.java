@@ -0,0 +1,92 @@
+package com.granja.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Leitura em streaming das planilhas de importação de patos, em CSV ou XLSX.
+ *
+ * <p>As linhas são entregues uma a uma ao consumidor, à medida que são lidas pelo
+ * {@link SpreadsheetReader}, sem carregar o arquivo inteiro.</p>
+ *
+ * <p>A primeira linha é o cabeçalho e deve conter as colunas {@code name} e
+ * {@code price}; {@code motherId} é opcional. A ordem das colunas é livre e colunas
+ * desconhecidas são ignoradas. Linhas em branco são ignoradas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class DuckImportReader {
+
+    /**
+     * Linha de dados do arquivo, com os valores ainda como texto.
+     *
+     * @param number número da linha no arquivo, contando o cabeçalho como linha 1
+     * @param name o nome do pato
+     * @param price o preço do pato
+     * @param motherId o ID da mãe (nulo ou vazio quando não informado)
+     */
+    record Row(long number, String name, String price, String motherId) {
+    }
+
+    private DuckImportReader() {
+    }
+
+    /**
+     * Lê um arquivo CSV em UTF-8, separado por vírgula ou ponto e vírgula.
+     *
+     * @param input o conteúdo do arquivo
+     * @param consumer recebe cada linha de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o cabeçalho for inválido
+     */
+    static void readCsv(InputStream input, Consumer<Row> consumer) throws IOException {
+        SpreadsheetReader.readCsv(input, header -> Columns.of(header).handler(consumer));
+    }
+
+    /**
+     * Lê a primeira aba de um arquivo XLSX.
+     *
+     * @param file o arquivo XLSX
+     * @param consumer recebe cada linha de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o arquivo não for um XLSX válido ou o cabeçalho for inválido
+     */
+    static void readXlsx(File file, Consumer<Row> consumer) throws IOException {
+        SpreadsheetReader.readXlsx(file, header -> Columns.of(header).handler(consumer));
+    }
+
+    /**
+     * Posição de cada coluna conhecida, definida pelo cabeçalho.
+     */
+    private record Columns(int name, int price, int motherId) {
+
+        static Columns of(List<String> header) {
+            int name = -1;
+            int price = -1;
+            int motherId = -1;
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> name = i;
+                    case "price" -> price = i;
+                    case "motherid", "mother_id" -> motherId = i;
+                    default -> { }
+                }
+            }
+            if (name < 0 || price < 0) {
+                throw new IllegalArgumentException("Cabeçalho deve conter as colunas name e price");
+            }
+            return new Columns(name, price, motherId);
+        }
+
+        SpreadsheetReader.RowHandler handler(Consumer<Row> consumer) {
+            return (number, cells) -> consumer.accept(new Row(number, SpreadsheetReader.value(cells, name),
+                    SpreadsheetReader.value(cells, price), SpreadsheetReader.value(cells, motherId)));
+        }
+    }
+}
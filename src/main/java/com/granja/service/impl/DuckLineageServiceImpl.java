@@ -0,0 +1,238 @@
+package com.granja.service.impl;
+
+import com.granja.dto.DuckLineageDTO;
+import com.granja.dto.DuckOffspringDTO;
+import com.granja.entity.Duck;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.projection.DuckLineageNode;
+import com.granja.repository.projection.DuckParentLink;
+import com.granja.service.DuckLineageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementação do DuckLineageService com CTE recursiva e índice de genealogia opcional.
+ *
+ * <p>Sem o índice, cada consulta é uma única CTE recursiva no banco, limitada em
+ * gerações e em linhas. Com {@code lineage.index.enabled}, o grafo de mães e filhotes
+ * é mantido em um {@link DuckGenealogyIndex} e o banco carrega apenas os patos
+ * encontrados. Qualquer alteração de linhagem marca o índice como desatualizado
+ * após o commit; até a próxima reconstrução as consultas voltam para a CTE.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuckLineageServiceImpl implements DuckLineageService {
+
+    private static final Comparator<DuckLineageDTO.Node> LINEAGE_ORDER = Comparator
+            .comparing(DuckLineageDTO.Node::getGeneration)
+            .thenComparing(DuckLineageDTO.Node::getId);
+
+    private final DuckRepository duckRepository;
+
+    @Value("${lineage.max-depth:50}")
+    private int maxDepth;
+
+    @Value("${lineage.max-results:10000}")
+    private int maxResults;
+
+    @Value("${lineage.index.enabled:false}")
+    private boolean indexEnabled;
+
+    private volatile DuckGenealogyIndex index;
+    private volatile boolean indexStale = true;
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuckLineageDTO getAncestors(Long duckId, int depth) {
+        log.debug("Recuperando ancestrais do pato {} até {} gerações", duckId, depth);
+
+        validateDepth(depth);
+        DuckGenealogyIndex current = currentIndex();
+        if (current == null) {
+            return fromNodes(duckId, depth, duckRepository.findAncestors(duckId, depth, maxResults + 2));
+        }
+        requireDuck(current.contains(duckId), duckId);
+        return fromIndex(duckId, depth, current.ancestors(duckId, depth, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuckLineageDTO getDescendants(Long duckId, int depth) {
+        log.debug("Recuperando descendentes do pato {} até {} gerações", duckId, depth);
+
+        validateDepth(depth);
+        DuckGenealogyIndex current = currentIndex();
+        if (current == null) {
+            return fromNodes(duckId, depth, duckRepository.findDescendants(duckId, depth, maxResults + 2));
+        }
+        requireDuck(current.contains(duckId), duckId);
+        return fromIndex(duckId, depth, current.descendants(duckId, depth, maxResults));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuckOffspringDTO getOffspringCount(Long duckId, int depth) {
+        log.debug("Contando descendentes do pato {} até {} gerações", duckId, depth);
+
+        validateDepth(depth);
+        DuckGenealogyIndex current = currentIndex();
+        DuckOffspringDTO.DuckOffspringDTOBuilder offspring = DuckOffspringDTO.builder().duckId(duckId).depth(depth);
+        if (current == null) {
+            requireDuck(duckRepository.existsById(duckId), duckId);
+            return offspring
+                    .children(duckRepository.countByMotherId(duckId))
+                    .descendants(duckRepository.countDescendants(duckId, depth))
+                    .build();
+        }
+        requireDuck(current.contains(duckId), duckId);
+        return offspring
+                .children(current.countChildren(duckId))
+                .descendants(current.countDescendants(duckId, depth))
+                .build();
+    }
+
+    @Override
+    public void lineageChanged() {
+        if (!indexEnabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> indexStale = true);
+    }
+
+    /**
+     * Reconstrói o índice periodicamente quando a linhagem foi alterada.
+     *
+     * <p>O índice é marcado como atualizado antes da leitura: uma alteração confirmada
+     * durante a reconstrução volta a marcá-lo e a próxima execução o reconstrói.</p>
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${lineage.index.rebuild-interval-ms:60000}",
+            initialDelayString = "${lineage.index.rebuild-interval-ms:60000}")
+    public int rebuildIndex() {
+        if (!indexEnabled || !indexStale) {
+            return index != null ? index.size() : 0;
+        }
+        indexStale = false;
+        DuckGenealogyIndex rebuilt;
+        try (Stream<DuckParentLink> links = duckRepository.streamParentLinks()) {
+            rebuilt = DuckGenealogyIndex.build(links.iterator());
+        } catch (RuntimeException e) {
+            indexStale = true;
+            throw e;
+        }
+        index = rebuilt;
+        log.info("Índice de genealogia reconstruído com {} patos", rebuilt.size());
+        return rebuilt.size();
+    }
+
+    /**
+     * @return o índice de genealogia, ou nulo quando está desabilitado ou desatualizado
+     */
+    private DuckGenealogyIndex currentIndex() {
+        return indexEnabled && !indexStale ? index : null;
+    }
+
+    /**
+     * Monta a resposta a partir das linhas da CTE recursiva.
+     *
+     * <p>A CTE traz o próprio pato na geração 0 e uma linha além do limite, usada
+     * para saber se a linhagem foi truncada. As linhas chegam sem ordem dentro de cada
+     * geração e são ordenadas aqui.</p>
+     */
+    private DuckLineageDTO fromNodes(Long duckId, int depth, List<DuckLineageNode> rows) {
+        requireDuck(!rows.isEmpty(), duckId);
+        List<DuckLineageDTO.Node> ducks = rows.stream()
+                .filter(row -> row.getGeneration() > 0)
+                .map(this::toNode)
+                .sorted(LINEAGE_ORDER)
+                .toList();
+        boolean truncated = ducks.size() > maxResults;
+        return DuckLineageDTO.builder()
+                .duckId(duckId)
+                .depth(depth)
+                .truncated(truncated)
+                .ducks(truncated ? ducks.subList(0, maxResults) : ducks)
+                .build();
+    }
+
+    /**
+     * Monta a resposta a partir dos IDs encontrados no índice, carregando os patos do banco.
+     */
+    private DuckLineageDTO fromIndex(Long duckId, int depth, DuckGenealogyIndex.Result result) {
+        List<Long> ids = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            ids.add(result.id(i));
+        }
+        Map<Long, Duck> found = duckRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Duck::getId, Function.identity()));
+
+        List<DuckLineageDTO.Node> ducks = new ArrayList<>(found.size());
+        for (int i = 0; i < result.size(); i++) {
+            Duck duck = found.get(result.id(i));
+            // Pato removido depois da última reconstrução do índice
+            if (duck != null) {
+                ducks.add(toNode(duck, result.generation(i)));
+            }
+        }
+        ducks.sort(LINEAGE_ORDER);
+        return DuckLineageDTO.builder()
+                .duckId(duckId)
+                .depth(depth)
+                .truncated(result.truncated())
+                .ducks(ducks)
+                .build();
+    }
+
+    private void validateDepth(int depth) {
+        if (depth < 1 || depth > maxDepth) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 1 e " + maxDepth);
+        }
+    }
+
+    private void requireDuck(boolean exists, Long duckId) {
+        if (!exists) {
+            log.error("Pato não encontrado com ID: {}", duckId);
+            throw new RuntimeException("Pato não encontrado com ID: " + duckId);
+        }
+    }
+
+    private DuckLineageDTO.Node toNode(DuckLineageNode row) {
+        return DuckLineageDTO.Node.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .motherId(row.getMotherId())
+                .price(row.getPrice())
+                .status(row.getStatus())
+                .generation(row.getGeneration())
+                .build();
+    }
+
+    private DuckLineageDTO.Node toNode(Duck duck, int generation) {
+        return DuckLineageDTO.Node.builder()
+                .id(duck.getId())
+                .name(duck.getName())
+                .motherId(duck.getMotherId())
+                .price(duck.getPrice())
+                .status(duck.getStatus().name())
+                .generation(generation)
+                .build();
+    }
+}
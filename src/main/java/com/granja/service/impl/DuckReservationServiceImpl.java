@@ -0,0 +1,204 @@
+package com.granja.service.impl;
+
+import com.granja.dto.DuckReservationDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.DuckReservation;
+import com.granja.entity.DuckReservation.ReservationStatus;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.DuckReservationRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.DuckReservationService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.InventoryIndexService;
+import com.granja.service.SaleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementação do DuckReservationService.
+ *
+ * <p>Reservar, liberar e confirmar alteram o status dos patos com um único UPDATE
+ * condicional, que só troca o status dos patos que ainda estão no status esperado.
+ * A expiração é disparada pela {@link ReservationExpiryQueue} e feita em lote
+ * pelo {@link ReservationExpiryWorker}.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuckReservationServiceImpl implements DuckReservationService {
+
+    private final DuckReservationRepository reservationRepository;
+    private final DuckRepository duckRepository;
+    private final CustomerRepository customerRepository;
+    private final SellerRepository sellerRepository;
+    private final SaleService saleService;
+    private final ReservationExpiryQueue expiryQueue;
+    private final InventoryIndexService inventoryIndexService;
+    private final EntityCacheService entityCacheService;
+
+    @Value("${reservations.default-ttl-minutes:15}")
+    private int defaultTtlMinutes;
+
+    @Value("${reservations.max-ttl-minutes:60}")
+    private int maxTtlMinutes;
+
+    @Value("${reservations.expiry-batch-size:200}")
+    private int expiryBatchSize;
+
+    @Override
+    @Transactional
+    public DuckReservationDTO reserve(DuckReservationDTO reservationDTO) {
+        log.info("Reservando patos: {}", reservationDTO);
+
+        int ttlMinutes = reservationDTO.getTtlMinutes() != null ? reservationDTO.getTtlMinutes() : defaultTtlMinutes;
+        if (ttlMinutes > maxTtlMinutes) {
+            throw new BusinessException("Reservation TTL cannot exceed " + maxTtlMinutes + " minutes");
+        }
+        if (!customerRepository.existsById(reservationDTO.getCustomerId())) {
+            throw new BusinessException("Customer not found");
+        }
+        if (!sellerRepository.existsById(reservationDTO.getSellerId())) {
+            throw new BusinessException("Seller not found");
+        }
+
+        Set<Long> duckIds = new HashSet<>(reservationDTO.getDuckIds());
+        int reserved = duckRepository.updateStatus(duckIds, DuckStatus.AVAILABLE, DuckStatus.RESERVED);
+        if (reserved != duckIds.size()) {
+            // Patos inexistentes, vendidos ou reservados por outro cliente: nada fica reservado
+            throw new ConflictException("Some ducks are not available for reservation", "DUCK_NOT_AVAILABLE");
+        }
+        inventoryIndexService.removeDucks(duckIds);
+        entityCacheService.evictDucks(duckIds);
+
+        DuckReservation reservation = reservationRepository.save(DuckReservation.builder()
+                .customerId(reservationDTO.getCustomerId())
+                .sellerId(reservationDTO.getSellerId())
+                .duckIds(duckIds)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(ttlMinutes))
+                .build());
+
+        // Se a transação for desfeita, a expiração não encontra a reserva e nada acontece
+        expiryQueue.schedule(reservation.getId(), reservation.getExpiresAt());
+
+        log.info("Reserva {} criada com {} patos até {}", reservation.getId(), duckIds.size(), reservation.getExpiresAt());
+        return mapToDTO(reservation);
+    }
+
+    @Override
+    @Transactional
+    public SaleDTO confirm(Long id) {
+        log.info("Confirmando reserva: {}", id);
+
+        DuckReservation reservation = findActiveForUpdate(id);
+        LocalDateTime now = LocalDateTime.now();
+        if (!reservation.getExpiresAt().isAfter(now)) {
+            throw new ConflictException("Reservation has expired", "RESERVATION_EXPIRED");
+        }
+
+        SaleDTO sale = saleService.createSaleForReservedDucks(SaleDTO.builder()
+                .duckIds(new ArrayList<>(reservation.getDuckIds()))
+                .customerId(reservation.getCustomerId())
+                .sellerId(reservation.getSellerId())
+                .build());
+
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setSaleId(sale.getId());
+        reservation.setClosedAt(now);
+
+        log.info("Reserva {} confirmada na venda {}", id, sale.getId());
+        return sale;
+    }
+
+    @Override
+    @Transactional
+    public DuckReservationDTO release(Long id) {
+        log.info("Liberando reserva: {}", id);
+
+        DuckReservation reservation = findActiveForUpdate(id);
+        duckRepository.updateStatus(reservation.getDuckIds(), DuckStatus.RESERVED, DuckStatus.AVAILABLE);
+        inventoryIndexService.refreshDucks(reservation.getDuckIds());
+        entityCacheService.evictDucks(reservation.getDuckIds());
+
+        reservation.setStatus(ReservationStatus.RELEASED);
+        reservation.setClosedAt(LocalDateTime.now());
+
+        return mapToDTO(reservation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuckReservationDTO getReservation(Long id) {
+        log.info("Buscando reserva: {}", id);
+        return reservationRepository.findById(id)
+                .map(this::mapToDTO)
+                .orElseThrow(() -> new BusinessException("Reservation not found"));
+    }
+
+    @Override
+    @Transactional
+    public int expireReservations(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> duckIds = reservationRepository.findDuckIdsByReservationIds(ids);
+        int released = reservationRepository.expireByIds(ids, LocalDateTime.now());
+        if (released > 0) {
+            inventoryIndexService.refreshDucks(duckIds);
+            entityCacheService.evictDucks(duckIds);
+        }
+        log.debug("Expiração de {} reservas liberou {} patos", ids.size(), released);
+        return released;
+    }
+
+    @Override
+    @Transactional
+    public int expireOverdue() {
+        int expired = reservationRepository.expireOverdue(LocalDateTime.now(), expiryBatchSize);
+        if (expired > 0) {
+            // A expiração em massa não informa quais patos voltaram para AVAILABLE
+            entityCacheService.evictAllDucks();
+        }
+        return expired;
+    }
+
+    private DuckReservation findActiveForUpdate(Long id) {
+        DuckReservation reservation = reservationRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new BusinessException("Reservation not found"));
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new ConflictException("Reservation is " + reservation.getStatus(), "RESERVATION_NOT_ACTIVE");
+        }
+        return reservation;
+    }
+
+    private DuckReservationDTO mapToDTO(DuckReservation reservation) {
+        return DuckReservationDTO.builder()
+                .id(reservation.getId())
+                .duckIds(new ArrayList<>(reservation.getDuckIds()))
+                .customerId(reservation.getCustomerId())
+                .sellerId(reservation.getSellerId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .saleId(reservation.getSaleId())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
+}
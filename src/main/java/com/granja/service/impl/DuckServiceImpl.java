@@ -1,18 +1,51 @@
 package com.granja.service.impl;
 
+import com.granja.dto.DuckCatalogCriteria;
+import com.granja.dto.DuckCatalogPageDTO;
+import com.granja.dto.DuckCatalogSort;
 import com.granja.dto.DuckDTO;
+import com.granja.dto.DuckImportResultDTO;
 import com.granja.entity.Duck;
 import com.granja.entity.Duck.DuckStatus;
+import com.granja.exception.BusinessException;
 import com.granja.repository.DuckRepository;
+import com.granja.repository.DuckSpecifications;
+import com.granja.repository.projection.DuckCatalogRow;
+import com.granja.service.DuckLineageService;
 import com.granja.service.DuckService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.InventoryIndexService;
+import com.granja.service.SystemConfigService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementação da interface DuckService.
@@ -42,7 +75,28 @@ import java.util.Optional;
 @Transactional
 public class DuckServiceImpl implements DuckService {
 
+    /** Tamanho da coluna ducks.name */
+    private static final int MAX_NAME_LENGTH = 100;
+
     private final DuckRepository duckRepository;
+    private final SystemConfigService systemConfigService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final InventoryIndexService inventoryIndexService;
+    private final DuckLineageService duckLineageService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheService entityCacheService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ducks.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${ducks.import.max-errors:1000}")
+    private int importMaxErrors;
+
+    @Value("${ducks.catalog.max-page-size:200}")
+    private int catalogMaxPageSize;
 
     @Override
     public DuckDTO createDuck(DuckDTO duckDTO) {
@@ -54,6 +108,10 @@ public class DuckServiceImpl implements DuckService {
         duck.setStatus(DuckStatus.AVAILABLE);
 
         Duck savedDuck = duckRepository.save(duck);
+        inventoryIndexService.recordDuck(savedDuck);
+        if (savedDuck.getMotherId() != null) {
+            duckLineageService.lineageChanged();
+        }
         log.info("Pato criado com sucesso com ID: {}", savedDuck.getId());
 
         return convertToDTO(savedDuck);
@@ -66,8 +124,14 @@ public class DuckServiceImpl implements DuckService {
         Duck existingDuck = findDuckById(id);
         validateDuckData(duckDTO);
 
+        Long previousMotherId = existingDuck.getMotherId();
         updateDuckFields(existingDuck, duckDTO);
         Duck updatedDuck = duckRepository.save(existingDuck);
+        inventoryIndexService.recordDuck(updatedDuck);
+        entityCacheService.evictDucks(List.of(id));
+        if (!Objects.equals(previousMotherId, updatedDuck.getMotherId())) {
+            duckLineageService.lineageChanged();
+        }
 
         log.info("Pato atualizado com sucesso com ID: {}", id);
         return convertToDTO(updatedDuck);
@@ -77,7 +141,11 @@ public class DuckServiceImpl implements DuckService {
     public DuckDTO getDuckById(Long id) {
         log.debug("Recuperando pato com ID: {}", id);
 
-        Duck duck = findDuckById(id);
+        Duck duck = entityCacheService.findDuck(id)
+                .orElseThrow(() -> {
+                    log.error("Pato não encontrado com ID: {}", id);
+                    return new RuntimeException("Pato não encontrado com ID: " + id);
+                });
         return convertToDTO(duck);
     }
 
@@ -91,6 +159,53 @@ public class DuckServiceImpl implements DuckService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllDucks(OutputStream outputStream) throws IOException {
+        log.debug("Enviando todos os patos em NDJSON");
+
+        try (Stream<Duck> ducks = duckRepository.streamAll()) {
+            long total = ndjsonStreamWriter.write(ducks, this::convertToDTO, outputStream);
+            log.debug("{} patos enviados em NDJSON", total);
+        }
+    }
+
+    /**
+     * Importa os patos lendo o arquivo em streaming e gravando em lotes.
+     * 
+     * <p>Roda fora de transação: cada lote é gravado e confirmado por conta própria,
+     * e o contexto de persistência é limpo em seguida, de modo que a memória usada
+     * não cresce com o tamanho do arquivo. O XLSX é copiado para um arquivo temporário,
+     * de onde o POI lê a planilha sem descompactá-la em memória.</p>
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DuckImportResultDTO importDucks(String fileName, InputStream input) throws IOException {
+        log.info("Importando patos do arquivo {}", fileName);
+
+        DuckImport duckImport = new DuckImport();
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            DuckImportReader.readCsv(input, duckImport::add);
+        } else if (name.endsWith(".xlsx")) {
+            Path file = Files.createTempFile("duck-import-", ".xlsx");
+            try {
+                Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+                DuckImportReader.readXlsx(file.toFile(), duckImport::add);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } else {
+            throw new IllegalArgumentException("Formato de arquivo não suportado: envie um arquivo CSV ou XLSX");
+        }
+        duckImport.flush();
+
+        DuckImportResultDTO result = duckImport.result();
+        log.info("Importação de {} concluída: {} patos cadastrados, {} linhas rejeitadas",
+                fileName, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
     @Override
     public List<DuckDTO> getDucksByStatus(DuckStatus status) {
         log.debug("Recuperando patos com status: {}", status);
@@ -105,10 +220,69 @@ public class DuckServiceImpl implements DuckService {
     public List<DuckDTO> getAvailableDucksForSale() {
         log.debug("Recuperando patos disponíveis para venda");
 
-        List<Duck> ducks = duckRepository.findAvailableForSale(DuckStatus.AVAILABLE);
-        return ducks.stream()
-                .map(this::convertToDTO)
-                .toList();
+        return inventoryIndexService.getAvailable();
+    }
+
+    @Override
+    public List<DuckDTO> getCheapestAvailableDucks(int limit) {
+        log.debug("Recuperando os {} patos disponíveis mais baratos", limit);
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Quantidade de patos deve ser maior que zero");
+        }
+        return inventoryIndexService.getCheapest(limit);
+    }
+
+    @Override
+    public List<DuckDTO> getAvailableDucksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        log.debug("Recuperando patos disponíveis entre {} e {}", minPrice, maxPrice);
+
+        if (minPrice == null || maxPrice == null || minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Faixa de preço inválida");
+        }
+        return inventoryIndexService.getByPriceBetween(minPrice, maxPrice);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuckCatalogPageDTO getCatalog(DuckCatalogCriteria criteria, String cursor, int size) {
+        if (size < 1 || size > catalogMaxPageSize) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + catalogMaxPageSize);
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Faixa de preço inválida");
+        }
+        if (criteria.getRegisteredFrom() != null && criteria.getRegisteredTo() != null
+                && !criteria.getRegisteredFrom().isBefore(criteria.getRegisteredTo())) {
+            throw new IllegalArgumentException("Data inicial de cadastro deve ser anterior à data final");
+        }
+
+        DuckCatalogSort sort = criteria.getSort() != null ? criteria.getSort() : DuckCatalogSort.REGISTRATION_DATE;
+        boolean descending = criteria.isDescending();
+        Specification<Duck> spec = Specification.allOf(
+                DuckSpecifications.status(criteria.getStatus()),
+                DuckSpecifications.minPrice(criteria.getMinPrice()),
+                DuckSpecifications.maxPrice(criteria.getMaxPrice()),
+                DuckSpecifications.motherId(criteria.getMotherId()),
+                DuckSpecifications.registeredFrom(criteria.getRegisteredFrom()),
+                DuckSpecifications.registeredTo(criteria.getRegisteredTo()),
+                DuckSpecifications.namePrefix(criteria.getNamePrefix()));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(decodeCursor(cursor, sort, descending));
+        }
+
+        // Uma linha a mais indica se há próxima página sem uma consulta COUNT
+        List<DuckCatalogRow> rows = duckRepository.findCatalogRows(spec,
+                DuckSpecifications.keysetOrder(sort.getAttribute(), descending), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<DuckCatalogRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        return DuckCatalogPageDTO.builder()
+                .items(page.stream().map(this::convertToCatalogItem).toList())
+                .size(page.size())
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1), sort, descending) : null)
+                .build();
     }
 
     @Override
@@ -119,6 +293,9 @@ public class DuckServiceImpl implements DuckService {
         validateDeletion(duck);
 
         duckRepository.deleteById(id);
+        inventoryIndexService.removeDucks(List.of(id));
+        entityCacheService.evictDucks(List.of(id));
+        duckLineageService.lineageChanged();
         log.info("Pato removido com sucesso com ID: {}", id);
     }
 
@@ -136,17 +313,127 @@ public class DuckServiceImpl implements DuckService {
         if (duckDTO.getPrice() == null || duckDTO.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Preço do pato deve ser maior que zero");
         }
+
+        SystemConfigService.Snapshot config = systemConfigService.current();
+        if (config.minDuckPrice() != null && duckDTO.getPrice().compareTo(config.minDuckPrice()) < 0) {
+            throw new IllegalArgumentException("Preço do pato deve ser no mínimo " + config.minDuckPrice());
+        }
+
+        if (config.maxDuckPrice() != null && duckDTO.getPrice().compareTo(config.maxDuckPrice()) > 0) {
+            throw new IllegalArgumentException("Preço do pato deve ser no máximo " + config.maxDuckPrice());
+        }
+    }
+
+    /**
+     * Converte uma linha do arquivo de importação em pato, com as validações do cadastro individual.
+     * 
+     * @param row a linha lida do arquivo
+     * @return o pato pronto para gravação
+     * @throws IllegalArgumentException se a linha for inválida
+     */
+    private Duck buildDuckFromRow(DuckImportReader.Row row) {
+        DuckDTO duckDTO = DuckDTO.builder()
+                .name(row.name())
+                .price(parseDecimal(row.price(), "Preço do pato inválido: "))
+                .motherId(parseId(row.motherId(), "ID da mãe inválido: "))
+                .build();
+        validateDuckData(duckDTO);
+        if (duckDTO.getName().trim().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Nome do pato deve ter no máximo " + MAX_NAME_LENGTH + " caracteres");
+        }
+
+        Duck duck = buildDuckFromDTO(duckDTO);
+        duck.setName(duck.getName().trim());
+        duck.setStatus(DuckStatus.AVAILABLE);
+        return duck;
+    }
+
+    private BigDecimal parseDecimal(String value, String error) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        // Aceita vírgula decimal, comum em planilhas exportadas em português
+        String normalized = value.indexOf('.') < 0 ? value.replace(',', '.') : value;
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(error + value);
+        }
+    }
+
+    private Long parseId(String value, String error) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(error + value);
+        }
+    }
+
+    /**
+     * Codifica a posição de um pato no catálogo como um token opaco.
+     * 
+     * <p>O token guarda a ordenação, o ID e o valor do campo ordenado, nessa ordem;
+     * o valor fica por último porque um nome pode conter o separador.</p>
+     */
+    private String encodeCursor(DuckCatalogRow row, DuckCatalogSort sort, boolean descending) {
+        String value = switch (sort) {
+            case REGISTRATION_DATE -> row.registrationDate().toString();
+            case PRICE -> row.price().toPlainString();
+            case NAME -> row.name();
+            case ID -> "";
+        };
+        String position = cursorOrder(sort, descending) + "|" + row.id() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor na condição que seleciona os patos posteriores a ele.
+     * 
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra ordenação
+     */
+    private Specification<Duck> decodeCursor(String cursor, DuckCatalogSort sort, boolean descending) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor do catálogo inválido", e);
+        }
+        if (position.length != 3 || !position[0].equals(cursorOrder(sort, descending))) {
+            throw new IllegalArgumentException("Cursor do catálogo inválido para a ordenação informada");
+        }
+        try {
+            Long id = Long.valueOf(position[1]);
+            String attribute = sort.getAttribute();
+            return switch (sort) {
+                case REGISTRATION_DATE -> DuckSpecifications.after(attribute, LocalDateTime.parse(position[2]), id, descending);
+                case PRICE -> DuckSpecifications.after(attribute, new BigDecimal(position[2]), id, descending);
+                case NAME -> DuckSpecifications.after(attribute, position[2], id, descending);
+                case ID -> DuckSpecifications.after(attribute, id, id, descending);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor do catálogo inválido", e);
+        }
+    }
+
+    private String cursorOrder(DuckCatalogSort sort, boolean descending) {
+        return sort.name() + (descending ? ":DESC" : ":ASC");
     }
 
     /**
      * Valida se um pato pode ser removido.
      * 
      * @param duck o pato para validar para remoção
-     * @throws RuntimeException se o pato não puder ser removido
+     * @throws BusinessException se o pato estiver vendido ou reservado
      */
     private void validateDeletion(Duck duck) {
         if (duck.getStatus() == DuckStatus.SOLD) {
-            throw new RuntimeException("Não é possível remover um pato que foi vendido");
+            throw new BusinessException("Não é possível remover um pato que foi vendido");
+        }
+        if (duck.getStatus() == DuckStatus.RESERVED) {
+            throw new BusinessException("Não é possível remover um pato reservado");
         }
     }
 
@@ -208,4 +495,95 @@ public class DuckServiceImpl implements DuckService {
                 .status(duck.getStatus().name())
                 .build();
     }
+
+    /**
+     * Converte a projeção do catálogo em item da página.
+     * 
+     * @param row o pato lido do catálogo
+     * @return o item da página
+     */
+    private DuckCatalogPageDTO.Item convertToCatalogItem(DuckCatalogRow row) {
+        return DuckCatalogPageDTO.Item.builder()
+                .id(row.id())
+                .name(row.name())
+                .motherId(row.motherId())
+                .price(row.price())
+                .status(row.status().name())
+                .registrationDate(row.registrationDate())
+                .build();
+    }
+
+    /**
+     * Estado de uma importação: o lote pendente e os totais e erros acumulados.
+     */
+    private final class DuckImport {
+
+        private final List<Duck> pending = new ArrayList<>();
+        private final List<Long> pendingRows = new ArrayList<>();
+        private final List<DuckImportResultDTO.RowError> errors = new ArrayList<>();
+        private long total;
+        private long succeeded;
+        private long failed;
+
+        void add(DuckImportReader.Row row) {
+            total++;
+            try {
+                pending.add(buildDuckFromRow(row));
+                pendingRows.add(row.number());
+            } catch (IllegalArgumentException e) {
+                reject(row.number(), e.getMessage());
+                return;
+            }
+            if (pending.size() >= importChunkSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Grava o lote pendente em uma transação própria.
+         * 
+         * <p>Se o banco recusar o lote, todas as linhas dele são rejeitadas e a
+         * importação segue com o próximo lote.</p>
+         */
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.execute(status -> {
+                    duckRepository.saveAll(pending);
+                    pending.forEach(inventoryIndexService::recordDuck);
+                    if (pending.stream().anyMatch(duck -> duck.getMotherId() != null)) {
+                        duckLineageService.lineageChanged();
+                    }
+                    return null;
+                });
+                succeeded += pending.size();
+            } catch (DataAccessException | TransactionException e) {
+                log.error("Falha ao gravar lote de {} patos importados", pending.size(), e);
+                pendingRows.forEach(row -> reject(row, "Falha ao gravar o lote da linha"));
+            } finally {
+                pending.clear();
+                pendingRows.clear();
+                entityManager.clear();
+            }
+        }
+
+        private void reject(long row, String error) {
+            failed++;
+            if (errors.size() < importMaxErrors) {
+                errors.add(DuckImportResultDTO.RowError.builder().row(row).error(error).build());
+            }
+        }
+
+        DuckImportResultDTO result() {
+            return DuckImportResultDTO.builder()
+                    .total(total)
+                    .succeeded(succeeded)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
 }
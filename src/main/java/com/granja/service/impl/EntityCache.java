@@ -0,0 +1,162 @@
+package com.granja.service.impl;
+
+import com.granja.dto.EntityCacheStatsDTO;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de leitura de uma entidade, com remoção LRU e tempo de vida.
+ *
+ * <p>As entradas ficam em memória, em ordem de acesso. O valor guardado é uma
+ * cópia feita pelo {@code copier}, e cada acerto devolve uma nova cópia, de modo
+ * que quem recebe a entidade não altera a entrada compartilhada.</p>
+ *
+ * <p>Cada descarte avança um contador de época. Uma leitura do banco só é guardada
+ * se nenhum descarte aconteceu desde o seu início, o que impede que uma leitura
+ * concorrente com uma alteração recoloque o valor antigo no cache.</p>
+ *
+ * @param <K> tipo do identificador
+ * @param <V> tipo da entidade
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class EntityCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final LongSupplier clock;
+
+    // Acesso protegido pelo monitor desta instância
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long epoch;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    EntityCache(String name, int maxEntries, long ttlNanos, UnaryOperator<V> copier, LongSupplier clock) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.copier = copier;
+        this.clock = clock;
+    }
+
+    /**
+     * Busca a entidade no cache ou a lê com o {@code loader} e guarda o resultado.
+     *
+     * <p>Entidades inexistentes não são guardadas.</p>
+     *
+     * @param key o identificador
+     * @param loader leitura no banco, executada fora do monitor
+     * @return a entidade, ou vazio se não existir
+     */
+    Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long startEpoch;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return Optional.of(copier.apply(entry.value));
+                }
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+            startEpoch = epoch;
+        }
+
+        misses.incrementAndGet();
+        long start = clock.getAsLong();
+        Optional<V> loaded = loader.apply(key);
+        long loadedAt = clock.getAsLong();
+        loads.incrementAndGet();
+        loadNanos.addAndGet(loadedAt - start);
+
+        if (loaded.isPresent()) {
+            V value = copier.apply(loaded.get());
+            synchronized (this) {
+                if (epoch == startEpoch) {
+                    entries.put(key, new Entry<>(value, loadedAt));
+                    evictEldest();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Descarta as entradas informadas.
+     *
+     * @param keys os identificadores
+     */
+    synchronized void invalidate(Collection<K> keys) {
+        epoch++;
+        for (K key : keys) {
+            if (entries.remove(key) != null) {
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Descarta todas as entradas.
+     */
+    synchronized void invalidateAll() {
+        epoch++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    EntityCacheStatsDTO stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        long loadCount = loads.get();
+
+        int entryCount;
+        synchronized (this) {
+            entryCount = entries.size();
+        }
+
+        return EntityCacheStatsDTO.builder()
+                .cache(name)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .loads(loadCount)
+                .averageLoadMillis(loadCount == 0 ? 0.0 : loadNanos.get() / 1_000_000.0 / loadCount)
+                .evictions(evictions.get())
+                .expirations(expirations.get())
+                .invalidations(invalidations.get())
+                .entries(entryCount)
+                .build();
+    }
+
+    // Chamado com o monitor adquirido
+    private void evictEldest() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
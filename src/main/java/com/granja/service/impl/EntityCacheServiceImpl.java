@@ -0,0 +1,161 @@
+package com.granja.service.impl;
+
+import com.granja.dto.EntityCacheStatsDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Seller;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.EntityCacheService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Implementação do EntityCacheService com um {@link EntityCache} por entidade.
+ *
+ * <p>As cópias guardadas têm apenas as colunas da própria tabela: a coleção de
+ * vendas fica nula, então nenhuma coleção lazy de uma sessão encerrada é
+ * compartilhada entre requisições. As cópias servem como referência em novas
+ * vendas, pois já possuem ID.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EntityCacheServiceImpl implements EntityCacheService {
+
+    private final DuckRepository duckRepository;
+    private final CustomerRepository customerRepository;
+    private final SellerRepository sellerRepository;
+
+    @Value("${entity-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${entity-cache.ducks.max-entries:10000}")
+    private int duckMaxEntries;
+
+    @Value("${entity-cache.ducks.ttl-seconds:60}")
+    private long duckTtlSeconds;
+
+    @Value("${entity-cache.customers.max-entries:10000}")
+    private int customerMaxEntries;
+
+    @Value("${entity-cache.customers.ttl-seconds:600}")
+    private long customerTtlSeconds;
+
+    @Value("${entity-cache.sellers.max-entries:1000}")
+    private int sellerMaxEntries;
+
+    @Value("${entity-cache.sellers.ttl-seconds:600}")
+    private long sellerTtlSeconds;
+
+    private LongSupplier clock = System::nanoTime;
+
+    private EntityCache<Long, Duck> ducks;
+    private EntityCache<Long, Customer> customers;
+    private EntityCache<Long, Seller> sellers;
+
+    /**
+     * Cria os caches com os limites configurados.
+     */
+    @PostConstruct
+    public void start() {
+        ducks = new EntityCache<>("ducks", duckMaxEntries, TimeUnit.SECONDS.toNanos(duckTtlSeconds),
+                EntityCacheServiceImpl::copyDuck, clock);
+        customers = new EntityCache<>("customers", customerMaxEntries, TimeUnit.SECONDS.toNanos(customerTtlSeconds),
+                EntityCacheServiceImpl::copyCustomer, clock);
+        sellers = new EntityCache<>("sellers", sellerMaxEntries, TimeUnit.SECONDS.toNanos(sellerTtlSeconds),
+                EntityCacheServiceImpl::copySeller, clock);
+        log.info("Cache de entidades {} (patos: {} / {}s, clientes: {} / {}s, vendedores: {} / {}s)",
+                enabled ? "habilitado" : "desabilitado", duckMaxEntries, duckTtlSeconds,
+                customerMaxEntries, customerTtlSeconds, sellerMaxEntries, sellerTtlSeconds);
+    }
+
+    @Override
+    public Optional<Duck> findDuck(Long id) {
+        return enabled ? ducks.get(id, duckRepository::findById) : duckRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Customer> findCustomer(Long id) {
+        return enabled ? customers.get(id, customerRepository::findById) : customerRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Seller> findSeller(Long id) {
+        return enabled ? sellers.get(id, sellerRepository::findById) : sellerRepository.findById(id);
+    }
+
+    @Override
+    public void evictDucks(Collection<Long> ids) {
+        List<Long> keys = List.copyOf(ids);
+        TransactionHooks.afterCommit(() -> ducks.invalidate(keys));
+    }
+
+    @Override
+    public void evictAllDucks() {
+        TransactionHooks.afterCommit(ducks::invalidateAll);
+    }
+
+    @Override
+    public void evictCustomer(Long id) {
+        TransactionHooks.afterCommit(() -> customers.invalidate(List.of(id)));
+    }
+
+    @Override
+    public void evictSeller(Long id) {
+        TransactionHooks.afterCommit(() -> sellers.invalidate(List.of(id)));
+    }
+
+    @Override
+    public List<EntityCacheStatsDTO> getStats() {
+        return List.of(ducks.stats(), customers.stats(), sellers.stats());
+    }
+
+    private static Duck copyDuck(Duck duck) {
+        return Duck.builder()
+                .id(duck.getId())
+                .name(duck.getName())
+                .motherId(duck.getMotherId())
+                .price(duck.getPrice())
+                .status(duck.getStatus())
+                .registrationDate(duck.getRegistrationDate())
+                .version(duck.getVersion())
+                .build();
+    }
+
+    private static Customer copyCustomer(Customer customer) {
+        return Customer.builder()
+                .id(customer.getId())
+                .name(customer.getName())
+                .cpf(customer.getCpf())
+                .phone(customer.getPhone())
+                .address(customer.getAddress())
+                .discountEligible(customer.getDiscountEligible())
+                .registrationDate(customer.getRegistrationDate())
+                .build();
+    }
+
+    private static Seller copySeller(Seller seller) {
+        return Seller.builder()
+                .id(seller.getId())
+                .name(seller.getName())
+                .cpf(seller.getCpf())
+                .employeeId(seller.getEmployeeId())
+                .registrationDate(seller.getRegistrationDate())
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.granja.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.granja.entity.IdempotencyKey;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.repository.IdempotencyKeyRepository;
+import com.granja.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Implementação do IdempotencyService com cache em memória e tabela no banco.
+ *
+ * <p>As respostas recentes ficam em um cache limitado, em ordem de acesso, e são
+ * descartadas ao vencer ou quando o cache atinge o limite. Requisições simultâneas
+ * com a mesma chave nesta instância aguardam a execução em andamento. Entre
+ * instâncias, a chave primária da tabela idempotency_keys serializa as execuções.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sales.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${sales.idempotency.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Acesso protegido pelo monitor desta instância
+    private final LinkedHashMap<String, StoredResponse> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> operation) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters",
+                    "INVALID_IDEMPOTENCY_KEY");
+        }
+        String requestHash = hash(request);
+
+        StoredResponse cached = getCached(key);
+        if (cached != null) {
+            log.debug("Requisição repetida com Idempotency-Key {} atendida pelo cache", key);
+            return readResponse(key, requestHash, cached, responseType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            // Repetição simultânea: aguarda a execução em andamento em vez de executar de novo
+            log.debug("Aguardando execução em andamento da Idempotency-Key {}", key);
+            return readResponse(key, requestHash, await(running), responseType);
+        }
+
+        try {
+            StoredResponse response = executeOnce(key, requestHash, operation);
+            putCached(key, response);
+            execution.complete(response);
+            return readResponse(key, requestHash, response, responseType);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${sales.idempotency.cleanup-cron:0 15 * * * *}")
+    public int purgeExpired() {
+        int removed = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("{} chaves de idempotência vencidas removidas", removed);
+        }
+        return removed;
+    }
+
+    private StoredResponse executeOnce(String key, String requestHash, Supplier<?> operation) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusHours(ttlHours);
+
+            // Outra instância com a mesma chave em andamento bloqueia este INSERT até terminar
+            if (idempotencyKeyRepository.claim(key, requestHash, now, expiresAt) == 0) {
+                IdempotencyKey stored = idempotencyKeyRepository.findById(key)
+                        .filter(existing -> existing.getResponseBody() != null)
+                        .orElseThrow(() -> new ConflictException(
+                                "A request with this Idempotency-Key is still being processed", "IDEMPOTENCY_KEY_IN_USE"));
+                log.info("Requisição repetida com Idempotency-Key {} atendida pela resposta gravada", key);
+                return new StoredResponse(stored.getRequestHash(), stored.getResponseBody(), toMillis(stored.getExpiresAt()));
+            }
+
+            String body = toJson(operation.get());
+            idempotencyKeyRepository.saveResponse(key, body);
+            return new StoredResponse(requestHash, body, toMillis(expiresAt));
+        });
+    }
+
+    private <T> T readResponse(String key, String requestHash, StoredResponse response, Class<T> responseType) {
+        if (!response.requestHash.equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key " + key + " was already used with a different request",
+                    "IDEMPOTENCY_KEY_REUSED");
+        }
+        try {
+            return objectMapper.readValue(response.body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key " + key + " is not readable", e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // A mesma falha da execução original, como se esta requisição a tivesse executado
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized StoredResponse getCached(String key) {
+        StoredResponse response = cache.get(key);
+        if (response != null && response.expiresAtMillis <= System.currentTimeMillis()) {
+            cache.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    private synchronized void putCached(String key, StoredResponse response) {
+        cache.put(key, response);
+        Iterator<StoredResponse> eldest = cache.values().iterator();
+        while (cache.size() > cacheMaxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value could not be serialized to JSON", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(toJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record StoredResponse(String requestHash, String body, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,287 @@
+package com.granja.service.impl;
+
+import com.granja.dto.DuckDTO;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.repository.DuckRepository;
+import com.granja.service.InventoryIndexService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementação do InventoryIndexService com um bitmap de IDs e uma visão ordenada por preço.
+ *
+ * <p>O {@link BitSet} marca os IDs dos patos disponíveis: a consulta de disponibilidade
+ * é um acesso direto e a listagem percorre os IDs em ordem. Como os IDs vêm de uma
+ * sequência, o bitmap ocupa um bit por pato já cadastrado. Um {@link TreeSet} ordenado
+ * por preço e ID atende "N mais baratos" e "faixa de preço" sem percorrer o estoque.</p>
+ *
+ * <p>As três estruturas são alteradas juntas sob um lock de escrita; as consultas
+ * usam o lock de leitura e devolvem cópias. As alterações aplicadas enquanto uma
+ * recarga lê o banco são guardadas e repetidas sobre as estruturas novas, para que
+ * uma venda confirmada durante a leitura não seja perdida na troca.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryIndexServiceImpl implements InventoryIndexService {
+
+    private static final Comparator<DuckDTO> PRICE_ORDER = Comparator
+            .comparing(DuckDTO::getPrice)
+            .thenComparing(DuckDTO::getId);
+
+    private final DuckRepository duckRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet availableIds = new BitSet();
+    private Map<Long, DuckDTO> ducks = new HashMap<>();
+    private NavigableSet<DuckDTO> byPrice = new TreeSet<>(PRICE_ORDER);
+
+    // Alterações aplicadas durante uma recarga em andamento, protegidas pelo lock; nulo fora da recarga
+    private List<Runnable> changesDuringReload;
+
+    /**
+     * Carrega o índice antes de a aplicação começar a receber requisições.
+     */
+    @PostConstruct
+    public void start() {
+        reload();
+    }
+
+    @Override
+    public void recordDuck(Duck duck) {
+        DuckDTO entry = toEntry(duck);
+        boolean available = duck.getStatus() == DuckStatus.AVAILABLE;
+        TransactionHooks.afterCommit(() -> update(() -> {
+            remove(entry.getId());
+            if (available) {
+                add(entry);
+            }
+        }));
+    }
+
+    @Override
+    public void removeDucks(Collection<Long> duckIds) {
+        List<Long> removed = List.copyOf(duckIds);
+        TransactionHooks.afterCommit(() -> update(() -> removed.forEach(this::remove)));
+    }
+
+    @Override
+    public void refreshDucks(Collection<Long> duckIds) {
+        if (duckIds.isEmpty()) {
+            return;
+        }
+        List<Long> refreshed = List.copyOf(duckIds);
+        TransactionHooks.afterCommit(() -> {
+            // Lido após o commit, fora da transação que alterou os patos
+            List<DuckDTO> current = duckRepository.findAllById(refreshed).stream()
+                    .filter(duck -> duck.getStatus() == DuckStatus.AVAILABLE)
+                    .map(this::toEntry)
+                    .toList();
+            update(() -> {
+                refreshed.forEach(this::remove);
+                current.forEach(this::add);
+            });
+        });
+    }
+
+    @Override
+    public List<DuckDTO> getAvailable() {
+        lock.readLock().lock();
+        try {
+            List<DuckDTO> available = new ArrayList<>(ducks.size());
+            for (int id = availableIds.nextSetBit(0); id >= 0; id = availableIds.nextSetBit(id + 1)) {
+                available.add(ducks.get((long) id));
+            }
+            return available;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DuckDTO> getCheapest(int limit) {
+        lock.readLock().lock();
+        try {
+            return byPrice.stream().limit(Math.max(0, limit)).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DuckDTO> getByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            return List.of();
+        }
+        DuckDTO from = DuckDTO.builder().id(Long.MIN_VALUE).price(minPrice).build();
+        DuckDTO to = DuckDTO.builder().id(Long.MAX_VALUE).price(maxPrice).build();
+        lock.readLock().lock();
+        try {
+            return List.copyOf(byPrice.subSet(from, true, to, true));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isAvailable(Long duckId) {
+        lock.readLock().lock();
+        try {
+            return fitsBitmap(duckId) && availableIds.get(duckId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recargas simultâneas são serializadas, para que cada uma repita apenas as
+     * alterações aplicadas durante a sua própria leitura.
+     */
+    @Override
+    public synchronized void reload() {
+        List<Runnable> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Monta estruturas novas e troca de uma vez, para as consultas nunca verem o índice pela metade
+        BitSet loadedIds = new BitSet();
+        Map<Long, DuckDTO> loadedDucks = new HashMap<>();
+        NavigableSet<DuckDTO> loadedByPrice = new TreeSet<>(PRICE_ORDER);
+        try {
+            for (Duck duck : duckRepository.findByStatus(DuckStatus.AVAILABLE)) {
+                DuckDTO entry = toEntry(duck);
+                if (fitsBitmap(entry.getId())) {
+                    loadedIds.set(entry.getId().intValue());
+                    loadedDucks.put(entry.getId(), entry);
+                    loadedByPrice.add(entry);
+                }
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            availableIds = loadedIds;
+            ducks = loadedDucks;
+            byPrice = loadedByPrice;
+            // Confirmadas durante a leitura, podem não estar nela e foram aplicadas às estruturas antigas
+            changes.forEach(Runnable::run);
+            changesDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de patos disponíveis carregado com {} patos ({} alterações repetidas)",
+                loadedDucks.size(), changes.size());
+    }
+
+    /**
+     * Confere o índice contra o banco periodicamente.
+     *
+     * <p>Corrige alterações que não passaram pelos serviços desta instância, como as
+     * feitas por outra instância da aplicação ou diretamente no banco.</p>
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.reconcile-interval-ms:300000}",
+            initialDelayString = "${inventory.reconcile-interval-ms:300000}")
+    public int reconcile() {
+        BitSet expected = new BitSet();
+        duckRepository.findIdsByStatus(DuckStatus.AVAILABLE).stream()
+                .filter(this::fitsBitmap)
+                .forEach(id -> expected.set(id.intValue()));
+
+        lock.readLock().lock();
+        try {
+            expected.xor(availableIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int divergent = expected.cardinality();
+        if (divergent > 0) {
+            log.warn("Índice de patos disponíveis divergia do banco em {} patos; recarregando", divergent);
+            reload();
+        }
+        return divergent;
+    }
+
+    /**
+     * Aplica uma alteração sob o lock de escrita, guardando-a se houver uma recarga em andamento.
+     */
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Deve ser chamado com o lock de escrita */
+    private void add(DuckDTO entry) {
+        if (!fitsBitmap(entry.getId())) {
+            log.warn("Pato {} fora da faixa de IDs do índice de patos disponíveis", entry.getId());
+            return;
+        }
+        availableIds.set(entry.getId().intValue());
+        ducks.put(entry.getId(), entry);
+        byPrice.add(entry);
+    }
+
+    /** Deve ser chamado com o lock de escrita */
+    private void remove(Long duckId) {
+        DuckDTO entry = ducks.remove(duckId);
+        if (entry != null) {
+            availableIds.clear(duckId.intValue());
+            byPrice.remove(entry);
+        }
+    }
+
+    private boolean fitsBitmap(Long duckId) {
+        return duckId != null && duckId >= 0 && duckId <= Integer.MAX_VALUE;
+    }
+
+    private DuckDTO toEntry(Duck duck) {
+        return DuckDTO.builder()
+                .id(duck.getId())
+                .name(duck.getName())
+                .motherId(duck.getMotherId())
+                .price(duck.getPrice())
+                .status(DuckStatus.AVAILABLE.name())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.granja.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escreve as linhas de um cursor do banco como NDJSON, um objeto JSON por linha.
+ *
+ * <p>Cada entidade é convertida, serializada direto na resposta e desanexada do
+ * contexto de persistência em seguida, de modo que a memória usada não cresce com a
+ * quantidade de linhas. A primeira linha é enviada assim que lida e as demais a cada
+ * janela de {@link #FLUSH_WINDOW_SIZE} linhas.</p>
+ *
+ * <p>Deve ser chamado dentro da transação que mantém o cursor aberto.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonStreamWriter {
+
+    /** Linhas escritas entre cada envio ao cliente; igual ao fetch size dos cursores */
+    static final int FLUSH_WINDOW_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escreve as linhas no stream informado.
+     *
+     * @param rows cursor com as entidades, consumido até o fim
+     * @param mapper conversão de cada entidade para o DTO publicado
+     * @param outputStream o stream de destino
+     * @return quantidade de linhas escritas
+     * @throws IOException se a escrita falhar, por exemplo quando o cliente desconecta
+     */
+    public <E, D> long write(Stream<E> rows, Function<E, D> mapper, OutputStream outputStream) throws IOException {
+        long written = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            E entity = iterator.next();
+            outputStream.write(objectMapper.writeValueAsBytes(mapper.apply(entity)));
+            outputStream.write('\n');
+            entityManager.detach(entity);
+
+            // Associações carregadas junto com a linha saem a cada janela
+            if (++written == 1 || written % FLUSH_WINDOW_SIZE == 0) {
+                entityManager.clear();
+                outputStream.flush();
+            }
+        }
+        outputStream.flush();
+        return written;
+    }
+}
@@ -0,0 +1,290 @@
+package com.granja.service.impl;
+
+import com.granja.dto.ReportCacheStatsDTO;
+import com.granja.service.ReportCacheService;
+import com.granja.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Implementação do ReportCacheService com remoção LRU e arquivos em disco.
+ *
+ * <p>O índice das entradas fica em memória, em ordem de acesso, e os arquivos
+ * Excel ficam no diretório de cache. Quando a quantidade de entradas ou o espaço
+ * ocupado passa do limite, as entradas menos usadas recentemente são removidas.</p>
+ *
+ * <p>Relatórios em geração são registrados como pendentes: se uma venda do período
+ * for confirmada enquanto a planilha é montada, o resultado é devolvido ao
+ * solicitante mas não é guardado no cache.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+public class ReportCacheServiceImpl implements ReportCacheService {
+
+    @Value("${reports.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reports.cache.max-entries:50}")
+    private int maxEntries;
+
+    @Value("${reports.cache.max-size-mb:200}")
+    private long maxSizeMb;
+
+    @Value("${reports.cache.dir:${java.io.tmpdir}/granja-report-cache}")
+    private String cacheDir;
+
+    // Acesso protegido pelo monitor desta instância
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<PendingGeneration> pending = new ArrayList<>();
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Path cachePath;
+
+    /**
+     * Prepara o diretório de cache, removendo arquivos de execuções anteriores.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        cachePath = Files.createDirectories(Paths.get(cacheDir));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cachePath, "*.xlsx")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+        log.info("Cache de relatórios em {} (máximo de {} entradas / {} MB)", cachePath, maxEntries, maxSizeMb);
+    }
+
+    @Override
+    public byte[] getOrGenerate(ReportType type, LocalDateTime startDate, LocalDateTime endDate,
+                                Supplier<byte[]> generator) {
+        if (!enabled) {
+            return generator.get();
+        }
+
+        CacheKey key = new CacheKey(type, startDate, endDate);
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            try {
+                byte[] payload = Files.readAllBytes(entry.file);
+                hits.incrementAndGet();
+                log.debug("Relatório {} de {} até {} atendido pelo cache", type, startDate, endDate);
+                return payload;
+            } catch (IOException e) {
+                // Arquivo removido por uma remoção concorrente ou externa: gera novamente
+                log.warn("Arquivo de cache indisponível para {}: {}", key, e.getMessage());
+                remove(key, entry);
+            }
+        }
+
+        misses.incrementAndGet();
+        PendingGeneration generation = new PendingGeneration(key);
+        synchronized (this) {
+            pending.add(generation);
+        }
+        try {
+            byte[] payload = generator.get();
+            store(generation, payload);
+            return payload;
+        } finally {
+            synchronized (this) {
+                pending.remove(generation);
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(LocalDateTime saleDate) {
+        if (saleDate != null) {
+            TransactionHooks.afterCommit(() -> invalidateNow(saleDate));
+        }
+    }
+
+    @Override
+    public void clear() {
+        TransactionHooks.afterCommit(this::clearNow);
+    }
+
+    @Override
+    public ReportCacheStatsDTO getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+
+        int entryCount;
+        long size;
+        synchronized (this) {
+            entryCount = entries.size();
+            size = totalBytes;
+        }
+
+        return ReportCacheStatsDTO.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .entries(entryCount)
+                .sizeBytes(size)
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .build();
+    }
+
+    /**
+     * Remove os arquivos em cache ao encerrar a aplicação.
+     */
+    @PreDestroy
+    public void shutdown() {
+        clearNow();
+    }
+
+    private void clearNow() {
+        List<Path> removed = new ArrayList<>();
+        synchronized (this) {
+            entries.values().forEach(entry -> removed.add(entry.file));
+            entries.clear();
+            totalBytes = 0;
+            pending.forEach(generation -> generation.stale = true);
+        }
+        removed.forEach(this::deleteQuietly);
+        log.info("Cache de relatórios limpo ({} entradas)", removed.size());
+    }
+
+    private void invalidateNow(LocalDateTime saleDate) {
+        List<Path> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CacheKey, CacheEntry> mapEntry = iterator.next();
+                if (mapEntry.getKey().contains(saleDate)) {
+                    iterator.remove();
+                    totalBytes -= mapEntry.getValue().size;
+                    removed.add(mapEntry.getValue().file);
+                }
+            }
+            for (PendingGeneration generation : pending) {
+                if (generation.key.contains(saleDate)) {
+                    generation.stale = true;
+                }
+            }
+        }
+
+        removed.forEach(this::deleteQuietly);
+        if (!removed.isEmpty()) {
+            invalidations.addAndGet(removed.size());
+            log.info("{} relatórios em cache descartados pela venda de {}", removed.size(), saleDate);
+        }
+    }
+
+    private void store(PendingGeneration generation, byte[] payload) {
+        if (payload == null || payload.length > maxSizeMb * 1024 * 1024) {
+            return;
+        }
+
+        Path file = cachePath.resolve(UUID.randomUUID() + ".xlsx");
+        try {
+            Files.write(file, payload);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar o relatório {} em cache", generation.key, e);
+            deleteQuietly(file);
+            return;
+        }
+
+        List<Path> removed = new ArrayList<>();
+        synchronized (this) {
+            if (generation.stale) {
+                removed.add(file);
+            } else {
+                CacheEntry previous = entries.put(generation.key, new CacheEntry(file, payload.length));
+                if (previous != null) {
+                    totalBytes -= previous.size;
+                    removed.add(previous.file);
+                }
+                totalBytes += payload.length;
+                evictEldest(removed);
+            }
+        }
+        removed.forEach(this::deleteQuietly);
+    }
+
+    // Chamado com o monitor adquirido
+    private void evictEldest(List<Path> removed) {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.size;
+            removed.add(eldest.file);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(CacheKey key, CacheEntry entry) {
+        synchronized (this) {
+            if (entries.remove(key, entry)) {
+                totalBytes -= entry.size;
+            }
+        }
+        deleteQuietly(entry.file);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo de cache {}", file, e);
+        }
+    }
+
+    private record CacheKey(ReportType type, LocalDateTime startDate, LocalDateTime endDate) {
+
+        /**
+         * Verifica se a data está no período do relatório (limites inclusivos, como no BETWEEN das consultas).
+         */
+        boolean contains(LocalDateTime dateTime) {
+            return !dateTime.isBefore(startDate) && !dateTime.isAfter(endDate);
+        }
+    }
+
+    private record CacheEntry(Path file, long size) {
+    }
+
+    private static final class PendingGeneration {
+        final CacheKey key;
+        boolean stale;
+
+        PendingGeneration(CacheKey key) {
+            this.key = key;
+        }
+    }
+}
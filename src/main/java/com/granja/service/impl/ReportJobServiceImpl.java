@@ -0,0 +1,412 @@
+package com.granja.service.impl;
+
+import com.granja.dto.ReportJobDTO;
+import com.granja.dto.ReportJobDTO.JobStatus;
+import com.granja.dto.ReportJobDTO.Priority;
+import com.granja.exception.BusinessException;
+import com.granja.repository.SaleRepository;
+import com.granja.service.ReportJobService;
+import com.granja.service.ReportService;
+import com.granja.service.ReportService.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementação do ReportJobService com fila de prioridade e workers limitados.
+ *
+ * <p>Um número fixo de workers consome a fila ordenada por prioridade e ordem de
+ * chegada. Cada tipo de relatório tem um limite próprio de execuções simultâneas:
+ * quando o limite de um tipo é atingido, os workers seguem atendendo jobs de outros
+ * tipos em vez de ficarem bloqueados. Os arquivos gerados ficam em disco até o
+ * download ou até expirar o prazo de retenção.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Comparator<ReportJob> QUEUE_ORDER = Comparator
+            .comparing((ReportJob job) -> job.priority)
+            .thenComparingLong(job -> job.sequence);
+
+    private final ReportService reportService;
+    private final SaleRepository saleRepository;
+
+    @Value("${reports.jobs.workers:3}")
+    private int workerCount;
+
+    @Value("${reports.jobs.max-queued:100}")
+    private int maxQueued;
+
+    @Value("${reports.jobs.max-concurrent.sales:1}")
+    private int maxConcurrentSales;
+
+    @Value("${reports.jobs.max-concurrent.seller-ranking:2}")
+    private int maxConcurrentSellerRanking;
+
+    @Value("${reports.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${reports.jobs.storage-dir:${java.io.tmpdir}/granja-reports}")
+    private String storageDir;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final NavigableSet<ReportJob> queue = new TreeSet<>(QUEUE_ORDER);
+    private final Map<ReportType, Integer> runningByType = new EnumMap<>(ReportType.class);
+    private final Map<ReportType, Integer> limitByType = new EnumMap<>(ReportType.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobAvailable = lock.newCondition();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ExecutorService workers;
+    private Path storagePath;
+    private volatile boolean shuttingDown;
+
+    /**
+     * Prepara o diretório de armazenamento e inicia os workers.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        storagePath = Files.createDirectories(Paths.get(storageDir));
+        limitByType.put(ReportType.SALES, maxConcurrentSales);
+        limitByType.put(ReportType.SELLER_RANKING, maxConcurrentSellerRanking);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::workerLoop);
+        }
+        log.info("Fila de relatórios iniciada com {} workers em {}", workerCount, storagePath);
+    }
+
+    @Override
+    public ReportJobDTO submit(ReportType type, LocalDateTime startDate, LocalDateTime endDate,
+                               Priority priority, String requestedBy) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Período do relatório inválido");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type,
+                priority != null ? priority : Priority.NORMAL, sequence.incrementAndGet(),
+                startDate, endDate, requestedBy);
+
+        lock.lock();
+        try {
+            if (shuttingDown) {
+                throw new BusinessException("Fila de relatórios indisponível", "REPORT_QUEUE_UNAVAILABLE");
+            }
+            if (queue.size() >= maxQueued) {
+                throw new BusinessException("Fila de relatórios cheia, tente novamente mais tarde", "REPORT_QUEUE_FULL");
+            }
+            jobs.put(job.id, job);
+            queue.add(job);
+            jobAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("Relatório {} enfileirado como job {} (prioridade {})", type, job.id, job.priority);
+        return toDTO(job);
+    }
+
+    @Override
+    public ReportJobDTO getJob(String jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    @Override
+    public Path getJobResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status != JobStatus.DONE) {
+            throw new BusinessException("Relatório ainda não está disponível (situação: " + job.status + ")",
+                    "REPORT_NOT_READY");
+        }
+        return job.file;
+    }
+
+    @Override
+    public ReportJobDTO cancel(String jobId) {
+        ReportJob job = findJob(jobId);
+
+        lock.lock();
+        try {
+            if (job.status == JobStatus.QUEUED) {
+                queue.remove(job);
+                finish(job, JobStatus.CANCELLED, null);
+            } else if (job.status == JobStatus.RUNNING) {
+                // O worker verifica o pedido no próximo aviso de progresso
+                job.cancelRequested = true;
+            } else {
+                throw new BusinessException("Job de relatório já finalizado", "REPORT_JOB_FINISHED");
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("Cancelamento solicitado para o job {}", jobId);
+        return toDTO(job);
+    }
+
+    /**
+     * Remove jobs finalizados há mais tempo que o prazo de retenção e seus arquivos.
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval-ms:60000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(limit);
+            if (expired) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Cancela os jobs pendentes, interrompe os workers e remove os arquivos gerados.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            shuttingDown = true;
+            for (ReportJob job : queue) {
+                finish(job, JobStatus.CANCELLED, "Aplicação encerrada");
+            }
+            queue.clear();
+            jobs.values().forEach(job -> job.cancelRequested = true);
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        if (workers != null && !workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Workers de relatório não terminaram dentro do prazo");
+        }
+        jobs.values().forEach(job -> deleteQuietly(job.file));
+        log.info("Fila de relatórios encerrada");
+    }
+
+    private void workerLoop() {
+        ReportJob job;
+        while ((job = takeNext()) != null) {
+            try {
+                run(job);
+            } finally {
+                release(job.type);
+                // Um pedido de interrupção direcionado ao job não deve afetar o próximo
+                if (!shuttingDown) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Aguarda e retira da fila o job mais prioritário cujo tipo ainda tem vaga.
+     *
+     * @return o próximo job, ou null quando a fila está sendo encerrada
+     */
+    private ReportJob takeNext() {
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            return null;
+        }
+        try {
+            while (!shuttingDown) {
+                Iterator<ReportJob> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    ReportJob candidate = iterator.next();
+                    int running = runningByType.getOrDefault(candidate.type, 0);
+                    if (running < limitByType.get(candidate.type)) {
+                        iterator.remove();
+                        runningByType.put(candidate.type, running + 1);
+                        candidate.status = JobStatus.RUNNING;
+                        candidate.startedAt = LocalDateTime.now();
+                        return candidate;
+                    }
+                }
+                jobAvailable.await();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(ReportType type) {
+        lock.lock();
+        try {
+            runningByType.merge(type, -1, Integer::sum);
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(ReportJob job) {
+        log.info("Gerando relatório {} do job {}", job.type, job.id);
+        Path file = storagePath.resolve(job.id + ".xlsx");
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+            switch (job.type) {
+                case SALES -> {
+                    long total = saleRepository.countBySaleDateBetween(job.startDate, job.endDate);
+                    reportService.writeSalesReport(job.startDate, job.endDate, outputStream,
+                            rowsWritten -> updateProgress(job, rowsWritten, total));
+                }
+                case SELLER_RANKING -> {
+                    checkCancelled(job);
+                    byte[] report = reportService.generateSellerRankingReport(job.startDate, job.endDate);
+                    checkCancelled(job);
+                    outputStream.write(report);
+                }
+            }
+        } catch (Exception e) {
+            deleteQuietly(file);
+            if (job.cancelRequested) {
+                finish(job, JobStatus.CANCELLED, null);
+                log.info("Job de relatório {} cancelado", job.id);
+            } else {
+                finish(job, JobStatus.FAILED, e.getMessage());
+                log.error("Falha ao gerar relatório do job {}", job.id, e);
+            }
+            return;
+        }
+
+        job.file = file;
+        job.progress = 100;
+        finish(job, JobStatus.DONE, null);
+        log.info("Relatório do job {} gerado com sucesso", job.id);
+    }
+
+    private void updateProgress(ReportJob job, long rowsWritten, long total) {
+        checkCancelled(job);
+        // 100% fica reservado para o arquivo concluído
+        job.progress = total == 0 ? 99 : (int) Math.min(99, rowsWritten * 100 / total);
+    }
+
+    private void checkCancelled(ReportJob job) {
+        if (job.cancelRequested || Thread.currentThread().isInterrupted()) {
+            job.cancelRequested = true;
+            throw new CancellationException("Job de relatório cancelado");
+        }
+    }
+
+    private void finish(ReportJob job, JobStatus status, String errorMessage) {
+        job.errorMessage = errorMessage;
+        job.finishedAt = LocalDateTime.now();
+        job.status = status;
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException("Job de relatório não encontrado", "REPORT_JOB_NOT_FOUND");
+        }
+        return job;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo de relatório {}", file, e);
+        }
+    }
+
+    private ReportJobDTO toDTO(ReportJob job) {
+        return ReportJobDTO.builder()
+                .id(job.id)
+                .type(job.type)
+                .priority(job.priority)
+                .status(job.status)
+                .progress(job.progress)
+                .startDate(job.startDate)
+                .endDate(job.endDate)
+                .requestedBy(job.requestedBy)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .fileName(job.type == ReportType.SALES ? "sales_report.xlsx" : "seller_ranking_report.xlsx")
+                .errorMessage(job.errorMessage)
+                .build();
+    }
+
+    // Estado interno de um job; campos mutáveis são lidos pelas threads de consulta
+    private static final class ReportJob {
+        final String id;
+        final ReportType type;
+        final Priority priority;
+        final long sequence;
+        final LocalDateTime startDate;
+        final LocalDateTime endDate;
+        final String requestedBy;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+
+        volatile JobStatus status = JobStatus.QUEUED;
+        volatile int progress;
+        volatile boolean cancelRequested;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String errorMessage;
+        volatile Path file;
+
+        ReportJob(String id, ReportType type, Priority priority, long sequence,
+                  LocalDateTime startDate, LocalDateTime endDate, String requestedBy) {
+            this.id = id;
+            this.type = type;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.requestedBy = requestedBy;
+        }
+    }
+}
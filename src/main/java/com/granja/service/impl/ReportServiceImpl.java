@@ -1,25 +1,34 @@
 package com.granja.service.impl;
 
 import com.granja.entity.Sale;
-import com.granja.entity.Seller;
 import com.granja.repository.SaleRepository;
-import com.granja.repository.SellerRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.ReportCacheService;
 import com.granja.service.ReportService;
+import com.granja.service.SalesRollupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 /**
  * Implementação do ReportService para geração de relatórios de negócio.
@@ -37,20 +46,33 @@ import java.util.stream.Collectors;
 public class ReportServiceImpl implements ReportService {
     
     private final SaleRepository saleRepository;
-    private final SellerRepository sellerRepository;
+    private final ReportCacheService reportCacheService;
+    private final SalesRollupService salesRollupService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
+    /** Quantidade de linhas mantidas em memória pela planilha em streaming */
+    private static final int STREAMING_WINDOW_SIZE = 100;
+    
+    private static final String[] SALES_REPORT_HEADERS = {"Nome", "Status", "Cliente", "Tipo Cliente", "Valor", "Data/Hora", "Vendedor"};
+    private static final int[] SALES_REPORT_COLUMN_WIDTHS = {24, 12, 30, 16, 14, 18, 30};
+    
     /**
-     * Gera um relatório de vendas em formato Excel para o período atual.
+     * Gera um relatório de vendas em formato Excel para o último mês, até o fim de hoje.
      * 
      * @return array de bytes contendo o arquivo Excel
      */
     @Override
     public byte[] generateSalesReport() {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(1); // Último mês
+        // Último mês em dias completos: os limites não mudam ao longo do dia e a chave do
+        // cache se repete; uma venda de hoje cai no período e invalida o relatório
+        LocalDate today = LocalDate.now();
+        LocalDateTime endDate = today.atTime(LocalTime.MAX);
+        LocalDateTime startDate = today.minusMonths(1).atStartOfDay();
         return generateSalesReport(startDate, endDate);
     }
     
@@ -63,6 +85,12 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public byte[] generateSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
+        validatePeriod(startDate, endDate);
+        return reportCacheService.getOrGenerate(ReportType.SALES, startDate, endDate,
+                () -> buildSalesReport(startDate, endDate));
+    }
+    
+    private byte[] buildSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Gerando relatório de vendas de {} até {}", startDate, endDate);
         
         try (Workbook workbook = new XSSFWorkbook()) {
@@ -79,7 +107,7 @@ public class ReportServiceImpl implements ReportService {
             createSalesReportHeader(sheet, startDate, endDate, headerStyle);
             
             // Cabeçalhos das colunas
-            String[] headers = {"Nome", "Status", "Cliente", "Tipo Cliente", "Valor", "Data/Hora", "Vendedor"};
+            String[] headers = SALES_REPORT_HEADERS;
             createColumnHeaders(sheet, headers, 4, headerStyle);
             
             // Buscar dados das vendas
@@ -92,35 +120,7 @@ public class ReportServiceImpl implements ReportService {
             
             for (Sale sale : sales) {
                 Row row = sheet.createRow(rowNum++);
-                
-                // Nome do Pato
-                row.createCell(0).setCellValue(sale.getDuck().getName());
-                row.getCell(0).setCellStyle(dataStyle);
-                
-                // Status do Pato
-                row.createCell(1).setCellValue(sale.getDuck().getStatus().toString());
-                row.getCell(1).setCellStyle(statusStyle);
-                
-                // Nome do Cliente
-                row.createCell(2).setCellValue(sale.getCustomer().getName());
-                row.getCell(2).setCellStyle(dataStyle);
-                
-                // Tipo do Cliente (com/sem desconto)
-                String customerType = sale.getCustomer().getDiscountEligible() ? "Com Desconto" : "Sem Desconto";
-                row.createCell(3).setCellValue(customerType);
-                row.getCell(3).setCellStyle(dataStyle);
-                
-                // Valor Final da Venda
-                row.createCell(4).setCellValue(sale.getFinalPrice().doubleValue());
-                row.getCell(4).setCellStyle(currencyStyle);
-                
-                // Data e Hora da Venda
-                row.createCell(5).setCellValue(sale.getSaleDate().format(DATE_FORMATTER));
-                row.getCell(5).setCellStyle(dateStyle);
-                
-                // Nome do Vendedor
-                row.createCell(6).setCellValue(sale.getSeller().getName());
-                row.getCell(6).setCellStyle(dataStyle);
+                writeSaleRow(row, sale, dataStyle, statusStyle, currencyStyle, dateStyle);
                 
                 totalRevenue = totalRevenue.add(sale.getFinalPrice());
                 totalDiscount = totalDiscount.add(sale.getDiscountAmount());
@@ -143,14 +143,114 @@ public class ReportServiceImpl implements ReportService {
     }
     
     /**
-     * Gera um relatório de ranking de vendedores em formato Excel para o período atual.
+     * Escreve um relatório de vendas em formato Excel diretamente no stream informado.
+     * 
+     * <p>Usa {@link SXSSFWorkbook}, que mantém em memória apenas as últimas
+     * {@value #STREAMING_WINDOW_SIZE} linhas e descarrega as demais em arquivo
+     * temporário compactado. As vendas chegam por cursor e o contexto de persistência
+     * é limpo a cada janela, de modo que nem a planilha nem as entidades crescem com
+     * o volume do período.</p>
+     * 
+     * @param startDate a data de início para o período do relatório
+     * @param endDate a data de fim para o período do relatório
+     * @param outputStream o stream de destino do arquivo Excel
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeSalesReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream) {
+        writeSalesReport(startDate, endDate, outputStream, rowsWritten -> { });
+    }
+    
+    /**
+     * Escreve um relatório de vendas em streaming informando o progresso da geração.
+     * 
+     * <p>O progresso é notificado a cada janela de linhas gravadas. Exceções lançadas
+     * pelo listener interrompem a geração.</p>
+     * 
+     * @param startDate a data de início para o período do relatório
+     * @param endDate a data de fim para o período do relatório
+     * @param outputStream o stream de destino do arquivo Excel
+     * @param progressListener recebe a quantidade de vendas já gravadas na planilha
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeSalesReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream,
+                                 LongConsumer progressListener) {
+        log.info("Gerando relatório de vendas em streaming de {} até {}", startDate, endDate);
+        validatePeriod(startDate, endDate);
+        
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        
+        try (Stream<Sale> sales = saleRepository.streamBySaleDateBetween(startDate, endDate)) {
+            Sheet sheet = workbook.createSheet("Relatório de Vendas");
+            
+            // Estilos
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle currencyStyle = createCurrencyStyle(workbook);
+            CellStyle dateStyle = createDateStyle(workbook);
+            CellStyle statusStyle = createStatusStyle(workbook);
+            
+            // Cabeçalho do relatório
+            createSalesReportHeader(sheet, startDate, endDate, headerStyle);
+            createColumnHeaders(sheet, SALES_REPORT_HEADERS, 4, headerStyle);
+            
+            // Largura fixa: autoSizeColumn só enxerga as linhas da janela atual
+            for (int i = 0; i < SALES_REPORT_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, SALES_REPORT_COLUMN_WIDTHS[i] * 256);
+            }
+            
+            // Preencher dados
+            int rowNum = 5;
+            int totalSales = 0;
+            BigDecimal totalRevenue = BigDecimal.ZERO;
+            BigDecimal totalDiscount = BigDecimal.ZERO;
+            
+            Iterator<Sale> iterator = sales.iterator();
+            while (iterator.hasNext()) {
+                Sale sale = iterator.next();
+                Row row = sheet.createRow(rowNum++);
+                writeSaleRow(row, sale, dataStyle, statusStyle, currencyStyle, dateStyle);
+                
+                totalRevenue = totalRevenue.add(sale.getFinalPrice());
+                totalDiscount = totalDiscount.add(sale.getDiscountAmount());
+                
+                // Libera as entidades já gravadas na planilha
+                if (++totalSales % STREAMING_WINDOW_SIZE == 0) {
+                    entityManager.clear();
+                    progressListener.accept(totalSales);
+                }
+            }
+            
+            // Resumo
+            createSalesSummaryRow(sheet, rowNum, totalRevenue, totalDiscount, totalSales, headerStyle, currencyStyle);
+            
+            workbook.write(outputStream);
+            outputStream.flush();
+            progressListener.accept(totalSales);
+            log.info("Relatório de vendas em streaming gerado com {} vendas", totalSales);
+            
+        } catch (Exception e) {
+            log.error("Erro ao gerar relatório de vendas em streaming", e);
+            throw new RuntimeException("Falha ao gerar relatório de vendas", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+    
+    /**
+     * Gera um relatório de ranking de vendedores em formato Excel para o último mês, até o fim de hoje.
      * 
      * @return array de bytes contendo o arquivo Excel
      */
     @Override
     public byte[] generateSellerRankingReport() {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(1); // Último mês
+        // Último mês em dias completos: os limites não mudam ao longo do dia e a chave do
+        // cache se repete; uma venda de hoje cai no período e invalida o relatório
+        LocalDate today = LocalDate.now();
+        LocalDateTime endDate = today.atTime(LocalTime.MAX);
+        LocalDateTime startDate = today.minusMonths(1).atStartOfDay();
         return generateSellerRankingReport(startDate, endDate);
     }
     
@@ -163,6 +263,11 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public byte[] generateSellerRankingReport(LocalDateTime startDate, LocalDateTime endDate) {
+        return reportCacheService.getOrGenerate(ReportType.SELLER_RANKING, startDate, endDate,
+                () -> buildSellerRankingReport(startDate, endDate));
+    }
+    
+    private byte[] buildSellerRankingReport(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Gerando relatório de ranking de vendedores de {} até {}", startDate, endDate);
         
         try (Workbook workbook = new XSSFWorkbook()) {
@@ -181,15 +286,10 @@ public class ReportServiceImpl implements ReportService {
             String[] headers = {"Posição", "Vendedor", "Total de Vendas", "Receita Total", "Ticket Médio", "CPF", "Matrícula"};
             createColumnHeaders(sheet, headers, 3, headerStyle);
             
-            // Buscar dados dos vendedores
-            List<Seller> sellers = sellerRepository.findAll();
-            
-            // Calcular métricas para cada vendedor
-            List<SellerMetrics> sellerMetricsList = sellers.stream()
-                    .map(seller -> calculateSellerMetrics(seller, startDate, endDate))
-                    .filter(metrics -> metrics.totalSales > 0) // Apenas vendedores com vendas
-                    .sorted((a, b) -> b.totalRevenue.compareTo(a.totalRevenue)) // Ordenar por receita
-                    .collect(Collectors.toList());
+            // Agregar vendas por vendedor a partir do consolidado diário
+            List<SellerMetrics> sellerMetricsList = salesRollupService.summarizeBySellerInPeriod(startDate, endDate).stream()
+                    .map(this::toSellerMetrics)
+                    .toList();
             
             // Preencher dados
             int rowNum = 4;
@@ -429,26 +529,58 @@ public class ReportServiceImpl implements ReportService {
         sheet.addMergedRegion(new CellRangeAddress(rowNum + 1, rowNum + 1, 6, 7));
     }
     
-    private SellerMetrics calculateSellerMetrics(Seller seller, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Sale> sellerSales = saleRepository.findBySellerIdAndSaleDateBetween(seller.getId(), startDate, endDate);
-        
-        BigDecimal totalRevenue = sellerSales.stream()
-                .map(Sale::getFinalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal averageTicket = sellerSales.isEmpty() ? BigDecimal.ZERO : 
-                totalRevenue.divide(BigDecimal.valueOf(sellerSales.size()), 2, BigDecimal.ROUND_HALF_UP);
-        
+    private SellerMetrics toSellerMetrics(SellerSalesSummary summary) {
         return new SellerMetrics(
-                seller.getName(),
-                seller.getCpf(),
-                seller.getEmployeeId(),
-                sellerSales.size(),
-                totalRevenue,
-                averageTicket
+                summary.getSellerName(),
+                summary.getCpf(),
+                summary.getEmployeeId(),
+                summary.getTotalSales().intValue(),
+                summary.getTotalRevenue(),
+                summary.getAverageTicket()
         );
     }
     
+    private void writeSaleRow(Row row, Sale sale, CellStyle dataStyle, CellStyle statusStyle,
+                              CellStyle currencyStyle, CellStyle dateStyle) {
+        // Nome do Pato
+        row.createCell(0).setCellValue(sale.getDuck().getName());
+        row.getCell(0).setCellStyle(dataStyle);
+        
+        // Status do Pato
+        row.createCell(1).setCellValue(sale.getDuck().getStatus().toString());
+        row.getCell(1).setCellStyle(statusStyle);
+        
+        // Nome do Cliente
+        row.createCell(2).setCellValue(sale.getCustomer().getName());
+        row.getCell(2).setCellStyle(dataStyle);
+        
+        // Tipo do Cliente (com/sem desconto)
+        String customerType = sale.getCustomer().getDiscountEligible() ? "Com Desconto" : "Sem Desconto";
+        row.createCell(3).setCellValue(customerType);
+        row.getCell(3).setCellStyle(dataStyle);
+        
+        // Valor Final da Venda
+        row.createCell(4).setCellValue(sale.getFinalPrice().doubleValue());
+        row.getCell(4).setCellStyle(currencyStyle);
+        
+        // Data e Hora da Venda
+        row.createCell(5).setCellValue(sale.getSaleDate().format(DATE_FORMATTER));
+        row.getCell(5).setCellStyle(dateStyle);
+        
+        // Nome do Vendedor
+        row.createCell(6).setCellValue(sale.getSeller().getName());
+        row.getCell(6).setCellStyle(dataStyle);
+    }
+    
+    private void validatePeriod(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Datas de início e fim do relatório são obrigatórias");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Data de fim do relatório não pode ser anterior à data de início");
+        }
+    }
+    
     private byte[] writeWorkbookToBytes(Workbook workbook) throws IOException {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             workbook.write(outputStream);
@@ -0,0 +1,75 @@
+package com.granja.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila em memória com o vencimento das reservas ativas.
+ *
+ * <p>Baseada em {@link DelayQueue}: a thread de expiração fica bloqueada até o próximo
+ * vencimento, sem consultar o banco periodicamente, e retira de uma vez todas as
+ * reservas já vencidas para expirá-las em lote.</p>
+ *
+ * <p>Reservas confirmadas ou liberadas continuam na fila até vencer; ao serem
+ * retiradas, a expiração no banco as ignora por não estarem mais ativas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Component
+public class ReservationExpiryQueue {
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+
+    /**
+     * Agenda a expiração de uma reserva.
+     *
+     * @param reservationId o ID da reserva
+     * @param expiresAt o momento em que a reserva expira
+     */
+    public void schedule(Long reservationId, LocalDateTime expiresAt) {
+        queue.add(new Expiry(reservationId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Aguarda a próxima reserva vencer e retorna ela junto com as demais já vencidas.
+     *
+     * @param maxReservations a quantidade máxima de reservas retornadas
+     * @return IDs das reservas vencidas
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public List<Long> takeExpired(int maxReservations) throws InterruptedException {
+        List<Expiry> expired = new ArrayList<>();
+        expired.add(queue.take());
+        queue.drainTo(expired, maxReservations - 1);
+        return expired.stream().map(Expiry::reservationId).toList();
+    }
+
+    /**
+     * @return quantidade de reservas aguardando o vencimento
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private record Expiry(Long reservationId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Expiry) other).expiresAtMillis);
+        }
+    }
+}
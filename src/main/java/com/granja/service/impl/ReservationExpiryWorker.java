@@ -0,0 +1,102 @@
+package com.granja.service.impl;
+
+import com.granja.entity.DuckReservation.ReservationStatus;
+import com.granja.repository.DuckReservationRepository;
+import com.granja.service.DuckReservationService;
+import com.granja.service.InventoryIndexService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Expira as reservas vencidas e devolve seus patos para AVAILABLE.
+ *
+ * <p>Uma thread dedicada aguarda na {@link ReservationExpiryQueue} e expira em uma
+ * única transação todas as reservas que venceram juntas. Uma varredura periódica
+ * no banco cobre as reservas que não estão na fila desta instância.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryWorker {
+
+    private final DuckReservationService reservationService;
+    private final DuckReservationRepository reservationRepository;
+    private final ReservationExpiryQueue expiryQueue;
+    private final InventoryIndexService inventoryIndexService;
+
+    @Value("${reservations.expiry-batch-size:200}")
+    private int batchSize;
+
+    private Thread thread;
+
+    /**
+     * Agenda as reservas ativas existentes e inicia a thread de expiração.
+     */
+    @PostConstruct
+    public void start() {
+        reservationRepository.findByStatus(ReservationStatus.ACTIVE)
+                .forEach(reservation -> expiryQueue.schedule(reservation.getId(), reservation.getExpiresAt()));
+        log.info("Expiração de reservas iniciada com {} reservas ativas", expiryQueue.size());
+
+        thread = new Thread(this::run, "reservation-expiry");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Interrompe a thread de expiração.
+     */
+    @PreDestroy
+    public void stop() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Expira as reservas vencidas que não passaram pela fila desta instância.
+     *
+     * <p>Não roda na subida: as reservas ativas já foram agendadas na fila por {@link #start()}.</p>
+     */
+    @Scheduled(fixedDelayString = "${reservations.sweep-interval-ms:60000}",
+            initialDelayString = "${reservations.sweep-interval-ms:60000}")
+    public void sweep() {
+        int released = 0;
+        int batch;
+        do {
+            batch = reservationService.expireOverdue();
+            released += batch;
+        } while (batch > 0);
+
+        if (released > 0) {
+            log.info("Varredura de reservas vencidas liberou {} patos", released);
+            // A varredura não sabe quais patos liberou; a conferência traz o índice em dia
+            inventoryIndexService.reconcile();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Long> expired = expiryQueue.takeExpired(batchSize);
+                reservationService.expireReservations(expired);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // As reservas do lote continuam ativas no banco e são expiradas pela varredura
+                log.error("Falha ao expirar reservas: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.granja.service.impl;
+
+import com.granja.dto.SaleBatchResultDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.service.SaleIngestionService;
+import com.granja.service.SaleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of SaleIngestionService with a bounded queue and a single writer.
+ * 
+ * <p>The writer waits for the first queued sale, then keeps collecting sales
+ * until the batch is full or the maximum wait has passed, and creates the batch
+ * with {@link SaleService#createSales(List)}. Sales rejected by validation fail
+ * individually, and a sale whose duck was taken by another sale fails with the
+ * same conflict as on the synchronous path; the rest of the batch is still
+ * committed. A failure of the whole batch fails every sale in it. Conflicts
+ * are not retried here, so the single writer never sleeps in a backoff: the
+ * caller gets the conflict and retries through the controller.</p>
+ * 
+ * <p>When the queue is full, callers wait a bounded time for room and are then
+ * rejected, so a slow database pushes back on clients instead of growing memory.
+ * Callers also wait a bounded time for the commit. If the writer thread dies,
+ * the sales still queued are failed and new sales are rejected.</p>
+ * 
+ * @author Granja System
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SaleIngestionServiceImpl implements SaleIngestionService {
+    
+    private final SaleService saleService;
+    
+    @Value("${sales.group-commit.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${sales.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${sales.group-commit.max-batch-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${sales.group-commit.max-wait-ms:5}")
+    private long maxWaitMs;
+    
+    @Value("${sales.group-commit.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+    
+    @Value("${sales.group-commit.result-timeout-ms:30000}")
+    private long resultTimeoutMs;
+    
+    private BlockingQueue<PendingSale> queue;
+    private Thread writer;
+    private volatile boolean running;
+    
+    /**
+     * Starts the writer thread when group commit is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::run, "sale-group-commit");
+        writer.start();
+        log.info("Sale group commit enabled: batches of up to {} sales or {} ms", maxBatchSize, maxWaitMs);
+    }
+    
+    /**
+     * Stops accepting sales and commits the ones already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+    
+    @Override
+    public SaleDTO createSale(SaleDTO saleDTO) {
+        if (!enabled) {
+            return saleService.createSale(saleDTO);
+        }
+        
+        PendingSale pending = new PendingSale(saleDTO, new CompletableFuture<>());
+        try {
+            if (!running) {
+                throw writerStopped();
+            }
+            if (!queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new BusinessException("Sales ingestion queue is full, please try again", "INGESTION_QUEUE_FULL");
+            }
+            // The writer may have stopped and drained the queue between the check and the offer
+            if (!running && queue.remove(pending)) {
+                throw writerStopped();
+            }
+            return pending.result.get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new BusinessException("Timed out waiting for the sale to be committed; check whether it was created before retrying",
+                    "INGESTION_TIMEOUT");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while waiting for the sale", "INGESTION_INTERRUPTED");
+        }
+    }
+    
+    @Override
+    public boolean isGroupCommitEnabled() {
+        return enabled;
+    }
+    
+    private void run() {
+        List<PendingSale> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    // Shutdown: the loop drains what is left without waiting
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                }
+            }
+            log.info("Sale group commit writer stopped");
+        } catch (Throwable e) {
+            log.error("Sale group commit writer died; new sales will be rejected", e);
+            throw e;
+        } finally {
+            // Nothing completes these sales once the writer is gone
+            running = false;
+            queue.drainTo(batch);
+            BusinessException stopped = writerStopped();
+            batch.forEach(pending -> pending.result.completeExceptionally(stopped));
+        }
+    }
+    
+    private void collect(List<PendingSale> batch) throws InterruptedException {
+        PendingSale first = running ? queue.take() : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatchSize) {
+            // Take what is already queued without waiting, then wait only until the deadline
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingSale next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void commit(List<PendingSale> batch) {
+        List<SaleDTO> saleDTOs = batch.stream().map(PendingSale::saleDTO).toList();
+        try {
+            SaleBatchResultDTO result = saleService.createSales(saleDTOs);
+            
+            // createSales has returned, so the transaction holding the batch is committed
+            for (SaleBatchResultDTO.Item item : result.getItems()) {
+                PendingSale pending = batch.get(item.getIndex());
+                if (Boolean.TRUE.equals(item.getSuccess())) {
+                    pending.result.complete(item.getSale());
+                } else {
+                    pending.result.completeExceptionally(rejection(item));
+                }
+            }
+            log.debug("Group commit of {} sales: {} created", batch.size(), result.getSucceeded());
+        } catch (RuntimeException e) {
+            log.error("Group commit of {} sales failed: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+    
+    /**
+     * Rebuilds the exception the synchronous path would have thrown for a rejected sale.
+     * 
+     * <p>A duck taken by another sale, possibly a batch-mate from another caller, is a
+     * conflict the caller retries; the batch wording would refer to a batch it never sent.</p>
+     */
+    private BusinessException rejection(SaleBatchResultDTO.Item item) {
+        if ("DUCK_ALREADY_SOLD".equals(item.getErrorCode())) {
+            return new ConflictException("Some ducks were sold by another sale, please reload and try again",
+                    "DUCK_ALREADY_SOLD");
+        }
+        return item.getErrorCode() != null
+                ? new BusinessException(item.getError(), item.getErrorCode())
+                : new BusinessException(item.getError());
+    }
+    
+    private BusinessException writerStopped() {
+        return new BusinessException("Sales ingestion is stopped, please try again", "INGESTION_STOPPED");
+    }
+    
+    private record PendingSale(SaleDTO saleDTO, CompletableFuture<SaleDTO> result) {
+    }
+}
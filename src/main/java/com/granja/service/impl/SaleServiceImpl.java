@@ -1,24 +1,55 @@
 package com.granja.service.impl;
 
+import com.granja.dto.SaleBatchResultDTO;
 import com.granja.dto.SaleDTO;
+import com.granja.dto.SalePageDTO;
+import com.granja.dto.SaleSearchCriteria;
 import com.granja.entity.Customer;
 import com.granja.entity.Duck;
 import com.granja.entity.Sale;
 import com.granja.entity.Seller;
 import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
 import com.granja.repository.CustomerRepository;
 import com.granja.repository.DuckRepository;
 import com.granja.repository.SaleRepository;
+import com.granja.repository.SaleSpecifications;
 import com.granja.repository.SellerRepository;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.InventoryIndexService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.ReportCacheService;
 import com.granja.service.SaleService;
+import com.granja.service.SalesRollupService;
+import com.granja.service.SellerLeaderboardService;
+import com.granja.service.SellerMetricsService;
+import com.granja.service.SystemConfigService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of SaleService for managing sales operations.
@@ -36,74 +67,153 @@ public class SaleServiceImpl implements SaleService {
     private final DuckRepository duckRepository;
     private final CustomerRepository customerRepository;
     private final SellerRepository sellerRepository;
+    private final ReportCacheService reportCacheService;
+    private final SalesRollupService salesRollupService;
+    private final SellerMetricsService sellerMetricsService;
+    private final SellerLeaderboardService sellerLeaderboardService;
+    private final SystemConfigService systemConfigService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final InventoryIndexService inventoryIndexService;
+    private final EntityCacheService entityCacheService;
+    private final CustomerPurchaseSummaryService customerPurchaseSummaryService;
+    
+    @Value("${sales.batch.max-items:1000}")
+    private int batchMaxItems;
+    
+    @Value("${sales.search.max-page-size:200}")
+    private int searchMaxPageSize;
     
     @Override
     @Transactional
     public SaleDTO createSale(SaleDTO saleDTO) {
         log.info("Creating sale: {}", saleDTO);
+        return completeSale(saleDTO, Duck.DuckStatus.AVAILABLE);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SaleDTO createSaleForReservedDucks(SaleDTO saleDTO) {
+        log.info("Creating sale from reserved ducks: {}", saleDTO);
+        return completeSale(saleDTO, Duck.DuckStatus.RESERVED);
+    }
+    
+    @Override
+    @Transactional
+    public SaleBatchResultDTO createSales(List<SaleDTO> saleDTOs) {
+        log.info("Creating batch of {} sales", saleDTOs.size());
         
-        // Validate entities exist
-        Customer customer = customerRepository.findById(saleDTO.getCustomerId())
-                .orElseThrow(() -> new BusinessException("Customer not found"));
+        if (saleDTOs.isEmpty()) {
+            throw new BusinessException("At least one sale must be informed");
+        }
+        if (saleDTOs.size() > batchMaxItems) {
+            throw new BusinessException("Batch exceeds the limit of " + batchMaxItems + " sales");
+        }
+        // Every sale of the batch is priced with the same configuration
+        SystemConfigService.Snapshot config = openForSales();
         
-        Seller seller = sellerRepository.findById(saleDTO.getSellerId())
-                .orElseThrow(() -> new BusinessException("Seller not found"));
+        // Load every referenced entity with one query per type
+        Map<Long, Customer> customers = customerRepository.findAllById(collectIds(saleDTOs, dto -> Stream.of(dto.getCustomerId())))
+                .stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Seller> sellers = sellerRepository.findAllById(collectIds(saleDTOs, dto -> Stream.of(dto.getSellerId())))
+                .stream()
+                .collect(Collectors.toMap(Seller::getId, Function.identity()));
+        // Ducks are read without locks: one taken by a concurrent sale fails only the sales using it
+        Map<Long, Duck> ducks = duckRepository.findAllById(collectIds(saleDTOs,
+                        dto -> dto.getDuckIds() != null ? dto.getDuckIds().stream() : Stream.empty()))
+                .stream()
+                .collect(Collectors.toMap(Duck::getId, Function.identity()));
         
-        List<Duck> ducks = duckRepository.findAllById(saleDTO.getDuckIds());
-        if (ducks.size() != saleDTO.getDuckIds().size()) {
-            throw new BusinessException("Some ducks not found");
-        }
+        SaleBatchResultDTO.Item[] results = new SaleBatchResultDTO.Item[saleDTOs.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<Long> soldDuckIds = new HashSet<>();
         
-        // Check if ducks are available
-        for (Duck duck : ducks) {
-            if (duck.getStatus() != Duck.DuckStatus.AVAILABLE) {
-                throw new BusinessException("Duck " + duck.getName() + " is not available");
+        for (int i = 0; i < saleDTOs.size(); i++) {
+            SaleDTO saleDTO = saleDTOs.get(i);
+            String error = validateBatchItem(saleDTO, customers, sellers, ducks);
+            if (error != null) {
+                results[i] = SaleBatchResultDTO.Item.builder().index(i).success(false).error(error).build();
+                continue;
+            }
+            Optional<Long> sold = saleDTO.getDuckIds().stream().filter(soldDuckIds::contains).findFirst();
+            if (sold.isPresent()) {
+                // Same race the synchronous path reports as a conflict, e.g. between group commit callers
+                results[i] = SaleBatchResultDTO.Item.builder().index(i).success(false)
+                        .error("Duck " + ducks.get(sold.get()).getName() + " is already sold in this batch")
+                        .errorCode("DUCK_ALREADY_SOLD")
+                        .build();
+                continue;
             }
+            soldDuckIds.addAll(saleDTO.getDuckIds());
+            validIndexes.add(i);
         }
         
-        // Calculate total price
-        BigDecimal totalPrice = ducks.stream()
-                .map(Duck::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Claim every duck with one conditional UPDATE; the ones it does not return were
+        // taken by a concurrent sale or reservation after being read
+        Set<Long> claimed = soldDuckIds.isEmpty() ? new HashSet<>() : new HashSet<>(duckRepository
+                .updateStatusReturningIds(soldDuckIds, Duck.DuckStatus.AVAILABLE.name(), Duck.DuckStatus.SOLD.name()));
+        Set<Long> released = new HashSet<>();
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> saleIndexes = new ArrayList<>();
         
-        // Apply discount if customer is eligible
-        BigDecimal discountAmount = BigDecimal.ZERO;
-        if (customer.getDiscountEligible()) {
-            discountAmount = totalPrice.multiply(new BigDecimal("0.20")); // 20% discount
+        for (int i : validIndexes) {
+            SaleDTO saleDTO = saleDTOs.get(i);
+            Optional<Long> taken = saleDTO.getDuckIds().stream().filter(id -> !claimed.contains(id)).findFirst();
+            if (taken.isPresent()) {
+                results[i] = SaleBatchResultDTO.Item.builder().index(i).success(false)
+                        .error("Duck " + ducks.get(taken.get()).getName()
+                                + " was sold by another sale, please reload and try again")
+                        .errorCode("DUCK_ALREADY_SOLD")
+                        .build();
+                saleDTO.getDuckIds().stream().filter(claimed::contains).forEach(released::add);
+                continue;
+            }
+            
+            List<Duck> saleDucks = saleDTO.getDuckIds().stream().map(ducks::get).toList();
+            sales.add(buildSale(customers.get(saleDTO.getCustomerId()), sellers.get(saleDTO.getSellerId()), saleDucks,
+                    config.discountRate()));
+            saleIndexes.add(i);
         }
         
-        BigDecimal finalPrice = totalPrice.subtract(discountAmount);
-        
-        // Create sale - note: this is a simplified version for now
-        // The actual Sale entity has a single duck relationship, not multiple
-        Sale sale = Sale.builder()
-                .duck(ducks.get(0)) // For now, just use the first duck
-                .customer(customer)
-                .seller(seller)
-                .originalPrice(totalPrice)
-                .discountAmount(discountAmount)
-                .finalPrice(finalPrice)
-                .saleDate(LocalDateTime.now())
-                .build();
+        if (!released.isEmpty()) {
+            // Ducks claimed for a sale that lost another of its ducks go back on sale
+            duckRepository.updateStatus(released, Duck.DuckStatus.SOLD, Duck.DuckStatus.AVAILABLE);
+            claimed.removeAll(released);
+        }
         
-        Sale savedSale = saleRepository.save(sale);
+        if (!sales.isEmpty()) {
+            inventoryIndexService.removeDucks(claimed);
+            entityCacheService.evictDucks(claimed);
+            
+            // Inserts are grouped into JDBC batches (hibernate.jdbc.batch_size)
+            saleRepository.saveAll(sales);
+            
+            salesRollupService.recordSales(sales);
+            sellerMetricsService.recordSales(sales);
+            sellerLeaderboardService.recordSales(sales);
+            customerPurchaseSummaryService.recordSales(sales);
+            sales.stream()
+                    .map(Sale::getSaleDate)
+                    .distinct()
+                    .forEach(reportCacheService::invalidate);
+        }
         
-        // Update duck status to SOLD
-        for (Duck duck : ducks) {
-            duck.setStatus(Duck.DuckStatus.SOLD);
-            duckRepository.save(duck);
+        for (int j = 0; j < sales.size(); j++) {
+            int index = saleIndexes.get(j);
+            results[index] = SaleBatchResultDTO.Item.builder()
+                    .index(index)
+                    .success(true)
+                    .sale(mapToCreatedDTO(sales.get(j), saleDTOs.get(index).getDuckIds()))
+                    .build();
         }
         
-        log.info("Sale created successfully: {}", savedSale.getId());
+        log.info("Batch created {} of {} sales", sales.size(), saleDTOs.size());
         
-        return SaleDTO.builder()
-                .id(savedSale.getId())
-                .duckIds(saleDTO.getDuckIds())
-                .customerId(savedSale.getCustomer().getId())
-                .sellerId(savedSale.getSeller().getId())
-                .originalPrice(savedSale.getOriginalPrice().doubleValue())
-                .discountAmount(savedSale.getDiscountAmount().doubleValue())
-                .finalPrice(savedSale.getFinalPrice().doubleValue())
+        return SaleBatchResultDTO.builder()
+                .total(saleDTOs.size())
+                .succeeded(sales.size())
+                .failed(saleDTOs.size() - sales.size())
+                .items(List.of(results))
                 .build();
     }
     
@@ -134,6 +244,59 @@ public class SaleServiceImpl implements SaleService {
                 .toList();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllSales(OutputStream outputStream) throws IOException {
+        log.info("Streaming all sales as NDJSON");
+        try (Stream<Sale> sales = saleRepository.streamAll()) {
+            long total = ndjsonStreamWriter.write(sales, this::mapToDTO, outputStream);
+            log.info("Streamed {} sales", total);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SalePageDTO searchSales(SaleSearchCriteria criteria, String cursor, int size) {
+        if (size < 1 || size > searchMaxPageSize) {
+            throw new BusinessException("Page size must be between 1 and " + searchMaxPageSize, "INVALID_PAGE_SIZE");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new BusinessException("Search start date must be before the end date");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new BusinessException("Minimum price must not be greater than the maximum price");
+        }
+        
+        Specification<Sale> spec = Specification.allOf(
+                SaleSpecifications.fetchAssociations(),
+                SaleSpecifications.customerId(criteria.getCustomerId()),
+                SaleSpecifications.sellerId(criteria.getSellerId()),
+                SaleSpecifications.saleDateFrom(criteria.getFrom()),
+                SaleSpecifications.saleDateTo(criteria.getTo()),
+                SaleSpecifications.minFinalPrice(criteria.getMinPrice()),
+                SaleSpecifications.maxFinalPrice(criteria.getMaxPrice()),
+                SaleSpecifications.discounted(criteria.getDiscounted()));
+        if (cursor != null && !cursor.isBlank()) {
+            Sale last = decodeCursor(cursor);
+            spec = spec.and(SaleSpecifications.after(last.getSaleDate(), last.getId()));
+        }
+        
+        // One extra row tells whether there is a next page without a COUNT query
+        List<Sale> sales = saleRepository.findBy(spec, query -> query
+                .sortBy(SaleSpecifications.KEYSET_ORDER)
+                .limit(size + 1)
+                .all());
+        boolean hasMore = sales.size() > size;
+        List<Sale> page = hasMore ? sales.subList(0, size) : sales;
+        
+        return SalePageDTO.builder()
+                .items(page.stream().map(this::mapToDTO).toList())
+                .size(page.size())
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .build();
+    }
+    
     @Override
     public List<SaleDTO> getSalesByCustomerId(Long customerId) {
         log.info("Fetching sales by customer id: {}", customerId);
@@ -151,11 +314,185 @@ public class SaleServiceImpl implements SaleService {
     }
     
     @Override
+    @Transactional
     public void deleteSale(Long id) {
         log.info("Deleting sale: {}", id);
         Sale sale = saleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Sale not found"));
         saleRepository.delete(sale);
+        salesRollupService.removeSale(sale);
+        sellerMetricsService.removeSale(sale);
+        sellerLeaderboardService.removeSale(sale);
+        customerPurchaseSummaryService.removeSale(sale);
+        reportCacheService.invalidate(sale.getSaleDate());
+    }
+    
+    private SaleDTO completeSale(SaleDTO saleDTO, Duck.DuckStatus expectedStatus) {
+        SystemConfigService.Snapshot config = openForSales();
+        
+        // Validate entities exist; customers and sellers rarely change and come from the entity cache
+        Customer customer = entityCacheService.findCustomer(saleDTO.getCustomerId())
+                .orElseThrow(() -> new BusinessException("Customer not found"));
+        
+        Seller seller = entityCacheService.findSeller(saleDTO.getSellerId())
+                .orElseThrow(() -> new BusinessException("Seller not found"));
+        
+        // Ducks are read from the database: each one is sold once, so a cached copy
+        // would rarely be hit and its status is what this sale depends on
+        List<Duck> ducks = duckRepository.findAllById(saleDTO.getDuckIds());
+        if (ducks.size() != saleDTO.getDuckIds().size()) {
+            throw new BusinessException("Some ducks not found");
+        }
+        
+        // Check if ducks are available
+        for (Duck duck : ducks) {
+            if (duck.getStatus() != expectedStatus) {
+                throw new BusinessException("Duck " + duck.getName() + " is not available");
+            }
+        }
+        
+        // Claim the ducks before recording the sale: the availability check above
+        // may be stale, the conditional update is what prevents double selling
+        markDucksSold(saleDTO.getDuckIds(), expectedStatus);
+        
+        Sale sale = buildSale(customer, seller, ducks, config.discountRate());
+        
+        Sale savedSale = saleRepository.save(sale);
+        salesRollupService.recordSale(sale);
+        sellerMetricsService.recordSale(sale);
+        sellerLeaderboardService.recordSale(sale);
+        customerPurchaseSummaryService.recordSale(sale);
+        
+        // Reports covering the sale date no longer reflect the data
+        reportCacheService.invalidate(sale.getSaleDate());
+        
+        log.info("Sale created successfully: {}", savedSale.getId());
+        
+        return mapToCreatedDTO(savedSale, saleDTO.getDuckIds());
+    }
+    
+    private void markDucksSold(Collection<Long> duckIds, Duck.DuckStatus expectedStatus) {
+        Set<Long> ids = new HashSet<>(duckIds);
+        int updated = duckRepository.updateStatus(ids, expectedStatus, Duck.DuckStatus.SOLD);
+        if (updated != ids.size()) {
+            // Another sale took some of the ducks after they were read; the whole sale rolls back
+            throw new ConflictException("Some ducks were sold by another sale, please reload and try again",
+                    "DUCK_ALREADY_SOLD");
+        }
+        inventoryIndexService.removeDucks(ids);
+        entityCacheService.evictDucks(ids);
+    }
+    
+    private SystemConfigService.Snapshot openForSales() {
+        SystemConfigService.Snapshot config = systemConfigService.current();
+        if (config.maintenanceMode()) {
+            throw new BusinessException("The system is under maintenance, sales are temporarily disabled",
+                    "MAINTENANCE_MODE");
+        }
+        return config;
+    }
+    
+    private Sale buildSale(Customer customer, Seller seller, List<Duck> ducks, BigDecimal discountRate) {
+        // Calculate total price
+        BigDecimal totalPrice = ducks.stream()
+                .map(Duck::getPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        // Apply discount if customer is eligible
+        BigDecimal discountAmount = BigDecimal.ZERO;
+        if (customer.getDiscountEligible()) {
+            discountAmount = totalPrice.multiply(discountRate); // DISCOUNT_PERCENTAGE from system_config
+        }
+        
+        BigDecimal finalPrice = totalPrice.subtract(discountAmount);
+        
+        // Create sale - note: this is a simplified version for now
+        // The actual Sale entity has a single duck relationship, not multiple
+        return Sale.builder()
+                .duck(ducks.get(0)) // For now, just use the first duck
+                .customer(customer)
+                .seller(seller)
+                .originalPrice(totalPrice)
+                .discountAmount(discountAmount)
+                .finalPrice(finalPrice)
+                .saleDate(LocalDateTime.now())
+                .build();
+    }
+    
+    private String validateBatchItem(SaleDTO saleDTO, Map<Long, Customer> customers, Map<Long, Seller> sellers,
+                                     Map<Long, Duck> ducks) {
+        if (saleDTO.getCustomerId() == null) {
+            return "Customer ID is required";
+        }
+        if (saleDTO.getSellerId() == null) {
+            return "Seller ID is required";
+        }
+        if (saleDTO.getDuckIds() == null || saleDTO.getDuckIds().isEmpty()) {
+            return "At least one duck must be selected for sale";
+        }
+        if (!customers.containsKey(saleDTO.getCustomerId())) {
+            return "Customer not found";
+        }
+        if (!sellers.containsKey(saleDTO.getSellerId())) {
+            return "Seller not found";
+        }
+        if (new HashSet<>(saleDTO.getDuckIds()).size() != saleDTO.getDuckIds().size()
+                || !ducks.keySet().containsAll(saleDTO.getDuckIds())) {
+            return "Some ducks not found";
+        }
+        for (Long duckId : saleDTO.getDuckIds()) {
+            Duck duck = ducks.get(duckId);
+            if (duck.getStatus() != Duck.DuckStatus.AVAILABLE) {
+                return "Duck " + duck.getName() + " is not available";
+            }
+        }
+        return null;
+    }
+    
+    private Set<Long> collectIds(List<SaleDTO> saleDTOs, Function<SaleDTO, Stream<Long>> ids) {
+        return saleDTOs.stream()
+                .flatMap(ids)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+    
+    /**
+     * Encodes the position of a sale in the search order as an opaque token.
+     */
+    private String encodeCursor(Sale sale) {
+        String position = sale.getSaleDate() + "|" + sale.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a cursor into a sale holding only its date and ID.
+     */
+    private Sale decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return Sale.builder()
+                    .saleDate(LocalDateTime.parse(position.substring(0, separator)))
+                    .id(Long.parseLong(position.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid search cursor", "INVALID_CURSOR", e);
+        }
+    }
+    
+    private SaleDTO mapToCreatedDTO(Sale sale, List<Long> duckIds) {
+        return SaleDTO.builder()
+                .id(sale.getId())
+                .duckIds(duckIds)
+                .customerId(sale.getCustomer().getId())
+                .sellerId(sale.getSeller().getId())
+                .originalPrice(sale.getOriginalPrice().doubleValue())
+                .discountAmount(sale.getDiscountAmount().doubleValue())
+                .finalPrice(sale.getFinalPrice().doubleValue())
+                .build();
     }
     
     private SaleDTO mapToDTO(Sale sale) {
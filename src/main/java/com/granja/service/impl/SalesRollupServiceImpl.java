@@ -0,0 +1,258 @@
+package com.granja.service.impl;
+
+import com.granja.entity.Sale;
+import com.granja.repository.DailySalesRollupRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.ReportCacheService;
+import com.granja.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação do SalesRollupService sobre a tabela daily_sales_rollup.
+ *
+ * <p>Uma venda é classificada como "com desconto" pelo valor de desconto gravado nela,
+ * e não pelo cadastro atual do cliente, para que criação, remoção e reconstrução
+ * sempre concordem sobre a linha do consolidado afetada.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    // Último instante do dia representável no banco (precisão de microssegundos)
+    private static final LocalTime LAST_STORED_INSTANT = LocalTime.of(23, 59, 59, 999_999_000);
+
+    private static final Comparator<SellerSalesSummary> RANKING_ORDER = Comparator
+            .comparing(SellerSalesSummary::getTotalRevenue, Comparator.reverseOrder())
+            .thenComparing(SellerSalesSummary::getSellerId);
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final SaleRepository saleRepository;
+    private final ReportCacheService reportCacheService;
+
+    @Value("${reports.rollup.repair-days:7}")
+    private int repairDays;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSale(Sale sale) {
+        BigDecimal discount = discountOf(sale);
+        dailySalesRollupRepository.applyDelta(sale.getSaleDate().toLocalDate(), sale.getSeller().getId(),
+                discount.signum() > 0, 1, sale.getOriginalPrice(), discount, sale.getFinalPrice());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSales(List<Sale> sales) {
+        // Ordenadas pela chave do consolidado: vendas da mesma linha ficam vizinhas e
+        // lotes concorrentes bloqueiam as linhas na mesma ordem
+        List<Sale> ordered = new ArrayList<>(sales);
+        ordered.sort(Comparator.comparing((Sale sale) -> sale.getSaleDate().toLocalDate())
+                .thenComparing(sale -> sale.getSeller().getId())
+                .thenComparing(sale -> discountOf(sale).signum() > 0));
+
+        int groupStart = 0;
+        while (groupStart < ordered.size()) {
+            Sale first = ordered.get(groupStart);
+            LocalDate saleDay = first.getSaleDate().toLocalDate();
+            Long sellerId = first.getSeller().getId();
+            boolean discountEligible = discountOf(first).signum() > 0;
+
+            BigDecimal originalTotal = BigDecimal.ZERO;
+            BigDecimal discountTotal = BigDecimal.ZERO;
+            BigDecimal finalTotal = BigDecimal.ZERO;
+            int groupEnd = groupStart;
+            while (groupEnd < ordered.size() && sameRollupRow(ordered.get(groupEnd), saleDay, sellerId, discountEligible)) {
+                Sale sale = ordered.get(groupEnd++);
+                originalTotal = originalTotal.add(sale.getOriginalPrice());
+                discountTotal = discountTotal.add(discountOf(sale));
+                finalTotal = finalTotal.add(sale.getFinalPrice());
+            }
+
+            dailySalesRollupRepository.applyDelta(saleDay, sellerId, discountEligible, groupEnd - groupStart,
+                    originalTotal, discountTotal, finalTotal);
+            groupStart = groupEnd;
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSale(Sale sale) {
+        BigDecimal discount = discountOf(sale);
+        LocalDate saleDay = sale.getSaleDate().toLocalDate();
+        boolean discountEligible = discount.signum() > 0;
+
+        dailySalesRollupRepository.applyDelta(saleDay, sale.getSeller().getId(), discountEligible, -1,
+                sale.getOriginalPrice().negate(), discount.negate(), sale.getFinalPrice().negate());
+        dailySalesRollupRepository.deleteIfEmpty(saleDay, sale.getSeller().getId(), discountEligible);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SellerSalesSummary> summarizeBySellerInPeriod(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDate.toLocalDate()
+                : startDate.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = endDate.toLocalTime().isBefore(LAST_STORED_INSTANT)
+                ? endDate.toLocalDate().minusDays(1)
+                : endDate.toLocalDate();
+
+        // Período sem nenhum dia completo: não há o que ler do consolidado
+        if (firstFullDay.isAfter(lastFullDay)) {
+            return saleRepository.summarizeBySellerInPeriod(startDate, endDate);
+        }
+
+        Map<Long, SellerTotals> totals = new LinkedHashMap<>();
+        merge(totals, dailySalesRollupRepository.summarizeBySellerInDays(firstFullDay, lastFullDay));
+
+        LocalDateTime fullDaysStart = firstFullDay.atStartOfDay();
+        if (startDate.isBefore(fullDaysStart)) {
+            merge(totals, saleRepository.summarizeBySellerInRange(startDate, fullDaysStart));
+        }
+        LocalDateTime fullDaysEnd = lastFullDay.plusDays(1).atStartOfDay();
+        if (!endDate.isBefore(fullDaysEnd)) {
+            merge(totals, saleRepository.summarizeBySellerInPeriod(fullDaysEnd, endDate));
+        }
+
+        List<SellerSalesSummary> summaries = new ArrayList<>(totals.values());
+        summaries.sort(RANKING_ORDER);
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(LocalDate startDay, LocalDate endDay) {
+        if (startDay == null || endDay == null || endDay.isBefore(startDay)) {
+            throw new IllegalArgumentException("Intervalo de dias inválido");
+        }
+
+        dailySalesRollupRepository.lockForRebuild();
+        int removed = dailySalesRollupRepository.deleteBySaleDayBetween(startDay, endDay);
+        int created = dailySalesRollupRepository.rebuildFromSales(startDay.atStartOfDay(), endDay.plusDays(1).atStartOfDay());
+        // Rankings em cache podem ter sido calculados com o consolidado divergente
+        reportCacheService.clear();
+        log.info("Consolidado de vendas reconstruído de {} até {}: {} linhas removidas, {} criadas",
+                startDay, endDay, removed, created);
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        dailySalesRollupRepository.lockForRebuild();
+        dailySalesRollupRepository.deleteAllInBatch();
+        reportCacheService.clear();
+
+        LocalDate firstSaleDay = dailySalesRollupRepository.findFirstSaleDay();
+        if (firstSaleDay == null) {
+            log.info("Consolidado de vendas reconstruído: nenhuma venda registrada");
+            return 0;
+        }
+
+        int created = dailySalesRollupRepository.rebuildFromSales(firstSaleDay.atStartOfDay(),
+                LocalDate.now().plusDays(1).atStartOfDay());
+        log.info("Consolidado de vendas reconstruído desde {}: {} linhas criadas", firstSaleDay, created);
+        return created;
+    }
+
+    /**
+     * Reconstrói periodicamente os dias mais recentes, corrigindo divergências
+     * causadas por alterações feitas diretamente no banco.
+     */
+    @Scheduled(cron = "${reports.rollup.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public void repairRecentDays() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(repairDays), today);
+    }
+
+    private void merge(Map<Long, SellerTotals> totals, List<SellerSalesSummary> summaries) {
+        for (SellerSalesSummary summary : summaries) {
+            totals.computeIfAbsent(summary.getSellerId(), id -> new SellerTotals(summary))
+                    .add(summary.getTotalSales(), summary.getTotalRevenue());
+        }
+    }
+
+    private boolean sameRollupRow(Sale sale, LocalDate saleDay, Long sellerId, boolean discountEligible) {
+        return sale.getSaleDate().toLocalDate().equals(saleDay)
+                && sale.getSeller().getId().equals(sellerId)
+                && (discountOf(sale).signum() > 0) == discountEligible;
+    }
+
+    private BigDecimal discountOf(Sale sale) {
+        return sale.getDiscountAmount() != null ? sale.getDiscountAmount() : BigDecimal.ZERO;
+    }
+
+    // Totais de um vendedor somados entre consolidado e frações de dia
+    private static final class SellerTotals implements SellerSalesSummary {
+        private final Long sellerId;
+        private final String sellerName;
+        private final String cpf;
+        private final String employeeId;
+        private long totalSales;
+        private BigDecimal totalRevenue = BigDecimal.ZERO;
+
+        SellerTotals(SellerSalesSummary summary) {
+            this.sellerId = summary.getSellerId();
+            this.sellerName = summary.getSellerName();
+            this.cpf = summary.getCpf();
+            this.employeeId = summary.getEmployeeId();
+        }
+
+        void add(Long sales, BigDecimal revenue) {
+            totalSales += sales != null ? sales : 0;
+            totalRevenue = totalRevenue.add(revenue != null ? revenue : BigDecimal.ZERO);
+        }
+
+        @Override
+        public Long getSellerId() {
+            return sellerId;
+        }
+
+        @Override
+        public String getSellerName() {
+            return sellerName;
+        }
+
+        @Override
+        public String getCpf() {
+            return cpf;
+        }
+
+        @Override
+        public String getEmployeeId() {
+            return employeeId;
+        }
+
+        @Override
+        public Long getTotalSales() {
+            return totalSales;
+        }
+
+        @Override
+        public BigDecimal getTotalRevenue() {
+            return totalRevenue;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.granja.service.impl;
+
+import com.granja.dto.SellerRankingDTO;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.SellerMetricsRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.SellerLeaderboardService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementação do SellerLeaderboardService com acumuladores sem bloqueio.
+ *
+ * <p>Cada vendedor tem contadores {@link LongAdder} de quantidade e de receita em
+ * centavos, de modo que vendas simultâneas não disputam um lock. A lista ordenada
+ * é uma cópia imutável refeita sob demanda: após uma alteração, a primeira consulta
+ * reordena os vendedores e as demais continuam lendo a cópia anterior até a nova
+ * ficar pronta.</p>
+ *
+ * <p>As alterações só são aplicadas após o commit da transação que gravou a venda,
+ * para que vendas desfeitas não apareçam no ranking.</p>
+ *
+ * <p>A recarga lê as métricas com a tabela seller_metrics bloqueada e troca o mapa
+ * antes de liberá-la, numerando cada carga. Cada venda guarda o número da carga
+ * vigente logo após gravar as métricas: se a troca acontecer antes de a venda ser
+ * aplicada, uma venda de número menor já está na leitura e não é somada de novo.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SellerLeaderboardServiceImpl implements SellerLeaderboardService {
+
+    private static final Comparator<SellerRankingDTO> RANKING_ORDER = Comparator
+            .comparing(SellerRankingDTO::getTotalRevenue, Comparator.reverseOrder())
+            .thenComparing(SellerRankingDTO::getId);
+
+    private final SellerMetricsRepository sellerMetricsRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong loads = new AtomicLong();
+    private volatile Board board = new Board(0, new ConcurrentHashMap<>());
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile List<SellerRankingDTO> ranking = List.of();
+
+    /**
+     * Carrega o ranking a partir das métricas persistidas antes de a aplicação
+     * começar a receber requisições.
+     *
+     * <p>Roda em transação própria, pois a reconciliação a chama após o seu commit.</p>
+     */
+    @PostConstruct
+    @Override
+    public void reload() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer sellers = transaction.execute(status -> {
+            // Com a tabela bloqueada, toda venda que já gravou métricas está confirmada e entra na
+            // leitura; as demais só gravam após a troca e guardam o número desta carga
+            sellerMetricsRepository.lockForReconcile();
+            long load = loads.incrementAndGet();
+
+            // Monta um mapa novo e troca de uma vez, para as consultas nunca verem o ranking pela metade
+            ConcurrentHashMap<Long, SellerEntry> loaded = new ConcurrentHashMap<>();
+            for (SellerSalesSummary summary : sellerMetricsRepository.findRanking()) {
+                SellerEntry entry = new SellerEntry(summary.getSellerId(), summary.getSellerName(),
+                        summary.getCpf(), summary.getEmployeeId());
+                entry.salesCount.add(summary.getTotalSales() != null ? summary.getTotalSales() : 0);
+                entry.revenueCents.add(toCents(summary.getTotalRevenue()));
+                loaded.put(entry.sellerId, entry);
+            }
+            board = new Board(load, loaded);
+            return loaded.size();
+        });
+        dirty.set(true);
+        log.info("Ranking de vendedores em memória carregado com {} vendedores", sellers);
+    }
+
+    @Override
+    public void recordSale(Sale sale) {
+        Seller seller = sale.getSeller();
+        long cents = toCents(sale.getFinalPrice());
+        long load = loads.get();
+        TransactionHooks.afterCommit(() -> apply(load, seller, 1, cents));
+    }
+
+    @Override
+    public void recordSales(List<Sale> sales) {
+        List<Sale> recorded = List.copyOf(sales);
+        long load = loads.get();
+        TransactionHooks.afterCommit(() -> recorded.forEach(sale ->
+                apply(load, sale.getSeller(), 1, toCents(sale.getFinalPrice()))));
+    }
+
+    @Override
+    public void removeSale(Sale sale) {
+        Seller seller = sale.getSeller();
+        long cents = toCents(sale.getFinalPrice());
+        long load = loads.get();
+        TransactionHooks.afterCommit(() -> apply(load, seller, -1, -cents));
+    }
+
+    @Override
+    public void registerSeller(Seller seller) {
+        TransactionHooks.afterCommit(() -> {
+            entryFor(board, seller).updateDetails(seller);
+            dirty.set(true);
+        });
+    }
+
+    @Override
+    public void removeSeller(Long sellerId) {
+        TransactionHooks.afterCommit(() -> {
+            board.entries().remove(sellerId);
+            dirty.set(true);
+        });
+    }
+
+    @Override
+    public List<SellerRankingDTO> getTop(int limit) {
+        List<SellerRankingDTO> current = currentRanking();
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    private List<SellerRankingDTO> currentRanking() {
+        // Apenas uma thread reordena; as demais usam a cópia anterior enquanto isso
+        if (dirty.compareAndSet(true, false)) {
+            ConcurrentHashMap<Long, SellerEntry> entries = board.entries();
+            List<SellerRankingDTO> rebuilt = new ArrayList<>(entries.size());
+            for (SellerEntry entry : entries.values()) {
+                rebuilt.add(entry.toDTO());
+            }
+            rebuilt.sort(RANKING_ORDER);
+            for (int i = 0; i < rebuilt.size(); i++) {
+                rebuilt.get(i).setPosition(i + 1);
+            }
+            ranking = List.copyOf(rebuilt);
+        }
+        return ranking;
+    }
+
+    /**
+     * @param load o número da carga vigente quando a venda gravou as métricas
+     */
+    private void apply(long load, Seller seller, long salesDelta, long centsDelta) {
+        Board current = board;
+        if (load < current.load()) {
+            // Confirmada antes de a carga atual ler as métricas, que já a contêm
+            return;
+        }
+        SellerEntry entry = entryFor(current, seller);
+        entry.salesCount.add(salesDelta);
+        entry.revenueCents.add(centsDelta);
+        dirty.set(true);
+    }
+
+    private SellerEntry entryFor(Board current, Seller seller) {
+        return current.entries().computeIfAbsent(seller.getId(), id -> new SellerEntry(id, seller.getName(),
+                seller.getCpf(), seller.getEmployeeId()));
+    }
+
+    // O banco grava os valores com duas casas decimais, arredondando para cima a partir de meio centavo
+    private long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    /**
+     * Vendedores de uma carga e o número dela.
+     */
+    private record Board(long load, ConcurrentHashMap<Long, SellerEntry> entries) {
+    }
+
+    private static final class SellerEntry {
+        final Long sellerId;
+        final LongAdder salesCount = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+        volatile String name;
+        volatile String cpf;
+        volatile String employeeId;
+
+        SellerEntry(Long sellerId, String name, String cpf, String employeeId) {
+            this.sellerId = sellerId;
+            this.name = name;
+            this.cpf = cpf;
+            this.employeeId = employeeId;
+        }
+
+        void updateDetails(Seller seller) {
+            name = seller.getName();
+            cpf = seller.getCpf();
+            employeeId = seller.getEmployeeId();
+        }
+
+        SellerRankingDTO toDTO() {
+            long sales = salesCount.sum();
+            BigDecimal revenue = BigDecimal.valueOf(revenueCents.sum(), 2);
+            BigDecimal averageTicket = sales > 0
+                    ? revenue.divide(BigDecimal.valueOf(sales), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+
+            return SellerRankingDTO.builder()
+                    .id(sellerId)
+                    .name(name)
+                    .cpf(cpf)
+                    .employeeId(employeeId)
+                    .totalSales(sales)
+                    .totalRevenue(revenue)
+                    .averageTicket(averageTicket)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.granja.service.impl;
+
+import com.granja.entity.Sale;
+import com.granja.repository.SellerMetricsRepository;
+import com.granja.service.SellerLeaderboardService;
+import com.granja.service.SellerMetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do SellerMetricsService sobre a tabela seller_metrics.
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SellerMetricsServiceImpl implements SellerMetricsService {
+
+    private final SellerMetricsRepository sellerMetricsRepository;
+    private final SellerLeaderboardService sellerLeaderboardService;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registerSeller(Long sellerId) {
+        sellerMetricsRepository.insertIfAbsent(sellerId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSeller(Long sellerId) {
+        sellerMetricsRepository.deleteBySellerId(sellerId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSale(Sale sale) {
+        sellerMetricsRepository.addSales(sale.getSeller().getId(), 1, sale.getFinalPrice(), sale.getSaleDate());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSales(List<Sale> sales) {
+        Map<Long, List<Sale>> salesBySeller = sales.stream()
+                .collect(Collectors.groupingBy(sale -> sale.getSeller().getId(), TreeMap::new, Collectors.toList()));
+
+        // Vendedores em ordem de ID para que lotes concorrentes bloqueiem as linhas na mesma ordem
+        salesBySeller.forEach((sellerId, sellerSales) -> {
+            BigDecimal amount = sellerSales.stream()
+                    .map(Sale::getFinalPrice)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            LocalDateTime lastSaleDate = sellerSales.stream()
+                    .map(Sale::getSaleDate)
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+            sellerMetricsRepository.addSales(sellerId, sellerSales.size(), amount, lastSaleDate);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSale(Sale sale) {
+        int updated = sellerMetricsRepository.removeSale(sale.getSeller().getId(), sale.getFinalPrice());
+        if (updated == 0) {
+            // Sem linha de métricas para o vendedor: a próxima reconciliação corrige
+            log.warn("Métricas do vendedor {} não encontradas ao remover a venda {}",
+                    sale.getSeller().getId(), sale.getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public int reconcile() {
+        sellerMetricsRepository.lockForReconcile();
+        int sellers = sellerMetricsRepository.rebuildFromSales();
+        // Recarregado apenas com as métricas reconstruídas já confirmadas; desfeita, o ranking não muda
+        TransactionHooks.afterCommit(sellerLeaderboardService::reload);
+        log.info("Métricas de vendedores reconciliadas: {} vendedores", sellers);
+        return sellers;
+    }
+}
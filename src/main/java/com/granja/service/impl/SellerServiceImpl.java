@@ -1,16 +1,27 @@
 package com.granja.service.impl;
 
 import com.granja.dto.SellerDTO;
+import com.granja.dto.SellerRankingDTO;
 import com.granja.entity.Seller;
 import com.granja.exception.BusinessException;
+import com.granja.repository.SellerMetricsRepository;
 import com.granja.repository.SellerRepository;
+import com.granja.service.EntityCacheService;
+import com.granja.service.SellerLeaderboardService;
+import com.granja.service.SellerMetricsService;
 import com.granja.service.SellerService;
+import com.granja.service.UniqueKeyFilterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementation of SellerService for managing seller operations.
@@ -25,18 +36,27 @@ import java.util.List;
 public class SellerServiceImpl implements SellerService {
     
     private final SellerRepository sellerRepository;
+    private final SellerMetricsRepository sellerMetricsRepository;
+    private final SellerMetricsService sellerMetricsService;
+    private final SellerLeaderboardService sellerLeaderboardService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final EntityCacheService entityCacheService;
+    private final UniqueKeyFilterService uniqueKeyFilterService;
     
     @Override
+    @Transactional
     public SellerDTO createSeller(SellerDTO sellerDTO) {
         log.info("Creating seller: {}", sellerDTO);
         
-        // Check if CPF already exists
-        if (sellerRepository.existsByCpf(sellerDTO.getCpf())) {
+        // Check if CPF already exists (skipped when the Bloom filter rules it out)
+        if (uniqueKeyFilterService.exists(UniqueKeyFilterService.Key.SELLER_CPF, sellerDTO.getCpf(),
+                sellerRepository::existsByCpf)) {
             throw new BusinessException("CPF already registered");
         }
         
-        // Check if employee ID already exists
-        if (sellerRepository.existsByEmployeeId(sellerDTO.getEmployeeId())) {
+        // Check if employee ID already exists (skipped when the Bloom filter rules it out)
+        if (uniqueKeyFilterService.exists(UniqueKeyFilterService.Key.SELLER_EMPLOYEE_ID, sellerDTO.getEmployeeId(),
+                sellerRepository::existsByEmployeeId)) {
             throw new BusinessException("Employee ID already registered");
         }
         
@@ -47,7 +67,23 @@ public class SellerServiceImpl implements SellerService {
                 .registrationDate(LocalDateTime.now())
                 .build();
         
-        Seller savedSeller = sellerRepository.save(seller);
+        Seller savedSeller;
+        try {
+            savedSeller = sellerRepository.save(seller);
+        } catch (DataIntegrityViolationException e) {
+            // The unique constraints are the final guard for values missing from the filters
+            if (violates(e, "employee_id")) {
+                throw new BusinessException("Employee ID already registered");
+            }
+            if (violates(e, "cpf")) {
+                throw new BusinessException("CPF already registered");
+            }
+            throw e;
+        }
+        uniqueKeyFilterService.record(UniqueKeyFilterService.Key.SELLER_CPF, savedSeller.getCpf());
+        uniqueKeyFilterService.record(UniqueKeyFilterService.Key.SELLER_EMPLOYEE_ID, savedSeller.getEmployeeId());
+        sellerMetricsService.registerSeller(savedSeller.getId());
+        sellerLeaderboardService.registerSeller(savedSeller);
         
         return SellerDTO.builder()
                 .id(savedSeller.getId())
@@ -58,6 +94,7 @@ public class SellerServiceImpl implements SellerService {
     }
     
     @Override
+    @Transactional
     public SellerDTO updateSeller(Long id, SellerDTO sellerDTO) {
         log.info("Updating seller: {}", id);
         Seller seller = sellerRepository.findById(id)
@@ -67,6 +104,8 @@ public class SellerServiceImpl implements SellerService {
         seller.setName(sellerDTO.getName());
         
         Seller savedSeller = sellerRepository.save(seller);
+        sellerLeaderboardService.registerSeller(savedSeller);
+        entityCacheService.evictSeller(id);
         
         return SellerDTO.builder()
                 .id(savedSeller.getId())
@@ -79,7 +118,7 @@ public class SellerServiceImpl implements SellerService {
     @Override
     public SellerDTO getSellerById(Long id) {
         log.info("Fetching seller by id: {}", id);
-        Seller seller = sellerRepository.findById(id)
+        Seller seller = entityCacheService.findSeller(id)
                 .orElseThrow(() -> new BusinessException("Seller not found"));
         
         return SellerDTO.builder()
@@ -98,32 +137,55 @@ public class SellerServiceImpl implements SellerService {
                 .toList();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllSellers(OutputStream outputStream) throws IOException {
+        log.info("Streaming all sellers as NDJSON");
+        try (Stream<Seller> sellers = sellerRepository.streamAll()) {
+            long total = ndjsonStreamWriter.write(sellers, this::mapToDTO, outputStream);
+            log.info("Streamed {} sellers", total);
+        }
+    }
+    
     @Override
     public List<SellerDTO> getSellersByPerformance(Integer minSalesCount) {
         log.info("Fetching sellers by performance, min sales: {}", minSalesCount);
-        // TODO: Implement actual performance filtering logic when sales relationship is stable
-        // For now, return all sellers
-        return sellerRepository.findAll().stream()
+        long minimum = minSalesCount != null ? minSalesCount : 0;
+        return sellerMetricsRepository.findSellersWithMinSales(minimum).stream()
                 .map(this::mapToDTO)
                 .toList();
     }
     
     @Override
+    @Transactional
     public void deleteSeller(Long id) {
         log.info("Deleting seller: {}", id);
         Seller seller = sellerRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Seller not found"));
+        sellerMetricsService.removeSeller(seller.getId());
+        sellerLeaderboardService.removeSeller(seller.getId());
         sellerRepository.delete(seller);
+        entityCacheService.evictSeller(id);
     }
     
     @Override
-    public List<SellerDTO> getSellerRanking() {
+    public List<SellerRankingDTO> getSellerRanking() {
         log.info("Generating seller ranking by performance");
-        // TODO: Implement actual ranking logic when sales relationship is stable
-        // For now, return all sellers ordered by registration date (newest first)
-        return sellerRepository.findAllByOrderByRegistrationDateDesc().stream()
-                .map(this::mapToDTO)
-                .toList();
+        return sellerLeaderboardService.getTop(Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<SellerRankingDTO> getTopSellers(int limit) {
+        log.info("Fetching top {} sellers", limit);
+        if (limit < 1) {
+            throw new BusinessException("Limit must be greater than zero");
+        }
+        return sellerLeaderboardService.getTop(limit);
+    }
+    
+    private boolean violates(DataIntegrityViolationException e, String column) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(column);
     }
     
     private SellerDTO mapToDTO(Seller seller) {
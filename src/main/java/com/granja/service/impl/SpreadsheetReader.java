@@ -0,0 +1,262 @@
+package com.granja.service.impl;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Leitura em streaming de planilhas de importação, em CSV ou XLSX.
+ *
+ * <p>A primeira linha é o cabeçalho, entregue a quem chama para localizar as colunas;
+ * as linhas seguintes são entregues uma a uma, à medida que são lidas, sem carregar o
+ * arquivo inteiro. O XLSX é lido pela API de eventos (SAX) do POI, que percorre o XML
+ * da planilha sem montar o modelo de células em memória. Linhas em branco são
+ * ignoradas.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class SpreadsheetReader {
+
+    private static final char QUOTE = '"';
+
+    /** Tamanho máximo de um campo, o mesmo limite de uma célula do Excel */
+    static final int MAX_FIELD_LENGTH = 32_767;
+
+    /**
+     * Recebe as linhas de dados do arquivo.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * @param number número da linha no arquivo, contando o cabeçalho como linha 1
+         * @param cells os valores da linha como texto; a lista é reaproveitada na linha seguinte
+         */
+        void row(long number, List<String> cells);
+    }
+
+    private SpreadsheetReader() {
+    }
+
+    /**
+     * Lê um arquivo CSV em UTF-8, separado por vírgula ou ponto e vírgula.
+     *
+     * <p>O separador é definido pelo cabeçalho. Campos entre aspas podem conter o
+     * separador, quebras de linha e aspas duplicadas. Um campo, ou o cabeçalho, acima de
+     * {@link #MAX_FIELD_LENGTH} caracteres encerra a leitura: quase sempre é uma aspa sem
+     * fechamento, que levaria o resto do arquivo para um único campo em memória.</p>
+     *
+     * @param input o conteúdo do arquivo
+     * @param header recebe as colunas do cabeçalho e devolve quem recebe as linhas de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o arquivo estiver vazio, o cabeçalho for recusado ou um campo
+     *                                  passar do tamanho máximo
+     */
+    static void readCsv(InputStream input, Function<List<String>, RowHandler> header) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        String headerLine = readLine(reader);
+        if (headerLine == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        char separator = headerLine.indexOf(';') >= 0 && headerLine.indexOf(',') < 0 ? ';' : ',';
+        RowHandler handler = header.apply(splitHeader(headerLine, separator));
+
+        List<String> fields = new ArrayList<>();
+        long lineNumber = 1;
+        long[] linesRead = new long[1];
+        while (readRecord(reader, separator, fields, lineNumber + 1, linesRead)) {
+            long number = lineNumber + 1;
+            lineNumber += linesRead[0];
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            handler.row(number, fields);
+        }
+    }
+
+    /**
+     * Lê a primeira aba de um arquivo XLSX com a API de eventos do POI.
+     *
+     * <p>O arquivo é aberto direto do disco, o que evita descompactar o pacote
+     * inteiro em memória. Os textos compartilhados da planilha vão para um arquivo
+     * temporário ({@link DiskSharedStrings}), e não para a memória.</p>
+     *
+     * @param file o arquivo XLSX
+     * @param header recebe as colunas do cabeçalho e devolve quem recebe as linhas de dados
+     * @throws IOException se a leitura falhar
+     * @throws IllegalArgumentException se o arquivo não for um XLSX válido, estiver vazio ou o cabeçalho for recusado
+     */
+    static void readXlsx(File file, Function<List<String>, RowHandler> header) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("Arquivo vazio");
+            }
+            SheetHandler handler = new SheetHandler(header);
+            try (DiskSharedStrings strings = DiskSharedStrings.load(pkg); InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(xssfReader.getStylesTable(), null, strings,
+                        handler, new DataFormatter(Locale.ROOT), false));
+                parser.parse(new InputSource(sheet));
+            }
+            if (handler.rows == null) {
+                throw new IllegalArgumentException("Arquivo vazio");
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Arquivo XLSX inválido", e);
+        }
+    }
+
+    /**
+     * @return o valor da coluna sem espaços nas pontas, ou nulo se a coluna não existir na linha
+     */
+    static String value(List<String> cells, int column) {
+        return column >= 0 && column < cells.size() ? cells.get(column).trim() : null;
+    }
+
+    /**
+     * Recebe as células da planilha e monta as linhas de dados.
+     */
+    private static final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Function<List<String>, RowHandler> header;
+        private final List<String> cells = new ArrayList<>();
+        private RowHandler rows;
+
+        private SheetHandler(Function<List<String>, RowHandler> header) {
+            this.header = header;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Células vazias não geram evento; a posição vem da referência (ex.: "C12")
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() <= column) {
+                cells.add("");
+            }
+            cells.set(column, formattedValue);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.stream().allMatch(String::isBlank)) {
+                return;
+            }
+            if (rows == null) {
+                rows = header.apply(List.copyOf(cells));
+                return;
+            }
+            rows.row(rowNum + 1L, cells);
+        }
+    }
+
+    private static List<String> splitHeader(String headerLine, char separator) {
+        return Arrays.stream(headerLine.split(separator == ';' ? ";" : ",", -1))
+                .map(column -> column.replace("\"", ""))
+                .toList();
+    }
+
+    private static String readLine(Reader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+            if (line.length() > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Cabeçalho com mais de " + MAX_FIELD_LENGTH + " caracteres");
+            }
+        }
+        return c == -1 && line.isEmpty() ? null : line.toString();
+    }
+
+    /**
+     * Lê um registro CSV, que pode ocupar mais de uma linha quando há quebra de linha entre aspas.
+     *
+     * @param number número da linha em que o registro começa, usado na mensagem de erro
+     * @param linesRead recebe a quantidade de linhas físicas consumidas
+     * @return falso no fim do arquivo
+     * @throws IllegalArgumentException se um campo passar de {@link #MAX_FIELD_LENGTH} caracteres
+     */
+    private static boolean readRecord(Reader reader, char separator, List<String> fields, long number,
+                                      long[] linesRead) throws IOException {
+        fields.clear();
+        linesRead[0] = 1;
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        linesRead[0]++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IllegalArgumentException("Campo com mais de " + MAX_FIELD_LENGTH + " caracteres na linha "
+                        + number + (quoted ? ": verifique se há aspas sem fechamento" : ""));
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.granja.service.impl;
+
+import com.granja.entity.SystemConfig;
+import com.granja.exception.BusinessException;
+import com.granja.repository.SystemConfigRepository;
+import com.granja.service.SystemConfigService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementação do SystemConfigService com cópia imutável em memória.
+ *
+ * <p>A cópia fica em um campo volátil e é trocada inteira a cada recarga. Uma
+ * consulta periódica e barata à versão da tabela detecta alterações feitas por
+ * outras instâncias ou direto no banco. Valores inválidos na tabela não são
+ * aplicados: a cópia anterior continua valendo até a correção.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SystemConfigServiceImpl implements SystemConfigService {
+
+    /** Mesmo desconto aplicado antes de existir a configuração */
+    private static final String DEFAULT_DISCOUNT_PERCENTAGE = "20";
+
+    private final SystemConfigRepository systemConfigRepository;
+
+    private volatile Snapshot snapshot = buildSnapshot(Map.of(), "default");
+
+    /**
+     * Carrega as configurações na subida da aplicação.
+     */
+    @PostConstruct
+    public void start() {
+        reload();
+        log.info("Configurações do sistema carregadas: {}", snapshot.values());
+    }
+
+    @Override
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${system-config.poll-interval-ms:5000}",
+            initialDelayString = "${system-config.poll-interval-ms:5000}")
+    public boolean refresh() {
+        if (Objects.equals(systemConfigRepository.findVersion(), snapshot.version())) {
+            return false;
+        }
+        Snapshot previous = snapshot;
+        return reload() != previous;
+    }
+
+    @Override
+    public synchronized Snapshot reload() {
+        // A versão é lida antes dos valores: uma alteração entre as duas leituras gera nova recarga
+        String version = systemConfigRepository.findVersion();
+        Map<String, String> values = new HashMap<>();
+        for (SystemConfig config : systemConfigRepository.findAll()) {
+            values.put(config.getConfigKey(), config.getConfigValue());
+        }
+
+        try {
+            snapshot = buildSnapshot(values, version);
+            log.info("Configurações do sistema recarregadas na versão {}", version);
+        } catch (BusinessException e) {
+            log.error("Configurações inválidas na versão {}, mantendo a versão {}: {}",
+                    version, snapshot.version(), e.getMessage());
+        }
+        return snapshot;
+    }
+
+    @Override
+    @Transactional
+    public void updateValue(String key, String value) {
+        SystemConfig config = systemConfigRepository.findByConfigKey(key)
+                .orElseThrow(() -> new BusinessException("Configuration " + key + " not found"));
+
+        Map<String, String> values = new HashMap<>(snapshot.values());
+        values.put(key, value);
+        buildSnapshot(values, snapshot.version());
+
+        config.setConfigValue(value);
+        systemConfigRepository.save(config);
+        log.info("Configuração {} alterada para {}", key, value);
+
+        TransactionHooks.afterCommit(this::reload);
+    }
+
+    private static Snapshot buildSnapshot(Map<String, String> values, String version) {
+        BigDecimal discountPercentage = parseDecimal(DISCOUNT_PERCENTAGE,
+                values.getOrDefault(DISCOUNT_PERCENTAGE, DEFAULT_DISCOUNT_PERCENTAGE));
+        if (discountPercentage.signum() < 0 || discountPercentage.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new BusinessException(DISCOUNT_PERCENTAGE + " must be between 0 and 100");
+        }
+
+        BigDecimal minDuckPrice = values.containsKey(MIN_DUCK_PRICE)
+                ? parseDecimal(MIN_DUCK_PRICE, values.get(MIN_DUCK_PRICE)) : null;
+        BigDecimal maxDuckPrice = values.containsKey(MAX_DUCK_PRICE)
+                ? parseDecimal(MAX_DUCK_PRICE, values.get(MAX_DUCK_PRICE)) : null;
+        if (minDuckPrice != null && maxDuckPrice != null && minDuckPrice.compareTo(maxDuckPrice) > 0) {
+            throw new BusinessException(MIN_DUCK_PRICE + " cannot be greater than " + MAX_DUCK_PRICE);
+        }
+
+        String maintenanceMode = values.getOrDefault(SYSTEM_MAINTENANCE_MODE, "false").trim();
+        if (!maintenanceMode.equalsIgnoreCase("true") && !maintenanceMode.equalsIgnoreCase("false")) {
+            throw new BusinessException(SYSTEM_MAINTENANCE_MODE + " must be true or false");
+        }
+
+        return new Snapshot(
+                version,
+                LocalDateTime.now(),
+                discountPercentage.movePointLeft(2),
+                minDuckPrice,
+                maxDuckPrice,
+                Boolean.parseBoolean(maintenanceMode),
+                Map.copyOf(values));
+    }
+
+    private static BigDecimal parseDecimal(String key, String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException(key + " must be a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.granja.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ações vinculadas ao fim da transação corrente.
+ *
+ * <p>Usado pelos índices, caches e contadores em memória, que só devem refletir
+ * alterações já confirmadas no banco.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente, ou imediatamente quando
+     * não há transação. Em uma transação desfeita a ação é descartada.
+     *
+     * @param action a ação
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
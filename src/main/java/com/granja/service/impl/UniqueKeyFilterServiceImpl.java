@@ -0,0 +1,221 @@
+package com.granja.service.impl;
+
+import com.granja.dto.UniqueKeyFilterStatsDTO;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.UniqueKeyFilterService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Implementação do UniqueKeyFilterService com um {@link BloomFilter} por chave única.
+ *
+ * <p>Cada filtro é dimensionado para o maior valor entre a capacidade configurada e o
+ * dobro dos registros existentes. Quando os cadastros ultrapassam a capacidade, uma
+ * verificação periódica monta um filtro novo a partir do banco e o troca pelo antigo;
+ * até lá o filtro continua correto, apenas com mais falsos positivos.</p>
+ *
+ * @author Sistema Granja
+ * @version 1.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniqueKeyFilterServiceImpl implements UniqueKeyFilterService {
+
+    private final CustomerRepository customerRepository;
+    private final SellerRepository sellerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${unique-keys.bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${unique-keys.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${unique-keys.bloom.max-memory-kb:4096}")
+    private long maxMemoryKb;
+
+    @Value("${unique-keys.bloom.expected-customers:1000000}")
+    private long expectedCustomers;
+
+    @Value("${unique-keys.bloom.expected-sellers:10000}")
+    private long expectedSellers;
+
+    private final Map<Key, FilterState> filters = newFilters();
+
+    /**
+     * Monta os filtros antes de a aplicação começar a receber requisições.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Filtros de chave única desabilitados; verificações vão direto ao banco");
+            return;
+        }
+        for (Key key : Key.values()) {
+            build(key);
+        }
+    }
+
+    @Override
+    public boolean exists(Key key, String value, Predicate<String> query) {
+        FilterState state = filters.get(key);
+        BloomFilter filter = state.filter;
+        if (!enabled || filter == null || value == null) {
+            return query.test(value);
+        }
+        state.checks.incrementAndGet();
+        if (!filter.mightContain(value)) {
+            state.skippedQueries.incrementAndGet();
+            return false;
+        }
+        boolean found = query.test(value);
+        if (!found) {
+            state.falsePositives.incrementAndGet();
+        }
+        return found;
+    }
+
+    @Override
+    public Set<String> existing(Key key, Collection<String> values,
+                                Function<Collection<String>, Collection<String>> query) {
+        FilterState state = filters.get(key);
+        BloomFilter filter = state.filter;
+        if (!enabled || filter == null) {
+            return values.isEmpty() ? Set.of() : new HashSet<>(query.apply(values));
+        }
+        List<String> candidates = values.stream()
+                .filter(value -> value != null && filter.mightContain(value))
+                .toList();
+        state.checks.addAndGet(values.size());
+        state.skippedQueries.addAndGet(values.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> found = new HashSet<>(query.apply(candidates));
+        state.falsePositives.addAndGet(candidates.size() - found.size());
+        return found;
+    }
+
+    @Override
+    public void record(Key key, String value) {
+        BloomFilter filter = filters.get(key).filter;
+        if (enabled && filter != null && value != null) {
+            filter.put(value);
+        }
+    }
+
+    @Override
+    public List<UniqueKeyFilterStatsDTO> getStats() {
+        List<UniqueKeyFilterStatsDTO> stats = new ArrayList<>();
+        for (Key key : Key.values()) {
+            FilterState state = filters.get(key);
+            BloomFilter filter = state.filter;
+            long skipped = state.skippedQueries.get();
+            long falsePositives = state.falsePositives.get();
+            long absent = skipped + falsePositives;
+            UniqueKeyFilterStatsDTO.UniqueKeyFilterStatsDTOBuilder builder = UniqueKeyFilterStatsDTO.builder()
+                    .key(key.name())
+                    .configuredFalsePositiveRate(falsePositiveRate)
+                    .checks(state.checks.get())
+                    .skippedQueries(skipped)
+                    .falsePositives(falsePositives)
+                    .observedFalsePositiveRate(absent == 0 ? 0.0 : (double) falsePositives / absent);
+            if (filter != null) {
+                builder.expectedInsertions(filter.expectedInsertions())
+                        .insertions(filter.insertions())
+                        .bitSize(filter.bitSize())
+                        .memoryBytes(filter.bitSize() / 8)
+                        .hashFunctions(filter.hashFunctions())
+                        .estimatedFalsePositiveRate(filter.estimatedFalsePositiveRate());
+            }
+            stats.add(builder.build());
+        }
+        return stats;
+    }
+
+    /**
+     * Verifica periodicamente se algum filtro ultrapassou a capacidade.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${unique-keys.bloom.rebuild-check-interval-ms:60000}",
+            initialDelayString = "${unique-keys.bloom.rebuild-check-interval-ms:60000}")
+    public int rebuildSaturated() {
+        if (!enabled) {
+            return 0;
+        }
+        int rebuilt = 0;
+        for (Key key : Key.values()) {
+            BloomFilter filter = filters.get(key).filter;
+            if (filter == null || filter.insertions() > filter.expectedInsertions()) {
+                build(key);
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Monta o filtro de uma chave com os valores do banco e o troca pelo atual.
+     *
+     * <p>Valores cadastrados durante a montagem podem ficar fora do filtro novo; nesse
+     * caso a restrição UNIQUE do banco recusa a repetição.</p>
+     */
+    private void build(Key key) {
+        long existing = key == Key.CUSTOMER_CPF ? customerRepository.count() : sellerRepository.count();
+        long configured = key == Key.CUSTOMER_CPF ? expectedCustomers : expectedSellers;
+        BloomFilter filter = new BloomFilter(Math.max(configured, existing * 2), falsePositiveRate, maxMemoryKb * 8192);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> values = values(key)) {
+                values.forEach(filter::put);
+            }
+        });
+        filters.get(key).filter = filter;
+        log.info("Filtro de {} montado com {} valores ({} KB, {} hashes, falsos positivos estimados {})",
+                key, filter.insertions(), filter.bitSize() / 8192, filter.hashFunctions(),
+                String.format("%.4f", filter.estimatedFalsePositiveRate()));
+    }
+
+    private Stream<String> values(Key key) {
+        return switch (key) {
+            case CUSTOMER_CPF -> customerRepository.streamCpfs();
+            case SELLER_CPF -> sellerRepository.streamCpfs();
+            case SELLER_EMPLOYEE_ID -> sellerRepository.streamEmployeeIds();
+        };
+    }
+
+    private static Map<Key, FilterState> newFilters() {
+        Map<Key, FilterState> filters = new EnumMap<>(Key.class);
+        for (Key key : Key.values()) {
+            filters.put(key, new FilterState());
+        }
+        return filters;
+    }
+
+    private static final class FilterState {
+
+        private volatile BloomFilter filter;
+        private final AtomicLong checks = new AtomicLong();
+        private final AtomicLong skippedQueries = new AtomicLong();
+        private final AtomicLong falsePositives = new AtomicLong();
+    }
+}
@@ -0,0 +1,17 @@
+-- =====================================================
+-- MIGRAÇÃO V10 - ÍNDICES DA BUSCA DE VENDAS
+-- Versão: V10
+-- Descrição: Índices compostos para a paginação por cursor em (sale_date, id)
+-- =====================================================
+
+-- Busca sem filtro de cliente ou vendedor: a página seguinte começa direto na posição do cursor
+CREATE INDEX idx_sales_sale_date_id ON sales(sale_date DESC, id DESC);
+
+-- Busca por cliente ou vendedor: igualdade na primeira coluna e a mesma ordem nas seguintes
+CREATE INDEX idx_sales_customer_sale_date_id ON sales(customer_id, sale_date DESC, id DESC);
+CREATE INDEX idx_sales_seller_sale_date_id ON sales(seller_id, sale_date DESC, id DESC);
+
+-- Os índices de uma coluna ficam cobertos pelos compostos acima
+DROP INDEX idx_sales_sale_date;
+DROP INDEX idx_sales_customer_id;
+DROP INDEX idx_sales_seller_id;
@@ -0,0 +1,9 @@
+-- =====================================================
+-- MIGRAÇÃO V11 - IMPORTAÇÃO DE PATOS EM LOTE
+-- Versão: V11
+-- Descrição: Sequência de patos com incremento compatível com a alocação em blocos do Hibernate
+-- =====================================================
+
+-- Mesmo ajuste feito em sales_id_seq (V6): o Hibernate reserva 50 IDs por consulta
+-- à sequência, o que permite agrupar os INSERTs da importação de patos em lotes JDBC
+ALTER SEQUENCE ducks_id_seq INCREMENT BY 50;
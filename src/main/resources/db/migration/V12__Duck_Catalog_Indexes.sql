@@ -0,0 +1,21 @@
+-- =====================================================
+-- MIGRAÇÃO V12 - ÍNDICES DO CATÁLOGO DE PATOS
+-- Versão: V12
+-- Descrição: Índices compostos para a paginação por cursor em GET /api/ducks/catalog
+-- =====================================================
+
+-- Catálogo sem filtro de status: a página seguinte começa direto na posição do cursor.
+-- Cada índice atende as duas direções, lido de trás para frente na ordem decrescente
+CREATE INDEX idx_ducks_registration_date_id ON ducks(registration_date, id);
+CREATE INDEX idx_ducks_price_id ON ducks(price, id);
+CREATE INDEX idx_ducks_name_id ON ducks(name, id);
+
+-- Catálogo por status: igualdade na primeira coluna e a mesma ordem nas seguintes
+CREATE INDEX idx_ducks_status_registration_date_id ON ducks(status, registration_date, id);
+CREATE INDEX idx_ducks_status_price_id ON ducks(status, price, id);
+
+-- Filtro por início do nome (LIKE 'prefixo%'), independente da collation do banco
+CREATE INDEX idx_ducks_name_pattern ON ducks(name varchar_pattern_ops);
+
+-- O índice de status fica coberto pelos compostos acima
+DROP INDEX idx_ducks_status;
@@ -0,0 +1,32 @@
+-- =====================================================
+-- MIGRAÇÃO V13 - RESUMO DE COMPRAS DOS CLIENTES
+-- Versão: V13
+-- Descrição: Uma linha de totais de compras por cliente, atualizada por upsert
+-- =====================================================
+
+-- Resumo mantido pelo serviço de vendas
+CREATE TABLE customer_purchase_summary (
+    customer_id BIGINT PRIMARY KEY REFERENCES customers(id) ON DELETE CASCADE,
+    purchase_count BIGINT NOT NULL DEFAULT 0,
+    lifetime_spend DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_discount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    first_purchase_date TIMESTAMP,
+    last_purchase_date TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índice para o ranking de clientes por valor gasto
+CREATE INDEX idx_customer_purchase_summary_lifetime_spend ON customer_purchase_summary(lifetime_spend DESC, customer_id);
+
+-- Carga inicial a partir das vendas existentes
+INSERT INTO customer_purchase_summary (customer_id, purchase_count, lifetime_spend, total_discount,
+                                       first_purchase_date, last_purchase_date)
+SELECT s.customer_id, COUNT(*), SUM(s.final_price), SUM(COALESCE(s.discount_amount, 0)),
+       MIN(s.sale_date), MAX(s.sale_date)
+FROM sales s
+GROUP BY s.customer_id;
+
+-- Comentários da nova tabela
+COMMENT ON TABLE customer_purchase_summary IS 'Totais de compras por cliente, atualizados a cada venda criada ou removida';
+COMMENT ON COLUMN customer_purchase_summary.lifetime_spend IS 'Soma dos preços finais de todas as compras do cliente';
+COMMENT ON COLUMN customer_purchase_summary.total_discount IS 'Soma dos descontos recebidos pelo cliente';
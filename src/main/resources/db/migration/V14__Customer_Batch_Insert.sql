@@ -0,0 +1,10 @@
+-- =====================================================
+-- MIGRAÇÃO V14 - IMPORTAÇÃO DE CLIENTES EM LOTE
+-- Versão: V14
+-- Descrição: Sequência de clientes com incremento compatível com a alocação em blocos do Hibernate
+-- =====================================================
+
+-- Mesmo ajuste feito em sales_id_seq (V6) e ducks_id_seq (V11): o Hibernate reserva
+-- 50 IDs por consulta à sequência, o que permite agrupar os INSERTs da importação de
+-- clientes em lotes JDBC
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
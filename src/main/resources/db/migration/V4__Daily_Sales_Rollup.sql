@@ -0,0 +1,34 @@
+-- =====================================================
+-- MIGRAÇÃO V4 - CONSOLIDADO DIÁRIO DE VENDAS
+-- Versão: V4
+-- Descrição: Totais de vendas por dia, vendedor e desconto
+-- =====================================================
+
+-- Consolidado diário mantido pelo serviço de vendas
+CREATE TABLE daily_sales_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    sale_day DATE NOT NULL,
+    seller_id BIGINT NOT NULL REFERENCES sellers(id),
+    discount_eligible BOOLEAN NOT NULL,
+    sales_count BIGINT NOT NULL DEFAULT 0,
+    original_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    discount_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    final_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_daily_sales_rollup UNIQUE (sale_day, seller_id, discount_eligible)
+);
+
+-- Índices para performance
+CREATE INDEX idx_daily_sales_rollup_seller_day ON daily_sales_rollup(seller_id, sale_day);
+
+-- Carga inicial a partir das vendas existentes
+INSERT INTO daily_sales_rollup (sale_day, seller_id, discount_eligible, sales_count,
+                                original_total, discount_total, final_total)
+SELECT CAST(s.sale_date AS DATE), s.seller_id, COALESCE(s.discount_amount, 0) > 0, COUNT(*),
+       SUM(s.original_price), SUM(COALESCE(s.discount_amount, 0)), SUM(s.final_price)
+FROM sales s
+GROUP BY CAST(s.sale_date AS DATE), s.seller_id, COALESCE(s.discount_amount, 0) > 0;
+
+-- Comentários da nova tabela
+COMMENT ON TABLE daily_sales_rollup IS 'Totais diários de vendas por vendedor, separados por vendas com e sem desconto';
+COMMENT ON COLUMN daily_sales_rollup.discount_eligible IS 'Indica vendas em que o cliente recebeu desconto';
@@ -0,0 +1,29 @@
+-- =====================================================
+-- MIGRAÇÃO V5 - MÉTRICAS DE VENDEDORES
+-- Versão: V5
+-- Descrição: Uma linha de métricas por vendedor, atualizada por upsert
+-- =====================================================
+
+-- Manter apenas a linha mais recente de cada vendedor
+DELETE FROM seller_metrics m
+USING seller_metrics d
+WHERE m.seller_id = d.seller_id AND m.id < d.id;
+
+-- Chave única exigida pelo upsert (substitui o índice simples)
+DROP INDEX idx_seller_metrics_seller_id;
+ALTER TABLE seller_metrics ADD CONSTRAINT uk_seller_metrics_seller_id UNIQUE (seller_id);
+
+-- Índice para o ranking por receita
+CREATE INDEX idx_seller_metrics_total_revenue ON seller_metrics(total_revenue DESC);
+
+-- Carga inicial a partir das vendas existentes
+INSERT INTO seller_metrics (seller_id, total_sales, total_revenue, average_sale_value, last_sale_date)
+SELECT se.id, COUNT(s.id), COALESCE(SUM(s.final_price), 0), COALESCE(ROUND(AVG(s.final_price), 2), 0), MAX(s.sale_date)
+FROM sellers se
+LEFT JOIN sales s ON s.seller_id = se.id
+GROUP BY se.id
+ON CONFLICT (seller_id) DO UPDATE SET
+    total_sales = EXCLUDED.total_sales,
+    total_revenue = EXCLUDED.total_revenue,
+    average_sale_value = EXCLUDED.average_sale_value,
+    last_sale_date = EXCLUDED.last_sale_date;
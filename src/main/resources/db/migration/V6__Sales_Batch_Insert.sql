@@ -0,0 +1,9 @@
+-- =====================================================
+-- MIGRAÇÃO V6 - INSERÇÃO DE VENDAS EM LOTE
+-- Versão: V6
+-- Descrição: Sequência de vendas com incremento compatível com a alocação em blocos do Hibernate
+-- =====================================================
+
+-- O Hibernate reserva 50 IDs por consulta à sequência, o que permite agrupar os
+-- INSERTs de vendas em lotes JDBC (com IDENTITY cada INSERT precisa voltar ao banco)
+ALTER SEQUENCE sales_id_seq INCREMENT BY 50;
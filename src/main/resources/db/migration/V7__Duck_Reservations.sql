@@ -0,0 +1,29 @@
+-- =====================================================
+-- MIGRAÇÃO V7 - RESERVAS DE PATOS
+-- Versão: V7
+-- Descrição: Reservas temporárias de patos para um cliente, com expiração
+-- =====================================================
+
+CREATE TABLE duck_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    customer_id BIGINT NOT NULL REFERENCES customers(id),
+    seller_id BIGINT NOT NULL REFERENCES sellers(id),
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'CONFIRMED', 'RELEASED', 'EXPIRED')),
+    expires_at TIMESTAMP NOT NULL,
+    sale_id BIGINT REFERENCES sales(id) ON DELETE SET NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    closed_at TIMESTAMP
+);
+
+CREATE TABLE duck_reservation_items (
+    reservation_id BIGINT NOT NULL REFERENCES duck_reservations(id) ON DELETE CASCADE,
+    duck_id BIGINT NOT NULL REFERENCES ducks(id),
+    PRIMARY KEY (reservation_id, duck_id)
+);
+
+-- A varredura de expiração lê apenas reservas ativas, em ordem de vencimento
+CREATE INDEX idx_duck_reservations_active_expires_at ON duck_reservations(expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_duck_reservation_items_duck_id ON duck_reservation_items(duck_id);
+
+COMMENT ON TABLE duck_reservations IS 'Reservas temporárias de patos; patos reservados ficam com status RESERVED até a confirmação, liberação ou expiração';
+COMMENT ON COLUMN duck_reservations.sale_id IS 'Venda gerada pela confirmação da reserva';
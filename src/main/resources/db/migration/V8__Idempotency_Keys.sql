@@ -0,0 +1,20 @@
+-- =====================================================
+-- MIGRAÇÃO V8 - CHAVES DE IDEMPOTÊNCIA
+-- Versão: V8
+-- Descrição: Respostas de POST /api/sales guardadas pelo cabeçalho Idempotency-Key
+-- =====================================================
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Limpeza periódica das chaves vencidas
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Respostas de requisições repetidas pelo cliente com o mesmo Idempotency-Key';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 do corpo da requisição original; a chave não pode ser reutilizada com outro corpo';
+COMMENT ON COLUMN idempotency_keys.response_body IS 'Resposta original em JSON, gravada na mesma transação da venda';
@@ -0,0 +1,9 @@
+-- =====================================================
+-- MIGRAÇÃO V9 - VERSÃO DOS PATOS
+-- Versão: V9
+-- Descrição: Coluna de versão para controle de concorrência otimista em ducks
+-- =====================================================
+
+ALTER TABLE ducks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN ducks.version IS 'Incrementada a cada alteração; uma atualização feita sobre uma versão antiga é rejeitada';
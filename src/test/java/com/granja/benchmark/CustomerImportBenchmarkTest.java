@@ -0,0 +1,174 @@
+package com.granja.benchmark;
+
+import com.granja.dto.CustomerImportResultDTO;
+import com.granja.entity.Customer;
+import com.granja.repository.CustomerRepository;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.CustomerSearchService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.UniqueKeyFilterService;
+import com.granja.service.impl.CustomerServiceImpl;
+import com.granja.service.impl.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark da importação de clientes em CSV.
+ *
+ * <p>O repositório é simulado e cada ida ao banco custa uma latência fixa: a consulta
+ * de CPFs de cada lote, cada lote JDBC de INSERTs e o commit de cada transação. A cada
+ * 100 linhas uma repete o CPF da anterior, que pode estar no mesmo lote ou já gravada.
+ * O total de idas ao banco é comparado com o cadastro linha a linha, que consulta o CPF
+ * e grava cada cliente separadamente. Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Importação de clientes - Benchmark")
+class CustomerImportBenchmarkTest {
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 50_000;
+
+    /** Mesmo valor de hibernate.jdbc.batch_size */
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    /** Crescimento máximo aceito da memória retida durante a importação */
+    private static final long MAX_RETAINED_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong retainedBaseline = new AtomicLong();
+    private final AtomicLong retainedPeak = new AtomicLong();
+
+    /** Último CPF gravado; as linhas repetidas sempre repetem a linha anterior */
+    private final AtomicReference<String> lastSavedCpf = new AtomicReference<>();
+
+    @Test
+    void deveImportarUmMilhaoDeLinhasComPoucasIdasAoBanco() throws IOException {
+        // Arrange
+        int totalRows = 1_000_000;
+        CustomerServiceImpl customerService = newCustomerService();
+        retainedBaseline.set(retainedHeap());
+
+        // Act
+        long start = System.nanoTime();
+        CustomerImportResultDTO result = customerService.importCustomers("clientes.csv", new GeneratedCsv(totalRows));
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        // Assert
+        long perRowRoundTrips = 2L * totalRows;
+        System.out.printf("[benchmark] importação de clientes CSV: %,d linhas em %,d ms (%,d linhas/s) | "
+                        + "idas ao banco %,d (linha a linha: %,d) | memória retida +%,d KB%n",
+                totalRows, elapsedMs, totalRows * 1000L / elapsedMs, roundTrips.get(), perRowRoundTrips,
+                Math.max(0, retainedPeak.get() - retainedBaseline.get()) / 1024);
+        assertEquals(totalRows / 100, result.getDuplicates());
+        assertEquals(totalRows - totalRows / 100, result.getSucceeded());
+        assertTrue(roundTrips.get() * 20 < perRowRoundTrips);
+        assertTrue(retainedPeak.get() - retainedBaseline.get() < MAX_RETAINED_GROWTH_BYTES,
+                "Memória retida cresceu " + (retainedPeak.get() - retainedBaseline.get()) / (1024 * 1024) + " MB");
+    }
+
+    private CustomerServiceImpl newCustomerService() {
+        // stubOnly: os mocks não guardam as chamadas, que reteriam todos os clientes importados
+        CustomerRepository customerRepository = mock(CustomerRepository.class, withSettings().stubOnly());
+        UniqueKeyFilterService uniqueKeyFilterService = mock(UniqueKeyFilterService.class, withSettings().stubOnly());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class, withSettings().stubOnly());
+
+        when(uniqueKeyFilterService.existing(any(), any(), any())).thenAnswer(invocation -> new HashSet<>(invocation
+                .<Function<Collection<String>, Collection<String>>>getArgument(2)
+                .apply(invocation.getArgument(1))));
+        when(customerRepository.findExistingCpfs(anyCollection())).thenAnswer(invocation -> {
+            roundTrip(1);
+            String saved = lastSavedCpf.get();
+            return invocation.<Collection<String>>getArgument(0).contains(saved) ? List.of(saved) : List.of();
+        });
+        when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            roundTrip((customers.size() + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE);
+            lastSavedCpf.set(customers.get(customers.size() - 1).getCpf());
+            if (chunks.incrementAndGet() % 100 == 0) {
+                retainedPeak.accumulateAndGet(retainedHeap(), Math::max);
+            }
+            return customers;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            roundTrip(1);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        CustomerServiceImpl customerService = new CustomerServiceImpl(customerRepository,
+                mock(NdjsonStreamWriter.class), mock(EntityCacheService.class, withSettings().stubOnly()),
+                mock(CustomerSearchService.class, withSettings().stubOnly()), uniqueKeyFilterService,
+                mock(CustomerPurchaseSummaryService.class, withSettings().stubOnly()), transactionTemplate);
+        ReflectionTestUtils.setField(customerService, "entityManager", mock(EntityManager.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(customerService, "importChunkSize", 1_000);
+        ReflectionTestUtils.setField(customerService, "importMaxErrors", 1_000);
+        return customerService;
+    }
+
+    private long retainedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void roundTrip(int count) {
+        roundTrips.addAndGet(count);
+        for (int i = 0; i < count; i++) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        }
+    }
+
+    /**
+     * CSV gerado linha a linha durante a leitura.
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final int totalRows;
+        private int row;
+        private byte[] line = "name,cpf,phone,address,discountEligible\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        private GeneratedCsv(int totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (row == totalRows) {
+                    return -1;
+                }
+                row++;
+                long cpf = row % 100 == 0 ? row - 1 : row;
+                line = ("Cliente " + row + "," + String.format("%011d", cpf) + ",11" + String.format("%09d", row)
+                        + ",Rua " + row + "," + (row % 2 == 0) + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.granja.benchmark;
+
+import com.granja.dto.CustomerSearchResultDTO;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.projection.CustomerNameEntry;
+import com.granja.service.impl.CustomerSearchServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark da busca de clientes por nome com 1 milhão de clientes.
+ *
+ * <p>Monta o índice de trigramas com nomes sorteados de listas de nomes e sobrenomes
+ * brasileiros e mede a latência de consultas seletivas, de sobrenomes comuns, sem
+ * acento e com palavras curtas. Para comparação, mede também a varredura de todos os
+ * nomes com {@code toLowerCase().contains}, equivalente ao {@code LOWER(name) LIKE '%x%'}
+ * sem índice. Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Busca de clientes por nome - Benchmark")
+class CustomerSearchBenchmarkTest {
+
+    private static final int TOTAL_CUSTOMERS = 1_000_000;
+    private static final int ROUNDS = 200;
+
+    private static final String[] FIRST_NAMES = {
+            "João", "José", "Antônio", "Francisco", "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos",
+            "Luís", "Gabriel", "Rafael", "Daniel", "Marcelo", "Bruno", "Eduardo", "Felipe", "Raimundo", "Rodrigo",
+            "Maria", "Ana", "Francisca", "Antônia", "Adriana", "Juliana", "Márcia", "Fernanda", "Patrícia", "Aline",
+            "Sandra", "Camila", "Amanda", "Bruna", "Jéssica", "Letícia", "Júlia", "Luciana", "Vanessa", "Mariana"};
+
+    private static final String[] LAST_NAMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+            "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas",
+            "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira", "Araújo", "Conceição", "Cavalcanti", "Magalhães", "Brandão"};
+
+    @Test
+    void deveBuscarComBaixaLatenciaEmUmMilhaoDeClientes() {
+        // Arrange
+        String[] names = gerarNomes();
+        CustomerSearchServiceImpl customerSearchService = novoServico(names);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long loadStart = System.nanoTime();
+        customerSearchService.reload();
+        long loadMs = (System.nanoTime() - loadStart) / 1_000_000;
+        System.gc();
+        long heapMb = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / (1024 * 1024);
+        System.out.printf("[benchmark] índice de clientes: %,d nomes carregados em %,d ms | ~%,d MB de heap%n",
+                TOTAL_CUSTOMERS, loadMs, heapMb);
+
+        // Act & Assert
+        double seletiva = medir(customerSearchService, "Conceicao Brandao Magalhaes", 1);
+        double sobrenome = medir(customerSearchService, "silva", 20);
+        double semAcento = medir(customerSearchService, "joao araujo", 20);
+        double curta = medir(customerSearchService, "ana", 20);
+        double varredura = medirVarredura(names, "silva");
+        System.out.printf("[benchmark] varredura LIKE '%%silva%%': p50 %.3f ms%n", varredura);
+
+        assertTrue(seletiva < varredura, "A busca seletiva deveria ser mais rápida que a varredura");
+        assertTrue(semAcento < varredura, "A busca sem acento deveria ser mais rápida que a varredura");
+        assertTrue(sobrenome > 0 && curta > 0);
+    }
+
+    /**
+     * @return a latência p50 da consulta, em milissegundos
+     */
+    private double medir(CustomerSearchServiceImpl customerSearchService, String query, int minResults) {
+        List<CustomerSearchResultDTO> results = customerSearchService.search(query, 20);
+        assertTrue(results.size() >= minResults, "Consulta '" + query + "' sem resultados suficientes");
+        long[] latencias = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            customerSearchService.search(query, 20);
+            latencias[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencias);
+        double p50 = latencias[ROUNDS / 2] / 1_000_000.0;
+        System.out.printf("[benchmark] busca '%s': %d resultados | p50 %.3f ms | p99 %.3f ms | primeiro: %s%n",
+                query, results.size(), p50, latencias[(int) (ROUNDS * 0.99)] / 1_000_000.0, results.get(0).getName());
+        return p50;
+    }
+
+    private double medirVarredura(String[] names, String query) {
+        long[] latencias = new long[20];
+        for (int i = 0; i < latencias.length; i++) {
+            long start = System.nanoTime();
+            List<String> found = new ArrayList<>();
+            for (String name : names) {
+                if (name.toLowerCase(Locale.ROOT).contains(query)) {
+                    found.add(name);
+                }
+            }
+            latencias[i] = System.nanoTime() - start;
+            assertFalse(found.isEmpty());
+        }
+        Arrays.sort(latencias);
+        return latencias[latencias.length / 2] / 1_000_000.0;
+    }
+
+    private String[] gerarNomes() {
+        Random random = new Random(42);
+        String[] names = new String[TOTAL_CUSTOMERS];
+        for (int i = 0; i < TOTAL_CUSTOMERS; i++) {
+            StringBuilder name = new StringBuilder(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            int surnames = 1 + random.nextInt(3);
+            for (int s = 0; s < surnames; s++) {
+                name.append(' ').append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            }
+            names[i] = name.toString();
+        }
+        return names;
+    }
+
+    private CustomerSearchServiceImpl novoServico(String[] names) {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(customerRepository.streamNames()).thenAnswer(invocation -> IntStream.range(0, names.length)
+                .mapToObj(i -> entrada(i + 1L, names[i])));
+
+        CustomerSearchServiceImpl customerSearchService = new CustomerSearchServiceImpl(customerRepository,
+                transactionTemplate);
+        ReflectionTestUtils.setField(customerSearchService, "defaultLimit", 20);
+        ReflectionTestUtils.setField(customerSearchService, "maxLimit", 100);
+        return customerSearchService;
+    }
+
+    private CustomerNameEntry entrada(Long id, String name) {
+        return new CustomerNameEntry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
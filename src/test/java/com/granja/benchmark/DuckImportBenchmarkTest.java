@@ -0,0 +1,217 @@
+package com.granja.benchmark;
+
+import com.granja.dto.DuckImportResultDTO;
+import com.granja.entity.Duck;
+import com.granja.repository.DuckRepository;
+import com.granja.service.DuckLineageService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.InventoryIndexService;
+import com.granja.service.SystemConfigService;
+import com.granja.service.impl.DuckServiceImpl;
+import com.granja.service.impl.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark da importação de patos em CSV e XLSX.
+ *
+ * <p>O repositório é simulado e cada lote JDBC de INSERTs custa uma latência fixa,
+ * assim como o commit de cada transação. O CSV de 1 milhão de linhas é gerado à
+ * medida que é lido, sem existir inteiro em memória. A cada 100 lotes gravados é
+ * medida a memória retida após uma coleta de lixo, que deve ficar estável durante
+ * toda a importação. A planilha XLSX é gravada com textos compartilhados, como faz o
+ * Excel, e cada pato tem um nome distinto. Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Importação de patos - Benchmark")
+class DuckImportBenchmarkTest {
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 50_000;
+
+    /** Mesmo valor de hibernate.jdbc.batch_size */
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    /** Crescimento máximo aceito da memória retida durante a importação */
+    private static final long MAX_RETAINED_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong retainedBaseline = new AtomicLong();
+    private final AtomicLong retainedPeak = new AtomicLong();
+
+    @Test
+    void deveImportarUmMilhaoDeLinhasCsvComMemoriaLimitada() throws IOException {
+        // Arrange
+        int totalRows = 1_000_000;
+        DuckServiceImpl duckService = newDuckService();
+        retainedBaseline.set(retainedHeap());
+
+        // Act
+        long start = System.nanoTime();
+        DuckImportResultDTO result = duckService.importDucks("patos.csv", new GeneratedCsv(totalRows));
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        // Assert
+        report("CSV", totalRows, elapsedMs);
+        assertEquals(totalRows, result.getSucceeded());
+        assertEquals(0L, result.getFailed());
+        assertTrue(retainedPeak.get() - retainedBaseline.get() < MAX_RETAINED_GROWTH_BYTES,
+                "Memória retida cresceu " + (retainedPeak.get() - retainedBaseline.get()) / (1024 * 1024) + " MB");
+    }
+
+    @Test
+    void deveImportarPlanilhaXlsxComMemoriaLimitada() throws IOException {
+        // Arrange
+        int totalRows = 200_000;
+        Path file = Files.createTempFile("duck-import-benchmark-", ".xlsx");
+        try {
+            writeXlsx(file, totalRows);
+            DuckServiceImpl duckService = newDuckService();
+            retainedBaseline.set(retainedHeap());
+
+            // Act
+            long start = System.nanoTime();
+            DuckImportResultDTO result;
+            try (InputStream input = Files.newInputStream(file)) {
+                result = duckService.importDucks("patos.xlsx", input);
+            }
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+            // Assert
+            report("XLSX", totalRows, elapsedMs);
+            assertEquals(totalRows, result.getSucceeded());
+            assertTrue(retainedPeak.get() - retainedBaseline.get() < MAX_RETAINED_GROWTH_BYTES);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private DuckServiceImpl newDuckService() {
+        // stubOnly: os mocks não guardam as chamadas, que reteriam todos os patos importados
+        DuckRepository duckRepository = mock(DuckRepository.class, withSettings().stubOnly());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class, withSettings().stubOnly());
+        SystemConfigService systemConfigService = mock(SystemConfigService.class, withSettings().stubOnly());
+
+        when(systemConfigService.current()).thenReturn(new SystemConfigService.Snapshot("1", LocalDateTime.now(),
+                new BigDecimal("0.20"), new BigDecimal("50.00"), new BigDecimal("1000.00"), false, Map.of()));
+        when(duckRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Duck> ducks = invocation.getArgument(0);
+            roundTrip((ducks.size() + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE);
+            if (chunks.incrementAndGet() % 100 == 0) {
+                retainedPeak.accumulateAndGet(retainedHeap(), Math::max);
+            }
+            return ducks;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            roundTrip(1);
+            return result;
+        });
+
+        DuckServiceImpl duckService = new DuckServiceImpl(duckRepository, systemConfigService,
+                mock(NdjsonStreamWriter.class), mock(InventoryIndexService.class, withSettings().stubOnly()),
+                mock(DuckLineageService.class, withSettings().stubOnly()), transactionTemplate,
+                mock(EntityCacheService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(duckService, "entityManager", mock(EntityManager.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(duckService, "importChunkSize", 1_000);
+        ReflectionTestUtils.setField(duckService, "importMaxErrors", 1_000);
+        return duckService;
+    }
+
+    private void report(String format, int totalRows, long elapsedMs) {
+        System.out.printf("[benchmark] importação de patos %s: %,d linhas em %,d ms (%,d linhas/s) | memória retida +%,d KB%n",
+                format, totalRows, elapsedMs, totalRows * 1000L / elapsedMs,
+                Math.max(0, retainedPeak.get() - retainedBaseline.get()) / 1024);
+    }
+
+    private void writeXlsx(Path file, int totalRows) throws IOException {
+        // Textos compartilhados, e não inline, para exercitar a tabela de textos na leitura
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, false, true);
+        try (OutputStream output = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Patos");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("price");
+            header.createCell(2).setCellValue("motherId");
+            for (int i = 1; i <= totalRows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Pato " + i);
+                row.createCell(1).setCellValue(100 + i % 500);
+                if (i > 1) {
+                    row.createCell(2).setCellValue(i / 2);
+                }
+            }
+            workbook.write(output);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private long retainedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void roundTrip(int count) {
+        for (int i = 0; i < count; i++) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        }
+    }
+
+    /**
+     * CSV gerado linha a linha durante a leitura.
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final int totalRows;
+        private int row;
+        private byte[] line = "name,price,motherId\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        private GeneratedCsv(int totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (row == totalRows) {
+                    return -1;
+                }
+                row++;
+                String motherId = row > 1 ? String.valueOf(row / 2) : "";
+                line = ("Pato " + row + "," + (100 + row % 500) + ".00," + motherId + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.granja.benchmark;
+
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.SaleServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark de vendas concorrentes disputando os mesmos patos.
+ *
+ * <p>Vários clientes tentam comprar patos sorteados de um mesmo lote até que todos
+ * sejam vendidos. A tabela de patos é simulada em memória: a leitura devolve o
+ * status do momento e o UPDATE condicional troca o status de cada linha de forma
+ * atômica, como o banco faz sob o bloqueio da linha. Cada ida ao banco custa uma
+ * latência fixa, o que abre a janela entre a leitura e a atualização.</p>
+ *
+ * <p>É uma simulação: verifica que o serviço só registra a venda dos patos que o
+ * UPDATE condicional informou como alterados, supondo que o banco troque o status
+ * de forma atômica. O comportamento do UPDATE no PostgreSQL não é testado aqui.
+ * Registra a vazão de vendas para 8, 32 e 128 clientes. Executar com
+ * {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Vendas concorrentes do mesmo pato (banco simulado) - Benchmark")
+class DuckSaleContentionBenchmarkTest {
+
+    private static final int TOTAL_DUCKS = 2_000;
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 100_000;
+
+    private final Map<Long, DuckStatus> duckTable = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> salesPerDuck = new ConcurrentHashMap<>();
+
+    @ParameterizedTest(name = "{0} clientes")
+    @ValueSource(ints = {8, 32, 128})
+    void naoDeveVenderOMesmoPatoDuasVezesComBancoSimulado(int clients) throws Exception {
+        // Arrange
+        for (long id = 1; id <= TOTAL_DUCKS; id++) {
+            duckTable.put(id, DuckStatus.AVAILABLE);
+        }
+        SaleServiceImpl saleService = newSaleService();
+        AtomicInteger remaining = new AtomicInteger(TOTAL_DUCKS);
+        LongAdder conflicts = new LongAdder();
+        LongAdder unavailable = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+
+        // Act
+        long start = System.nanoTime();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            tasks.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (remaining.get() > 0) {
+                    long duckId = random.nextLong(1, TOTAL_DUCKS + 1);
+                    try {
+                        saleService.createSale(SaleDTO.builder().duckIds(List.of(duckId)).customerId(1L).sellerId(1L).build());
+                        remaining.decrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.increment();
+                    } catch (BusinessException e) {
+                        unavailable.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        executor.shutdown();
+
+        // Assert
+        System.out.printf("[benchmark] vendas concorrentes: %d clientes | %,d vendas em %,d ms (%,d vendas/s) | %,d conflitos | %,d tentativas em patos já vendidos%n",
+                clients, TOTAL_DUCKS, elapsedMs, TOTAL_DUCKS * 1000L / elapsedMs, conflicts.sum(), unavailable.sum());
+
+        assertEquals(TOTAL_DUCKS, salesPerDuck.size());
+        salesPerDuck.forEach((duckId, sales) -> assertEquals(1, sales, "Pato " + duckId + " vendido " + sales + " vezes"));
+        assertTrue(duckTable.values().stream().allMatch(status -> status == DuckStatus.SOLD));
+    }
+
+    private SaleServiceImpl newSaleService() {
+        SaleServiceFixture fixture = new SaleServiceFixture();
+        SaleRepository saleRepository = fixture.saleRepository;
+        DuckRepository duckRepository = fixture.duckRepository;
+        CustomerRepository customerRepository = fixture.customerRepository;
+        SellerRepository sellerRepository = fixture.sellerRepository;
+        Customer customer = Customer.builder().id(1L).name("Cliente Benchmark").discountEligible(false).build();
+        Seller seller = Seller.builder().id(1L).name("Vendedor Benchmark").build();
+
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(Optional.of(customer)));
+        when(sellerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(Optional.of(seller)));
+        when(duckRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Duck> ducks = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                ducks.add(Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("150.00"))
+                        .status(duckTable.get(id)).build());
+            }
+            return roundTrip(ducks);
+        });
+        when(duckRepository.updateStatus(any(), any(), any())).thenAnswer(invocation -> {
+            DuckStatus expected = invocation.getArgument(1);
+            DuckStatus status = invocation.getArgument(2);
+            int updated = 0;
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                if (duckTable.replace(id, expected, status)) {
+                    updated++;
+                }
+            }
+            return roundTrip(updated);
+        });
+        when(saleRepository.save(any())).thenAnswer(invocation -> {
+            Sale sale = invocation.getArgument(0);
+            salesPerDuck.merge(sale.getDuck().getId(), 1, Integer::sum);
+            return roundTrip(sale);
+        });
+
+        return fixture.build();
+    }
+
+    private <T> T roundTrip(T result) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return result;
+    }
+}
@@ -0,0 +1,162 @@
+package com.granja.benchmark;
+
+import com.granja.dto.EntityCacheStatsDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Seller;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.EntityCacheServiceImpl;
+import com.granja.service.impl.SaleServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark da latência de {@code createSale} com e sem o cache de entidades.
+ *
+ * <p>Cada venda lê o cliente e o vendedor, lê o pato, troca o status com o UPDATE
+ * condicional e grava a venda. O repositório é simulado com uma latência fixa por
+ * ida ao banco. Com o cache, o cliente e o vendedor passam a vir da memória depois
+ * da primeira venda de cada um; o pato continua sendo lido do banco.</p>
+ *
+ * <p>Registra a latência média, p50 e p99 dos dois cenários e as estatísticas do
+ * cache. Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Cache de entidades na criação de vendas - Benchmark")
+class EntityCacheBenchmarkTest {
+
+    private static final int TOTAL_SALES = 5_000;
+    private static final int CUSTOMERS = 200;
+    private static final int SELLERS = 20;
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 200_000;
+
+    @Test
+    void deveReduzirLatenciaDaVenda() {
+        // Act
+        long[] semCache = executar(false, null);
+        EntityCacheServiceImpl[] cache = new EntityCacheServiceImpl[1];
+        long[] comCache = executar(true, cache);
+
+        // Assert
+        imprimir("sem cache", semCache);
+        imprimir("com cache", comCache);
+        for (EntityCacheStatsDTO stats : cache[0].getStats()) {
+            System.out.printf("[benchmark] cache %s: %,d acertos | %,d faltas | taxa %.1f%% | carga média %.3f ms | %,d entradas%n",
+                    stats.getCache(), stats.getHits(), stats.getMisses(), stats.getHitRate() * 100,
+                    stats.getAverageLoadMillis(), stats.getEntries());
+        }
+
+        assertTrue(media(comCache) < media(semCache) * 0.8,
+                "O cache deveria reduzir a latência média da venda");
+        EntityCacheStatsDTO clientes = cache[0].getStats().stream()
+                .filter(stats -> stats.getCache().equals("customers")).findFirst().orElseThrow();
+        assertEquals(CUSTOMERS, clientes.getMisses());
+    }
+
+    private long[] executar(boolean habilitado, EntityCacheServiceImpl[] cache) {
+        Map<Long, DuckStatus> duckTable = new ConcurrentHashMap<>();
+        for (long id = 1; id <= TOTAL_SALES; id++) {
+            duckTable.put(id, DuckStatus.AVAILABLE);
+        }
+        SaleServiceFixture fixture = new SaleServiceFixture();
+        SaleRepository saleRepository = fixture.saleRepository;
+        DuckRepository duckRepository = fixture.duckRepository;
+        CustomerRepository customerRepository = fixture.customerRepository;
+        SellerRepository sellerRepository = fixture.sellerRepository;
+
+        when(customerRepository.findById(anyLong())).thenAnswer(invocation -> roundTrip(Optional.of(Customer.builder()
+                .id(invocation.getArgument(0)).name("Cliente Benchmark").discountEligible(false).build())));
+        when(sellerRepository.findById(anyLong())).thenAnswer(invocation -> roundTrip(Optional.of(Seller.builder()
+                .id(invocation.getArgument(0)).name("Vendedor Benchmark").build())));
+        when(duckRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Duck> ducks = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                ducks.add(Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("150.00"))
+                        .status(duckTable.get(id)).build());
+            }
+            return roundTrip(ducks);
+        });
+        when(duckRepository.updateStatus(any(), any(), any())).thenAnswer(invocation -> {
+            int updated = 0;
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                if (duckTable.replace(id, invocation.getArgument(1), invocation.getArgument(2))) {
+                    updated++;
+                }
+            }
+            return roundTrip(updated);
+        });
+        when(saleRepository.save(any())).thenAnswer(invocation -> roundTrip(invocation.getArgument(0)));
+
+        EntityCacheServiceImpl entityCacheService = new EntityCacheServiceImpl(duckRepository, customerRepository,
+                sellerRepository);
+        ReflectionTestUtils.setField(entityCacheService, "enabled", habilitado);
+        ReflectionTestUtils.setField(entityCacheService, "duckMaxEntries", 10_000);
+        ReflectionTestUtils.setField(entityCacheService, "duckTtlSeconds", 60L);
+        ReflectionTestUtils.setField(entityCacheService, "customerMaxEntries", 10_000);
+        ReflectionTestUtils.setField(entityCacheService, "customerTtlSeconds", 600L);
+        ReflectionTestUtils.setField(entityCacheService, "sellerMaxEntries", 1_000);
+        ReflectionTestUtils.setField(entityCacheService, "sellerTtlSeconds", 600L);
+        entityCacheService.start();
+        if (cache != null) {
+            cache[0] = entityCacheService;
+        }
+
+        SaleServiceImpl saleService = fixture.entityCache(entityCacheService).build();
+
+        long[] latencias = new long[TOTAL_SALES];
+        for (int i = 0; i < TOTAL_SALES; i++) {
+            SaleDTO venda = SaleDTO.builder()
+                    .duckIds(List.of(i + 1L))
+                    .customerId(i % CUSTOMERS + 1L)
+                    .sellerId(i % SELLERS + 1L)
+                    .build();
+            long start = System.nanoTime();
+            saleService.createSale(venda);
+            latencias[i] = System.nanoTime() - start;
+        }
+        assertTrue(duckTable.values().stream().allMatch(status -> status == DuckStatus.SOLD));
+        return latencias;
+    }
+
+    private void imprimir(String cenario, long[] latencias) {
+        long[] ordenadas = latencias.clone();
+        Arrays.sort(ordenadas);
+        System.out.printf("[benchmark] createSale %s: %,d vendas | média %.3f ms | p50 %.3f ms | p99 %.3f ms%n",
+                cenario, latencias.length, media(latencias) / 1_000_000,
+                ordenadas[ordenadas.length / 2] / 1_000_000.0,
+                ordenadas[(int) (ordenadas.length * 0.99)] / 1_000_000.0);
+    }
+
+    private double media(long[] latencias) {
+        return Arrays.stream(latencias).average().orElse(0);
+    }
+
+    private <T> T roundTrip(T result) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return result;
+    }
+}
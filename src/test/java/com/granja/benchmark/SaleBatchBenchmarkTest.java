@@ -0,0 +1,132 @@
+package com.granja.benchmark;
+
+import com.granja.dto.SaleBatchResultDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.SaleServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do cadastro de vendas em lote contra o cadastro venda a venda.
+ *
+ * <p>Os repositórios são simulados e cada ida ao banco custa uma latência fixa,
+ * de modo que a comparação reflete a quantidade de round trips de cada caminho.
+ * Os INSERTs de vendas em lote contam um round trip a cada lote JDBC.
+ * Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Cadastro de vendas em lote - Benchmark")
+class SaleBatchBenchmarkTest {
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 200_000;
+
+    /** Mesmo valor de hibernate.jdbc.batch_size */
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    @ParameterizedTest(name = "{0} vendas")
+    @ValueSource(ints = {100, 1_000})
+    void deveSerMaisRapidoQueVendaAVenda(int totalSales) {
+        // Arrange
+        Customer customer = Customer.builder().id(1L).name("Cliente Benchmark").discountEligible(true).build();
+        Seller seller = Seller.builder().id(1L).name("Vendedor Benchmark").build();
+        List<SaleDTO> sales = LongStream.rangeClosed(1, totalSales)
+                .mapToObj(id -> SaleDTO.builder().duckIds(List.of(id)).customerId(1L).sellerId(1L).build())
+                .toList();
+
+        // Act
+        SaleServiceImpl singleService = newSaleService(customer, seller);
+        roundTrips.set(0);
+        long start = System.nanoTime();
+        sales.forEach(singleService::createSale);
+        long singleMs = (System.nanoTime() - start) / 1_000_000;
+        long singleRoundTrips = roundTrips.get();
+
+        SaleServiceImpl batchService = newSaleService(customer, seller);
+        roundTrips.set(0);
+        start = System.nanoTime();
+        SaleBatchResultDTO result = batchService.createSales(sales);
+        long batchMs = (System.nanoTime() - start) / 1_000_000;
+        long batchRoundTrips = roundTrips.get();
+
+        // Assert
+        System.out.printf("[benchmark] vendas em lote: %,d vendas | venda a venda %,d ms (%,d round trips) | lote %,d ms (%,d round trips)%n",
+                totalSales, singleMs, singleRoundTrips, batchMs, batchRoundTrips);
+
+        assertEquals(totalSales, result.getSucceeded());
+        assertTrue(batchRoundTrips * 10 < singleRoundTrips,
+                "Lote deveria usar muito menos round trips: " + batchRoundTrips + " contra " + singleRoundTrips);
+        assertTrue(batchMs < singleMs);
+    }
+
+    private SaleServiceImpl newSaleService(Customer customer, Seller seller) {
+        SaleServiceFixture fixture = new SaleServiceFixture();
+        SaleRepository saleRepository = fixture.saleRepository;
+        DuckRepository duckRepository = fixture.duckRepository;
+        CustomerRepository customerRepository = fixture.customerRepository;
+        SellerRepository sellerRepository = fixture.sellerRepository;
+        Answer<Object> hook = invocation -> roundTrip(1, null);
+
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(1, Optional.of(customer)));
+        when(sellerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(1, Optional.of(seller)));
+        when(customerRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(1, List.of(customer)));
+        when(sellerRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(1, List.of(seller)));
+        when(duckRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(1, ducks(invocation.getArgument(0))));
+        when(duckRepository.save(any())).thenAnswer(invocation -> roundTrip(1, invocation.getArgument(0)));
+        when(duckRepository.updateStatus(any(), any(), any()))
+                .thenAnswer(invocation -> roundTrip(1, invocation.<Collection<?>>getArgument(0).size()));
+        when(duckRepository.updateStatusReturningIds(any(), any(), any()))
+                .thenAnswer(invocation -> roundTrip(1, List.copyOf(invocation.<Collection<Long>>getArgument(0))));
+        when(saleRepository.save(any())).thenAnswer(invocation -> roundTrip(1, invocation.getArgument(0)));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Sale> saved = invocation.getArgument(0);
+            return roundTrip((saved.size() + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE, saved);
+        });
+
+        return fixture.hook(hook).build();
+    }
+
+    private List<Duck> ducks(Iterable<Long> ids) {
+        List<Duck> ducks = new ArrayList<>();
+        for (Long id : ids) {
+            ducks.add(Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("150.00"))
+                    .status(DuckStatus.AVAILABLE).build());
+        }
+        return ducks;
+    }
+
+    private <T> T roundTrip(int count, T result) {
+        for (int i = 0; i < count; i++) {
+            roundTrips.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        }
+        return result;
+    }
+}
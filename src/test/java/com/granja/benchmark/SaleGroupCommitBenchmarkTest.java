@@ -0,0 +1,180 @@
+package com.granja.benchmark;
+
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Seller;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.SaleIngestionServiceImpl;
+import com.granja.service.impl.SaleServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do cadastro de vendas com group commit contra o cadastro síncrono.
+ *
+ * <p>Os repositórios são simulados: cada ida ao banco custa uma latência fixa e cada
+ * transação paga um fsync do log, serializado entre todas as transações como no WAL.
+ * No caminho síncrono cada venda é uma transação; com group commit cada lote é uma.
+ * Registra vazão e latências p50/p99 de 32 clientes simultâneos.
+ * Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Group commit de vendas - Benchmark")
+class SaleGroupCommitBenchmarkTest {
+
+    private static final int CLIENTS = 32;
+    private static final int SALES_PER_CLIENT = 100;
+    private static final int TOTAL_DUCKS = CLIENTS * SALES_PER_CLIENT;
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 100_000;
+
+    /** Custo simulado do fsync do log a cada commit */
+    private static final long FSYNC_NANOS = 1_000_000;
+
+    private final ReentrantLock wal = new ReentrantLock();
+    private final AtomicLong commits = new AtomicLong();
+
+    @Test
+    void deveGravarMaisVendasPorFsync() throws Exception {
+        // Arrange
+        SaleServiceImpl syncService = newSaleService();
+        SaleServiceImpl batchService = newSaleService();
+        SaleIngestionServiceImpl ingestion = new SaleIngestionServiceImpl(batchService);
+        ReflectionTestUtils.setField(ingestion, "enabled", true);
+        ReflectionTestUtils.setField(ingestion, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(ingestion, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(ingestion, "maxWaitMs", 2L);
+        ReflectionTestUtils.setField(ingestion, "offerTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(ingestion, "resultTimeoutMs", 60_000L);
+        ingestion.start();
+
+        // Act
+        commits.set(0);
+        Result sync = run(0, syncService::createSale);
+        long syncCommits = commits.getAndSet(0);
+        Result grouped = run(TOTAL_DUCKS, ingestion::createSale);
+        long groupedCommits = commits.get();
+        ingestion.stop();
+
+        // Assert
+        System.out.printf("[benchmark] group commit: %,d vendas de %d clientes | síncrono %,d vendas/s, p50 %.1f ms, p99 %.1f ms, %,d commits | group commit %,d vendas/s, p50 %.1f ms, p99 %.1f ms, %,d commits%n",
+                TOTAL_DUCKS, CLIENTS, sync.throughput(), sync.p50Ms(), sync.p99Ms(), syncCommits,
+                grouped.throughput(), grouped.p50Ms(), grouped.p99Ms(), groupedCommits);
+
+        assertEquals(TOTAL_DUCKS, syncCommits);
+        assertTrue(groupedCommits * 5 < syncCommits, "Group commit deveria agrupar vendas: " + groupedCommits + " commits");
+        assertTrue(grouped.throughput() > sync.throughput());
+    }
+
+    private Result run(long firstDuckId, Function<SaleDTO, SaleDTO> createSale) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> tasks = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            long clientFirstDuck = firstDuckId + (long) c * SALES_PER_CLIENT + 1;
+            tasks.add(executor.submit(() -> {
+                long[] latencies = new long[SALES_PER_CLIENT];
+                for (int i = 0; i < SALES_PER_CLIENT; i++) {
+                    long begin = System.nanoTime();
+                    SaleDTO sale = createSale.apply(SaleDTO.builder().duckIds(List.of(clientFirstDuck + i))
+                            .customerId(1L).sellerId(1L).build());
+                    latencies[i] = System.nanoTime() - begin;
+                    assertNotNull(sale);
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<long[]> task : tasks) {
+            for (long latency : task.get(5, TimeUnit.MINUTES)) {
+                latencies.add(latency);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        latencies.sort(null);
+        return new Result(latencies.size() * 1_000_000_000L / elapsedNanos,
+                latencies.get(latencies.size() / 2) / 1e6, latencies.get(latencies.size() * 99 / 100) / 1e6);
+    }
+
+    private SaleServiceImpl newSaleService() {
+        SaleServiceFixture fixture = new SaleServiceFixture();
+        SaleRepository saleRepository = fixture.saleRepository;
+        DuckRepository duckRepository = fixture.duckRepository;
+        CustomerRepository customerRepository = fixture.customerRepository;
+        SellerRepository sellerRepository = fixture.sellerRepository;
+        Customer customer = Customer.builder().id(1L).name("Cliente Benchmark").discountEligible(false).build();
+        Seller seller = Seller.builder().id(1L).name("Vendedor Benchmark").build();
+
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(Optional.of(customer)));
+        when(sellerRepository.findById(1L)).thenAnswer(invocation -> roundTrip(Optional.of(seller)));
+        when(customerRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(List.of(customer)));
+        when(sellerRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(List.of(seller)));
+        when(duckRepository.findAllById(any())).thenAnswer(invocation -> roundTrip(ducks(invocation.getArgument(0))));
+        when(duckRepository.updateStatus(any(), any(), any()))
+                .thenAnswer(invocation -> roundTrip(invocation.<Collection<?>>getArgument(0).size()));
+        when(duckRepository.updateStatusReturningIds(any(), any(), any()))
+                .thenAnswer(invocation -> roundTrip(List.copyOf(invocation.<Collection<Long>>getArgument(0))));
+        // O último comando de cada transação paga o commit
+        when(saleRepository.save(any())).thenAnswer(invocation -> commit(invocation.getArgument(0)));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> commit(invocation.getArgument(0)));
+
+        return fixture.build();
+    }
+
+    private List<Duck> ducks(Iterable<Long> ids) {
+        List<Duck> ducks = new ArrayList<>();
+        for (Long id : ids) {
+            ducks.add(Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("150.00"))
+                    .status(DuckStatus.AVAILABLE).build());
+        }
+        return ducks;
+    }
+
+    private <T> T roundTrip(T result) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return result;
+    }
+
+    private <T> T commit(T result) {
+        roundTrip(null);
+        wal.lock();
+        try {
+            commits.incrementAndGet();
+            LockSupport.parkNanos(FSYNC_NANOS);
+        } finally {
+            wal.unlock();
+        }
+        return result;
+    }
+
+    private record Result(long throughput, double p50Ms, double p99Ms) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.granja.benchmark;
+
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.InventoryIndexService;
+import com.granja.service.ReportCacheService;
+import com.granja.service.SalesRollupService;
+import com.granja.service.SellerLeaderboardService;
+import com.granja.service.SellerMetricsService;
+import com.granja.service.SystemConfigService;
+import com.granja.service.impl.EntityCacheServiceImpl;
+import com.granja.service.impl.NdjsonStreamWriter;
+import com.granja.service.impl.SaleServiceImpl;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Montagem do SaleServiceImpl usada pelos benchmarks de vendas.
+ *
+ * <p>Os repositórios são mocks expostos para que cada benchmark simule o banco do seu
+ * jeito; os demais colaboradores são mocks sem comportamento. Sem cache informado, o
+ * cache de entidades fica desligado e as leituras vão direto aos repositórios.</p>
+ */
+final class SaleServiceFixture {
+
+    final SaleRepository saleRepository = mock(SaleRepository.class);
+    final DuckRepository duckRepository = mock(DuckRepository.class);
+    final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    final SellerRepository sellerRepository = mock(SellerRepository.class);
+
+    private Answer<Object> hook = RETURNS_DEFAULTS;
+    private EntityCacheServiceImpl entityCacheService;
+
+    /**
+     * Define a resposta dos serviços chamados a cada venda gravada: totais de vendas,
+     * métricas do vendedor e resumo de compras do cliente.
+     */
+    SaleServiceFixture hook(Answer<Object> hook) {
+        this.hook = hook;
+        return this;
+    }
+
+    /**
+     * Usa o cache de entidades informado, montado sobre os repositórios desta montagem.
+     */
+    SaleServiceFixture entityCache(EntityCacheServiceImpl entityCacheService) {
+        this.entityCacheService = entityCacheService;
+        return this;
+    }
+
+    /**
+     * @return o serviço de vendas, aceitando lotes de até 1.000 vendas
+     */
+    SaleServiceImpl build() {
+        SaleServiceImpl saleService = new SaleServiceImpl(saleRepository, duckRepository, customerRepository,
+                sellerRepository, mock(ReportCacheService.class), mock(SalesRollupService.class, hook),
+                mock(SellerMetricsService.class, hook), mock(SellerLeaderboardService.class), configuracao(),
+                mock(NdjsonStreamWriter.class), mock(InventoryIndexService.class),
+                entityCacheService != null ? entityCacheService : semCache(),
+                mock(CustomerPurchaseSummaryService.class, hook));
+        ReflectionTestUtils.setField(saleService, "batchMaxItems", 1_000);
+        return saleService;
+    }
+
+    private EntityCacheServiceImpl semCache() {
+        EntityCacheServiceImpl semCache = new EntityCacheServiceImpl(duckRepository, customerRepository,
+                sellerRepository);
+        ReflectionTestUtils.setField(semCache, "enabled", false);
+        semCache.start();
+        return semCache;
+    }
+
+    /**
+     * @return configurações com 20% de desconto, sem faixa de preço e fora de manutenção
+     */
+    private static SystemConfigService configuracao() {
+        SystemConfigService systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.current()).thenReturn(new SystemConfigService.Snapshot("1", LocalDateTime.now(),
+                new BigDecimal("0.20"), null, null, false, Map.of()));
+        return systemConfigService;
+    }
+}
@@ -0,0 +1,123 @@
+package com.granja.benchmark;
+
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.SaleRepository;
+import com.granja.service.ReportCacheService;
+import com.granja.service.SalesRollupService;
+import com.granja.service.impl.ReportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do relatório de vendas em streaming.
+ *
+ * <p>Gera o relatório para 10 mil, 100 mil e 1 milhão de vendas sintéticas e
+ * registra o tempo total e o pico de heap observado durante a escrita.
+ * Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Relatório de vendas em streaming - Benchmark")
+class SalesReportStreamingBenchmarkTest {
+
+    /** Folga de heap aceita sobre a linha de base antes da geração */
+    private static final long MAX_HEAP_GROWTH_BYTES = 128L * 1024 * 1024;
+
+    @ParameterizedTest(name = "{0} vendas")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void deveManterHeapConstante(int totalSales) {
+        // Arrange
+        SaleRepository saleRepository = mock(SaleRepository.class);
+        ReportServiceImpl reportService = new ReportServiceImpl(saleRepository, mock(ReportCacheService.class),
+                mock(SalesRollupService.class));
+        ReflectionTestUtils.setField(reportService, "entityManager", mock(EntityManager.class));
+
+        Customer customer = Customer.builder().id(1L).name("Cliente Benchmark").discountEligible(true).build();
+        Seller seller = Seller.builder().id(1L).name("Vendedor Benchmark").build();
+        LocalDateTime saleDate = LocalDateTime.now();
+        HeapSampler sampler = new HeapSampler();
+
+        when(saleRepository.streamBySaleDateBetween(any(), any())).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, totalSales)
+                        .peek(id -> { if (id % 10_000 == 0) sampler.sample(); })
+                        .mapToObj(id -> Sale.builder()
+                                .id(id)
+                                .duck(Duck.builder().id(id).name("Pato " + id).status(DuckStatus.SOLD).build())
+                                .customer(customer)
+                                .seller(seller)
+                                .originalPrice(new BigDecimal("150.00"))
+                                .discountAmount(new BigDecimal("30.00"))
+                                .finalPrice(new BigDecimal("120.00"))
+                                .saleDate(saleDate)
+                                .build()));
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        System.gc();
+        long baseline = usedHeap();
+
+        // Act
+        long start = System.nanoTime();
+        reportService.writeSalesReport(saleDate.minusMonths(1), saleDate, outputStream);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        long peakGrowth = Math.max(0, sampler.peak - baseline);
+        System.out.printf("[benchmark] relatório em streaming: %,d vendas | %,d ms | %,d bytes | pico de heap +%,d KB%n",
+                totalSales, elapsedMs, outputStream.count, peakGrowth / 1024);
+
+        assertTrue(outputStream.count > 0);
+        assertTrue(peakGrowth < MAX_HEAP_GROWTH_BYTES,
+                "Crescimento de heap acima do esperado: " + peakGrowth / 1024 + " KB");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Registra o maior uso de heap observado, forçando coleta antes de cada amostra
+     * para medir apenas o que permanece alcançável.
+     */
+    private static class HeapSampler {
+        long peak;
+
+        void sample() {
+            System.gc();
+            peak = Math.max(peak, usedHeap());
+        }
+    }
+
+    /**
+     * Stream de saída que descarta os bytes e apenas conta o tamanho do arquivo.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.granja.benchmark;
+
+import com.granja.dto.CustomerDTO;
+import com.granja.dto.UniqueKeyFilterStatsDTO;
+import com.granja.entity.Customer;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.CustomerPurchaseSummaryService;
+import com.granja.service.CustomerSearchService;
+import com.granja.service.EntityCacheService;
+import com.granja.service.impl.CustomerServiceImpl;
+import com.granja.service.impl.NdjsonStreamWriter;
+import com.granja.service.impl.UniqueKeyFilterServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do cadastro em massa de clientes com e sem o filtro de Bloom de CPF.
+ *
+ * <p>A tabela de clientes começa com 1 milhão de CPFs e recebe 10 mil clientes novos.
+ * O repositório é simulado em memória com uma latência fixa por ida ao banco: sem o
+ * filtro, cada cadastro faz a consulta {@code existsByCpf} e o INSERT; com o filtro,
+ * a consulta só acontece nos falsos positivos.</p>
+ *
+ * <p>Registra a vazão dos dois cenários, as consultas dispensadas, a taxa de falsos
+ * positivos observada e a memória do filtro. Executar com {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@DisplayName("Filtro de Bloom de CPF no cadastro de clientes - Benchmark")
+class UniqueKeyFilterBenchmarkTest {
+
+    private static final int EXISTING_CUSTOMERS = 1_000_000;
+    private static final int NEW_CUSTOMERS = 10_000;
+
+    /** Latência simulada de cada ida ao banco */
+    private static final long ROUND_TRIP_NANOS = 200_000;
+
+    @Test
+    void deveDispensarConsultasNoCadastroEmMassa() {
+        // Act
+        Resultado semFiltro = cadastrar(false);
+        Resultado comFiltro = cadastrar(true);
+
+        // Assert
+        UniqueKeyFilterStatsDTO stats = comFiltro.stats();
+        System.out.printf("[benchmark] cadastro de clientes sem filtro: %,d clientes em %,d ms (%,d/s) | %,d idas ao banco%n",
+                NEW_CUSTOMERS, semFiltro.elapsedMs(), NEW_CUSTOMERS * 1000L / semFiltro.elapsedMs(), semFiltro.roundTrips());
+        System.out.printf("[benchmark] cadastro de clientes com filtro: %,d clientes em %,d ms (%,d/s) | %,d idas ao banco%n",
+                NEW_CUSTOMERS, comFiltro.elapsedMs(), NEW_CUSTOMERS * 1000L / comFiltro.elapsedMs(), comFiltro.roundTrips());
+        System.out.printf("[benchmark] filtro de CPF: capacidade %,d | %,d KB | %d hashes | %,d consultas dispensadas | %,d falsos positivos (%.3f%%, configurado %.1f%%, estimado %.3f%%)%n",
+                stats.getExpectedInsertions(), stats.getMemoryBytes() / 1024, stats.getHashFunctions(),
+                stats.getSkippedQueries(), stats.getFalsePositives(), stats.getObservedFalsePositiveRate() * 100,
+                stats.getConfiguredFalsePositiveRate() * 100, stats.getEstimatedFalsePositiveRate() * 100);
+
+        assertTrue(comFiltro.elapsedMs() < semFiltro.elapsedMs() * 0.7, "O filtro deveria reduzir o tempo do cadastro");
+        assertTrue(stats.getObservedFalsePositiveRate() < 0.02);
+        assertEquals(NEW_CUSTOMERS, stats.getSkippedQueries() + stats.getFalsePositives());
+    }
+
+    private Resultado cadastrar(boolean filtroHabilitado) {
+        Set<String> cpfs = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, EXISTING_CUSTOMERS).forEach(i -> cpfs.add(cpf(i)));
+        AtomicLong roundTrips = new AtomicLong();
+        AtomicLong ids = new AtomicLong(EXISTING_CUSTOMERS);
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        when(customerRepository.count()).thenAnswer(invocation -> (long) cpfs.size());
+        when(customerRepository.streamCpfs()).thenAnswer(invocation -> cpfs.stream());
+        when(customerRepository.existsByCpf(any())).thenAnswer(invocation -> {
+            roundTrip(roundTrips);
+            return cpfs.contains(invocation.<String>getArgument(0));
+        });
+        when(customerRepository.save(any())).thenAnswer(invocation -> {
+            roundTrip(roundTrips);
+            Customer customer = invocation.getArgument(0);
+            assertTrue(cpfs.add(customer.getCpf()));
+            customer.setId(ids.incrementAndGet());
+            return customer;
+        });
+
+        UniqueKeyFilterServiceImpl uniqueKeyFilterService = filtro(customerRepository, filtroHabilitado);
+        CustomerServiceImpl customerService = new CustomerServiceImpl(customerRepository, mock(NdjsonStreamWriter.class),
+                mock(EntityCacheService.class), mock(CustomerSearchService.class), uniqueKeyFilterService,
+                mock(CustomerPurchaseSummaryService.class), mock(TransactionTemplate.class));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NEW_CUSTOMERS; i++) {
+            customerService.createCustomer(CustomerDTO.builder()
+                    .name("Cliente " + i)
+                    .cpf(cpf(EXISTING_CUSTOMERS + i))
+                    .discountEligible(false)
+                    .build());
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        UniqueKeyFilterStatsDTO stats = uniqueKeyFilterService.getStats().stream()
+                .filter(filter -> filter.getKey().equals("CUSTOMER_CPF"))
+                .findFirst()
+                .orElseThrow();
+        return new Resultado(elapsedMs, roundTrips.get(), stats);
+    }
+
+    private UniqueKeyFilterServiceImpl filtro(CustomerRepository customerRepository, boolean habilitado) {
+        SellerRepository sellerRepository = mock(SellerRepository.class);
+        when(sellerRepository.streamCpfs()).thenAnswer(invocation -> Stream.empty());
+        when(sellerRepository.streamEmployeeIds()).thenAnswer(invocation -> Stream.empty());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        UniqueKeyFilterServiceImpl uniqueKeyFilterService = new UniqueKeyFilterServiceImpl(customerRepository,
+                sellerRepository, transactionTemplate);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "enabled", habilitado);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "maxMemoryKb", 4096L);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "expectedCustomers", 1_000_000L);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "expectedSellers", 10_000L);
+        uniqueKeyFilterService.start();
+        return uniqueKeyFilterService;
+    }
+
+    private void roundTrip(AtomicLong roundTrips) {
+        roundTrips.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    private String cpf(int i) {
+        return String.format("%011d", 10_000_000_000L + i * 7919L);
+    }
+
+    private record Resultado(long elapsedMs, long roundTrips, UniqueKeyFilterStatsDTO stats) {
+    }
+}
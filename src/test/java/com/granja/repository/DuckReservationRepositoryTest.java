@@ -0,0 +1,38 @@
+package com.granja.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das consultas nativas do DuckReservationRepository
+ * Sem PostgreSQL no ambiente de testes, confere o texto dos comandos que liberam patos
+ */
+@DisplayName("DuckReservationRepository - Testes Unitários")
+class DuckReservationRepositoryTest {
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"expireByIds", "expireOverdue"})
+    @DisplayName("Deve incrementar a versão dos patos liberados pela expiração")
+    void deveIncrementarVersaoDosPatosLiberados(String metodo) {
+        // Arrange
+        Method expiracao = Arrays.stream(DuckReservationRepository.class.getMethods())
+                .filter(method -> method.getName().equals(metodo))
+                .findFirst().orElseThrow();
+
+        // Act
+        String sql = expiracao.getAnnotation(Query.class).value();
+        String atualizacao = sql.substring(sql.indexOf("UPDATE ducks SET"), sql.indexOf("WHERE status = 'RESERVED'"));
+
+        // Assert - sem o incremento, uma edição lida com o pato reservado passaria na
+        // checagem de @Version e gravaria RESERVED de volta após a expiração
+        assertTrue(atualizacao.contains("status = 'AVAILABLE'"), atualizacao);
+        assertTrue(atualizacao.contains("version = version + 1"), atualizacao);
+    }
+}
@@ -0,0 +1,130 @@
+package com.granja.service;
+
+import com.granja.dto.ConcurrencyStatsDTO;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.service.impl.ConcurrencyRetryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ConcurrencyRetryService
+ * Cobre as novas tentativas em conflito, o limite de tentativas e as estatísticas por endpoint
+ */
+@DisplayName("ConcurrencyRetryService - Testes Unitários")
+class ConcurrencyRetryServiceTest {
+
+    private ConcurrencyRetryServiceImpl concurrencyRetryService;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyRetryService = new ConcurrencyRetryServiceImpl();
+        ReflectionTestUtils.setField(concurrencyRetryService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(concurrencyRetryService, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(concurrencyRetryService, "maxBackoffMs", 5L);
+    }
+
+    @Test
+    @DisplayName("Deve repetir a operação após conflito de versão e contar o conflito")
+    void deveRepetirAposConflitoDeVersao() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = concurrencyRetryService.execute("PUT /api/ducks/{id}", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Duck", 1L);
+            }
+            return "ok";
+        });
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        ConcurrencyStatsDTO stats = concurrencyRetryService.getStats().get(0);
+        assertEquals("PUT /api/ducks/{id}", stats.getEndpoint());
+        assertEquals(1L, stats.getRequests());
+        assertEquals(2L, stats.getConflicts());
+        assertEquals(0L, stats.getExhausted());
+        assertEquals(2.0, stats.getConflictRate());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ConflictException quando o conflito persiste")
+    void deveLancarConflitoAoEsgotarTentativas() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class, () ->
+                concurrencyRetryService.execute("PUT /api/ducks/{id}", () -> {
+                    attempts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Duck", 1L);
+                }));
+        assertEquals("CONCURRENT_UPDATE", exception.getErrorCode());
+        assertEquals(3, attempts.get());
+        assertEquals(1L, concurrencyRetryService.getStats().get(0).getExhausted());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a venda cujo pato foi vendido entre a leitura e a gravação")
+    void deveRepetirVendaEmConflito() {
+        // Arrange - na nova tentativa a leitura já encontra o pato vendido
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                concurrencyRetryService.execute("POST /api/sales", () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new ConflictException("Some ducks were sold by another sale", "DUCK_ALREADY_SOLD");
+                    }
+                    throw new BusinessException("Duck Donald is not available");
+                }));
+        assertFalse(exception instanceof ConflictException);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir falhas que não são conflitos")
+    void naoDeveRepetirOutrasFalhas() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> concurrencyRetryService.execute("POST /api/sales", () -> {
+            attempts.incrementAndGet();
+            throw new BusinessException("Customer not found");
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(0L, concurrencyRetryService.getStats().get(0).getConflicts());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar as estatísticas pelos endpoints mais disputados")
+    void deveOrdenarEstatisticasPorConflitos() {
+        // Arrange
+        concurrencyRetryService.execute("PUT /api/ducks/{id}", () -> "ok");
+        AtomicInteger attempts = new AtomicInteger();
+        concurrencyRetryService.execute("POST /api/sales", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ConflictException("Some ducks were sold by another sale", "DUCK_ALREADY_SOLD");
+            }
+            return "ok";
+        });
+
+        // Act
+        List<ConcurrencyStatsDTO> stats = concurrencyRetryService.getStats();
+
+        // Assert
+        assertEquals(List.of("POST /api/sales", "PUT /api/ducks/{id}"),
+                stats.stream().map(ConcurrencyStatsDTO::getEndpoint).toList());
+    }
+}
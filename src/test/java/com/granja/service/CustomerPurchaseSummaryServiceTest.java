@@ -0,0 +1,231 @@
+package com.granja.service;
+
+import com.granja.dto.CustomerPurchaseSummaryDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Sale;
+import com.granja.exception.BusinessException;
+import com.granja.repository.CustomerPurchaseSummaryRepository;
+import com.granja.repository.projection.CustomerPurchaseTotals;
+import com.granja.service.impl.CustomerPurchaseSummaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o CustomerPurchaseSummaryService
+ * Cobre a atualização do resumo por venda, as consultas e a reconciliação
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerPurchaseSummaryService - Testes Unitários")
+class CustomerPurchaseSummaryServiceTest {
+
+    @Mock
+    private CustomerPurchaseSummaryRepository customerPurchaseSummaryRepository;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @InjectMocks
+    private CustomerPurchaseSummaryServiceImpl customerPurchaseSummaryService;
+
+    private Customer customer;
+    private Sale sale;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(customerPurchaseSummaryService, "topDefaultLimit", 10);
+        ReflectionTestUtils.setField(customerPurchaseSummaryService, "topMaxLimit", 100);
+
+        customer = Customer.builder().id(7L).name("João Silva").build();
+        sale = Sale.builder()
+                .id(1L)
+                .customer(customer)
+                .originalPrice(new BigDecimal("100.00"))
+                .discountAmount(new BigDecimal("20.00"))
+                .finalPrice(new BigDecimal("80.00"))
+                .saleDate(LocalDateTime.of(2024, 3, 10, 14, 30))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve somar o preço final e o desconto da venda ao resumo do cliente")
+    void deveSomarVendaAoResumo() {
+        // Act
+        customerPurchaseSummaryService.recordSale(sale);
+
+        // Assert
+        verify(customerPurchaseSummaryRepository).addPurchases(7L, 1L, new BigDecimal("80.00"), new BigDecimal("20.00"),
+                LocalDateTime.of(2024, 3, 10, 14, 30), LocalDateTime.of(2024, 3, 10, 14, 30));
+    }
+
+    @Test
+    @DisplayName("Deve somar um lote de vendas com uma atualização por cliente")
+    void deveSomarLotePorCliente() {
+        // Arrange
+        Customer outroCliente = Customer.builder().id(3L).name("Ana").build();
+        Sale vendaAnterior = Sale.builder().customer(customer).finalPrice(new BigDecimal("20.00"))
+                .saleDate(LocalDateTime.of(2024, 3, 9, 9, 0)).build();
+        Sale vendaOutroCliente = Sale.builder().customer(outroCliente).finalPrice(new BigDecimal("50.00"))
+                .discountAmount(BigDecimal.ZERO).saleDate(LocalDateTime.of(2024, 3, 10, 8, 0)).build();
+
+        // Act
+        customerPurchaseSummaryService.recordSales(List.of(sale, vendaOutroCliente, vendaAnterior));
+
+        // Assert
+        InOrder ordem = inOrder(customerPurchaseSummaryRepository);
+        ordem.verify(customerPurchaseSummaryRepository).addPurchases(3L, 1L, new BigDecimal("50.00"), BigDecimal.ZERO,
+                LocalDateTime.of(2024, 3, 10, 8, 0), LocalDateTime.of(2024, 3, 10, 8, 0));
+        ordem.verify(customerPurchaseSummaryRepository).addPurchases(7L, 2L, new BigDecimal("100.00"), new BigDecimal("20.00"),
+                LocalDateTime.of(2024, 3, 9, 9, 0), LocalDateTime.of(2024, 3, 10, 14, 30));
+        verifyNoMoreInteractions(customerPurchaseSummaryRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retirar a venda removida do resumo do cliente")
+    void deveRetirarVendaDoResumo() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.removePurchase(7L, new BigDecimal("80.00"), new BigDecimal("20.00")))
+                .thenReturn(1);
+
+        // Act
+        customerPurchaseSummaryService.removeSale(sale);
+
+        // Assert
+        verify(customerPurchaseSummaryRepository).removePurchase(7L, new BigDecimal("80.00"), new BigDecimal("20.00"));
+    }
+
+    @Test
+    @DisplayName("Deve montar o resumo com o ticket médio a partir dos totais")
+    void deveMontarResumoComTicketMedio() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.findTotals(7L)).thenReturn(Optional.of(
+                totais(7L, "João Silva", 3L, new BigDecimal("250.00"), new BigDecimal("30.00"))));
+
+        // Act
+        CustomerPurchaseSummaryDTO resumo = customerPurchaseSummaryService.getSummary(7L);
+
+        // Assert
+        assertEquals("João Silva", resumo.getCustomerName());
+        assertEquals(3L, resumo.getPurchaseCount());
+        assertEquals(new BigDecimal("250.00"), resumo.getLifetimeSpend());
+        assertEquals(new BigDecimal("83.33"), resumo.getAverageTicket());
+        assertEquals(LocalDateTime.of(2024, 1, 5, 10, 0), resumo.getFirstPurchaseDate());
+        verifyNoInteractions(entityCacheService);
+    }
+
+    @Test
+    @DisplayName("Deve devolver totais zerados para cliente que ainda não comprou")
+    void deveDevolverResumoZeradoParaClienteSemCompras() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.findTotals(7L)).thenReturn(Optional.empty());
+        when(entityCacheService.findCustomer(7L)).thenReturn(Optional.of(customer));
+
+        // Act
+        CustomerPurchaseSummaryDTO resumo = customerPurchaseSummaryService.getSummary(7L);
+
+        // Assert
+        assertEquals(0L, resumo.getPurchaseCount());
+        assertEquals(BigDecimal.ZERO, resumo.getLifetimeSpend());
+        assertNull(resumo.getLastPurchaseDate());
+    }
+
+    @Test
+    @DisplayName("Deve falhar ao obter o resumo de cliente inexistente")
+    void deveFalharParaClienteInexistente() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.findTotals(99L)).thenReturn(Optional.empty());
+        when(entityCacheService.findCustomer(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> customerPurchaseSummaryService.getSummary(99L));
+        assertEquals("Customer not found", erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve usar o limite padrão e recusar limites fora da faixa no ranking")
+    void deveValidarLimiteDoRanking() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.findTop(Limit.of(10))).thenReturn(List.of(
+                totais(7L, "João Silva", 3L, new BigDecimal("250.00"), new BigDecimal("30.00"))));
+
+        // Act
+        List<CustomerPurchaseSummaryDTO> ranking = customerPurchaseSummaryService.getTopCustomers(null);
+
+        // Assert
+        assertEquals(1, ranking.size());
+        assertThrows(IllegalArgumentException.class, () -> customerPurchaseSummaryService.getTopCustomers(0));
+        assertThrows(IllegalArgumentException.class, () -> customerPurchaseSummaryService.getTopCustomers(101));
+    }
+
+    @Test
+    @DisplayName("Deve bloquear escritas antes de reconciliar o resumo")
+    void deveBloquearAntesDeReconciliar() {
+        // Arrange
+        when(customerPurchaseSummaryRepository.rebuildFromSales()).thenReturn(42);
+
+        // Act
+        int clientes = customerPurchaseSummaryService.reconcile();
+
+        // Assert
+        assertEquals(42, clientes);
+        InOrder ordem = inOrder(customerPurchaseSummaryRepository);
+        ordem.verify(customerPurchaseSummaryRepository).lockForReconcile();
+        ordem.verify(customerPurchaseSummaryRepository).rebuildFromSales();
+        ordem.verify(customerPurchaseSummaryRepository).deleteWithoutSales();
+    }
+
+    private CustomerPurchaseTotals totais(Long id, String nome, Long compras, BigDecimal gasto, BigDecimal desconto) {
+        return new CustomerPurchaseTotals() {
+            @Override
+            public Long getCustomerId() {
+                return id;
+            }
+
+            @Override
+            public String getCustomerName() {
+                return nome;
+            }
+
+            @Override
+            public Long getPurchaseCount() {
+                return compras;
+            }
+
+            @Override
+            public BigDecimal getLifetimeSpend() {
+                return gasto;
+            }
+
+            @Override
+            public BigDecimal getTotalDiscount() {
+                return desconto;
+            }
+
+            @Override
+            public LocalDateTime getFirstPurchaseDate() {
+                return LocalDateTime.of(2024, 1, 5, 10, 0);
+            }
+
+            @Override
+            public LocalDateTime getLastPurchaseDate() {
+                return LocalDateTime.of(2024, 3, 10, 14, 30);
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.granja.service;
+
+import com.granja.dto.CustomerSearchResultDTO;
+import com.granja.entity.Customer;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.projection.CustomerNameEntry;
+import com.granja.service.impl.CustomerSearchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o CustomerSearchService
+ * Cobre a normalização de acentos, a ordenação, o limite e a atualização após o commit
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerSearchService - Testes Unitários")
+class CustomerSearchServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CustomerSearchServiceImpl customerSearchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(customerSearchService, "defaultLimit", 20);
+        ReflectionTestUtils.setField(customerSearchService, "maxLimit", 100);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(customerRepository.streamNames()).thenReturn(Stream.of(
+                entrada(1L, "João Silva"),
+                entrada(2L, "Maria da Silva"),
+                entrada(3L, "Maria Souza"),
+                entrada(4L, "Silvana Conceição"),
+                entrada(5L, "José Silva"),
+                entrada(6L, "Ana Josilva")));
+        customerSearchService.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve encontrar nomes sem diferenciar acentos e maiúsculas")
+    void deveIgnorarAcentosEMaiusculas() {
+        // Act
+        List<CustomerSearchResultDTO> semAcento = customerSearchService.search("joao", null);
+        List<CustomerSearchResultDTO> comAcento = customerSearchService.search("JOÃO", null);
+        List<CustomerSearchResultDTO> cedilha = customerSearchService.search("conceicao", null);
+
+        // Assert
+        assertEquals(List.of(1L), ids(semAcento));
+        assertEquals("João Silva", semAcento.get(0).getName());
+        assertEquals(List.of(1L), ids(comAcento));
+        assertEquals(List.of(4L), ids(cedilha));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por palavra inteira, início de palavra e trecho")
+    void deveOrdenarPorRelevancia() {
+        // Act
+        List<CustomerSearchResultDTO> resultados = customerSearchService.search("silva", null);
+
+        // Assert - palavra inteira nos nomes mais curtos primeiro, depois início de palavra e trecho
+        assertEquals(List.of(1L, 5L, 2L, 4L, 6L), ids(resultados));
+        assertEquals(3, resultados.get(0).getScore());
+        assertEquals(2, resultados.get(3).getScore());
+        assertEquals(1, resultados.get(4).getScore());
+    }
+
+    @Test
+    @DisplayName("Deve exigir todas as palavras da consulta")
+    void deveExigirTodasAsPalavras() {
+        // Act
+        List<CustomerSearchResultDTO> resultados = customerSearchService.search("silva maria", null);
+        List<CustomerSearchResultDTO> curtas = customerSearchService.search("da", null);
+
+        // Assert
+        assertEquals(List.of(2L), ids(resultados));
+        assertEquals(List.of(2L), ids(curtas));
+        assertTrue(customerSearchService.search("maria xavier", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de resultados")
+    void deveRespeitarLimite() {
+        // Act
+        List<CustomerSearchResultDTO> resultados = customerSearchService.search("silva", 2);
+
+        // Assert
+        assertEquals(List.of(1L, 5L), ids(resultados));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consulta vazia e limite fora da faixa")
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> customerSearchService.search("  ", null));
+        assertThrows(IllegalArgumentException.class, () -> customerSearchService.search("-", null));
+        assertThrows(IllegalArgumentException.class, () -> customerSearchService.search("silva", 0));
+        assertThrows(IllegalArgumentException.class, () -> customerSearchService.search("silva", 101));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar cadastro, alteração e remoção apenas após o commit")
+    void deveAtualizarAposCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        customerSearchService.recordCustomer(cliente(7L, "Antônio Pereira"));
+        customerSearchService.recordCustomer(cliente(1L, "João Santos"));
+        customerSearchService.removeCustomer(3L);
+        assertTrue(customerSearchService.search("antonio", null).isEmpty());
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(List.of(7L), ids(customerSearchService.search("antonio", null)));
+        assertEquals(List.of(1L), ids(customerSearchService.search("joao santos", null)));
+        assertEquals(List.of(5L, 2L, 4L, 6L), ids(customerSearchService.search("silva", null)));
+        assertTrue(customerSearchService.search("souza", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar alterações de transação desfeita")
+    void naoDeveAplicarTransacaoDesfeita() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        customerSearchService.removeCustomer(1L);
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(List.of(1L), ids(customerSearchService.search("joao", null)));
+    }
+
+    @Test
+    @DisplayName("Deve manter o resultado após compactar as posições removidas")
+    void deveCompactarPosicoesRemovidas() {
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            customerSearchService.recordCustomer(cliente(3L, i % 2 == 0 ? "Maria Souza" : "Maria Souza Lima"));
+        }
+
+        // Assert
+        assertEquals(List.of(3L), ids(customerSearchService.search("souza lima", null)));
+        assertEquals(List.of(2L, 3L), ids(customerSearchService.search("maria", null)));
+    }
+
+    private List<Long> ids(List<CustomerSearchResultDTO> resultados) {
+        return resultados.stream().map(CustomerSearchResultDTO::getId).toList();
+    }
+
+    private void finalizarTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                sincronizacao.afterCommit();
+            }
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private Customer cliente(Long id, String nome) {
+        return Customer.builder().id(id).name(nome).cpf("12345678901").discountEligible(false).build();
+    }
+
+    private CustomerNameEntry entrada(Long id, String nome) {
+        return new CustomerNameEntry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return nome;
+            }
+        };
+    }
+}
@@ -1,23 +1,46 @@
 package com.granja.service;
 
 import com.granja.dto.CustomerDTO;
+import com.granja.dto.CustomerImportResultDTO;
 import com.granja.entity.Customer;
+import com.granja.exception.BusinessException;
 import com.granja.repository.CustomerRepository;
 import com.granja.service.impl.CustomerServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +57,21 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @Mock
+    private CustomerSearchService customerSearchService;
+
+    @Mock
+    private UniqueKeyFilterService uniqueKeyFilterService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -42,6 +80,15 @@ class CustomerServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(entityCacheService.findCustomer(any()))
+                .thenAnswer(invocation -> customerRepository.findById(invocation.getArgument(0)));
+        lenient().when(uniqueKeyFilterService.exists(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Predicate<String>>getArgument(2).test(invocation.getArgument(1)));
+        lenient().when(uniqueKeyFilterService.existing(any(), any(), any()))
+                .thenAnswer(invocation -> new HashSet<>(invocation
+                        .<Function<Collection<String>, Collection<String>>>getArgument(2)
+                        .apply(invocation.getArgument(1))));
+
         customer = new Customer();
         customer.setId(1L);
         customer.setName("João Silva");
@@ -72,6 +119,21 @@ class CustomerServiceTest {
         verify(customerRepository).save(any(Customer.class));
     }
 
+    @Test
+    void deveTratarViolacaoDeCpfUnicoComoCpfRepetido() {
+        // Given - o filtro dispensou a consulta, mas outra instância gravou o mesmo CPF
+        doReturn(false).when(uniqueKeyFilterService).exists(any(), any(), any());
+        when(customerRepository.save(any(Customer.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"customers_cpf_key\""));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> customerService.createCustomer(customerDTO));
+        assertEquals("CPF already registered", exception.getMessage());
+        verify(customerRepository, never()).existsByCpf(any());
+        verify(uniqueKeyFilterService, never()).record(any(), any());
+    }
+
     @Test
     void deveFalharAoCriarClienteComNomeVazio() {
         // Given
@@ -293,4 +355,159 @@ class CustomerServiceTest {
         });
         verify(customerRepository, never()).deleteById(any());
     }
+
+    @Test
+    void deveImportarClientesDeCsvEmLotesRejeitandoCpfsRepetidos() throws IOException {
+        // Given - o CPF 999 já estava cadastrado antes da importação
+        Set<String> cadastrados = new HashSet<>(Set.of("999"));
+        List<List<Customer>> lotes = prepararImportacao(3, cadastrados);
+        String csv = "name,cpf,phone,address,discountEligible\n"
+                + "Ana,111,1199990001,\"Rua A, 1\",true\n"
+                + "Bruno,222,1199990002,Rua B,\n"
+                + "Ana de novo,111,1199990003,Rua A,false\n"
+                + "Carla,999,1199990004,Rua C,\n"
+                + "\n"
+                + "Bruno de novo,222,1199990005,Rua B,\n"
+                + ",333,1199990006,Rua D,\n"
+                + "Davi,444,1199990007,Rua E,sim\n";
+
+        // When
+        CustomerImportResultDTO resultado = customerService.importCustomers("clientes.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(7L, resultado.getTotal());
+        assertEquals(3L, resultado.getSucceeded());
+        assertEquals(4L, resultado.getFailed());
+        assertEquals(3L, resultado.getDuplicates());
+        assertFalse(resultado.getErrorsTruncated());
+        assertEquals(List.of(4L, 5L, 8L, 7L),
+                resultado.getErrors().stream().map(CustomerImportResultDTO.RowError::getRow).toList());
+        assertEquals("CPF repeated in the file (row 2)", resultado.getErrors().get(0).getError());
+        assertEquals("CPF already registered", resultado.getErrors().get(1).getError());
+        assertEquals("Customer name is required", resultado.getErrors().get(2).getError());
+        assertEquals("CPF already registered", resultado.getErrors().get(3).getError());
+
+        assertEquals(2, lotes.size());
+        assertEquals("Rua A, 1", lotes.get(0).get(0).getAddress());
+        assertTrue(lotes.get(0).get(0).getDiscountEligible());
+        assertFalse(lotes.get(0).get(1).getDiscountEligible());
+        assertEquals("Davi", lotes.get(1).get(0).getName());
+        assertTrue(lotes.get(1).get(0).getDiscountEligible());
+        verify(customerRepository, times(2)).findExistingCpfs(anyCollection());
+        verify(customerRepository, never()).existsByCpf(any());
+        verify(uniqueKeyFilterService, times(3)).record(eq(UniqueKeyFilterService.Key.CUSTOMER_CPF), any());
+        verify(customerSearchService, times(3)).recordCustomer(any(Customer.class));
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void deveImportarClientesDeXlsx() throws IOException {
+        // Given
+        List<List<Customer>> lotes = prepararImportacao(1000, new HashSet<>());
+        ByteArrayOutputStream arquivo = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Clientes");
+            Row cabecalho = sheet.createRow(0);
+            cabecalho.createCell(0).setCellValue("CPF");
+            cabecalho.createCell(1).setCellValue("Name");
+            cabecalho.createCell(2).setCellValue("phone");
+            cabecalho.createCell(3).setCellValue("address");
+            Row linha = sheet.createRow(1);
+            linha.createCell(0).setCellValue("12345678901");
+            linha.createCell(1).setCellValue("Cooperativa XLSX");
+            linha.createCell(2).setCellValue("1133334444");
+            linha.createCell(3).setCellValue("Estrada Rural, km 5");
+            workbook.write(arquivo);
+        }
+
+        // When
+        CustomerImportResultDTO resultado = customerService.importCustomers("Clientes.XLSX",
+                new ByteArrayInputStream(arquivo.toByteArray()));
+
+        // Then
+        assertEquals(1L, resultado.getSucceeded());
+        assertEquals(0L, resultado.getFailed());
+        Customer importado = lotes.get(0).get(0);
+        assertEquals("Cooperativa XLSX", importado.getName());
+        assertEquals("12345678901", importado.getCpf());
+        assertFalse(importado.getDiscountEligible());
+    }
+
+    @Test
+    void deveGravarNovamenteLoteComCpfCadastradoPorOutraRequisicao() throws IOException {
+        // Given - o CPF 222 é gravado por outra requisição entre a consulta e o commit,
+        // e o filtro de CPFs ainda não o conhece
+        Set<String> cadastrados = new HashSet<>();
+        List<List<Customer>> lotes = prepararImportacao(1000, cadastrados);
+        doReturn(new HashSet<>()).when(uniqueKeyFilterService).existing(any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<List<Customer>>getArgument(0).forEach(cliente -> cliente.setId(10L));
+            cadastrados.add("222");
+            throw new DataIntegrityViolationException("customers_cpf_key");
+        }).doAnswer(invocation -> {
+            lotes.add(List.copyOf(invocation.getArgument(0)));
+            return invocation.getArgument(0);
+        }).when(customerRepository).saveAll(anyList());
+        String csv = "name;cpf;phone;address\nAna;111;1199990001;Rua A\nBruno;222;1199990002;Rua B\n";
+
+        // When
+        CustomerImportResultDTO resultado = customerService.importCustomers("clientes.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(1L, resultado.getSucceeded());
+        assertEquals(1L, resultado.getDuplicates());
+        assertEquals(3L, resultado.getErrors().get(0).getRow());
+        assertEquals(1, lotes.size());
+        assertEquals("111", lotes.get(0).get(0).getCpf());
+        assertNull(lotes.get(0).get(0).getId());
+        verify(customerRepository, times(2)).saveAll(anyList());
+        verify(uniqueKeyFilterService, times(1)).existing(any(), any(), any());
+        verify(customerRepository).findExistingCpfs(anyCollection());
+        verify(uniqueKeyFilterService).record(UniqueKeyFilterService.Key.CUSTOMER_CPF, "111");
+    }
+
+    @Test
+    void deveRejeitarArquivoDeImportacaoDeClientesInvalido() {
+        // Given
+        byte[] semCpf = "name,phone,address\nAna,1199990001,Rua A\n".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        IllegalArgumentException cabecalho = assertThrows(IllegalArgumentException.class,
+                () -> customerService.importCustomers("clientes.csv", new ByteArrayInputStream(semCpf)));
+        assertEquals("Header must contain the columns name, cpf, phone and address", cabecalho.getMessage());
+        IllegalArgumentException formato = assertThrows(IllegalArgumentException.class,
+                () -> customerService.importCustomers("clientes.xls", new ByteArrayInputStream(semCpf)));
+        assertEquals("Unsupported file format: upload a CSV or XLSX file", formato.getMessage());
+        verify(customerRepository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Configura a importação com lotes do tamanho informado, executando cada transação na hora.
+     * 
+     * @param cadastrados CPFs existentes no banco, atualizados a cada lote gravado
+     * @return cópias dos lotes gravados, na ordem de gravação
+     */
+    private List<List<Customer>> prepararImportacao(int tamanhoLote, Set<String> cadastrados) {
+        ReflectionTestUtils.setField(customerService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(customerService, "importChunkSize", tamanhoLote);
+        ReflectionTestUtils.setField(customerService, "importMaxErrors", 10);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(customerRepository.findExistingCpfs(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(cadastrados::contains)
+                        .toList());
+        List<List<Customer>> lotes = new ArrayList<>();
+        lenient().when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> lote = List.copyOf(invocation.getArgument(0));
+            lotes.add(lote);
+            lote.forEach(cliente -> cadastrados.add(cliente.getCpf()));
+            return lote;
+        });
+        return lotes;
+    }
 }
@@ -0,0 +1,224 @@
+package com.granja.service;
+
+import com.granja.dto.DuckLineageDTO;
+import com.granja.dto.DuckOffspringDTO;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.projection.DuckLineageNode;
+import com.granja.repository.projection.DuckParentLink;
+import com.granja.service.impl.DuckLineageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o DuckLineageService
+ * Cobre as consultas pela CTE recursiva, o índice de genealogia em memória e a volta para a CTE
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuckLineageService - Testes Unitários")
+class DuckLineageServiceTest {
+
+    @Mock
+    private DuckRepository duckRepository;
+
+    @InjectMocks
+    private DuckLineageServiceImpl duckLineageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(duckLineageService, "maxDepth", 50);
+        ReflectionTestUtils.setField(duckLineageService, "maxResults", 3);
+    }
+
+    @Test
+    @DisplayName("Deve retornar os ancestrais da CTE sem o próprio pato")
+    void deveRetornarAncestraisDaCte() {
+        // Arrange
+        when(duckRepository.findAncestors(3L, 10, 5))
+                .thenReturn(List.of(no(3L, 2L, 0), no(2L, 1L, 1), no(1L, null, 2)));
+
+        // Act
+        DuckLineageDTO linhagem = duckLineageService.getAncestors(3L, 10);
+
+        // Assert
+        assertEquals(3L, linhagem.getDuckId());
+        assertFalse(linhagem.getTruncated());
+        assertEquals(List.of(2L, 1L), linhagem.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        assertEquals(2, linhagem.getDucks().get(1).getGeneration());
+        assertEquals("AVAILABLE", linhagem.getDucks().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar e truncar os descendentes da CTE acima do limite")
+    void deveTruncarDescendentesDaCte() {
+        // Arrange - a CTE devolve cada geração sem ordem de ID
+        when(duckRepository.findDescendants(1L, 2, 5))
+                .thenReturn(List.of(no(1L, null, 0), no(3L, 1L, 1), no(2L, 1L, 1), no(5L, 3L, 2), no(4L, 2L, 2)));
+
+        // Act
+        DuckLineageDTO linhagem = duckLineageService.getDescendants(1L, 2);
+
+        // Assert
+        assertTrue(linhagem.getTruncated());
+        assertEquals(List.of(2L, 3L, 4L), linhagem.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar pato inexistente e profundidade fora do limite")
+    void deveRejeitarPatoInexistenteEProfundidadeInvalida() {
+        // Arrange
+        when(duckRepository.findAncestors(99L, 5, 5)).thenReturn(List.of());
+
+        // Act & Assert
+        RuntimeException naoEncontrado = assertThrows(RuntimeException.class, () -> duckLineageService.getAncestors(99L, 5));
+        assertEquals("Pato não encontrado com ID: 99", naoEncontrado.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> duckLineageService.getDescendants(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> duckLineageService.getDescendants(1L, 51));
+        verify(duckRepository, never()).findDescendants(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve contar filhotes e descendentes pela CTE")
+    void deveContarDescendentesPelaCte() {
+        // Arrange
+        when(duckRepository.existsById(1L)).thenReturn(true);
+        when(duckRepository.countByMotherId(1L)).thenReturn(2L);
+        when(duckRepository.countDescendants(1L, 3)).thenReturn(7L);
+
+        // Act
+        DuckOffspringDTO descendentes = duckLineageService.getOffspringCount(1L, 3);
+
+        // Assert
+        assertEquals(2L, descendentes.getChildren());
+        assertEquals(7L, descendentes.getDescendants());
+        assertEquals(3, descendentes.getDepth());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer a genealogia pelo índice em memória")
+    void devePercorrerPeloIndice() {
+        // Arrange - 1 é mãe de 2 e 5; 2 é mãe de 3 e 4; 4 é mãe de 6; 7 tem mãe removida
+        habilitarIndice(link(1L, null), link(2L, 1L), link(3L, 2L), link(4L, 2L), link(5L, 1L), link(6L, 4L), link(7L, 42L));
+        when(duckRepository.findAllById(anyList())).thenAnswer(invocation -> patos(invocation.getArgument(0)));
+
+        // Act
+        DuckLineageDTO ancestrais = duckLineageService.getAncestors(6L, 10);
+        DuckLineageDTO descendentes = duckLineageService.getDescendants(1L, 2);
+        DuckLineageDTO semMae = duckLineageService.getAncestors(7L, 10);
+        DuckOffspringDTO contagem = duckLineageService.getOffspringCount(1L, 10);
+
+        // Assert
+        assertEquals(List.of(4L, 2L, 1L), ancestrais.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        assertEquals(List.of(1, 2, 3), ancestrais.getDucks().stream().map(DuckLineageDTO.Node::getGeneration).toList());
+        assertEquals(List.of(2L, 5L, 3L), descendentes.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        assertTrue(descendentes.getTruncated());
+        assertTrue(semMae.getDucks().isEmpty());
+        assertEquals(2L, contagem.getChildren());
+        assertEquals(5L, contagem.getDescendants());
+        verify(duckRepository, never()).findAncestors(anyLong(), anyInt(), anyInt());
+        verify(duckRepository, never()).countDescendants(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve devolver cada pato uma única vez quando o cadastro tem um ciclo")
+    void devePercorrerCicloPeloIndiceSemRepetirPatos() {
+        // Arrange - 1 é mãe de 2, 2 é mãe de 3 e 4, e 3 aparece como mãe de 1
+        habilitarIndice(link(1L, 3L), link(2L, 1L), link(3L, 2L), link(4L, 2L));
+        when(duckRepository.findAllById(anyList())).thenAnswer(invocation -> patos(invocation.getArgument(0)));
+
+        // Act
+        DuckLineageDTO ancestrais = duckLineageService.getAncestors(1L, 10);
+        DuckLineageDTO descendentes = duckLineageService.getDescendants(1L, 10);
+        DuckOffspringDTO contagem = duckLineageService.getOffspringCount(1L, 10);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), ancestrais.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        assertEquals(List.of(2L, 3L, 4L), descendentes.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        assertEquals(List.of(1, 2, 2), descendentes.getDucks().stream().map(DuckLineageDTO.Node::getGeneration).toList());
+        assertFalse(descendentes.getTruncated());
+        assertEquals(3L, contagem.getDescendants());
+    }
+
+    @Test
+    @DisplayName("Deve usar a CTE enquanto o índice estiver desatualizado")
+    void deveUsarCteComIndiceDesatualizado() {
+        // Arrange
+        habilitarIndice(link(1L, null), link(2L, 1L));
+        when(duckRepository.findAncestors(2L, 5, 5)).thenReturn(List.of(no(2L, 1L, 0), no(1L, null, 1)));
+
+        // Act
+        duckLineageService.lineageChanged();
+        DuckLineageDTO ancestrais = duckLineageService.getAncestors(2L, 5);
+
+        // Assert
+        assertEquals(List.of(1L), ancestrais.getDucks().stream().map(DuckLineageDTO.Node::getId).toList());
+        verify(duckRepository).findAncestors(2L, 5, 5);
+
+        // Act - a reconstrução volta a atender pelo índice
+        when(duckRepository.streamParentLinks()).thenReturn(Stream.of(link(1L, null), link(2L, 1L), link(3L, 2L)));
+        assertEquals(3, duckLineageService.rebuildIndex());
+        assertEquals(1L, duckLineageService.getOffspringCount(2L, 5).getChildren());
+    }
+
+    @Test
+    @DisplayName("Não deve reconstruir o índice desabilitado")
+    void naoDeveReconstruirIndiceDesabilitado() {
+        // Act
+        int patos = duckLineageService.rebuildIndex();
+
+        // Assert
+        assertEquals(0, patos);
+        verify(duckRepository, never()).streamParentLinks();
+    }
+
+    private void habilitarIndice(DuckParentLink... links) {
+        ReflectionTestUtils.setField(duckLineageService, "indexEnabled", true);
+        when(duckRepository.streamParentLinks()).thenReturn(Stream.of(links));
+        duckLineageService.rebuildIndex();
+    }
+
+    private List<Duck> patos(List<Long> ids) {
+        List<Duck> patos = new ArrayList<>();
+        for (Long id : ids) {
+            patos.add(Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("100.00"))
+                    .status(DuckStatus.AVAILABLE).build());
+        }
+        return patos;
+    }
+
+    private DuckParentLink link(Long id, Long motherId) {
+        return new DuckParentLink() {
+            public Long getId() { return id; }
+            public Long getMotherId() { return motherId; }
+        };
+    }
+
+    private DuckLineageNode no(Long id, Long motherId, int generation) {
+        return new DuckLineageNode() {
+            public Long getId() { return id; }
+            public String getName() { return "Pato " + id; }
+            public Long getMotherId() { return motherId; }
+            public BigDecimal getPrice() { return new BigDecimal("100.00"); }
+            public String getStatus() { return "AVAILABLE"; }
+            public Integer getGeneration() { return generation; }
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package com.granja.service;
+
+import com.granja.dto.DuckReservationDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.DuckReservation;
+import com.granja.entity.DuckReservation.ReservationStatus;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.DuckReservationRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.DuckReservationServiceImpl;
+import com.granja.service.impl.ReservationExpiryQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o DuckReservationService
+ * Cobre a reserva, a confirmação, a liberação e a expiração das reservas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuckReservationService - Testes Unitários")
+class DuckReservationServiceTest {
+
+    @Mock
+    private DuckReservationRepository reservationRepository;
+
+    @Mock
+    private DuckRepository duckRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @Mock
+    private SaleService saleService;
+
+    @Mock
+    private ReservationExpiryQueue expiryQueue;
+
+    @Mock
+    private InventoryIndexService inventoryIndexService;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @InjectMocks
+    private DuckReservationServiceImpl reservationService;
+
+    private DuckReservationDTO reservationDTO;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationService, "defaultTtlMinutes", 15);
+        ReflectionTestUtils.setField(reservationService, "maxTtlMinutes", 60);
+        ReflectionTestUtils.setField(reservationService, "expiryBatchSize", 200);
+
+        reservationDTO = DuckReservationDTO.builder()
+                .duckIds(List.of(1L, 2L))
+                .customerId(10L)
+                .sellerId(20L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve reservar os patos e agendar a expiração")
+    void deveReservarEAgendarExpiracao() {
+        // Arrange
+        when(customerRepository.existsById(10L)).thenReturn(true);
+        when(sellerRepository.existsById(20L)).thenReturn(true);
+        when(duckRepository.updateStatus(Set.of(1L, 2L), DuckStatus.AVAILABLE, DuckStatus.RESERVED)).thenReturn(2);
+        when(reservationRepository.save(any(DuckReservation.class))).thenAnswer(invocation -> {
+            DuckReservation reservation = invocation.getArgument(0);
+            reservation.setId(5L);
+            return reservation;
+        });
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        DuckReservationDTO result = reservationService.reserve(reservationDTO);
+
+        // Assert
+        assertEquals(5L, result.getId());
+        assertEquals(ReservationStatus.ACTIVE, result.getStatus());
+        assertFalse(result.getExpiresAt().isBefore(before.plusMinutes(15)));
+        assertTrue(result.getExpiresAt().isBefore(before.plusMinutes(16)));
+        verify(expiryQueue).schedule(5L, result.getExpiresAt());
+        verify(inventoryIndexService).removeDucks(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a reserva quando algum pato não está disponível")
+    void deveRejeitarPatoIndisponivel() {
+        // Arrange
+        when(customerRepository.existsById(10L)).thenReturn(true);
+        when(sellerRepository.existsById(20L)).thenReturn(true);
+        when(duckRepository.updateStatus(any(), eq(DuckStatus.AVAILABLE), eq(DuckStatus.RESERVED))).thenReturn(1);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> reservationService.reserve(reservationDTO));
+        assertEquals("DUCK_NOT_AVAILABLE", exception.getErrorCode());
+        verify(reservationRepository, never()).save(any());
+        verifyNoInteractions(expiryQueue);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prazo acima do máximo configurado")
+    void deveRejeitarPrazoAcimaDoMaximo() {
+        // Arrange
+        reservationDTO.setTtlMinutes(61);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> reservationService.reserve(reservationDTO));
+        verifyNoInteractions(duckRepository);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar a reserva gerando a venda dos patos reservados")
+    void deveConfirmarReserva() {
+        // Arrange
+        DuckReservation reservation = reserva(LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(reservation));
+        when(saleService.createSaleForReservedDucks(any())).thenReturn(SaleDTO.builder().id(30L).build());
+
+        // Act
+        SaleDTO sale = reservationService.confirm(5L);
+
+        // Assert
+        ArgumentCaptor<SaleDTO> captor = ArgumentCaptor.forClass(SaleDTO.class);
+        verify(saleService).createSaleForReservedDucks(captor.capture());
+        assertEquals(Set.of(1L, 2L), new HashSet<>(captor.getValue().getDuckIds()));
+        assertEquals(10L, captor.getValue().getCustomerId());
+        assertEquals(20L, captor.getValue().getSellerId());
+        assertEquals(30L, sale.getId());
+        assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+        assertEquals(30L, reservation.getSaleId());
+        assertNotNull(reservation.getClosedAt());
+    }
+
+    @Test
+    @DisplayName("Não deve confirmar reserva vencida")
+    void naoDeveConfirmarReservaVencida() {
+        // Arrange
+        DuckReservation reservation = reserva(LocalDateTime.now().minusSeconds(1));
+        when(reservationRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(reservation));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class, () -> reservationService.confirm(5L));
+        assertEquals("RESERVATION_EXPIRED", exception.getErrorCode());
+        verifyNoInteractions(saleService);
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a reserva devolvendo os patos ao estoque")
+    void deveLiberarReserva() {
+        // Arrange
+        DuckReservation reservation = reserva(LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(reservation));
+
+        // Act
+        DuckReservationDTO result = reservationService.release(5L);
+
+        // Assert
+        verify(duckRepository).updateStatus(Set.of(1L, 2L), DuckStatus.RESERVED, DuckStatus.AVAILABLE);
+        assertEquals(ReservationStatus.RELEASED, result.getStatus());
+        assertNotNull(reservation.getClosedAt());
+        verify(inventoryIndexService).refreshDucks(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Não deve liberar reserva já confirmada")
+    void naoDeveLiberarReservaConfirmada() {
+        // Arrange
+        DuckReservation reservation = reserva(LocalDateTime.now().plusMinutes(5));
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        when(reservationRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(reservation));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> reservationService.release(5L));
+        verifyNoInteractions(duckRepository);
+    }
+
+    @Test
+    @DisplayName("Deve expirar o lote de reservas vencidas em uma única atualização")
+    void deveExpirarLoteDeReservas() {
+        // Arrange
+        when(reservationRepository.findDuckIdsByReservationIds(List.of(5L, 6L))).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(reservationRepository.expireByIds(eq(List.of(5L, 6L)), any())).thenReturn(4);
+
+        // Act
+        int released = reservationService.expireReservations(List.of(5L, 6L));
+
+        // Assert
+        assertEquals(4, released);
+        verify(reservationRepository).expireByIds(eq(List.of(5L, 6L)), any());
+        verify(inventoryIndexService).refreshDucks(List.of(1L, 2L, 3L, 4L));
+    }
+
+    private DuckReservation reserva(LocalDateTime expiresAt) {
+        return DuckReservation.builder()
+                .id(5L)
+                .customerId(10L)
+                .sellerId(20L)
+                .duckIds(new HashSet<>(Set.of(1L, 2L)))
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -1,25 +1,50 @@
 package com.granja.service;
 
+import com.granja.dto.DuckCatalogCriteria;
+import com.granja.dto.DuckCatalogPageDTO;
+import com.granja.dto.DuckCatalogSort;
 import com.granja.dto.DuckDTO;
+import com.granja.dto.DuckImportResultDTO;
 import com.granja.entity.Duck;
 import com.granja.entity.Duck.DuckStatus;
+import com.granja.exception.BusinessException;
 import com.granja.repository.DuckRepository;
+import com.granja.repository.projection.DuckCatalogRow;
 import com.granja.service.impl.DuckServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +59,24 @@ class DuckServiceTest {
     @Mock
     private DuckRepository duckRepository;
 
+    @Mock
+    private SystemConfigService systemConfigService;
+
+    @Mock
+    private InventoryIndexService inventoryIndexService;
+
+    @Mock
+    private DuckLineageService duckLineageService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
     @InjectMocks
     private DuckServiceImpl duckService;
 
@@ -42,6 +85,9 @@ class DuckServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(entityCacheService.findDuck(any()))
+                .thenAnswer(invocation -> duckRepository.findById(invocation.getArgument(0)));
+
         duck = new Duck();
         duck.setId(1L);
         duck.setName("Donald Duck");
@@ -56,6 +102,9 @@ class DuckServiceTest {
                 .price(new BigDecimal("150.00"))
                 .status("AVAILABLE")
                 .build();
+
+        lenient().when(systemConfigService.current()).thenReturn(new SystemConfigService.Snapshot("1",
+                LocalDateTime.now(), new BigDecimal("0.20"), new BigDecimal("50.00"), new BigDecimal("1000.00"), false, Map.of()));
     }
 
     @Test
@@ -119,6 +168,18 @@ class DuckServiceTest {
         verify(duckRepository, never()).save(any(Duck.class));
     }
 
+    @Test
+    void deveFalharAoCriarPatoForaDaFaixaDePrecoConfigurada() {
+        // Given - faixa configurada de 50.00 a 1000.00
+        DuckDTO abaixoDoMinimo = DuckDTO.builder().name("Donald Duck").price(new BigDecimal("49.99")).build();
+        DuckDTO acimaDoMaximo = DuckDTO.builder().name("Donald Duck").price(new BigDecimal("1000.01")).build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> duckService.createDuck(abaixoDoMinimo));
+        assertThrows(IllegalArgumentException.class, () -> duckService.createDuck(acimaDoMaximo));
+        verify(duckRepository, never()).save(any(Duck.class));
+    }
+
     @Test
     void deveAtualizarPatoComSucesso() {
         // Given
@@ -215,7 +276,7 @@ class DuckServiceTest {
     @Test
     void deveRecuperarPatosDisponiveisParaVenda() {
         // Given
-        when(duckRepository.findAvailableForSale(DuckStatus.AVAILABLE)).thenReturn(Arrays.asList(duck));
+        when(inventoryIndexService.getAvailable()).thenReturn(Arrays.asList(duckDTO));
 
         // When
         List<DuckDTO> resultado = duckService.getAvailableDucksForSale();
@@ -223,7 +284,15 @@ class DuckServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        assertEquals("AVAILABLE", resultado.get(0).getStatus());
+        verifyNoInteractions(duckRepository);
+    }
+
+    @Test
+    void deveRecusarFaixaDePrecoInvertida() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> duckService.getAvailableDucksByPriceRange(new BigDecimal("200.00"), new BigDecimal("100.00")));
+        verifyNoInteractions(inventoryIndexService);
     }
 
     @Test
@@ -252,6 +321,19 @@ class DuckServiceTest {
         verify(duckRepository, never()).deleteById(any());
     }
 
+    @Test
+    void deveFalharAoRemoverPatoReservado() {
+        // Given
+        duck.setStatus(DuckStatus.RESERVED);
+        when(duckRepository.findById(1L)).thenReturn(Optional.of(duck));
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> {
+            duckService.deleteDuck(1L);
+        });
+        verify(duckRepository, never()).deleteById(any());
+    }
+
     @Test
     void deveFalharAoRemoverPatoInexistente() {
         // Given
@@ -291,4 +373,220 @@ class DuckServiceTest {
         assertEquals(1L, resultado.getMotherId());
         assertEquals(new BigDecimal("120.00"), resultado.getPrice());
     }
+
+    @Test
+    void deveImportarPatosDeCsvEmLotes() throws IOException {
+        // Given
+        List<List<Duck>> lotes = prepararImportacao(2);
+        String csv = "name,price,motherId\n"
+                + "Patinho 1,120.00,\n"
+                + "\"Patinho, o 2\",130.5,1\n"
+                + "\n"
+                + "Patinho 3,abc,\n"
+                + "Patinho 4,10.00,\n"
+                + ",100.00,\n"
+                + "Patinho 5,200.00,2\n";
+
+        // When
+        DuckImportResultDTO resultado = duckService.importDucks("patos.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(6L, resultado.getTotal());
+        assertEquals(3L, resultado.getSucceeded());
+        assertEquals(3L, resultado.getFailed());
+        assertFalse(resultado.getErrorsTruncated());
+        assertEquals(List.of(5L, 6L, 7L), resultado.getErrors().stream().map(DuckImportResultDTO.RowError::getRow).toList());
+        assertEquals("Preço do pato inválido: abc", resultado.getErrors().get(0).getError());
+        assertEquals("Preço do pato deve ser no mínimo 50.00", resultado.getErrors().get(1).getError());
+        assertEquals("Nome do pato não pode ser nulo ou vazio", resultado.getErrors().get(2).getError());
+
+        assertEquals(2, lotes.size());
+        assertEquals("Patinho, o 2", lotes.get(0).get(1).getName());
+        assertEquals(new BigDecimal("130.5"), lotes.get(0).get(1).getPrice());
+        assertEquals(1L, lotes.get(0).get(1).getMotherId());
+        assertEquals(DuckStatus.AVAILABLE, lotes.get(1).get(0).getStatus());
+        verify(inventoryIndexService, times(3)).recordDuck(any(Duck.class));
+        verify(duckLineageService, times(2)).lineageChanged();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void deveImportarPatosDeXlsx() throws IOException {
+        // Given
+        List<List<Duck>> lotes = prepararImportacao(1000);
+        ByteArrayOutputStream arquivo = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Patos");
+            Row cabecalho = sheet.createRow(0);
+            cabecalho.createCell(0).setCellValue("Price");
+            cabecalho.createCell(1).setCellValue("Name");
+            cabecalho.createCell(2).setCellValue("motherId");
+            Row primeira = sheet.createRow(1);
+            primeira.createCell(0).setCellValue(150.25);
+            primeira.createCell(1).setCellValue("Patinho XLSX");
+            Row segunda = sheet.createRow(3);
+            segunda.createCell(0).setCellValue(99);
+            segunda.createCell(1).setCellValue("Filhote XLSX");
+            segunda.createCell(2).setCellValue(7);
+            workbook.write(arquivo);
+        }
+
+        // When
+        DuckImportResultDTO resultado = duckService.importDucks("Patos.XLSX",
+                new ByteArrayInputStream(arquivo.toByteArray()));
+
+        // Then
+        assertEquals(2L, resultado.getSucceeded());
+        assertEquals(0L, resultado.getFailed());
+        List<Duck> patos = lotes.get(0);
+        assertEquals("Patinho XLSX", patos.get(0).getName());
+        assertEquals(new BigDecimal("150.25"), patos.get(0).getPrice());
+        assertNull(patos.get(0).getMotherId());
+        assertEquals(new BigDecimal("99"), patos.get(1).getPrice());
+        assertEquals(7L, patos.get(1).getMotherId());
+    }
+
+    @Test
+    void deveRejeitarLinhasDoLoteRecusadoPeloBanco() throws IOException {
+        // Given
+        prepararImportacao(1000);
+        when(duckRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("falha"));
+        String csv = "name;price\nPatinho 1;120,00\nPatinho 2;130,00\n";
+
+        // When
+        DuckImportResultDTO resultado = duckService.importDucks("patos.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(0L, resultado.getSucceeded());
+        assertEquals(2L, resultado.getFailed());
+        assertEquals(List.of(2L, 3L), resultado.getErrors().stream().map(DuckImportResultDTO.RowError::getRow).toList());
+        verify(inventoryIndexService, never()).recordDuck(any(Duck.class));
+    }
+
+    @Test
+    void deveRejeitarArquivoDeImportacaoInvalido() {
+        // Given
+        byte[] semPreco = "name,motherId\nPatinho,1\n".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        IllegalArgumentException cabecalho = assertThrows(IllegalArgumentException.class,
+                () -> duckService.importDucks("patos.csv", new ByteArrayInputStream(semPreco)));
+        assertEquals("Cabeçalho deve conter as colunas name e price", cabecalho.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> duckService.importDucks("patos.xls", new ByteArrayInputStream(semPreco)));
+        assertThrows(IllegalArgumentException.class,
+                () -> duckService.importDucks("patos.xlsx", new ByteArrayInputStream(semPreco)));
+        verify(duckRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void deveInterromperImportacaoComAspaSemFechamento() {
+        // Given
+        ReflectionTestUtils.setField(duckService, "importChunkSize", 1000);
+        String csv = "name,price\nPatinho 1,120.00\n\"Patinho 2,130.00\n"
+                + "Patinho 3,140.00\n".repeat(3_000);
+
+        // When
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> duckService.importDucks("patos.csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        // Then
+        assertTrue(erro.getMessage().startsWith("Campo com mais de 32767 caracteres na linha 3"));
+        assertTrue(erro.getMessage().endsWith("verifique se há aspas sem fechamento"));
+    }
+
+    @Test
+    void deveConsultarCatalogoPorCursorAteAUltimaPagina() {
+        // Given
+        ReflectionTestUtils.setField(duckService, "catalogMaxPageSize", 200);
+        DuckCatalogRow maisBarato = patoDoCatalogo(3L, "80.00");
+        DuckCatalogRow intermediario = patoDoCatalogo(1L, "120.00");
+        DuckCatalogRow maisCaro = patoDoCatalogo(2L, "120.00");
+        Sort ordemPorPreco = Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+        when(duckRepository.findCatalogRows(any(), eq(ordemPorPreco), eq(3)))
+                .thenReturn(List.of(maisBarato, intermediario, maisCaro))
+                .thenReturn(List.of(maisCaro));
+        DuckCatalogCriteria filtros = DuckCatalogCriteria.builder()
+                .status(DuckStatus.AVAILABLE)
+                .sort(DuckCatalogSort.PRICE)
+                .descending(false)
+                .build();
+
+        // When
+        DuckCatalogPageDTO primeiraPagina = duckService.getCatalog(filtros, null, 2);
+        DuckCatalogPageDTO segundaPagina = duckService.getCatalog(filtros, primeiraPagina.getNextCursor(), 2);
+
+        // Then - uma linha a mais indica a próxima página, sem COUNT
+        assertEquals(2, primeiraPagina.getSize());
+        assertEquals(List.of(3L, 1L), primeiraPagina.getItems().stream().map(DuckCatalogPageDTO.Item::getId).toList());
+        assertEquals("AVAILABLE", primeiraPagina.getItems().get(0).getStatus());
+        assertNotNull(primeiraPagina.getNextCursor());
+        assertEquals(1, segundaPagina.getSize());
+        assertEquals(2L, segundaPagina.getItems().get(0).getId());
+        assertNull(segundaPagina.getNextCursor());
+        verify(duckRepository, never()).findAll();
+    }
+
+    @Test
+    void deveRecusarCursorDeOutraOrdenacaoNoCatalogo() {
+        // Given
+        ReflectionTestUtils.setField(duckService, "catalogMaxPageSize", 200);
+        when(duckRepository.findCatalogRows(any(), any(Sort.class), anyInt()))
+                .thenReturn(List.of(patoDoCatalogo(1L, "100.00"), patoDoCatalogo(2L, "110.00")));
+        DuckCatalogCriteria porNome = DuckCatalogCriteria.builder().sort(DuckCatalogSort.NAME).build();
+        String cursorPorNome = duckService.getCatalog(porNome, null, 1).getNextCursor();
+        DuckCatalogCriteria porPreco = DuckCatalogCriteria.builder().sort(DuckCatalogSort.PRICE).build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> duckService.getCatalog(porPreco, cursorPorNome, 1));
+        assertThrows(IllegalArgumentException.class, () -> duckService.getCatalog(porNome, "nao-e-um-cursor", 1));
+        verify(duckRepository, times(1)).findCatalogRows(any(), any(Sort.class), anyInt());
+    }
+
+    @Test
+    void deveRecusarFiltrosInvalidosNoCatalogo() {
+        // Given
+        ReflectionTestUtils.setField(duckService, "catalogMaxPageSize", 200);
+        DuckCatalogCriteria faixaInvertida = DuckCatalogCriteria.builder()
+                .minPrice(new BigDecimal("200.00"))
+                .maxPrice(new BigDecimal("100.00"))
+                .build();
+        DuckCatalogCriteria periodoInvertido = DuckCatalogCriteria.builder()
+                .registeredFrom(LocalDateTime.of(2024, 2, 1, 0, 0))
+                .registeredTo(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> duckService.getCatalog(new DuckCatalogCriteria(), null, 201));
+        assertThrows(IllegalArgumentException.class, () -> duckService.getCatalog(faixaInvertida, null, 50));
+        assertThrows(IllegalArgumentException.class, () -> duckService.getCatalog(periodoInvertido, null, 50));
+        verify(duckRepository, never()).findCatalogRows(any(Specification.class), any(Sort.class), anyInt());
+    }
+
+    private DuckCatalogRow patoDoCatalogo(Long id, String preco) {
+        return new DuckCatalogRow(id, "Pato " + id, null, new BigDecimal(preco), DuckStatus.AVAILABLE,
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+    }
+
+    /**
+     * Configura a importação com lotes do tamanho informado, executando cada transação na hora.
+     * 
+     * @return cópias dos lotes gravados, na ordem de gravação
+     */
+    private List<List<Duck>> prepararImportacao(int tamanhoLote) {
+        ReflectionTestUtils.setField(duckService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(duckService, "importChunkSize", tamanhoLote);
+        ReflectionTestUtils.setField(duckService, "importMaxErrors", 10);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<List<Duck>> lotes = new ArrayList<>();
+        lenient().when(duckRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Duck> lote = List.copyOf(invocation.getArgument(0));
+            lotes.add(lote);
+            return lote;
+        });
+        return lotes;
+    }
 }
@@ -0,0 +1,278 @@
+package com.granja.service;
+
+import com.granja.dto.EntityCacheStatsDTO;
+import com.granja.entity.Customer;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.entity.Seller;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.DuckRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.impl.EntityCacheServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o EntityCacheService
+ * Cobre acertos e faltas, tempo de vida, limite de tamanho, descarte após o commit e as estatísticas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityCacheService - Testes Unitários")
+class EntityCacheServiceTest {
+
+    @Mock
+    private DuckRepository duckRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @InjectMocks
+    private EntityCacheServiceImpl entityCacheService;
+
+    private final AtomicLong agora = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(entityCacheService, "enabled", true);
+        ReflectionTestUtils.setField(entityCacheService, "duckMaxEntries", 2);
+        ReflectionTestUtils.setField(entityCacheService, "duckTtlSeconds", 60L);
+        ReflectionTestUtils.setField(entityCacheService, "customerMaxEntries", 10);
+        ReflectionTestUtils.setField(entityCacheService, "customerTtlSeconds", 600L);
+        ReflectionTestUtils.setField(entityCacheService, "sellerMaxEntries", 10);
+        ReflectionTestUtils.setField(entityCacheService, "sellerTtlSeconds", 600L);
+        ReflectionTestUtils.setField(entityCacheService, "clock", (LongSupplier) agora::get);
+        entityCacheService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler do banco apenas na primeira busca e devolver cópias independentes")
+    void deveLerDoBancoApenasUmaVez() {
+        // Arrange
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(cliente(1L, "João Silva")));
+
+        // Act
+        Customer primeiro = entityCacheService.findCustomer(1L).orElseThrow();
+        primeiro.setName("Alterado pelo chamador");
+        Customer segundo = entityCacheService.findCustomer(1L).orElseThrow();
+        Customer terceiro = entityCacheService.findCustomer(1L).orElseThrow();
+
+        // Assert
+        verify(customerRepository, times(1)).findById(1L);
+        assertEquals("João Silva", segundo.getName());
+        assertNotSame(segundo, terceiro);
+        EntityCacheStatsDTO stats = estatisticas("customers");
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getLoads());
+        assertEquals(2.0 / 3, stats.getHitRate(), 0.0001);
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar entidades inexistentes")
+    void naoDeveGuardarInexistentes() {
+        // Arrange
+        when(sellerRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // Act
+        assertTrue(entityCacheService.findSeller(9L).isEmpty());
+        assertTrue(entityCacheService.findSeller(9L).isEmpty());
+
+        // Assert
+        verify(sellerRepository, times(2)).findById(9L);
+        assertEquals(0, estatisticas("sellers").getEntries());
+    }
+
+    @Test
+    @DisplayName("Deve reler do banco quando o tempo de vida expira")
+    void deveRelerAposExpirar() {
+        // Arrange
+        when(duckRepository.findById(1L)).thenReturn(Optional.of(pato(1L, DuckStatus.AVAILABLE)));
+        entityCacheService.findDuck(1L);
+
+        // Act
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        entityCacheService.findDuck(1L);
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        entityCacheService.findDuck(1L);
+
+        // Assert
+        verify(duckRepository, times(2)).findById(1L);
+        EntityCacheStatsDTO stats = estatisticas("ducks");
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getExpirations());
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada menos usada ao atingir o limite")
+    void deveRemoverMenosUsada() {
+        // Arrange
+        when(duckRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(pato(invocation.getArgument(0), DuckStatus.AVAILABLE)));
+        entityCacheService.findDuck(1L);
+        entityCacheService.findDuck(2L);
+        entityCacheService.findDuck(1L);
+
+        // Act
+        entityCacheService.findDuck(3L);
+        entityCacheService.findDuck(1L);
+        entityCacheService.findDuck(2L);
+
+        // Assert - o pato 2 era o menos usado quando o pato 3 entrou
+        verify(duckRepository, times(1)).findById(1L);
+        verify(duckRepository, times(2)).findById(2L);
+        EntityCacheStatsDTO stats = estatisticas("ducks");
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o pato apenas após o commit")
+    void deveDescartarAposCommit() {
+        // Arrange
+        when(duckRepository.findById(1L))
+                .thenReturn(Optional.of(pato(1L, DuckStatus.AVAILABLE)))
+                .thenReturn(Optional.of(pato(1L, DuckStatus.SOLD)));
+        entityCacheService.findDuck(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        entityCacheService.evictDucks(List.of(1L));
+        assertEquals(DuckStatus.AVAILABLE, entityCacheService.findDuck(1L).orElseThrow().getStatus());
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(DuckStatus.SOLD, entityCacheService.findDuck(1L).orElseThrow().getStatus());
+        assertEquals(1, estatisticas("ducks").getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Não deve descartar em transação desfeita")
+    void naoDeveDescartarEmTransacaoDesfeita() {
+        // Arrange
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(vendedor(1L)));
+        entityCacheService.findSeller(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        entityCacheService.evictSeller(1L);
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+        entityCacheService.findSeller(1L);
+
+        // Assert
+        verify(sellerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar leitura concorrente com um descarte")
+    void naoDeveGuardarLeituraConcorrenteComDescarte() {
+        // Arrange - o pato é vendido enquanto a leitura antiga está em andamento
+        when(duckRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    entityCacheService.evictDucks(List.of(1L));
+                    return Optional.of(pato(1L, DuckStatus.AVAILABLE));
+                })
+                .thenReturn(Optional.of(pato(1L, DuckStatus.SOLD)));
+
+        // Act
+        entityCacheService.findDuck(1L);
+        Duck atual = entityCacheService.findDuck(1L).orElseThrow();
+
+        // Assert
+        assertEquals(DuckStatus.SOLD, atual.getStatus());
+        verify(duckRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar todos os patos")
+    void deveDescartarTodosOsPatos() {
+        // Arrange
+        when(duckRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(pato(invocation.getArgument(0), DuckStatus.RESERVED)));
+        entityCacheService.findDuck(1L);
+        entityCacheService.findDuck(2L);
+
+        // Act
+        entityCacheService.evictAllDucks();
+
+        // Assert
+        EntityCacheStatsDTO stats = estatisticas("ducks");
+        assertEquals(0, stats.getEntries());
+        assertEquals(2, stats.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Deve ir direto ao banco quando desabilitado")
+    void deveIrDiretoAoBancoQuandoDesabilitado() {
+        // Arrange
+        ReflectionTestUtils.setField(entityCacheService, "enabled", false);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(cliente(1L, "João Silva")));
+
+        // Act
+        entityCacheService.findCustomer(1L);
+        entityCacheService.findCustomer(1L);
+
+        // Assert
+        verify(customerRepository, times(2)).findById(1L);
+        assertEquals(0, estatisticas("customers").getLoads());
+    }
+
+    private EntityCacheStatsDTO estatisticas(String cache) {
+        return entityCacheService.getStats().stream()
+                .filter(stats -> stats.getCache().equals(cache))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void finalizarTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                sincronizacao.afterCommit();
+            }
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private Duck pato(Long id, DuckStatus status) {
+        return Duck.builder().id(id).name("Pato " + id).price(new BigDecimal("150.00")).status(status).build();
+    }
+
+    private Customer cliente(Long id, String nome) {
+        return Customer.builder().id(id).name(nome).cpf("12345678901").discountEligible(true).build();
+    }
+
+    private Seller vendedor(Long id) {
+        return Seller.builder().id(id).name("Maria Vendedora").cpf("98765432100").employeeId("V001").build();
+    }
+}
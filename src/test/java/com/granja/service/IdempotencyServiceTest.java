@@ -0,0 +1,198 @@
+package com.granja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.granja.dto.SaleDTO;
+import com.granja.entity.IdempotencyKey;
+import com.granja.exception.BusinessException;
+import com.granja.repository.IdempotencyKeyRepository;
+import com.granja.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o IdempotencyService
+ * Cobre a resposta guardada nas repetições, a reutilização indevida da chave e as repetições simultâneas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService - Testes Unitários")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private SaleDTO request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, transactionTemplate, objectMapper);
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxEntries", 100);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        request = SaleDTO.builder().duckIds(List.of(1L)).customerId(10L).sellerId(20L).build();
+    }
+
+    @Test
+    @DisplayName("Deve executar a venda uma vez e devolver a resposta original na repetição")
+    void deveDevolverRespostaOriginalNaRepeticao() {
+        // Arrange
+        when(idempotencyKeyRepository.claim(eq("chave-1"), anyString(), any(), any())).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        SaleDTO first = idempotencyService.execute("chave-1", request, SaleDTO.class, () -> venda(executions));
+        SaleDTO retry = idempotencyService.execute("chave-1", request, SaleDTO.class, () -> venda(executions));
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(first, retry);
+        assertEquals(150.0, retry.getFinalPrice());
+        verify(idempotencyKeyRepository, times(1)).claim(eq("chave-1"), anyString(), any(), any());
+        verify(idempotencyKeyRepository).saveResponse(eq("chave-1"), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a resposta gravada no banco sem executar a venda")
+    void deveDevolverRespostaGravadaNoBanco() throws Exception {
+        // Arrange - a chave foi gravada antes de a aplicação reiniciar
+        when(idempotencyKeyRepository.claim(eq("chave-1"), anyString(), any(), any())).thenReturn(1, 0);
+        idempotencyService.execute("chave-1", request, SaleDTO.class, () -> venda(new AtomicInteger()));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).claim(eq("chave-1"), hash.capture(), any(), any());
+        String body = objectMapper.writeValueAsString(SaleDTO.builder().id(77L).build());
+        when(idempotencyKeyRepository.findById("chave-1")).thenReturn(Optional.of(IdempotencyKey.builder()
+                .key("chave-1").requestHash(hash.getValue()).responseBody(body)
+                .createdAt(LocalDateTime.now()).expiresAt(LocalDateTime.now().plusHours(1)).build()));
+        IdempotencyServiceImpl restarted = new IdempotencyServiceImpl(idempotencyKeyRepository, transactionTemplate, objectMapper);
+        ReflectionTestUtils.setField(restarted, "ttlHours", 24L);
+        ReflectionTestUtils.setField(restarted, "cacheMaxEntries", 100);
+
+        // Act
+        SaleDTO result = restarted.execute("chave-1", request, SaleDTO.class, () -> fail("Venda executada novamente"));
+
+        // Assert
+        assertEquals(77L, result.getId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave reutilizada com outro corpo")
+    void deveRejeitarChaveReutilizadaComOutroCorpo() {
+        // Arrange
+        when(idempotencyKeyRepository.claim(eq("chave-1"), anyString(), any(), any())).thenReturn(1);
+        idempotencyService.execute("chave-1", request, SaleDTO.class, () -> venda(new AtomicInteger()));
+        SaleDTO outroCorpo = SaleDTO.builder().duckIds(List.of(2L)).customerId(10L).sellerId(20L).build();
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                idempotencyService.execute("chave-1", outroCorpo, SaleDTO.class, () -> fail("Venda executada novamente")));
+        assertEquals("IDEMPOTENCY_KEY_REUSED", exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a venda falha")
+    void deveLiberarChaveQuandoVendaFalha() {
+        // Arrange
+        when(idempotencyKeyRepository.claim(eq("chave-1"), anyString(), any(), any())).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        assertThrows(BusinessException.class, () -> idempotencyService.execute("chave-1", request, SaleDTO.class, () -> {
+            executions.incrementAndGet();
+            throw new BusinessException("Duck is not available");
+        }));
+        SaleDTO retry = idempotencyService.execute("chave-1", request, SaleDTO.class, () -> venda(executions));
+
+        // Assert
+        assertEquals(2, executions.get());
+        assertNotNull(retry.getId());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única vez as repetições simultâneas")
+    void deveExecutarUmaVezAsRepeticoesSimultaneas() throws Exception {
+        // Arrange
+        when(idempotencyKeyRepository.claim(eq("chave-1"), anyString(), any(), any())).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        int clients = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+
+        // Act
+        List<Future<SaleDTO>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            results.add(executor.submit(() -> {
+                largada.await();
+                return idempotencyService.execute("chave-1", request, SaleDTO.class, () -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return venda(executions);
+                });
+            }));
+        }
+        largada.countDown();
+        List<SaleDTO> sales = new ArrayList<>();
+        for (Future<SaleDTO> result : results) {
+            sales.add(result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertTrue(sales.stream().allMatch(sale -> sale.getId().equals(sales.get(0).getId())));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave longa demais")
+    void deveRejeitarChaveLongaDemais() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () ->
+                idempotencyService.execute("x".repeat(101), request, SaleDTO.class, () -> fail("Venda executada")));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    private SaleDTO venda(AtomicInteger executions) {
+        return SaleDTO.builder()
+                .id((long) executions.incrementAndGet())
+                .duckIds(List.of(1L))
+                .customerId(10L)
+                .sellerId(20L)
+                .finalPrice(150.0)
+                .build();
+    }
+}
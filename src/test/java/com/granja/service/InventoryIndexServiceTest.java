@@ -0,0 +1,211 @@
+package com.granja.service;
+
+import com.granja.dto.DuckDTO;
+import com.granja.entity.Duck;
+import com.granja.entity.Duck.DuckStatus;
+import com.granja.repository.DuckRepository;
+import com.granja.service.impl.InventoryIndexServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o InventoryIndexService
+ * Cobre a carga, as consultas por preço, a aplicação após o commit e a conferência com o banco
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryIndexService - Testes Unitários")
+class InventoryIndexServiceTest {
+
+    @Mock
+    private DuckRepository duckRepository;
+
+    @InjectMocks
+    private InventoryIndexServiceImpl inventoryIndexService;
+
+    @BeforeEach
+    void setUp() {
+        when(duckRepository.findByStatus(DuckStatus.AVAILABLE)).thenReturn(List.of(
+                pato(3L, "Patolino", "80.00", DuckStatus.AVAILABLE),
+                pato(1L, "Donald", "150.00", DuckStatus.AVAILABLE),
+                pato(2L, "Margarida", "80.00", DuckStatus.AVAILABLE),
+                pato(7L, "Zé Carioca", "300.00", DuckStatus.AVAILABLE)));
+        inventoryIndexService.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve listar os patos disponíveis em ordem de ID")
+    void deveListarDisponiveisPorId() {
+        // Act
+        List<DuckDTO> disponiveis = inventoryIndexService.getAvailable();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 7L), ids(disponiveis));
+        assertTrue(inventoryIndexService.isAvailable(7L));
+        assertFalse(inventoryIndexService.isAvailable(4L));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os mais baratos desempatando pelo ID")
+    void deveRetornarMaisBaratos() {
+        // Act
+        List<DuckDTO> maisBaratos = inventoryIndexService.getCheapest(3);
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L), ids(maisBaratos));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os patos da faixa de preço com os limites inclusivos")
+    void deveRetornarFaixaDePreco() {
+        // Act
+        List<DuckDTO> faixa = inventoryIndexService.getByPriceBetween(new BigDecimal("80.00"), new BigDecimal("150.00"));
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L), ids(faixa));
+        assertTrue(inventoryIndexService.getByPriceBetween(new BigDecimal("151"), new BigDecimal("299")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar venda e alteração de preço apenas após o commit")
+    void deveAplicarAposCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryIndexService.removeDucks(List.of(2L));
+        inventoryIndexService.recordDuck(pato(1L, "Donald", "50.00", DuckStatus.AVAILABLE));
+        assertTrue(inventoryIndexService.isAvailable(2L));
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertFalse(inventoryIndexService.isAvailable(2L));
+        assertEquals(List.of(1L, 3L, 7L), ids(inventoryIndexService.getCheapest(10)));
+        assertEquals(new BigDecimal("50.00"), inventoryIndexService.getCheapest(1).get(0).getPrice());
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar alterações de transação desfeita")
+    void naoDeveAplicarTransacaoDesfeita() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryIndexService.removeDucks(List.of(1L, 2L));
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 7L), ids(inventoryIndexService.getAvailable()));
+    }
+
+    @Test
+    @DisplayName("Deve reler do banco os patos liberados")
+    void deveRelerPatosLiberados() {
+        // Arrange
+        inventoryIndexService.removeDucks(List.of(1L, 2L));
+        when(duckRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                pato(1L, "Donald", "150.00", DuckStatus.AVAILABLE),
+                pato(2L, "Margarida", "80.00", DuckStatus.SOLD)));
+
+        // Act
+        inventoryIndexService.refreshDucks(List.of(1L, 2L));
+
+        // Assert
+        assertTrue(inventoryIndexService.isAvailable(1L));
+        assertFalse(inventoryIndexService.isAvailable(2L));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o índice quando diverge do banco")
+    void deveRecarregarQuandoDivergeDoBanco() {
+        // Arrange - pato 3 vendido por outra instância e pato 9 cadastrado direto no banco
+        when(duckRepository.findIdsByStatus(DuckStatus.AVAILABLE)).thenReturn(List.of(1L, 2L, 7L, 9L));
+        when(duckRepository.findByStatus(DuckStatus.AVAILABLE)).thenReturn(List.of(
+                pato(1L, "Donald", "150.00", DuckStatus.AVAILABLE),
+                pato(2L, "Margarida", "80.00", DuckStatus.AVAILABLE),
+                pato(7L, "Zé Carioca", "300.00", DuckStatus.AVAILABLE),
+                pato(9L, "Huguinho", "60.00", DuckStatus.AVAILABLE)));
+
+        // Act
+        int divergentes = inventoryIndexService.reconcile();
+
+        // Assert
+        assertEquals(2, divergentes);
+        assertEquals(List.of(1L, 2L, 7L, 9L), ids(inventoryIndexService.getAvailable()));
+        assertEquals(9L, inventoryIndexService.getCheapest(1).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Não deve devolver ao índice um pato vendido durante a recarga")
+    void naoDeveDevolverPatoVendidoDuranteRecarga() {
+        // Arrange - a venda do pato 1 é confirmada depois da leitura e antes da troca
+        when(duckRepository.findByStatus(DuckStatus.AVAILABLE)).thenAnswer(invocation -> {
+            List<Duck> lidos = List.of(
+                    pato(1L, "Donald", "150.00", DuckStatus.AVAILABLE),
+                    pato(2L, "Margarida", "80.00", DuckStatus.AVAILABLE));
+            inventoryIndexService.removeDucks(List.of(1L));
+            return lidos;
+        });
+
+        // Act
+        inventoryIndexService.reload();
+
+        // Assert
+        assertFalse(inventoryIndexService.isAvailable(1L));
+        assertEquals(List.of(2L), ids(inventoryIndexService.getAvailable()));
+        assertEquals(List.of(2L), ids(inventoryIndexService.getCheapest(5)));
+    }
+
+    @Test
+    @DisplayName("Não deve recarregar quando o índice confere com o banco")
+    void naoDeveRecarregarQuandoConfere() {
+        // Arrange
+        when(duckRepository.findIdsByStatus(DuckStatus.AVAILABLE)).thenReturn(List.of(1L, 2L, 3L, 7L));
+
+        // Act
+        int divergentes = inventoryIndexService.reconcile();
+
+        // Assert
+        assertEquals(0, divergentes);
+        verify(duckRepository, times(1)).findByStatus(DuckStatus.AVAILABLE);
+    }
+
+    private List<Long> ids(List<DuckDTO> patos) {
+        return patos.stream().map(DuckDTO::getId).toList();
+    }
+
+    private void finalizarTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                sincronizacao.afterCommit();
+            }
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private Duck pato(Long id, String nome, String preco, DuckStatus status) {
+        return Duck.builder().id(id).name(nome).price(new BigDecimal(preco)).status(status).build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.granja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.granja.dto.DuckDTO;
+import com.granja.entity.Duck;
+import com.granja.service.impl.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o NdjsonStreamWriter
+ * Cobre o formato das linhas, a liberação das entidades e o envio da primeira linha
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NdjsonStreamWriter - Testes Unitários")
+class NdjsonStreamWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    private NdjsonStreamWriter ndjsonStreamWriter;
+
+    @BeforeEach
+    void setUp() {
+        ndjsonStreamWriter = new NdjsonStreamWriter(new ObjectMapper());
+        ReflectionTestUtils.setField(ndjsonStreamWriter, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("Deve escrever um objeto JSON por linha e desanexar cada entidade")
+    void deveEscreverUmObjetoPorLinha() throws IOException {
+        // Arrange
+        Duck donald = pato(1L, "Donald");
+        Duck margarida = pato(2L, "Margarida");
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long escritas = ndjsonStreamWriter.write(Stream.of(donald, margarida), this::toDTO, saida);
+
+        // Assert
+        assertEquals(2, escritas);
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).startsWith("{\"id\":1,\"name\":\"Donald\""));
+        assertTrue(linhas.get(1).startsWith("{\"id\":2,\"name\":\"Margarida\""));
+        assertTrue(saida.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        verify(entityManager).detach(donald);
+        verify(entityManager).detach(margarida);
+    }
+
+    @Test
+    @DisplayName("Deve enviar a primeira linha assim que lida e as demais por janela")
+    void deveEnviarPrimeiraLinhaImediatamente() throws IOException {
+        // Arrange
+        ByteArrayOutputStream saida = spy(new ByteArrayOutputStream());
+        Stream<Duck> patos = LongStream.rangeClosed(1, 1_000).mapToObj(id -> pato(id, "Pato " + id));
+
+        // Act
+        ndjsonStreamWriter.write(patos, this::toDTO, saida);
+
+        // Assert - primeira linha, linhas 500 e 1000 e o envio final
+        verify(saida, times(4)).flush();
+        verify(entityManager, times(1_000)).detach(any());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("Não deve escrever nada quando o cursor está vazio")
+    void naoDeveEscreverCursorVazio() throws IOException {
+        // Arrange
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long escritas = ndjsonStreamWriter.write(Stream.<Duck>empty(), this::toDTO, saida);
+
+        // Assert
+        assertEquals(0, escritas);
+        assertEquals(0, saida.size());
+        verifyNoInteractions(entityManager);
+    }
+
+    private Duck pato(Long id, String nome) {
+        return Duck.builder().id(id).name(nome).price(new BigDecimal("150.00")).status(Duck.DuckStatus.AVAILABLE).build();
+    }
+
+    private DuckDTO toDTO(Duck duck) {
+        return DuckDTO.builder().id(duck.getId()).name(duck.getName()).price(duck.getPrice())
+                .status(duck.getStatus().name()).build();
+    }
+}
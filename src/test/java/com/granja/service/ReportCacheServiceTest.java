@@ -0,0 +1,209 @@
+package com.granja.service;
+
+import com.granja.dto.ReportCacheStatsDTO;
+import com.granja.service.ReportService.ReportType;
+import com.granja.service.impl.ReportCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ReportCacheService
+ * Cobre acertos, remoção LRU e invalidação por período
+ */
+@DisplayName("ReportCacheService - Testes Unitários")
+class ReportCacheServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private ReportCacheServiceImpl reportCacheService;
+
+    private final LocalDateTime janeiro = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime fimJaneiro = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+    private final LocalDateTime fevereiro = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private final LocalDateTime fimFevereiro = LocalDateTime.of(2024, 2, 29, 23, 59, 59);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportCacheService = new ReportCacheServiceImpl();
+        ReflectionTestUtils.setField(reportCacheService, "enabled", true);
+        ReflectionTestUtils.setField(reportCacheService, "maxEntries", 10);
+        ReflectionTestUtils.setField(reportCacheService, "maxSizeMb", 1L);
+        ReflectionTestUtils.setField(reportCacheService, "cacheDir", cacheDir.toString());
+        reportCacheService.start();
+    }
+
+    @Test
+    @DisplayName("Deve gerar o relatório apenas na primeira consulta do período")
+    void deveGerarApenasNaPrimeiraConsulta() {
+        // Arrange
+        AtomicInteger geracoes = new AtomicInteger();
+        Supplier<byte[]> gerador = contarGeracoes(geracoes, new byte[]{1, 2, 3});
+
+        // Act
+        byte[] primeira = reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, gerador);
+        byte[] segunda = reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, gerador);
+
+        // Assert
+        assertEquals(1, geracoes.get());
+        assertArrayEquals(primeira, segunda);
+        ReportCacheStatsDTO stats = reportCacheService.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(1L, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+        assertEquals(3L, stats.getSizeBytes());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    @DisplayName("Deve manter entradas separadas por tipo de relatório")
+    void deveSepararPorTipo() {
+        // Act
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, () -> new byte[]{1});
+        byte[] ranking = reportCacheService.getOrGenerate(ReportType.SELLER_RANKING, janeiro, fimJaneiro, () -> new byte[]{2});
+
+        // Assert
+        assertArrayEquals(new byte[]{2}, ranking);
+        assertEquals(2L, reportCacheService.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada menos usada ao atingir o limite de entradas")
+    void deveRemoverEntradaMenosUsada() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(reportCacheService, "maxEntries", 2);
+        LocalDateTime marco = LocalDateTime.of(2024, 3, 1, 0, 0);
+        AtomicInteger geracoesFevereiro = new AtomicInteger();
+
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, () -> new byte[]{1});
+        reportCacheService.getOrGenerate(ReportType.SALES, fevereiro, fimFevereiro, contarGeracoes(geracoesFevereiro, new byte[]{2}));
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, () -> new byte[]{1});
+
+        // Act
+        reportCacheService.getOrGenerate(ReportType.SALES, marco, marco.plusMonths(1), () -> new byte[]{3});
+        reportCacheService.getOrGenerate(ReportType.SALES, fevereiro, fimFevereiro, contarGeracoes(geracoesFevereiro, new byte[]{2}));
+
+        // Assert - fevereiro foi removido por ser o menos usado e precisou ser gerado de novo
+        assertEquals(2, geracoesFevereiro.get());
+        ReportCacheStatsDTO stats = reportCacheService.getStats();
+        assertEquals(2L, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+        assertEquals(2, contarArquivos());
+    }
+
+    @Test
+    @DisplayName("Deve remover entradas ao atingir o limite de espaço em disco")
+    void deveRemoverEntradasPeloLimiteDeEspaco() throws Exception {
+        // Arrange
+        byte[] grande = new byte[600 * 1024];
+
+        // Act
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, () -> grande);
+        reportCacheService.getOrGenerate(ReportType.SALES, fevereiro, fimFevereiro, () -> grande);
+
+        // Assert
+        ReportCacheStatsDTO stats = reportCacheService.getStats();
+        assertEquals(1L, stats.getEvictions());
+        assertEquals(1, stats.getEntries());
+        assertEquals(grande.length, stats.getSizeBytes());
+        assertEquals(1, contarArquivos());
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar o relatório entre períodos que diferem dentro do mesmo segundo")
+    void deveSepararPeriodosNoMesmoSegundo() {
+        // Arrange
+        AtomicInteger geracoes = new AtomicInteger();
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoes, new byte[]{1}));
+
+        // Act
+        byte[] outroFim = reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro.withNano(500_000_000),
+                contarGeracoes(geracoes, new byte[]{2}));
+
+        // Assert
+        assertEquals(2, geracoes.get());
+        assertArrayEquals(new byte[]{2}, outroFim);
+        assertEquals(2, reportCacheService.getStats().getEntries());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os relatórios cujo período contém a venda")
+    void deveInvalidarApenasPeriodoDaVenda() {
+        // Arrange
+        AtomicInteger geracoesJaneiro = new AtomicInteger();
+        AtomicInteger geracoesFevereiro = new AtomicInteger();
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoesJaneiro, new byte[]{1}));
+        reportCacheService.getOrGenerate(ReportType.SALES, fevereiro, fimFevereiro, contarGeracoes(geracoesFevereiro, new byte[]{2}));
+
+        // Act
+        reportCacheService.invalidate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoesJaneiro, new byte[]{1}));
+        reportCacheService.getOrGenerate(ReportType.SALES, fevereiro, fimFevereiro, contarGeracoes(geracoesFevereiro, new byte[]{2}));
+
+        // Assert
+        assertEquals(2, geracoesJaneiro.get());
+        assertEquals(1, geracoesFevereiro.get());
+        assertEquals(1L, reportCacheService.getStats().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar relatório gerado enquanto uma venda do período era registrada")
+    void naoDeveGuardarRelatorioDesatualizado() {
+        // Arrange
+        AtomicInteger geracoes = new AtomicInteger();
+        Supplier<byte[]> geradorComVendaConcorrente = () -> {
+            geracoes.incrementAndGet();
+            reportCacheService.invalidate(LocalDateTime.of(2024, 1, 20, 8, 0));
+            return new byte[]{1};
+        };
+
+        // Act
+        byte[] resultado = reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, geradorComVendaConcorrente);
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoes, new byte[]{1}));
+
+        // Assert
+        assertArrayEquals(new byte[]{1}, resultado);
+        assertEquals(2, geracoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve gerar sempre quando o cache estiver desabilitado")
+    void deveGerarSempreQuandoDesabilitado() {
+        // Arrange
+        ReflectionTestUtils.setField(reportCacheService, "enabled", false);
+        AtomicInteger geracoes = new AtomicInteger();
+
+        // Act
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoes, new byte[]{1}));
+        reportCacheService.getOrGenerate(ReportType.SALES, janeiro, fimJaneiro, contarGeracoes(geracoes, new byte[]{1}));
+
+        // Assert
+        assertEquals(2, geracoes.get());
+        assertEquals(0, reportCacheService.getStats().getEntries());
+    }
+
+    private Supplier<byte[]> contarGeracoes(AtomicInteger contador, byte[] payload) {
+        return () -> {
+            contador.incrementAndGet();
+            return payload;
+        };
+    }
+
+    private long contarArquivos() throws Exception {
+        try (Stream<Path> arquivos = Files.list(cacheDir)) {
+            return arquivos.count();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.granja.service;
+
+import com.granja.dto.ReportJobDTO;
+import com.granja.dto.ReportJobDTO.JobStatus;
+import com.granja.dto.ReportJobDTO.Priority;
+import com.granja.exception.BusinessException;
+import com.granja.repository.SaleRepository;
+import com.granja.service.ReportService.ReportType;
+import com.granja.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o ReportJobService
+ * Cobre fila, limites por tipo, progresso e cancelamento
+ */
+@DisplayName("ReportJobService - Testes Unitários")
+class ReportJobServiceTest {
+
+    @TempDir
+    Path storageDir;
+
+    private ReportService reportService;
+    private SaleRepository saleRepository;
+    private ReportJobServiceImpl reportJobService;
+
+    private final LocalDateTime dataFinal = LocalDateTime.now();
+    private final LocalDateTime dataInicial = dataFinal.minusDays(30);
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(ReportService.class);
+        saleRepository = mock(SaleRepository.class);
+        reportJobService = new ReportJobServiceImpl(reportService, saleRepository);
+        ReflectionTestUtils.setField(reportJobService, "workerCount", 3);
+        ReflectionTestUtils.setField(reportJobService, "maxQueued", 10);
+        ReflectionTestUtils.setField(reportJobService, "maxConcurrentSales", 1);
+        ReflectionTestUtils.setField(reportJobService, "maxConcurrentSellerRanking", 2);
+        ReflectionTestUtils.setField(reportJobService, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(reportJobService, "storageDir", storageDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve gerar relatório em segundo plano e disponibilizar o arquivo")
+    void deveGerarRelatorioEmSegundoPlano() throws Exception {
+        // Arrange
+        when(reportService.generateSellerRankingReport(dataInicial, dataFinal)).thenReturn(new byte[]{1, 2, 3});
+        reportJobService.start();
+
+        // Act
+        ReportJobDTO job = reportJobService.submit(ReportType.SELLER_RANKING, dataInicial, dataFinal, Priority.NORMAL, "gerente");
+        ReportJobDTO concluido = aguardarSituacao(job.getId(), JobStatus.DONE);
+
+        // Assert
+        assertEquals(100, concluido.getProgress());
+        assertEquals("gerente", concluido.getRequestedBy());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(reportJobService.getJobResult(job.getId())));
+    }
+
+    @Test
+    @DisplayName("Deve informar progresso do relatório de vendas")
+    void deveInformarProgressoDoRelatorioDeVendas() throws Exception {
+        // Arrange
+        CountDownLatch progressoInformado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(saleRepository.countBySaleDateBetween(dataInicial, dataFinal)).thenReturn(200L);
+        doAnswer(invocation -> {
+            LongConsumer listener = invocation.getArgument(3);
+            listener.accept(100);
+            progressoInformado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            listener.accept(200);
+            return null;
+        }).when(reportService).writeSalesReport(eq(dataInicial), eq(dataFinal), any(OutputStream.class), any(LongConsumer.class));
+        reportJobService.start();
+
+        // Act
+        ReportJobDTO job = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "gerente");
+        assertTrue(progressoInformado.await(5, TimeUnit.SECONDS));
+
+        // Assert
+        ReportJobDTO emExecucao = reportJobService.getJob(job.getId());
+        assertEquals(JobStatus.RUNNING, emExecucao.getStatus());
+        assertEquals(50, emExecucao.getProgress());
+
+        liberar.countDown();
+        assertEquals(100, aguardarSituacao(job.getId(), JobStatus.DONE).getProgress());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de execuções simultâneas por tipo de relatório")
+    void deveRespeitarLimitePorTipo() throws Exception {
+        // Arrange
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger maximoObservado = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            maximoObservado.accumulateAndGet(emExecucao.incrementAndGet(), Math::max);
+            liberar.await(5, TimeUnit.SECONDS);
+            emExecucao.decrementAndGet();
+            return null;
+        }).when(reportService).writeSalesReport(any(), any(), any(OutputStream.class), any(LongConsumer.class));
+        when(reportService.generateSellerRankingReport(any(), any())).thenReturn(new byte[]{1});
+        reportJobService.start();
+
+        // Act
+        ReportJobDTO vendas1 = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+        ReportJobDTO vendas2 = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "b");
+        ReportJobDTO ranking = reportJobService.submit(ReportType.SELLER_RANKING, dataInicial, dataFinal, Priority.LOW, "c");
+
+        // Assert - o ranking usa um worker livre enquanto o segundo relatório de vendas aguarda
+        aguardarSituacao(ranking.getId(), JobStatus.DONE);
+        assertEquals(JobStatus.QUEUED, reportJobService.getJob(vendas2.getId()).getStatus());
+
+        liberar.countDown();
+        aguardarSituacao(vendas1.getId(), JobStatus.DONE);
+        aguardarSituacao(vendas2.getId(), JobStatus.DONE);
+        assertEquals(1, maximoObservado.get());
+    }
+
+    @Test
+    @DisplayName("Deve atender jobs de maior prioridade primeiro")
+    void deveAtenderPorPrioridade() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(reportJobService, "workerCount", 1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        StringBuilder ordem = new StringBuilder();
+        doAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(reportService).writeSalesReport(any(), any(), any(OutputStream.class), any(LongConsumer.class));
+        when(reportService.generateSellerRankingReport(any(), any())).thenAnswer(invocation -> {
+            synchronized (ordem) {
+                ordem.append(invocation.getArgument(0, LocalDateTime.class).getDayOfMonth()).append(',');
+            }
+            return new byte[]{1};
+        });
+        reportJobService.start();
+
+        ReportJobDTO bloqueio = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+        aguardarSituacao(bloqueio.getId(), JobStatus.RUNNING);
+
+        // Act
+        LocalDateTime baixa = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime alta = LocalDateTime.of(2024, 1, 2, 0, 0);
+        ReportJobDTO jobBaixa = reportJobService.submit(ReportType.SELLER_RANKING, baixa, dataFinal, Priority.LOW, "b");
+        ReportJobDTO jobAlta = reportJobService.submit(ReportType.SELLER_RANKING, alta, dataFinal, Priority.HIGH, "c");
+        liberar.countDown();
+
+        // Assert
+        aguardarSituacao(jobBaixa.getId(), JobStatus.DONE);
+        aguardarSituacao(jobAlta.getId(), JobStatus.DONE);
+        assertEquals("2,1,", ordem.toString());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar job em execução no próximo aviso de progresso")
+    void deveCancelarJobEmExecucao() throws Exception {
+        // Arrange
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            iniciado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            LongConsumer listener = invocation.getArgument(3);
+            listener.accept(100);
+            return null;
+        }).when(reportService).writeSalesReport(any(), any(), any(OutputStream.class), any(LongConsumer.class));
+        reportJobService.start();
+
+        ReportJobDTO job = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+        assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+
+        // Act
+        reportJobService.cancel(job.getId());
+        liberar.countDown();
+
+        // Assert
+        aguardarSituacao(job.getId(), JobStatus.CANCELLED);
+        assertThrows(BusinessException.class, () -> reportJobService.getJobResult(job.getId()));
+        assertEquals(0, Files.list(storageDir).count());
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha na geração do relatório")
+    void deveRegistrarFalhaNaGeracao() throws Exception {
+        // Arrange
+        when(reportService.generateSellerRankingReport(any(), any())).thenThrow(new RuntimeException("Falha no banco"));
+        reportJobService.start();
+
+        // Act
+        ReportJobDTO job = reportJobService.submit(ReportType.SELLER_RANKING, dataInicial, dataFinal, Priority.NORMAL, "a");
+
+        // Assert
+        ReportJobDTO falhou = aguardarSituacao(job.getId(), JobStatus.FAILED);
+        assertEquals("Falha no banco", falhou.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar submissões quando a fila estiver cheia")
+    void deveRejeitarQuandoFilaCheia() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(reportJobService, "maxQueued", 2);
+        ocuparUnicoWorker();
+
+        reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+        reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+
+        // Act & Assert
+        BusinessException erro = assertThrows(BusinessException.class,
+            () -> reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a"));
+        assertEquals("REPORT_QUEUE_FULL", erro.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar jobs pendentes ao encerrar a aplicação")
+    void deveCancelarJobsPendentesAoEncerrar() throws Exception {
+        // Arrange
+        ReportJobDTO emExecucao = ocuparUnicoWorker();
+        ReportJobDTO pendente = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+
+        // Act
+        reportJobService.shutdown();
+
+        // Assert
+        assertEquals(JobStatus.CANCELLED, reportJobService.getJob(pendente.getId()).getStatus());
+        assertEquals(JobStatus.CANCELLED, reportJobService.getJob(emExecucao.getId()).getStatus());
+        assertThrows(BusinessException.class,
+            () -> reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a"));
+    }
+
+    @Test
+    @DisplayName("Deve validar período do relatório")
+    void deveValidarPeriodo() throws Exception {
+        reportJobService.start();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> reportJobService.submit(ReportType.SALES, dataFinal, dataInicial, Priority.NORMAL, "a"));
+    }
+
+    /**
+     * Inicia o serviço com um único worker ocupado por um relatório de vendas que
+     * só termina quando interrompido, informando progresso enquanto aguarda.
+     */
+    private ReportJobDTO ocuparUnicoWorker() throws Exception {
+        ReflectionTestUtils.setField(reportJobService, "workerCount", 1);
+        doAnswer(invocation -> {
+            LongConsumer listener = invocation.getArgument(3);
+            while (true) {
+                listener.accept(0);
+                Thread.sleep(10);
+            }
+        }).when(reportService).writeSalesReport(any(), any(), any(OutputStream.class), any(LongConsumer.class));
+        reportJobService.start();
+
+        ReportJobDTO job = reportJobService.submit(ReportType.SALES, dataInicial, dataFinal, Priority.NORMAL, "a");
+        return aguardarSituacao(job.getId(), JobStatus.RUNNING);
+    }
+
+    private ReportJobDTO aguardarSituacao(String jobId, JobStatus situacao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        ReportJobDTO job = reportJobService.getJob(jobId);
+        while (job.getStatus() != situacao && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            job = reportJobService.getJob(jobId);
+        }
+        assertEquals(situacao, job.getStatus());
+        return job;
+    }
+}
@@ -6,8 +6,13 @@ import com.granja.entity.Duck.DuckStatus;
 import com.granja.entity.Sale;
 import com.granja.entity.Seller;
 import com.granja.repository.SaleRepository;
-import com.granja.repository.SellerRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.ReportService.ReportType;
 import com.granja.service.impl.ReportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,11 +20,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,7 +48,13 @@ class ReportServiceTest {
     private SaleRepository saleRepository;
 
     @Mock
-    private SellerRepository sellerRepository;
+    private EntityManager entityManager;
+
+    @Mock
+    private ReportCacheService reportCacheService;
+
+    @Mock
+    private SalesRollupService salesRollupService;
 
     @InjectMocks
     private ReportServiceImpl reportService;
@@ -48,6 +66,10 @@ class ReportServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Sem relatórios em cache: a geração é sempre executada
+        lenient().when(reportCacheService.getOrGenerate(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(3, Supplier.class).get());
+
         // Configurar dados de teste
         customer = Customer.builder()
                 .id(1L)
@@ -81,6 +103,8 @@ class ReportServiceTest {
                 .finalPrice(new BigDecimal("120.00"))
                 .saleDate(LocalDateTime.now())
                 .build();
+
+        ReflectionTestUtils.setField(reportService, "entityManager", entityManager);
     }
 
     @Test
@@ -121,16 +145,53 @@ class ReportServiceTest {
         verify(saleRepository).findBySaleDateBetween(dataInicial, dataFinal);
     }
 
+    @Test
+    @DisplayName("Deve reutilizar relatório de vendas em cache")
+    void deveReutilizarRelatorioDeVendasEmCache() {
+        // Arrange
+        LocalDateTime dataInicial = LocalDateTime.now().minusDays(30);
+        LocalDateTime dataFinal = LocalDateTime.now();
+        byte[] emCache = {1, 2, 3};
+
+        doReturn(emCache).when(reportCacheService)
+                .getOrGenerate(eq(ReportType.SALES), eq(dataInicial), eq(dataFinal), any());
+
+        // Act
+        byte[] resultado = reportService.generateSalesReport(dataInicial, dataFinal);
+
+        // Assert
+        assertSame(emCache, resultado);
+        verifyNoInteractions(saleRepository);
+    }
+
+    @Test
+    @DisplayName("Deve usar o mesmo período, em dias completos, nos relatórios sem período informado")
+    void deveRepetirPeriodoPadraoParaReaproveitarCache() {
+        // Arrange
+        doReturn(new byte[]{1}).when(reportCacheService).getOrGenerate(any(), any(), any(), any());
+
+        // Act
+        reportService.generateSalesReport();
+        reportService.generateSalesReport();
+        reportService.generateSellerRankingReport();
+
+        // Assert
+        LocalDate hoje = LocalDate.now();
+        verify(reportCacheService, times(2)).getOrGenerate(eq(ReportType.SALES),
+                eq(hoje.minusMonths(1).atStartOfDay()), eq(hoje.atTime(LocalTime.MAX)), any());
+        verify(reportCacheService).getOrGenerate(eq(ReportType.SELLER_RANKING),
+                eq(hoje.minusMonths(1).atStartOfDay()), eq(hoje.atTime(LocalTime.MAX)), any());
+    }
+
     @Test
     @DisplayName("Deve gerar relatório de ranking de vendedores com sucesso")
     void deveGerarRelatorioDeRankingDeVendedoresComSucesso() {
         // Arrange
         LocalDateTime dataInicial = LocalDateTime.now().minusDays(30);
         LocalDateTime dataFinal = LocalDateTime.now();
-        List<Sale> vendas = Arrays.asList(sale);
+        List<SellerSalesSummary> resumos = Arrays.asList(resumoVendedor(seller, 1L, "120.00"));
 
-        when(saleRepository.findBySellerIdAndSaleDateBetween(1L, dataInicial, dataFinal)).thenReturn(vendas);
-        when(sellerRepository.findAll()).thenReturn(Arrays.asList(seller));
+        when(salesRollupService.summarizeBySellerInPeriod(dataInicial, dataFinal)).thenReturn(resumos);
 
         // Act
         byte[] resultado = reportService.generateSellerRankingReport(dataInicial, dataFinal);
@@ -138,7 +199,8 @@ class ReportServiceTest {
         // Assert
         assertNotNull(resultado);
         assertTrue(resultado.length > 0);
-        verify(sellerRepository).findAll();
+        verify(salesRollupService).summarizeBySellerInPeriod(dataInicial, dataFinal);
+        verify(saleRepository, never()).findBySellerIdAndSaleDateBetween(any(), any(), any());
     }
 
     @Test
@@ -147,10 +209,9 @@ class ReportServiceTest {
         // Arrange
         LocalDateTime dataInicial = LocalDateTime.now().minusDays(30);
         LocalDateTime dataFinal = LocalDateTime.now();
-        List<Sale> vendas = Arrays.asList();
+        List<SellerSalesSummary> resumos = Arrays.asList();
 
-        when(saleRepository.findBySellerIdAndSaleDateBetween(any(), eq(dataInicial), eq(dataFinal))).thenReturn(vendas);
-        when(sellerRepository.findAll()).thenReturn(Arrays.asList(seller));
+        when(salesRollupService.summarizeBySellerInPeriod(dataInicial, dataFinal)).thenReturn(resumos);
 
         // Act
         byte[] resultado = reportService.generateSellerRankingReport(dataInicial, dataFinal);
@@ -158,7 +219,7 @@ class ReportServiceTest {
         // Assert
         assertNotNull(resultado);
         assertTrue(resultado.length > 0); // Deve gerar relatório mesmo vazio
-        verify(sellerRepository).findAll();
+        verify(salesRollupService).summarizeBySellerInPeriod(dataInicial, dataFinal);
     }
 
     @Test
@@ -254,4 +315,67 @@ class ReportServiceTest {
         assertTrue(resultado.length > 0);
         verify(saleRepository).findBySaleDateBetween(dataInicial, dataFinal);
     }
+
+    @Test
+    @DisplayName("Deve escrever relatório de vendas em streaming com uma linha por venda")
+    void deveEscreverRelatorioDeVendasEmStreaming() throws Exception {
+        // Arrange
+        LocalDateTime dataInicial = LocalDateTime.now().minusDays(30);
+        LocalDateTime dataFinal = LocalDateTime.now();
+        List<Sale> vendas = Stream.iterate(1L, id -> id + 1)
+                .limit(250)
+                .map(id -> Sale.builder()
+                        .id(id)
+                        .duck(duck)
+                        .customer(customer)
+                        .seller(seller)
+                        .originalPrice(new BigDecimal("150.00"))
+                        .discountAmount(new BigDecimal("30.00"))
+                        .finalPrice(new BigDecimal("120.00"))
+                        .saleDate(LocalDateTime.now())
+                        .build())
+                .toList();
+
+        when(saleRepository.streamBySaleDateBetween(dataInicial, dataFinal)).thenReturn(vendas.stream());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        reportService.writeSalesReport(dataInicial, dataFinal, outputStream);
+
+        // Assert
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Donald Duck", sheet.getRow(5).getCell(0).getStringCellValue());
+            assertEquals("Donald Duck", sheet.getRow(254).getCell(0).getStringCellValue());
+            assertEquals(250, (int) sheet.getRow(256).getCell(5).getNumericCellValue());
+        }
+        verify(entityManager, times(2)).clear();
+        verify(saleRepository, never()).findBySaleDateBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve validar datas do relatório em streaming")
+    void deveValidarDatasDoRelatorioEmStreaming() {
+        // Arrange
+        LocalDateTime dataInicial = LocalDateTime.now();
+        LocalDateTime dataFinal = LocalDateTime.now().minusDays(1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> reportService.writeSalesReport(dataInicial, dataFinal, new ByteArrayOutputStream()));
+
+        verify(saleRepository, never()).streamBySaleDateBetween(any(), any());
+    }
+
+    private SellerSalesSummary resumoVendedor(Seller vendedor, Long totalVendas, String receita) {
+        BigDecimal receitaTotal = new BigDecimal(receita);
+        return new SellerSalesSummary() {
+            public Long getSellerId() { return vendedor.getId(); }
+            public String getSellerName() { return vendedor.getName(); }
+            public String getCpf() { return vendedor.getCpf(); }
+            public String getEmployeeId() { return vendedor.getEmployeeId(); }
+            public Long getTotalSales() { return totalVendas; }
+            public BigDecimal getTotalRevenue() { return receitaTotal; }
+        };
+    }
 }
@@ -0,0 +1,56 @@
+package com.granja.service;
+
+import com.granja.service.impl.ReservationExpiryQueue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a ReservationExpiryQueue
+ * Cobre a retirada em lote das reservas vencidas, na ordem de vencimento
+ */
+@DisplayName("ReservationExpiryQueue - Testes Unitários")
+class ReservationExpiryQueueTest {
+
+    private final ReservationExpiryQueue expiryQueue = new ReservationExpiryQueue();
+
+    @Test
+    @DisplayName("Deve retirar apenas as reservas vencidas, em ordem de vencimento")
+    void deveRetirarApenasVencidas() throws InterruptedException {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        expiryQueue.schedule(3L, now.minusSeconds(1));
+        expiryQueue.schedule(9L, now.plusMinutes(10));
+        expiryQueue.schedule(1L, now.minusMinutes(2));
+        expiryQueue.schedule(2L, now.minusMinutes(1));
+
+        // Act
+        List<Long> expired = expiryQueue.takeExpired(200);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), expired);
+        assertEquals(1, expiryQueue.size());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de reservas retiradas por lote")
+    void deveLimitarTamanhoDoLote() throws InterruptedException {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 5; id++) {
+            expiryQueue.schedule(id, now.minusMinutes(10 - id));
+        }
+
+        // Act
+        List<Long> first = expiryQueue.takeExpired(3);
+        List<Long> second = expiryQueue.takeExpired(3);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), first);
+        assertEquals(List.of(4L, 5L), second);
+    }
+}
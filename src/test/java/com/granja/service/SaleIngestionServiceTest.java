@@ -0,0 +1,275 @@
+package com.granja.service;
+
+import com.granja.dto.SaleBatchResultDTO;
+import com.granja.dto.SaleDTO;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
+import com.granja.service.impl.SaleIngestionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SaleIngestionService
+ * Cobre o modo síncrono, o agrupamento em lotes, as falhas por venda e a contrapressão da fila
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SaleIngestionService - Testes Unitários")
+class SaleIngestionServiceTest {
+
+    @Mock
+    private SaleService saleService;
+
+    private SaleIngestionServiceImpl saleIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        saleIngestionService = new SaleIngestionServiceImpl(saleService);
+        ReflectionTestUtils.setField(saleIngestionService, "queueCapacity", 1_000);
+        ReflectionTestUtils.setField(saleIngestionService, "maxBatchSize", 50);
+        ReflectionTestUtils.setField(saleIngestionService, "maxWaitMs", 20L);
+        ReflectionTestUtils.setField(saleIngestionService, "offerTimeoutMs", 10L);
+        ReflectionTestUtils.setField(saleIngestionService, "resultTimeoutMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        saleIngestionService.stop();
+    }
+
+    @Test
+    @DisplayName("Deve criar a venda de forma síncrona quando o group commit está desligado")
+    void deveCriarVendaSincronaQuandoDesligado() {
+        // Arrange
+        SaleDTO saleDTO = venda(1L);
+        when(saleService.createSale(saleDTO)).thenReturn(SaleDTO.builder().id(10L).build());
+
+        // Act
+        saleIngestionService.start();
+        SaleDTO result = saleIngestionService.createSale(saleDTO);
+
+        // Assert
+        assertEquals(10L, result.getId());
+        verify(saleService, never()).createSales(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve gravar vendas simultâneas em lotes e devolver a venda de cada cliente")
+    void deveAgruparVendasSimultaneas() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        when(saleService.createSales(anyList())).thenAnswer(invocation -> resultado(invocation.getArgument(0)));
+        saleIngestionService.start();
+        int clients = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        // Act
+        List<Future<SaleDTO>> results = new ArrayList<>();
+        for (long duckId = 1; duckId <= clients; duckId++) {
+            SaleDTO saleDTO = venda(duckId);
+            results.add(executor.submit(() -> {
+                largada.await();
+                return saleIngestionService.createSale(saleDTO);
+            }));
+        }
+        largada.countDown();
+
+        // Assert
+        for (int i = 0; i < clients; i++) {
+            assertEquals(100L + i + 1, results.get(i).get(10, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+        verify(saleService, never()).createSale(any());
+        verify(saleService, atMost(clients / 2)).createSales(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve falhar apenas a venda rejeitada do lote")
+    void deveFalharApenasVendaRejeitada() {
+        // Arrange
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        when(saleService.createSales(anyList())).thenReturn(SaleBatchResultDTO.builder()
+                .total(1).succeeded(0).failed(1)
+                .items(List.of(SaleBatchResultDTO.Item.builder().index(0).success(false)
+                        .error("Duck Donald is not available").build()))
+                .build());
+        saleIngestionService.start();
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> saleIngestionService.createSale(venda(1L)));
+        assertEquals("Duck Donald is not available", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve devolver conflito à venda cujo pato foi tomado por outro cliente do lote")
+    void deveDevolverConflitoAVendaComPatoTomadoNoLote() throws Exception {
+        // Arrange - dois clientes disputam o mesmo pato e caem no mesmo lote
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        ReflectionTestUtils.setField(saleIngestionService, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(saleIngestionService, "maxWaitMs", 5_000L);
+        when(saleService.createSales(anyList())).thenReturn(SaleBatchResultDTO.builder()
+                .total(2).succeeded(1).failed(1)
+                .items(List.of(
+                        SaleBatchResultDTO.Item.builder().index(0).success(true)
+                                .sale(SaleDTO.builder().id(101L).build()).build(),
+                        SaleBatchResultDTO.Item.builder().index(1).success(false)
+                                .error("Duck Donald is already sold in this batch").errorCode("DUCK_ALREADY_SOLD").build()))
+                .build());
+        saleIngestionService.start();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        List<Future<SaleDTO>> results = List.of(
+                executor.submit(() -> saleIngestionService.createSale(venda(1L))),
+                executor.submit(() -> saleIngestionService.createSale(venda(1L))));
+
+        // Assert - a venda que perdeu o pato recebe o mesmo conflito do caminho síncrono
+        List<SaleDTO> criadas = new ArrayList<>();
+        List<ConflictException> conflitos = new ArrayList<>();
+        for (Future<SaleDTO> result : results) {
+            try {
+                criadas.add(result.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                conflitos.add(assertInstanceOf(ConflictException.class, e.getCause()));
+            }
+        }
+        executor.shutdown();
+        assertEquals(101L, criadas.get(0).getId());
+        assertEquals(1, conflitos.size());
+        assertEquals("DUCK_ALREADY_SOLD", conflitos.get(0).getErrorCode());
+        verify(saleService, times(1)).createSales(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a venda quando a fila está cheia")
+    void deveRejeitarQuandoFilaCheia() throws Exception {
+        // Arrange - o escritor fica preso no primeiro lote e a fila comporta uma venda
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        ReflectionTestUtils.setField(saleIngestionService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(saleIngestionService, "maxBatchSize", 1);
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(saleService.createSales(anyList())).thenAnswer(invocation -> {
+            gravando.countDown();
+            liberar.await();
+            return resultado(invocation.getArgument(0));
+        });
+        saleIngestionService.start();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<SaleDTO> primeira = executor.submit(() -> saleIngestionService.createSale(venda(1L)));
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+        Future<SaleDTO> segunda = executor.submit(() -> saleIngestionService.createSale(venda(2L)));
+        while (filaDoEscritor().isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> saleIngestionService.createSale(venda(3L)));
+        assertEquals("INGESTION_QUEUE_FULL", exception.getErrorCode());
+        liberar.countDown();
+        assertNotNull(primeira.get(5, TimeUnit.SECONDS));
+        assertNotNull(segunda.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve devolver o conflito ao cliente sem repetir o lote no escritor")
+    void deveDevolverConflitoSemRepetirLote() {
+        // Arrange
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        when(saleService.createSales(anyList()))
+                .thenThrow(new ConflictException("Duck 1 was sold by another request", "DUCK_CONFLICT"));
+        saleIngestionService.start();
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> saleIngestionService.createSale(venda(1L)));
+        verify(saleService, times(1)).createSales(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve falhar as vendas pendentes e rejeitar novas quando o escritor morre")
+    void deveRejeitarVendasQuandoEscritorMorre() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        when(saleService.createSales(anyList())).thenThrow(new OutOfMemoryError("simulado"));
+        saleIngestionService.start();
+        Thread escritor = (Thread) ReflectionTestUtils.getField(saleIngestionService, "writer");
+
+        // Act
+        BusinessException pendente = assertThrows(BusinessException.class,
+                () -> saleIngestionService.createSale(venda(1L)));
+        escritor.join(5_000);
+        BusinessException nova = assertThrows(BusinessException.class,
+                () -> saleIngestionService.createSale(venda(2L)));
+
+        // Assert
+        assertEquals("INGESTION_STOPPED", pendente.getErrorCode());
+        assertEquals("INGESTION_STOPPED", nova.getErrorCode());
+        assertFalse(escritor.isAlive());
+        verify(saleService, times(1)).createSales(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve desistir de esperar pelo commit após o tempo limite")
+    void deveDesistirAposTempoLimite() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(saleIngestionService, "enabled", true);
+        ReflectionTestUtils.setField(saleIngestionService, "resultTimeoutMs", 50L);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(saleService.createSales(anyList())).thenAnswer(invocation -> {
+            liberar.await();
+            return resultado(invocation.getArgument(0));
+        });
+        saleIngestionService.start();
+
+        // Act
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> saleIngestionService.createSale(venda(1L)));
+        liberar.countDown();
+
+        // Assert
+        assertEquals("INGESTION_TIMEOUT", exception.getErrorCode());
+    }
+
+    private Collection<?> filaDoEscritor() {
+        return (Collection<?>) ReflectionTestUtils.getField(saleIngestionService, "queue");
+    }
+
+    private SaleDTO venda(Long duckId) {
+        return SaleDTO.builder().duckIds(List.of(duckId)).customerId(1L).sellerId(1L).build();
+    }
+
+    private SaleBatchResultDTO resultado(List<SaleDTO> saleDTOs) {
+        List<SaleBatchResultDTO.Item> items = new ArrayList<>();
+        for (int i = 0; i < saleDTOs.size(); i++) {
+            items.add(SaleBatchResultDTO.Item.builder().index(i).success(true)
+                    .sale(SaleDTO.builder().id(100L + saleDTOs.get(i).getDuckIds().get(0))
+                            .duckIds(saleDTOs.get(i).getDuckIds()).build())
+                    .build());
+        }
+        return SaleBatchResultDTO.builder().total(items.size()).succeeded(items.size()).failed(0).items(items).build();
+    }
+}
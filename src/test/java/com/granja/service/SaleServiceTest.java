@@ -1,10 +1,15 @@
 package com.granja.service;
 
+import com.granja.dto.SaleBatchResultDTO;
 import com.granja.dto.SaleDTO;
+import com.granja.dto.SalePageDTO;
+import com.granja.dto.SaleSearchCriteria;
 import com.granja.entity.Customer;
 import com.granja.entity.Duck;
 import com.granja.entity.Sale;
 import com.granja.entity.Seller;
+import com.granja.exception.BusinessException;
+import com.granja.exception.ConflictException;
 import com.granja.repository.CustomerRepository;
 import com.granja.repository.DuckRepository;
 import com.granja.repository.SaleRepository;
@@ -16,12 +21,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,6 +61,30 @@ class SaleServiceTest {
     @Mock
     private SellerRepository sellerRepository;
 
+    @Mock
+    private ReportCacheService reportCacheService;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private SellerMetricsService sellerMetricsService;
+
+    @Mock
+    private SellerLeaderboardService sellerLeaderboardService;
+
+    @Mock
+    private SystemConfigService systemConfigService;
+
+    @Mock
+    private InventoryIndexService inventoryIndexService;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @Mock
+    private CustomerPurchaseSummaryService customerPurchaseSummaryService;
+
     @InjectMocks
     private SaleServiceImpl saleService;
 
@@ -61,6 +96,11 @@ class SaleServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(entityCacheService.findCustomer(any()))
+                .thenAnswer(invocation -> customerRepository.findById(invocation.getArgument(0)));
+        lenient().when(entityCacheService.findSeller(any()))
+                .thenAnswer(invocation -> sellerRepository.findById(invocation.getArgument(0)));
+
         customer = new Customer();
         customer.setId(1L);
         customer.setName("João Silva");
@@ -94,6 +134,8 @@ class SaleServiceTest {
                 .customerId(1L)
                 .sellerId(1L)
                 .build();
+
+        lenient().when(systemConfigService.current()).thenReturn(configuracao("0.20", false));
     }
 
     @Test
@@ -344,4 +386,245 @@ class SaleServiceTest {
         // Sem desconto para cliente não elegível
         verify(saleRepository).save(any(Sale.class));
     }
+
+    @Test
+    void deveCriarVendasEmLoteInformandoFalhasPorItem() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "batchMaxItems", 10);
+        Duck outroPato = Duck.builder().id(2L).name("Daisy Duck").price(new BigDecimal("100.00"))
+                .status(Duck.DuckStatus.AVAILABLE).build();
+        List<SaleDTO> lote = List.of(
+                SaleDTO.builder().duckIds(List.of(1L)).customerId(1L).sellerId(1L).build(),
+                SaleDTO.builder().duckIds(List.of(2L)).customerId(99L).sellerId(1L).build(),
+                SaleDTO.builder().duckIds(List.of(1L)).customerId(1L).sellerId(1L).build(),
+                SaleDTO.builder().duckIds(List.of(2L)).customerId(1L).sellerId(1L).build());
+
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
+        when(duckRepository.findAllById(any())).thenReturn(List.of(duck, outroPato));
+        when(duckRepository.updateStatusReturningIds(Set.of(1L, 2L), "AVAILABLE", "SOLD")).thenReturn(List.of(1L, 2L));
+
+        // When
+        SaleBatchResultDTO resultado = saleService.createSales(lote);
+
+        // Then
+        assertEquals(4, resultado.getTotal());
+        assertEquals(2, resultado.getSucceeded());
+        assertEquals(2, resultado.getFailed());
+        assertTrue(resultado.getItems().get(0).getSuccess());
+        assertEquals(120.0, resultado.getItems().get(0).getSale().getFinalPrice());
+        assertEquals("Customer not found", resultado.getItems().get(1).getError());
+        assertEquals("Duck Donald Duck is already sold in this batch", resultado.getItems().get(2).getError());
+        assertEquals("DUCK_ALREADY_SOLD", resultado.getItems().get(2).getErrorCode());
+        assertNull(resultado.getItems().get(1).getErrorCode());
+        assertTrue(resultado.getItems().get(3).getSuccess());
+        assertEquals(3, resultado.getItems().get(3).getIndex());
+
+        verify(customerRepository, times(1)).findAllById(any());
+        verify(sellerRepository, times(1)).findAllById(any());
+        verify(saleRepository).saveAll(argThat((List<Sale> vendas) -> vendas.size() == 2));
+        verify(saleRepository, never()).save(any(Sale.class));
+        verify(duckRepository, never()).save(any(Duck.class));
+        verify(salesRollupService).recordSales(anyList());
+        verify(sellerMetricsService).recordSales(anyList());
+        verify(sellerLeaderboardService).recordSales(anyList());
+        verify(customerPurchaseSummaryService).recordSales(anyList());
+    }
+
+    @Test
+    void deveFalharApenasVendasComPatoTomadoPorOutraTransacao() {
+        // Given - o pato 2 foi vendido por outra transação depois da leitura do lote
+        ReflectionTestUtils.setField(saleService, "batchMaxItems", 10);
+        Duck outroPato = Duck.builder().id(2L).name("Daisy Duck").price(new BigDecimal("100.00"))
+                .status(Duck.DuckStatus.AVAILABLE).build();
+        Duck terceiroPato = Duck.builder().id(3L).name("Huey Duck").price(new BigDecimal("80.00"))
+                .status(Duck.DuckStatus.AVAILABLE).build();
+        List<SaleDTO> lote = List.of(
+                SaleDTO.builder().duckIds(List.of(1L)).customerId(1L).sellerId(1L).build(),
+                SaleDTO.builder().duckIds(List.of(3L, 2L)).customerId(1L).sellerId(1L).build());
+
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
+        when(duckRepository.findAllById(any())).thenReturn(List.of(duck, outroPato, terceiroPato));
+        when(duckRepository.updateStatusReturningIds(Set.of(1L, 2L, 3L), "AVAILABLE", "SOLD"))
+                .thenReturn(List.of(1L, 3L));
+
+        // When
+        SaleBatchResultDTO resultado = saleService.createSales(lote);
+
+        // Then
+        assertEquals(1, resultado.getSucceeded());
+        assertEquals(1, resultado.getFailed());
+        assertTrue(resultado.getItems().get(0).getSuccess());
+        assertEquals("Duck Daisy Duck was sold by another sale, please reload and try again",
+                resultado.getItems().get(1).getError());
+        assertEquals("DUCK_ALREADY_SOLD", resultado.getItems().get(1).getErrorCode());
+        // O pato 3 foi marcado para a venda que falhou e volta a ficar disponível
+        verify(duckRepository).updateStatus(Set.of(3L), Duck.DuckStatus.SOLD, Duck.DuckStatus.AVAILABLE);
+        verify(saleRepository).saveAll(argThat((List<Sale> vendas) -> vendas.size() == 1
+                && vendas.get(0).getDuck().getId().equals(1L)));
+        verify(inventoryIndexService).removeDucks(Set.of(1L));
+    }
+
+    @Test
+    void deveRecusarLoteAcimaDoLimite() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "batchMaxItems", 1);
+
+        // When & Then
+        assertThrows(BusinessException.class, () -> saleService.createSales(List.of(saleDTO, saleDTO)));
+        verifyNoInteractions(saleRepository, duckRepository);
+    }
+
+    @Test
+    void deveNaoGravarNadaQuandoTodoLoteForInvalido() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "batchMaxItems", 10);
+        duck.setStatus(Duck.DuckStatus.SOLD);
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
+        when(duckRepository.findAllById(any())).thenReturn(List.of(duck));
+
+        // When
+        SaleBatchResultDTO resultado = saleService.createSales(List.of(saleDTO));
+
+        // Then
+        assertEquals(0, resultado.getSucceeded());
+        assertEquals("Duck Donald Duck is not available", resultado.getItems().get(0).getError());
+        verifyNoInteractions(saleRepository, salesRollupService, sellerMetricsService);
+        verify(duckRepository, never()).updateStatusReturningIds(any(), any(), any());
+    }
+
+    @Test
+    void deveMarcarPatosComoVendidosEmUmUnicoUpdateCondicional() {
+        // Given
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+        when(duckRepository.findAllById(List.of(1L))).thenReturn(List.of(duck));
+        when(duckRepository.updateStatus(Set.of(1L), Duck.DuckStatus.AVAILABLE, Duck.DuckStatus.SOLD)).thenReturn(1);
+        when(saleRepository.save(any(Sale.class))).thenReturn(sale);
+
+        // When
+        saleService.createSale(saleDTO);
+
+        // Then
+        verify(duckRepository).updateStatus(Set.of(1L), Duck.DuckStatus.AVAILABLE, Duck.DuckStatus.SOLD);
+        verify(duckRepository, never()).save(any(Duck.class));
+        verify(saleRepository).save(any(Sale.class));
+        verify(customerPurchaseSummaryService).recordSale(any(Sale.class));
+    }
+
+    @Test
+    void deveRecusarVendaQuandoPatoForVendidoPorOutraVendaConcorrente() {
+        // Given - o pato estava disponível na leitura, mas outra venda o marcou antes
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+        when(duckRepository.findAllById(List.of(1L))).thenReturn(List.of(duck));
+        when(duckRepository.updateStatus(Set.of(1L), Duck.DuckStatus.AVAILABLE, Duck.DuckStatus.SOLD)).thenReturn(0);
+
+        // When & Then
+        ConflictException erro = assertThrows(ConflictException.class, () -> saleService.createSale(saleDTO));
+        assertEquals("DUCK_ALREADY_SOLD", erro.getErrorCode());
+        verify(saleRepository, never()).save(any(Sale.class));
+        verifyNoInteractions(salesRollupService, sellerMetricsService, sellerLeaderboardService, reportCacheService,
+                customerPurchaseSummaryService);
+    }
+
+    @Test
+    void deveAplicarPercentualDeDescontoConfigurado() {
+        // Given
+        when(systemConfigService.current()).thenReturn(configuracao("0.15", false));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+        when(duckRepository.findAllById(List.of(1L))).thenReturn(List.of(duck));
+        when(duckRepository.updateStatus(Set.of(1L), Duck.DuckStatus.AVAILABLE, Duck.DuckStatus.SOLD)).thenReturn(1);
+        when(saleRepository.save(any(Sale.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SaleDTO resultado = saleService.createSale(saleDTO);
+
+        // Then
+        assertEquals(22.5, resultado.getDiscountAmount());
+        assertEquals(127.5, resultado.getFinalPrice());
+    }
+
+    @Test
+    void deveRecusarVendasEmModoDeManutencao() {
+        // Given
+        when(systemConfigService.current()).thenReturn(configuracao("0.20", true));
+
+        // When & Then
+        BusinessException erro = assertThrows(BusinessException.class, () -> saleService.createSale(saleDTO));
+        assertEquals("MAINTENANCE_MODE", erro.getErrorCode());
+        assertThrows(BusinessException.class, () -> saleService.createSales(List.of(saleDTO)));
+        verifyNoInteractions(saleRepository, duckRepository);
+    }
+
+    @Test
+    void deveBuscarVendasPorCursorAteAUltimaPagina() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "searchMaxPageSize", 200);
+        Sale vendaAnterior = venda(2L, sale.getSaleDate().minusHours(1));
+        Sale vendaMaisAntiga = venda(3L, sale.getSaleDate().minusHours(2));
+        FluentQuery.FetchableFluentQuery<Sale> primeiraConsulta = consulta(List.of(sale, vendaAnterior, vendaMaisAntiga));
+        FluentQuery.FetchableFluentQuery<Sale> segundaConsulta = consulta(List.of(vendaMaisAntiga));
+        when(saleRepository.findBy(any(Specification.class), any()))
+                .thenAnswer(invocation -> invocation.<Function<FluentQuery.FetchableFluentQuery<Sale>, ?>>getArgument(1).apply(primeiraConsulta))
+                .thenAnswer(invocation -> invocation.<Function<FluentQuery.FetchableFluentQuery<Sale>, ?>>getArgument(1).apply(segundaConsulta));
+        SaleSearchCriteria filtros = SaleSearchCriteria.builder().sellerId(1L).build();
+
+        // When
+        SalePageDTO primeiraPagina = saleService.searchSales(filtros, null, 2);
+        SalePageDTO segundaPagina = saleService.searchSales(filtros, primeiraPagina.getNextCursor(), 2);
+
+        // Then - uma linha a mais indica a próxima página, sem COUNT
+        verify(primeiraConsulta).limit(3);
+        assertEquals(2, primeiraPagina.getSize());
+        assertEquals(List.of(1L, 2L), primeiraPagina.getItems().stream().map(SaleDTO::getId).toList());
+        assertNotNull(primeiraPagina.getNextCursor());
+        assertEquals(1, segundaPagina.getSize());
+        assertNull(segundaPagina.getNextCursor());
+    }
+
+    @Test
+    void deveRecusarCursorInvalido() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "searchMaxPageSize", 200);
+
+        // When & Then
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> saleService.searchSales(new SaleSearchCriteria(), "nao-e-um-cursor", 50));
+        assertEquals("INVALID_CURSOR", erro.getErrorCode());
+        verifyNoInteractions(saleRepository);
+    }
+
+    @Test
+    void deveRecusarTamanhoDePaginaAcimaDoLimite() {
+        // Given
+        ReflectionTestUtils.setField(saleService, "searchMaxPageSize", 200);
+
+        // When & Then
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> saleService.searchSales(new SaleSearchCriteria(), null, 201));
+        assertEquals("INVALID_PAGE_SIZE", erro.getErrorCode());
+        verifyNoInteractions(saleRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FluentQuery.FetchableFluentQuery<Sale> consulta(List<Sale> resultado) {
+        FluentQuery.FetchableFluentQuery<Sale> consulta = mock(FluentQuery.FetchableFluentQuery.class, RETURNS_SELF);
+        when(consulta.all()).thenReturn(resultado);
+        return consulta;
+    }
+
+    private Sale venda(Long id, LocalDateTime data) {
+        return Sale.builder().id(id).duck(duck).customer(customer).seller(seller)
+                .originalPrice(new BigDecimal("150.00")).discountAmount(BigDecimal.ZERO)
+                .finalPrice(new BigDecimal("150.00")).saleDate(data).build();
+    }
+
+    private SystemConfigService.Snapshot configuracao(String taxaDesconto, boolean manutencao) {
+        return new SystemConfigService.Snapshot("1", LocalDateTime.now(), new BigDecimal(taxaDesconto),
+                null, null, manutencao, Map.of());
+    }
 }
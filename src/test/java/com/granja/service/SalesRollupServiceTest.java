@@ -0,0 +1,239 @@
+package com.granja.service;
+
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.DailySalesRollupRepository;
+import com.granja.repository.SaleRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.impl.SalesRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SalesRollupService
+ * Cobre a atualização incremental, a combinação consolidado + bordas do período e a reconstrução
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRollupService - Testes Unitários")
+class SalesRollupServiceTest {
+
+    @Mock
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private ReportCacheService reportCacheService;
+
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    private Seller vendedorA;
+    private Seller vendedorB;
+
+    @BeforeEach
+    void setUp() {
+        vendedorA = Seller.builder().id(1L).name("Ana").cpf("111.111.111-11").employeeId("EMP001").build();
+        vendedorB = Seller.builder().id(2L).name("Bruno").cpf("222.222.222-22").employeeId("EMP002").build();
+    }
+
+    @Test
+    @DisplayName("Deve somar venda com desconto ao consolidado do dia")
+    void deveSomarVendaAoConsolidado() {
+        // Arrange
+        Sale venda = venda(LocalDateTime.of(2024, 3, 10, 14, 30), "100.00", "20.00", "80.00");
+
+        // Act
+        salesRollupService.recordSale(venda);
+
+        // Assert
+        verify(dailySalesRollupRepository).applyDelta(LocalDate.of(2024, 3, 10), 1L, true, 1,
+                new BigDecimal("100.00"), new BigDecimal("20.00"), new BigDecimal("80.00"));
+    }
+
+    @Test
+    @DisplayName("Deve somar um lote de vendas com uma atualização por linha do consolidado")
+    void deveSomarLotePorLinhaDoConsolidado() {
+        // Arrange
+        Sale primeira = venda(LocalDateTime.of(2024, 3, 10, 9, 0), "100.00", "20.00", "80.00");
+        Sale semDesconto = venda(LocalDateTime.of(2024, 3, 10, 10, 0), "50.00", "0.00", "50.00");
+        Sale segunda = venda(LocalDateTime.of(2024, 3, 10, 11, 0), "200.00", "40.00", "160.00");
+        Sale outroDia = venda(LocalDateTime.of(2024, 3, 9, 18, 0), "30.00", "0.00", "30.00");
+
+        // Act
+        salesRollupService.recordSales(List.of(primeira, semDesconto, segunda, outroDia));
+
+        // Assert
+        InOrder ordem = inOrder(dailySalesRollupRepository);
+        ordem.verify(dailySalesRollupRepository).applyDelta(LocalDate.of(2024, 3, 9), 1L, false, 1,
+                new BigDecimal("30.00"), new BigDecimal("0.00"), new BigDecimal("30.00"));
+        ordem.verify(dailySalesRollupRepository).applyDelta(LocalDate.of(2024, 3, 10), 1L, false, 1,
+                new BigDecimal("50.00"), new BigDecimal("0.00"), new BigDecimal("50.00"));
+        ordem.verify(dailySalesRollupRepository).applyDelta(LocalDate.of(2024, 3, 10), 1L, true, 2,
+                new BigDecimal("300.00"), new BigDecimal("60.00"), new BigDecimal("240.00"));
+        verifyNoMoreInteractions(dailySalesRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Deve subtrair venda removida e limpar consolidado vazio")
+    void deveSubtrairVendaRemovida() {
+        // Arrange
+        Sale venda = venda(LocalDateTime.of(2024, 3, 10, 14, 30), "100.00", "0.00", "100.00");
+
+        // Act
+        salesRollupService.removeSale(venda);
+
+        // Assert
+        verify(dailySalesRollupRepository).applyDelta(LocalDate.of(2024, 3, 10), 1L, false, -1,
+                new BigDecimal("-100.00"), new BigDecimal("0.00"), new BigDecimal("-100.00"));
+        verify(dailySalesRollupRepository).deleteIfEmpty(LocalDate.of(2024, 3, 10), 1L, false);
+    }
+
+    @Test
+    @DisplayName("Deve ler dias completos do consolidado e bordas das vendas")
+    void deveCombinarConsolidadoComBordas() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2024, 3, 1, 12, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 3, 31, 18, 0);
+
+        when(dailySalesRollupRepository.summarizeBySellerInDays(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 30)))
+                .thenReturn(List.of(resumo(vendedorA, 10L, "1000.00"), resumo(vendedorB, 8L, "900.00")));
+        when(saleRepository.summarizeBySellerInRange(inicio, LocalDateTime.of(2024, 3, 2, 0, 0)))
+                .thenReturn(List.of(resumo(vendedorB, 1L, "150.00")));
+        when(saleRepository.summarizeBySellerInPeriod(LocalDateTime.of(2024, 3, 31, 0, 0), fim))
+                .thenReturn(List.of(resumo(vendedorB, 1L, "50.00")));
+
+        // Act
+        List<SellerSalesSummary> resultado = salesRollupService.summarizeBySellerInPeriod(inicio, fim);
+
+        // Assert - Bruno passa Ana somando as bordas do período
+        assertEquals(2, resultado.size());
+        assertEquals(2L, resultado.get(0).getSellerId());
+        assertEquals(10L, resultado.get(0).getTotalSales());
+        assertEquals(0, new BigDecimal("1100.00").compareTo(resultado.get(0).getTotalRevenue()));
+        assertEquals(new BigDecimal("110.00"), resultado.get(0).getAverageTicket());
+        assertEquals(1L, resultado.get(1).getSellerId());
+        assertEquals("Ana", resultado.get(1).getSellerName());
+    }
+
+    @Test
+    @DisplayName("Deve usar apenas o consolidado para períodos de dias inteiros")
+    void deveUsarApenasConsolidadoParaDiasInteiros() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999);
+        when(dailySalesRollupRepository.summarizeBySellerInDays(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)))
+                .thenReturn(List.of(resumo(vendedorA, 3L, "300.00")));
+
+        // Act
+        List<SellerSalesSummary> resultado = salesRollupService.summarizeBySellerInPeriod(inicio, fim);
+
+        // Assert
+        assertEquals(1, resultado.size());
+        assertEquals(3L, resultado.get(0).getTotalSales());
+        verifyNoInteractions(saleRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar as vendas quando o período não tem dia completo")
+    void deveConsultarVendasSemDiaCompleto() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2024, 3, 1, 8, 0);
+        LocalDateTime fim = LocalDateTime.of(2024, 3, 1, 18, 0);
+        List<SellerSalesSummary> resumos = List.of(resumo(vendedorA, 2L, "200.00"));
+        when(saleRepository.summarizeBySellerInPeriod(inicio, fim)).thenReturn(resumos);
+
+        // Act
+        List<SellerSalesSummary> resultado = salesRollupService.summarizeBySellerInPeriod(inicio, fim);
+
+        // Assert
+        assertSame(resumos, resultado);
+        verifyNoInteractions(dailySalesRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o consolidado de um intervalo de dias")
+    void deveReconstruirIntervalo() {
+        // Arrange
+        when(dailySalesRollupRepository.rebuildFromSales(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 8, 0, 0)))
+                .thenReturn(14);
+
+        // Act
+        int linhas = salesRollupService.rebuild(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 7));
+
+        // Assert
+        assertEquals(14, linhas);
+        InOrder ordem = inOrder(dailySalesRollupRepository);
+        ordem.verify(dailySalesRollupRepository).lockForRebuild();
+        ordem.verify(dailySalesRollupRepository).deleteBySaleDayBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 7));
+        ordem.verify(dailySalesRollupRepository).rebuildFromSales(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 8, 0, 0));
+        verify(reportCacheService).clear();
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o consolidado antes de reconstruí-lo por inteiro")
+    void deveBloquearAntesDeReconstruirTudo() {
+        // Arrange
+        when(dailySalesRollupRepository.findFirstSaleDay()).thenReturn(LocalDate.of(2024, 1, 10));
+        when(dailySalesRollupRepository.rebuildFromSales(eq(LocalDateTime.of(2024, 1, 10, 0, 0)), any())).thenReturn(30);
+
+        // Act
+        int linhas = salesRollupService.rebuildAll();
+
+        // Assert
+        assertEquals(30, linhas);
+        InOrder ordem = inOrder(dailySalesRollupRepository);
+        ordem.verify(dailySalesRollupRepository).lockForRebuild();
+        ordem.verify(dailySalesRollupRepository).deleteAllInBatch();
+        ordem.verify(dailySalesRollupRepository).rebuildFromSales(eq(LocalDateTime.of(2024, 1, 10, 0, 0)), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo de reconstrução inválido")
+    void deveRejeitarIntervaloInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> salesRollupService.rebuild(LocalDate.of(2024, 3, 7), LocalDate.of(2024, 3, 1)));
+        verify(dailySalesRollupRepository, never()).rebuildFromSales(any(), any());
+    }
+
+    private Sale venda(LocalDateTime data, String original, String desconto, String finalPrice) {
+        return Sale.builder()
+                .id(1L)
+                .seller(vendedorA)
+                .saleDate(data)
+                .originalPrice(new BigDecimal(original))
+                .discountAmount(new BigDecimal(desconto))
+                .finalPrice(new BigDecimal(finalPrice))
+                .build();
+    }
+
+    private SellerSalesSummary resumo(Seller vendedor, Long totalVendas, String receita) {
+        BigDecimal receitaTotal = new BigDecimal(receita);
+        return new SellerSalesSummary() {
+            public Long getSellerId() { return vendedor.getId(); }
+            public String getSellerName() { return vendedor.getName(); }
+            public String getCpf() { return vendedor.getCpf(); }
+            public String getEmployeeId() { return vendedor.getEmployeeId(); }
+            public Long getTotalSales() { return totalVendas; }
+            public BigDecimal getTotalRevenue() { return receitaTotal; }
+        };
+    }
+}
@@ -0,0 +1,307 @@
+package com.granja.service;
+
+import com.granja.dto.SellerRankingDTO;
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.SellerMetricsRepository;
+import com.granja.repository.projection.SellerSalesSummary;
+import com.granja.service.impl.SellerLeaderboardServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SellerLeaderboardService
+ * Cobre a carga inicial, a ordenação, a aplicação após o commit e a consistência sob concorrência
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SellerLeaderboardService - Testes Unitários")
+class SellerLeaderboardServiceTest {
+
+    @Mock
+    private SellerMetricsRepository sellerMetricsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SellerLeaderboardServiceImpl sellerLeaderboardService;
+
+    private Seller vendedorA;
+    private Seller vendedorB;
+    private Seller vendedorC;
+
+    @BeforeEach
+    void setUp() {
+        vendedorA = Seller.builder().id(1L).name("Ana").cpf("111.111.111-11").employeeId("EMP001").build();
+        vendedorB = Seller.builder().id(2L).name("Bruno").cpf("222.222.222-22").employeeId("EMP002").build();
+        vendedorC = Seller.builder().id(3L).name("Carla").cpf("333.333.333-33").employeeId("EMP003").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar o ranking a partir das métricas persistidas")
+    void deveCarregarDasMetricas() {
+        // Arrange
+        when(sellerMetricsRepository.findRanking())
+                .thenReturn(List.of(resumo(vendedorB, 4L, "400.00"), resumo(vendedorA, 0L, "0")));
+
+        // Act
+        sellerLeaderboardService.reload();
+        List<SellerRankingDTO> ranking = sellerLeaderboardService.getTop(10);
+
+        // Assert
+        assertEquals(2, ranking.size());
+        assertEquals(1, ranking.get(0).getPosition());
+        assertEquals(2L, ranking.get(0).getId());
+        assertEquals("Bruno", ranking.get(0).getName());
+        assertEquals(4L, ranking.get(0).getTotalSales());
+        assertEquals(new BigDecimal("400.00"), ranking.get(0).getTotalRevenue());
+        assertEquals(new BigDecimal("100.00"), ranking.get(0).getAverageTicket());
+        assertEquals(BigDecimal.ZERO, ranking.get(1).getAverageTicket());
+    }
+
+    @Test
+    @DisplayName("Deve ler as métricas com a tabela bloqueada")
+    void deveLerMetricasComTabelaBloqueada() {
+        // Arrange
+        when(sellerMetricsRepository.findRanking()).thenReturn(List.of(resumo(vendedorA, 1L, "10.00")));
+
+        // Act
+        sellerLeaderboardService.reload();
+
+        // Assert
+        InOrder ordem = inOrder(transactionManager, sellerMetricsRepository);
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(sellerMetricsRepository).lockForReconcile();
+        ordem.verify(sellerMetricsRepository).findRanking();
+        ordem.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Não deve contar duas vezes a venda confirmada antes de uma recarga e aplicada depois dela")
+    void naoDeveContarDuasVezesVendaLidaNaRecarga() {
+        // Arrange - a venda de 50,00 já está nas métricas lidas pela recarga
+        when(sellerMetricsRepository.findRanking())
+                .thenReturn(List.of(resumo(vendedorA, 1L, "100.00")))
+                .thenReturn(List.of(resumo(vendedorA, 2L, "150.00")));
+        sellerLeaderboardService.reload();
+        TransactionSynchronizationManager.initSynchronization();
+        sellerLeaderboardService.recordSale(venda(vendedorA, "50.00"));
+
+        // Act
+        sellerLeaderboardService.reload();
+        finalizarTransacao(TransactionSynchronization.STATUS_COMMITTED);
+        sellerLeaderboardService.recordSale(venda(vendedorA, "25.00"));
+
+        // Assert - apenas a venda gravada após a recarga é somada
+        SellerRankingDTO ana = sellerLeaderboardService.getTop(1).get(0);
+        assertEquals(3L, ana.getTotalSales());
+        assertEquals(new BigDecimal("175.00"), ana.getTotalRevenue());
+    }
+
+    @Test
+    @DisplayName("Deve reordenar o ranking a cada venda e desempatar pelo ID")
+    void deveReordenarACadaVenda() {
+        // Arrange
+        sellerLeaderboardService.recordSale(venda(vendedorA, "100.00"));
+        sellerLeaderboardService.recordSale(venda(vendedorB, "150.00"));
+        assertEquals(2L, sellerLeaderboardService.getTop(1).get(0).getId());
+
+        // Act
+        sellerLeaderboardService.recordSale(venda(vendedorA, "50.00"));
+        sellerLeaderboardService.recordSale(venda(vendedorC, "10.00"));
+        List<SellerRankingDTO> ranking = sellerLeaderboardService.getTop(2);
+
+        // Assert - Ana e Bruno empatam em receita, Ana tem o menor ID
+        assertEquals(2, ranking.size());
+        assertEquals(1L, ranking.get(0).getId());
+        assertEquals(2L, ranking.get(0).getTotalSales());
+        assertEquals(new BigDecimal("75.00"), ranking.get(0).getAverageTicket());
+        assertEquals(2L, ranking.get(1).getId());
+        assertEquals(2, ranking.get(1).getPosition());
+    }
+
+    @Test
+    @DisplayName("Deve retirar venda removida e vendedor excluído")
+    void deveRetirarVendaEVendedor() {
+        // Arrange
+        Sale venda = venda(vendedorA, "80.00");
+        sellerLeaderboardService.recordSale(venda);
+        sellerLeaderboardService.recordSale(venda(vendedorB, "30.00"));
+
+        // Act
+        sellerLeaderboardService.removeSale(venda);
+        sellerLeaderboardService.removeSeller(2L);
+
+        // Assert
+        List<SellerRankingDTO> ranking = sellerLeaderboardService.getTop(10);
+        assertEquals(1, ranking.size());
+        assertEquals(0L, ranking.get(0).getTotalSales());
+        assertEquals(new BigDecimal("0.00"), ranking.get(0).getTotalRevenue());
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar venda cuja transação foi desfeita")
+    void naoDeveAplicarVendaDesfeita() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        sellerLeaderboardService.recordSale(venda(vendedorA, "100.00"));
+        assertTrue(sellerLeaderboardService.getTop(10).isEmpty());
+
+        // Act
+        finalizarTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.initSynchronization();
+        sellerLeaderboardService.recordSale(venda(vendedorB, "40.00"));
+        finalizarTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        List<SellerRankingDTO> ranking = sellerLeaderboardService.getTop(10);
+        assertEquals(1, ranking.size());
+        assertEquals(2L, ranking.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Deve manter os totais iguais aos das vendas simuladas sob concorrência")
+    void deveManterTotaisSobConcorrencia() throws Exception {
+        // Arrange - simulação: as vendas ficam em um mapa em memória, sem banco; confere apenas
+        // que os acumuladores não perdem atualizações concorrentes, não a gravação em seller_metrics
+        List<Seller> vendedores = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            vendedores.add(Seller.builder().id(id).name("Vendedor " + id).build());
+        }
+        Map<Long, Sale> vendasGravadas = new ConcurrentHashMap<>();
+        AtomicLong proximoId = new AtomicLong();
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        int escritores = 8;
+        int operacoesPorEscritor = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(escritores + 2);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int e = 0; e < escritores; e++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Sale> minhasVendas = new ArrayList<>();
+                for (int i = 0; i < operacoesPorEscritor; i++) {
+                    if (!minhasVendas.isEmpty() && random.nextInt(4) == 0) {
+                        Sale removida = minhasVendas.remove(random.nextInt(minhasVendas.size()));
+                        vendasGravadas.remove(removida.getId());
+                        sellerLeaderboardService.removeSale(removida);
+                    } else {
+                        Sale venda = venda(vendedores.get(random.nextInt(vendedores.size())),
+                                BigDecimal.valueOf(random.nextLong(1, 100_000), 2).toPlainString());
+                        venda.setId(proximoId.incrementAndGet());
+                        vendasGravadas.put(venda.getId(), venda);
+                        minhasVendas.add(venda);
+                        sellerLeaderboardService.recordSale(venda);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int l = 0; l < 2; l++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                while (escrevendo.get()) {
+                    List<SellerRankingDTO> top = sellerLeaderboardService.getTop(5);
+                    for (int i = 1; i < top.size(); i++) {
+                        assertTrue(top.get(i - 1).getTotalRevenue().compareTo(top.get(i).getTotalRevenue()) >= 0);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        largada.countDown();
+        for (int e = 0; e < escritores; e++) {
+            tarefas.get(e).get(60, TimeUnit.SECONDS);
+        }
+        escrevendo.set(false);
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Map<Long, BigDecimal> receitaEsperada = new ConcurrentHashMap<>();
+        Map<Long, Long> vendasEsperadas = new ConcurrentHashMap<>();
+        for (Sale venda : vendasGravadas.values()) {
+            receitaEsperada.merge(venda.getSeller().getId(), venda.getFinalPrice(), BigDecimal::add);
+            vendasEsperadas.merge(venda.getSeller().getId(), 1L, Long::sum);
+        }
+
+        List<SellerRankingDTO> ranking = sellerLeaderboardService.getTop(Integer.MAX_VALUE);
+        assertEquals(vendedores.size(), ranking.size());
+        for (SellerRankingDTO posicao : ranking) {
+            assertEquals(vendasEsperadas.getOrDefault(posicao.getId(), 0L), posicao.getTotalSales());
+            assertEquals(0, receitaEsperada.getOrDefault(posicao.getId(), BigDecimal.ZERO)
+                    .compareTo(posicao.getTotalRevenue()));
+        }
+    }
+
+    private void finalizarTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization sincronizacao : sincronizacoes) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                sincronizacao.afterCommit();
+            }
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private Sale venda(Seller vendedor, String finalPrice) {
+        return Sale.builder()
+                .id(1L)
+                .seller(vendedor)
+                .finalPrice(new BigDecimal(finalPrice))
+                .build();
+    }
+
+    private SellerSalesSummary resumo(Seller vendedor, Long totalVendas, String receita) {
+        BigDecimal receitaTotal = new BigDecimal(receita);
+        return new SellerSalesSummary() {
+            public Long getSellerId() { return vendedor.getId(); }
+            public String getSellerName() { return vendedor.getName(); }
+            public String getCpf() { return vendedor.getCpf(); }
+            public String getEmployeeId() { return vendedor.getEmployeeId(); }
+            public Long getTotalSales() { return totalVendas; }
+            public BigDecimal getTotalRevenue() { return receitaTotal; }
+        };
+    }
+}
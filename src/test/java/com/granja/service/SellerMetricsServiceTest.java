@@ -0,0 +1,165 @@
+package com.granja.service;
+
+import com.granja.entity.Sale;
+import com.granja.entity.Seller;
+import com.granja.repository.SellerMetricsRepository;
+import com.granja.service.impl.SellerMetricsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SellerMetricsService
+ * Cobre a atualização das métricas por venda e a reconciliação
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SellerMetricsService - Testes Unitários")
+class SellerMetricsServiceTest {
+
+    @Mock
+    private SellerMetricsRepository sellerMetricsRepository;
+
+    @Mock
+    private SellerLeaderboardService sellerLeaderboardService;
+
+    @InjectMocks
+    private SellerMetricsServiceImpl sellerMetricsService;
+
+    private Sale sale;
+
+    @BeforeEach
+    void setUp() {
+        Seller seller = Seller.builder().id(7L).name("Ana").build();
+        sale = Sale.builder()
+                .id(1L)
+                .seller(seller)
+                .originalPrice(new BigDecimal("100.00"))
+                .discountAmount(new BigDecimal("20.00"))
+                .finalPrice(new BigDecimal("80.00"))
+                .saleDate(LocalDateTime.of(2024, 3, 10, 14, 30))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve somar o preço final da venda às métricas do vendedor")
+    void deveSomarVendaAsMetricas() {
+        // Act
+        sellerMetricsService.recordSale(sale);
+
+        // Assert
+        verify(sellerMetricsRepository).addSales(7L, 1L, new BigDecimal("80.00"), LocalDateTime.of(2024, 3, 10, 14, 30));
+    }
+
+    @Test
+    @DisplayName("Deve somar um lote de vendas com uma atualização por vendedor")
+    void deveSomarLotePorVendedor() {
+        // Arrange
+        Seller outroVendedor = Seller.builder().id(3L).name("Bruno").build();
+        Sale segundaVenda = Sale.builder().seller(sale.getSeller()).finalPrice(new BigDecimal("20.00"))
+                .saleDate(LocalDateTime.of(2024, 3, 11, 9, 0)).build();
+        Sale vendaOutroVendedor = Sale.builder().seller(outroVendedor).finalPrice(new BigDecimal("50.00"))
+                .saleDate(LocalDateTime.of(2024, 3, 10, 8, 0)).build();
+
+        // Act
+        sellerMetricsService.recordSales(List.of(sale, vendaOutroVendedor, segundaVenda));
+
+        // Assert
+        InOrder ordem = inOrder(sellerMetricsRepository);
+        ordem.verify(sellerMetricsRepository).addSales(3L, 1L, new BigDecimal("50.00"), LocalDateTime.of(2024, 3, 10, 8, 0));
+        ordem.verify(sellerMetricsRepository).addSales(7L, 2L, new BigDecimal("100.00"), LocalDateTime.of(2024, 3, 11, 9, 0));
+        verifyNoMoreInteractions(sellerMetricsRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retirar a venda removida das métricas do vendedor")
+    void deveRetirarVendaDasMetricas() {
+        // Arrange
+        when(sellerMetricsRepository.removeSale(7L, new BigDecimal("80.00"))).thenReturn(1);
+
+        // Act
+        sellerMetricsService.removeSale(sale);
+
+        // Assert
+        verify(sellerMetricsRepository).removeSale(7L, new BigDecimal("80.00"));
+    }
+
+    @Test
+    @DisplayName("Deve criar métricas zeradas para novo vendedor")
+    void deveCriarMetricasParaNovoVendedor() {
+        // Act
+        sellerMetricsService.registerSeller(7L);
+
+        // Assert
+        verify(sellerMetricsRepository).insertIfAbsent(7L);
+    }
+
+    @Test
+    @DisplayName("Deve bloquear escritas antes de reconciliar as métricas")
+    void deveBloquearAntesDeReconciliar() {
+        // Arrange
+        when(sellerMetricsRepository.rebuildFromSales()).thenReturn(5);
+
+        // Act
+        int vendedores = sellerMetricsService.reconcile();
+
+        // Assert
+        assertEquals(5, vendedores);
+        InOrder ordem = inOrder(sellerMetricsRepository, sellerLeaderboardService);
+        ordem.verify(sellerMetricsRepository).lockForReconcile();
+        ordem.verify(sellerMetricsRepository).rebuildFromSales();
+        ordem.verify(sellerLeaderboardService).reload();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o ranking apenas após o commit da reconciliação")
+    void deveRecarregarRankingAposCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerMetricsService.reconcile();
+            verify(sellerLeaderboardService, never()).reload();
+
+            // Act
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            verify(sellerLeaderboardService).reload();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve recarregar o ranking quando a reconciliação é desfeita")
+    void naoDeveRecarregarRankingEmReconciliacaoDesfeita() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerMetricsService.reconcile();
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            verify(sellerLeaderboardService, never()).reload();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
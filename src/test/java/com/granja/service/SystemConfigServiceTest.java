@@ -0,0 +1,150 @@
+package com.granja.service;
+
+import com.granja.entity.SystemConfig;
+import com.granja.exception.BusinessException;
+import com.granja.repository.SystemConfigRepository;
+import com.granja.service.impl.SystemConfigServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SystemConfigService
+ * Cobre a carga das configurações, a recarga por versão e a validação dos valores
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SystemConfigService - Testes Unitários")
+class SystemConfigServiceTest {
+
+    @Mock
+    private SystemConfigRepository systemConfigRepository;
+
+    @InjectMocks
+    private SystemConfigServiceImpl systemConfigService;
+
+    private final LocalDateTime atualizacao = LocalDateTime.of(2024, 3, 10, 14, 30);
+
+    @BeforeEach
+    void setUp() {
+        when(systemConfigRepository.findVersion()).thenReturn("a1");
+        when(systemConfigRepository.findAll()).thenReturn(configuracoesPadrao());
+        systemConfigService.start();
+    }
+
+    @Test
+    @DisplayName("Deve carregar desconto, faixa de preço e modo de manutenção")
+    void deveCarregarConfiguracoes() {
+        // Act
+        SystemConfigService.Snapshot config = systemConfigService.current();
+
+        // Assert
+        assertEquals(new BigDecimal("0.20"), config.discountRate());
+        assertEquals(new BigDecimal("50.00"), config.minDuckPrice());
+        assertEquals(new BigDecimal("1000.00"), config.maxDuckPrice());
+        assertFalse(config.maintenanceMode());
+        assertEquals("20", config.values().get(SystemConfigService.DISCOUNT_PERCENTAGE));
+    }
+
+    @Test
+    @DisplayName("Não deve reler a tabela quando a versão não mudou")
+    void naoDeveRecarregarSemNovaVersao() {
+        // Act
+        boolean recarregou = systemConfigService.refresh();
+
+        // Assert
+        assertFalse(recarregou);
+        verify(systemConfigRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve trocar a cópia quando a versão da tabela muda")
+    void deveRecarregarComNovaVersao() {
+        // Arrange
+        SystemConfigService.Snapshot anterior = systemConfigService.current();
+        when(systemConfigRepository.findVersion()).thenReturn("b2");
+        when(systemConfigRepository.findAll()).thenReturn(List.of(
+                config(SystemConfigService.DISCOUNT_PERCENTAGE, "15"),
+                config(SystemConfigService.SYSTEM_MAINTENANCE_MODE, "true")));
+
+        // Act
+        boolean recarregou = systemConfigService.refresh();
+
+        // Assert
+        assertTrue(recarregou);
+        SystemConfigService.Snapshot atual = systemConfigService.current();
+        assertEquals(new BigDecimal("0.15"), atual.discountRate());
+        assertNull(atual.minDuckPrice());
+        assertTrue(atual.maintenanceMode());
+        assertEquals(new BigDecimal("0.20"), anterior.discountRate());
+    }
+
+    @Test
+    @DisplayName("Deve manter a cópia anterior quando a tabela tem valor inválido")
+    void deveManterCopiaComValorInvalido() {
+        // Arrange
+        when(systemConfigRepository.findVersion()).thenReturn("b2");
+        when(systemConfigRepository.findAll()).thenReturn(List.of(config(SystemConfigService.DISCOUNT_PERCENTAGE, "vinte")));
+
+        // Act
+        boolean recarregou = systemConfigService.refresh();
+
+        // Assert
+        assertFalse(recarregou);
+        assertEquals(new BigDecimal("0.20"), systemConfigService.current().discountRate());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar alteração que deixa o preço mínimo acima do máximo")
+    void deveRejeitarFaixaDePrecoInvalida() {
+        // Arrange
+        when(systemConfigRepository.findByConfigKey(SystemConfigService.MIN_DUCK_PRICE))
+                .thenReturn(Optional.of(config(SystemConfigService.MIN_DUCK_PRICE, "50.00")));
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> systemConfigService.updateValue(SystemConfigService.MIN_DUCK_PRICE, "2000.00"));
+        verify(systemConfigRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve gravar a alteração e recarregar as configurações")
+    void deveGravarAlteracaoERecarregar() {
+        // Arrange
+        SystemConfig desconto = config(SystemConfigService.DISCOUNT_PERCENTAGE, "20");
+        when(systemConfigRepository.findByConfigKey(SystemConfigService.DISCOUNT_PERCENTAGE)).thenReturn(Optional.of(desconto));
+        when(systemConfigRepository.findAll()).thenReturn(List.of(config(SystemConfigService.DISCOUNT_PERCENTAGE, "10")));
+
+        // Act
+        systemConfigService.updateValue(SystemConfigService.DISCOUNT_PERCENTAGE, "10");
+
+        // Assert
+        assertEquals("10", desconto.getConfigValue());
+        verify(systemConfigRepository).save(desconto);
+        assertEquals(new BigDecimal("0.10"), systemConfigService.current().discountRate());
+    }
+
+    private List<SystemConfig> configuracoesPadrao() {
+        return List.of(
+                config(SystemConfigService.DISCOUNT_PERCENTAGE, "20"),
+                config(SystemConfigService.MIN_DUCK_PRICE, "50.00"),
+                config(SystemConfigService.MAX_DUCK_PRICE, "1000.00"),
+                config(SystemConfigService.SYSTEM_MAINTENANCE_MODE, "false"));
+    }
+
+    private SystemConfig config(String key, String value) {
+        return SystemConfig.builder().configKey(key).configValue(value).updatedAt(atualizacao).build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.granja.service;
+
+import com.granja.dto.UniqueKeyFilterStatsDTO;
+import com.granja.repository.CustomerRepository;
+import com.granja.repository.SellerRepository;
+import com.granja.service.UniqueKeyFilterService.Key;
+import com.granja.service.impl.UniqueKeyFilterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o UniqueKeyFilterService
+ * Cobre as consultas dispensadas, os falsos positivos, o limite de memória e a remontagem
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UniqueKeyFilterService - Testes Unitários")
+class UniqueKeyFilterServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UniqueKeyFilterServiceImpl uniqueKeyFilterService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "enabled", true);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "maxMemoryKb", 4096L);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "expectedCustomers", 100_000L);
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "expectedSellers", 100L);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(customerRepository.streamCpfs()).thenAnswer(invocation -> Stream.of("11111111111", "22222222222"));
+        lenient().when(sellerRepository.streamCpfs()).thenAnswer(invocation -> Stream.of("33333333333"));
+        lenient().when(sellerRepository.streamEmployeeIds()).thenAnswer(invocation -> Stream.of("V001"));
+    }
+
+    @Test
+    @DisplayName("Deve dispensar a consulta ao banco para CPF com certeza ausente")
+    void deveDispensarConsultaParaValorAusente() {
+        // Arrange
+        uniqueKeyFilterService.start();
+        AtomicInteger consultas = new AtomicInteger();
+
+        // Act
+        boolean novo = uniqueKeyFilterService.exists(Key.CUSTOMER_CPF, "98765432100", cpf -> {
+            consultas.incrementAndGet();
+            return false;
+        });
+        boolean cadastrado = uniqueKeyFilterService.exists(Key.CUSTOMER_CPF, "11111111111", cpf -> {
+            consultas.incrementAndGet();
+            return true;
+        });
+
+        // Assert
+        assertFalse(novo);
+        assertTrue(cadastrado);
+        assertEquals(1, consultas.get());
+        UniqueKeyFilterStatsDTO stats = estatisticas(Key.CUSTOMER_CPF);
+        assertEquals(2, stats.getChecks());
+        assertEquals(1, stats.getSkippedQueries());
+        assertEquals(2, stats.getInsertions());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco para valor cadastrado após a montagem")
+    void deveConsultarValorCadastradoAposMontagem() {
+        // Arrange
+        uniqueKeyFilterService.start();
+
+        // Act
+        uniqueKeyFilterService.record(Key.SELLER_EMPLOYEE_ID, "V002");
+        boolean existe = uniqueKeyFilterService.exists(Key.SELLER_EMPLOYEE_ID, "V002", employeeId -> true);
+
+        // Assert
+        assertTrue(existe);
+        assertEquals(0, estatisticas(Key.SELLER_EMPLOYEE_ID).getSkippedQueries());
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falsos positivos próxima da configurada")
+    void deveManterTaxaDeFalsosPositivos() {
+        // Arrange
+        when(customerRepository.count()).thenReturn(50_000L);
+        when(customerRepository.streamCpfs()).thenAnswer(invocation -> IntStream.range(0, 50_000).mapToObj(this::cpf));
+        uniqueKeyFilterService.start();
+
+        // Act - CPFs nunca cadastrados
+        for (int i = 50_000; i < 150_000; i++) {
+            assertFalse(uniqueKeyFilterService.exists(Key.CUSTOMER_CPF, cpf(i), cpf -> false));
+        }
+
+        // Assert - filtro dimensionado para o dobro dos clientes existentes
+        UniqueKeyFilterStatsDTO stats = estatisticas(Key.CUSTOMER_CPF);
+        assertEquals(100_000, stats.getExpectedInsertions());
+        assertTrue(stats.getObservedFalsePositiveRate() < 0.01, "Taxa observada: " + stats.getObservedFalsePositiveRate());
+        assertEquals(100_000, stats.getChecks());
+        assertEquals(stats.getChecks() - stats.getSkippedQueries(), stats.getFalsePositives());
+        assertEquals(stats.getBitSize() / 8, stats.getMemoryBytes());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a memória do filtro, aumentando a taxa estimada")
+    void deveLimitarMemoria() {
+        // Arrange
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "maxMemoryKb", 8L);
+        when(customerRepository.streamCpfs()).thenAnswer(invocation -> IntStream.range(0, 100_000).mapToObj(this::cpf));
+
+        // Act
+        uniqueKeyFilterService.start();
+
+        // Assert
+        UniqueKeyFilterStatsDTO stats = estatisticas(Key.CUSTOMER_CPF);
+        assertEquals(8 * 1024, stats.getMemoryBytes());
+        assertTrue(stats.getEstimatedFalsePositiveRate() > 0.5);
+        assertTrue(uniqueKeyFilterService.exists(Key.CUSTOMER_CPF, cpf(1), cpf -> true));
+    }
+
+    @Test
+    @DisplayName("Deve remontar o filtro que passou da capacidade")
+    void deveRemontarFiltroSaturado() {
+        // Arrange
+        uniqueKeyFilterService.start();
+        for (int i = 0; i < 150; i++) {
+            uniqueKeyFilterService.record(Key.SELLER_CPF, cpf(i));
+        }
+        when(sellerRepository.count()).thenReturn(151L);
+
+        // Act
+        int remontados = uniqueKeyFilterService.rebuildSaturated();
+
+        // Assert
+        assertEquals(1, remontados);
+        assertEquals(302, estatisticas(Key.SELLER_CPF).getExpectedInsertions());
+        assertEquals(0, uniqueKeyFilterService.rebuildSaturated());
+    }
+
+    @Test
+    @DisplayName("Deve ir direto ao banco quando desabilitado")
+    void deveIrDiretoAoBancoQuandoDesabilitado() {
+        // Arrange
+        ReflectionTestUtils.setField(uniqueKeyFilterService, "enabled", false);
+        uniqueKeyFilterService.start();
+        AtomicInteger consultas = new AtomicInteger();
+
+        // Act
+        uniqueKeyFilterService.exists(Key.CUSTOMER_CPF, "98765432100", cpf -> consultas.incrementAndGet() > 0);
+
+        // Assert
+        assertEquals(1, consultas.get());
+        verify(customerRepository, never()).streamCpfs();
+        assertNull(estatisticas(Key.CUSTOMER_CPF).getBitSize());
+    }
+
+    private UniqueKeyFilterStatsDTO estatisticas(Key key) {
+        return uniqueKeyFilterService.getStats().stream()
+                .filter(stats -> stats.getKey().equals(key.name()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String cpf(int i) {
+        return String.format("%011d", 10_000_000_000L + i * 7919L);
+    }
+}